@@ -0,0 +1,82 @@
+package org.rag4j.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, for instance of two commits:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.rag4j.benchmarks.BenchmarkComparison jmh-result-abc1234.json jmh-result-def5678.json 10
+ * </pre>
+ * Benchmarks are matched by name, mode and parameters. For every match the change of the score is printed, and a
+ * change for the worse beyond the threshold percentage (default 10) is flagged as a regression. Lower is better for
+ * the time modes and higher is better for throughput. The exit code is 1 when there is a regression, so a build step
+ * can fail on it.
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold percentage]");
+            System.exit(1);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %12s -> %12.3f %s  new%n", entry.getKey(), "", after.value(), after.unit());
+                continue;
+            }
+            double change = (after.value() - before.value()) / before.value() * 100;
+            double worse = after.higherIsBetter() ? -change : change;
+            boolean regression = worse > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %12.3f -> %12.3f %s  %+7.1f%%%s%n", entry.getKey(), before.value(),
+                    after.value(), after.unit(), change, regression ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d of %d benchmarks regressed by more than %.1f%%%n", regressions, current.size(),
+                threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramsNode = result.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> it = paramsNode.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            String benchmark = result.path("benchmark").asText();
+            String mode = result.path("mode").asText();
+            String key = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1)
+                    + " " + mode + (params.isEmpty() ? "" : " " + params);
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key, new Score(metric.path("score").asDouble(), metric.path("scoreUnit").asText(),
+                    mode.equals("thrpt")));
+        }
+        return scores;
+    }
+
+    private record Score(double value, String unit, boolean higherIsBetter) {
+    }
+}
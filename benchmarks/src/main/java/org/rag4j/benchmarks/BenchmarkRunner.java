@@ -0,0 +1,52 @@
+package org.rag4j.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the benchmarks jar. It runs JMH with the provided arguments and, unless they choose a result format
+ * themselves, writes the results as JSON to {@code jmh-result-<commit>.json} in the working directory, so the results
+ * of two commits can be compared with {@link BenchmarkComparison}. Outside a git checkout the file is
+ * {@code jmh-result.json}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        if (!arguments.contains("-rf") && !arguments.contains("-rff")) {
+            String commit = currentCommit();
+            arguments.addAll(0, List.of("-rf", "json", "-rff",
+                    commit == null ? "jmh-result.json" : "jmh-result-" + commit + ".json"));
+        }
+        Main.main(arguments.toArray(String[]::new));
+    }
+
+    private static String currentCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String output;
+            try (InputStream in = process.getInputStream()) {
+                output = new String(in.readAllBytes()).strip();
+            }
+            if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0 || !output.matches("[0-9a-f]+")) {
+                return null;
+            }
+            return output;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
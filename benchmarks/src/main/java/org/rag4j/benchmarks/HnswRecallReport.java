@@ -0,0 +1,93 @@
+package org.rag4j.benchmarks;
+
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.HnswParameters;
+import org.rag4j.agent.core.search.HashedEmbedding;
+import org.rag4j.agent.core.search.HnswIndex;
+import org.rag4j.agent.core.search.VectorIndex;
+import org.rag4j.agent.core.search.VectorScorers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Reports the build time of the HNSW graph over a synthetic catalog, and the recall@10 and latency of approximate
+ * semantic search for several {@code ef} values against the exact scan:
+ * <pre>
+ * java -Xmx4g --add-modules jdk.incubator.vector -cp benchmarks/target/benchmarks.jar \
+ *     org.rag4j.benchmarks.HnswRecallReport 1000000 16 100
+ * </pre>
+ * The arguments are the number of talks, {@code m} and {@code efConstruction}; they default to
+ * {@link HnswParameters#defaults()} on one million talks. The queries are the first words of random talk titles.
+ */
+public final class HnswRecallReport {
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+    private static final int[] EF_VALUES = {16, 32, 64, 128, 256};
+
+    private HnswRecallReport() {
+    }
+
+    public static void main(String[] args) {
+        HnswParameters defaults = HnswParameters.defaults();
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : defaults.m();
+        int efConstruction = args.length > 2 ? Integer.parseInt(args[2]) : defaults.efConstruction();
+
+        List<ConferenceTalk> talks = SyntheticCatalog.generate(size, 42L);
+        HashedEmbedding embedding = HashedEmbedding.withDefaults();
+        VectorIndex index = VectorIndex.build(size, i -> talks.get(i).title(), i -> talks.get(i).description(),
+                embedding);
+        long start = System.nanoTime();
+        HnswIndex graph = index.buildGraph(m, efConstruction);
+        System.out.printf("talks=%d m=%d efConstruction=%d build=%d s%n", size, m, efConstruction,
+                (System.nanoTime() - start) / 1_000_000_000);
+        VectorIndex approximate = index.withGraph(graph, defaults.efSearch());
+
+        Random random = new Random(7);
+        float[][] queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            String[] words = talks.get(random.nextInt(size)).title().split(" ");
+            queries[i] = embedding.embedQuery(words[0] + " " + words[Math.min(1, words.length - 1)]);
+        }
+
+        // The first round of each search only warms up the JIT.
+        List<Set<Integer>> exact = new ArrayList<>();
+        for (int round = 0; round < 2; round++) {
+            exact.clear();
+            start = System.nanoTime();
+            for (float[] query : queries) {
+                Set<Integer> ordinals = new HashSet<>();
+                index.search(query, K, VectorScorers.preferred()).forEach(hit -> ordinals.add(hit.ordinal()));
+                exact.add(ordinals);
+            }
+        }
+        System.out.printf("exact latency=%.3f ms%n", (System.nanoTime() - start) / 1e6 / QUERIES);
+
+        for (int round = 0; round < 2; round++) {
+            for (int ef : EF_VALUES) {
+                report(approximate, queries, exact, ef, round == 1);
+            }
+        }
+    }
+
+    private static void report(VectorIndex index, float[][] queries, List<Set<Integer>> exact, int ef,
+                               boolean print) {
+        int found = 0;
+        int total = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            for (VectorIndex.Hit hit : index.searchApproximate(queries[i], K, ef)) {
+                found += exact.get(i).contains(hit.ordinal()) ? 1 : 0;
+            }
+            total += exact.get(i).size();
+        }
+        if (print) {
+            System.out.printf("ef=%d recall@%d=%.3f latency=%.3f ms%n", ef, K, (double) found / total,
+                    (System.nanoTime() - start) / 1e6 / QUERIES);
+        }
+    }
+}
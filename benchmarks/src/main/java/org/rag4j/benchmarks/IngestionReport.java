@@ -0,0 +1,105 @@
+package org.rag4j.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports the time and the peak heap to read a large synthetic talks.json. Peak heap is sampled while parsing, so run
+ * every mode in a fresh JVM:
+ * <pre>
+ * java -Xmx8g -cp benchmarks/target/benchmarks.jar org.rag4j.benchmarks.IngestionReport tree /tmp/talks.json 1500000
+ * java -Xmx8g -cp benchmarks/target/benchmarks.jar org.rag4j.benchmarks.IngestionReport streaming /tmp/talks.json 1500000
+ * java -Xmx8g -cp benchmarks/target/benchmarks.jar org.rag4j.benchmarks.IngestionReport parallel /tmp/talks.json 1500000
+ * </pre>
+ * The file is generated when it does not exist yet. The {@code tree} mode is the former {@code readTree} ingestion.
+ * The {@code index} mode parses and indexes the file like a repository without snapshot does at startup, and the
+ * {@code snapshot} mode opens {@code <file>.snapshot}, which is written first in a separate step when it is missing.
+ */
+public final class IngestionReport {
+
+    private IngestionReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: IngestionReport <tree|streaming|parallel|index|snapshot> <file> [talks]");
+            System.exit(1);
+        }
+        String mode = args[0];
+        Path file = Path.of(args[1]);
+        if (Files.notExists(file)) {
+            int talks = args.length > 2 ? Integer.parseInt(args[2]) : 1_500_000;
+            SyntheticCatalog.writeJson(file, talks, 42L);
+        }
+        Path snapshot = Path.of(args[1] + ".snapshot");
+        if (mode.equals("snapshot") && Files.notExists(snapshot)) {
+            ConferenceTalksRepository.indexed(file, snapshot).close();
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        Object loaded = switch (mode) {
+            case "tree" -> readTree(file);
+            case "streaming" -> ConferenceTalksRepository.parseTalksFromJson(file, false);
+            case "parallel" -> ConferenceTalksRepository.parseTalksFromJson(file, true);
+            case "index" -> new ConferenceTalksRepository(ConferenceTalksRepository.parseTalksFromJson(file, false));
+            case "snapshot" -> ConferenceTalksRepository.indexed(file, snapshot);
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        long elapsed = System.nanoTime() - start;
+        sampler.interrupt();
+        sampler.join();
+        System.gc();
+        long retained = memory.getHeapMemoryUsage().getUsed() - baseline;
+
+        String result = loaded instanceof List<?> talks
+                ? "talks=" + talks.size()
+                : "speakerLookup=" + ((ConferenceTalksRepository) loaded).findTalksBySpeaker(SyntheticCatalog.speakerName(7)).size();
+        System.out.printf("mode=%s file=%d MB %s time=%d ms peakHeap=%d MB retainedHeap=%d MB%n",
+                mode, Files.size(file) >> 20, result, elapsed / 1_000_000,
+                (peak.get() - baseline) >> 20, retained >> 20);
+    }
+
+    private static List<ConferenceTalk> readTree(Path file) throws IOException {
+        List<ConferenceTalk> talks = new ArrayList<>();
+        try (InputStream is = Files.newInputStream(file)) {
+            JsonNode root = new ObjectMapper().readTree(is);
+            for (JsonNode node : root) {
+                List<Speaker> speakers = new ArrayList<>();
+                for (JsonNode speakerNode : node.path("speakers")) {
+                    speakers.add(new Speaker(speakerNode.asText()));
+                }
+                talks.add(new ConferenceTalk(node.path("title").asText(), node.path("description").asText(),
+                        node.path("track").asText(), node.path("level").asText(), speakers));
+            }
+        }
+        return talks;
+    }
+}
@@ -0,0 +1,95 @@
+package org.rag4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rag4j.agent.reasoning.ReActEvent;
+import org.rag4j.agent.reasoning.ReActParser;
+import org.rag4j.agent.tools.AgentAction;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the single-pass ReAct parser of the plain Java agent with the regular expressions it replaced, which
+ * compiled three patterns and scanned the output three times for every reasoning step. The streaming benchmark feeds
+ * the output in chunks of a few characters, as a streamed completion arrives.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar ReActParsingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReActParsingBenchmark {
+    private static final int CHUNK_SIZE = 4;
+
+    @Param({"ACTION", "ANSWER"})
+    public String step;
+
+    private String output;
+
+    @Setup
+    public void setUp() {
+        output = switch (step) {
+            case "ACTION" -> """
+                    Question: Which talks about agents are in the Java track?
+                    Think: I need to search the talks about agents and keep the ones in the Java track. The \
+                    search_talks action takes keywords and a track, so one call is enough.
+                    Action: search_talks: {"keywords": "agents", "track": "Java"}
+                    PAUSE""";
+            case "ANSWER" -> """
+                    Observation: - Agents in Java | by Alice | Java | BEGINNER
+                    - Building agents with Spring AI | by Bob | Java | INTERMEDIATE
+                    Think: Now that I have the result, I can provide the final answer.
+                    Answer: There are two talks about agents in the Java track: Agents in Java by Alice and \
+                    Building agents with Spring AI by Bob.""";
+            default -> throw new IllegalArgumentException("Unknown step " + step);
+        };
+    }
+
+    @Benchmark
+    public List<ReActEvent> parser() {
+        return ReActParser.parse(output);
+    }
+
+    @Benchmark
+    public void parserStreaming(Blackhole blackhole) {
+        ReActParser parser = new ReActParser(blackhole::consume);
+        for (int i = 0; i < output.length(); i += CHUNK_SIZE) {
+            parser.accept(output.subSequence(i, Math.min(output.length(), i + CHUNK_SIZE)));
+        }
+        parser.finish();
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        Matcher thinkMatcher = Pattern.compile("^Think: (.*)$", Pattern.MULTILINE).matcher(output);
+        while (thinkMatcher.find()) {
+            blackhole.consume(thinkMatcher.group(1));
+        }
+        Matcher answerMatcher = Pattern.compile("^Answer: (.*)$", Pattern.MULTILINE).matcher(output);
+        if (answerMatcher.find()) {
+            blackhole.consume(Optional.of(answerMatcher.group(1).trim()));
+            return;
+        }
+        Matcher actionMatcher = Pattern.compile("^Action: (\\w+): (.*)$", Pattern.MULTILINE).matcher(output);
+        if (actionMatcher.find()) {
+            blackhole.consume(Optional.of(new AgentAction(actionMatcher.group(1), actionMatcher.group(2).trim())));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.rag4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a repository takes to become ready for growing catalogs: indexing the talks in memory, and
+ * opening a snapshot indexed from the same catalog. Each iteration builds or opens the repository once.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar RepositoryConstructionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "--add-modules", "jdk.incubator.vector"})
+public class RepositoryConstructionBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private List<ConferenceTalk> talks;
+    private Path catalogFile;
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        talks = SyntheticCatalog.generate(catalogSize, 42L);
+        catalogFile = Files.createTempFile("talks-" + catalogSize, ".json");
+        SyntheticCatalog.writeJson(catalogFile, catalogSize, 42L);
+        snapshot = Files.createTempFile("talks-" + catalogSize, ".snapshot");
+        Files.delete(snapshot);
+        ConferenceTalksRepository.indexed(catalogFile, snapshot).close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(catalogFile);
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public ConferenceTalksRepository buildRepository() {
+        return new ConferenceTalksRepository(talks);
+    }
+
+    @Benchmark
+    public ConferenceTalksRepository openSnapshot() throws IOException {
+        return ConferenceTalksRepository.indexed(catalogFile, snapshot);
+    }
+}
@@ -0,0 +1,147 @@
+package org.rag4j.benchmarks;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.Speaker;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates deterministic synthetic conference catalogs of arbitrary size for the benchmarks.
+ * <p>
+ * Speakers and tracks follow {@link ZipfDistribution Zipfian} distributions: a catalog of {@code n} talks draws from
+ * {@code n / 2} speakers, of which the most popular few give many talks and most give one, and a few tracks hold most
+ * of the talks. The speaker with rank {@code r} is {@link #speakerName(int) speaker number} {@code r}.
+ */
+public final class SyntheticCatalog {
+    private static final String[] WORDS = {
+            "java", "spring", "agents", "kotlin", "security", "streams", "virtual", "threads", "graal", "native",
+            "kubernetes", "cloud", "testing", "architecture", "llm", "rag", "vector", "search", "observability",
+            "performance", "records", "patterns", "loom", "panama", "valhalla", "reactive", "events", "kafka",
+            "microservices", "modular", "jvm", "garbage", "collector", "profiling", "memory", "concurrency",
+            "functional", "domain", "design", "culture", "teams", "mcp", "embeddings", "prompts", "guardrails"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Bram", "Chloé", "Daan", "Emma", "Femke", "Gijs", "Hanna", "Isa", "Jettro", "Kees", "Lotte",
+            "Mila", "Noah", "Olga", "Pieter", "Quinten", "Roos", "Sébastien", "Tess", "Umar", "Vera", "Wout", "Yara"
+    };
+    private static final String[] SYLLABLES = {
+            "ba", "ko", "ven", "dri", "la", "mer", "sto", "ra", "jan", "sen", "de", "vos", "hil", "tor", "mu",
+            "ker", "bla", "co", "ne", "dam", "ri", "ter", "spe", "wil", "lem", "ma", "es", "pol", "gun", "fa"
+    };
+    private static final String[] TRACKS = {
+            "GenAI & Beyond", "Java", "Development Practices", "People & Culture", "Architecture",
+            "Server Side Java", "Security", "Build Different", "Mind the geek"
+    };
+    private static final String[] LEVELS = {"BEGINNER", "INTERMEDIATE", "ADVANCED"};
+    private static final double SPEAKER_EXPONENT = 0.8;
+    private static final double TRACK_EXPONENT = 1.0;
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Generates a catalog. The same size and seed always produce the same talks.
+     *
+     * @param size the number of talks
+     * @param seed the seed for the random generator
+     * @return the generated talks
+     */
+    public static List<ConferenceTalk> generate(int size, long seed) {
+        Random random = new Random(seed);
+        Distributions distributions = new Distributions(size);
+        List<ConferenceTalk> talks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            talks.add(talk(random, i, distributions));
+        }
+        return talks;
+    }
+
+    /**
+     * Writes the catalog that {@link #generate(int, long)} returns as a talks.json file, one talk at a time so that
+     * catalogs of hundreds of megabytes never have to fit in memory.
+     *
+     * @param file the file to write
+     * @param size the number of talks
+     * @param seed the seed for the random generator
+     */
+    public static void writeJson(Path file, int size, long seed) throws IOException {
+        Random random = new Random(seed);
+        Distributions distributions = new Distributions(size);
+        try (JsonGenerator generator = new JsonFactory().createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartArray();
+            for (int i = 0; i < size; i++) {
+                ConferenceTalk talk = talk(random, i, distributions);
+                generator.writeStartObject();
+                generator.writeStringField("title", talk.title());
+                generator.writeStringField("description", talk.description());
+                generator.writeArrayFieldStart("speakers");
+                for (Speaker speaker : talk.speakers()) {
+                    generator.writeString(speaker.name());
+                }
+                generator.writeEndArray();
+                generator.writeStringField("track", talk.track());
+                generator.writeStringField("level", talk.level());
+                generator.writeNullField("room");
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static ConferenceTalk talk(Random random, int i, Distributions distributions) {
+        String title = sentence(random, 3 + random.nextInt(5)) + " " + i;
+        String description = sentence(random, 20 + random.nextInt(10));
+        List<Speaker> speakers = new ArrayList<>();
+        int speakerCount = 1 + random.nextInt(2);
+        for (int s = 0; s < speakerCount; s++) {
+            String name = speakerName(distributions.speakers().sample(random));
+            if (speakers.stream().noneMatch(speaker -> speaker.name().equals(name))) {
+                speakers.add(new Speaker(name));
+            }
+        }
+        return new ConferenceTalk(title, description, TRACKS[distributions.tracks().sample(random)],
+                LEVELS[random.nextInt(LEVELS.length)], speakers);
+    }
+
+    /**
+     * Returns the name of the speaker with the provided number. Last names are built from syllables, so larger
+     * catalogs get more distinct speakers, like a real multi-conference catalog would.
+     */
+    public static String speakerName(int number) {
+        StringBuilder lastName = new StringBuilder();
+        int remaining = number / FIRST_NAMES.length;
+        do {
+            lastName.append(SYLLABLES[remaining % SYLLABLES.length]);
+            remaining /= SYLLABLES.length;
+        } while (remaining > 0);
+        lastName.setCharAt(0, Character.toUpperCase(lastName.charAt(0)));
+        return FIRST_NAMES[number % FIRST_NAMES.length] + " " + lastName;
+    }
+
+    private record Distributions(ZipfDistribution speakers, ZipfDistribution tracks) {
+        Distributions(int size) {
+            this(new ZipfDistribution(Math.max(1, size / 2), SPEAKER_EXPONENT),
+                    new ZipfDistribution(TRACKS.length, TRACK_EXPONENT));
+        }
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sentence.append(' ');
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            sentence.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+        }
+        return sentence.toString();
+    }
+}
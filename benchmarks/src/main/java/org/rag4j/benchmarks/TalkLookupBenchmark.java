@@ -0,0 +1,149 @@
+package org.rag4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkCounts;
+import org.rag4j.agent.core.TalkQuery;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures selective title and speaker lookups for growing catalogs. The indexed repository should stay roughly flat
+ * as the catalog grows, while the linear scan baseline grows with the number of talks. Speakers follow a Zipfian
+ * distribution, so the talks of the most popular speaker grow with the catalog, while a speaker drawn from the
+ * catalog is usually one of the many with a few talks.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar TalkLookupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class TalkLookupBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private List<ConferenceTalk> talks;
+    private ConferenceTalksRepository repository;
+    private String speakerQuery;
+    private String popularSpeaker;
+    private String titleQuery;
+    private String speakerFragment;
+    private String misspelledSpeaker;
+    private String titlePrefix;
+    private String speakerPrefix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        talks = SyntheticCatalog.generate(catalogSize, 42L);
+        repository = new ConferenceTalksRepository(talks);
+        speakerQuery = talks.get(catalogSize / 2).speakers().getFirst().name();
+        popularSpeaker = SyntheticCatalog.speakerName(0);
+        // Every title ends with its own number, which makes this query match a handful of talks at most.
+        titleQuery = "agents " + (catalogSize / 3);
+        // A fragment from the middle of a name, which only the trigram index can answer without a vocabulary scan.
+        String lastName = speakerQuery.substring(speakerQuery.indexOf(' ') + 1);
+        speakerFragment = lastName.substring(1, lastName.length() - 1);
+        // The same name with a typo in the last name, which only the fuzzy index finds.
+        int typo = speakerQuery.indexOf(' ') + 2;
+        misspelledSpeaker = speakerQuery.substring(0, typo) + 'x' + speakerQuery.substring(typo + 1);
+        // Two typed characters, which a large share of the catalog starts with.
+        titlePrefix = talks.get(catalogSize / 4).title().substring(0, 2);
+        speakerPrefix = lastName.substring(0, 2);
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> findTalksBySpeaker() {
+        return repository.findTalksBySpeaker(speakerQuery);
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> findTalksByPopularSpeaker() {
+        return repository.findTalksBySpeaker(popularSpeaker);
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> findTalksBySpeakerFragment() {
+        return repository.findTalksBySpeaker(speakerFragment);
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> findTalksBySpeakerFuzzy() {
+        return repository.findTalksBySpeakerFuzzy(misspelledSpeaker, ConferenceTalksRepository.DEFAULT_MAX_EDITS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<String> completeTitle() {
+        return repository.completeTitle(titlePrefix, 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<String> completeSpeaker() {
+        return repository.completeSpeaker(speakerPrefix, 10);
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> findTalksByTitle() {
+        return repository.findTalksByTitle(titleQuery);
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> searchTalks() {
+        return repository.searchTalks("testing agents with spring", 10);
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> semanticSearchTalks() {
+        return repository.semanticSearchTalks("how do I test an agent built with spring", 10);
+    }
+
+    @Benchmark
+    public TalkCounts countTalksByTrackAndKeyword() {
+        return repository.query(new TalkQuery(talks.getFirst().track(), null, null, "agents")).counts();
+    }
+
+    @Benchmark
+    public long linearScanCountByTrackAndKeyword() {
+        String track = talks.getFirst().track();
+        return talks.stream()
+                .filter(talk -> talk.track().equals(track))
+                .filter(talk -> talk.title().toLowerCase().contains("agents")
+                        || talk.description().toLowerCase().contains("agents"))
+                .count();
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> linearScanBySpeaker() {
+        String query = speakerQuery.toLowerCase();
+        return talks.stream()
+                .filter(talk -> talk.speakers().stream()
+                        .anyMatch(speaker -> speaker.name().toLowerCase().contains(query)))
+                .toList();
+    }
+
+    @Benchmark
+    public List<ConferenceTalk> linearScanByTitle() {
+        String query = titleQuery.toLowerCase();
+        return talks.stream()
+                .filter(talk -> talk.title().toLowerCase().contains(query))
+                .toList();
+    }
+}
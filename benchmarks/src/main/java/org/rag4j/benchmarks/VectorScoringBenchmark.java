@@ -0,0 +1,93 @@
+package org.rag4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.search.HashedEmbedding;
+import org.rag4j.agent.core.search.VectorIndex;
+import org.rag4j.agent.core.search.VectorScorer;
+import org.rag4j.agent.core.search.VectorScorers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and the SIMD scorer of the vector index, for the raw dot products over all talks and for a
+ * complete top-10 search. The fork adds the Vector API module, without it the SIMD benchmarks fail.
+ * <p>
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar VectorScoringBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class VectorScoringBenchmark {
+    private static final int BLOCK_ROWS = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private float[] matrix;
+    private float[] query;
+    private float[] scores;
+    private int dimension;
+    private VectorIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HashedEmbedding embedding = HashedEmbedding.withDefaults();
+        List<ConferenceTalk> talks = SyntheticCatalog.generate(catalogSize, 42L);
+        index = VectorIndex.build(talks.size(), i -> talks.get(i).title(), i -> talks.get(i).description(),
+                embedding);
+        dimension = embedding.dimension();
+        matrix = new float[catalogSize * dimension];
+        for (int i = 0; i < catalogSize; i++) {
+            float[] vector = embedding.embedDocument(talks.get(i).title(), talks.get(i).description());
+            System.arraycopy(vector, 0, matrix, i * dimension, dimension);
+        }
+        query = embedding.embedQuery("testing agents with spring");
+        scores = new float[BLOCK_ROWS];
+    }
+
+    @Benchmark
+    public float scalarDotProducts() {
+        return dotProducts(VectorScorers.scalar());
+    }
+
+    @Benchmark
+    public float simdDotProducts() {
+        return dotProducts(VectorScorers.simd());
+    }
+
+    @Benchmark
+    public List<VectorIndex.Hit> scalarSearch() {
+        return index.search(query, 10, VectorScorers.scalar());
+    }
+
+    @Benchmark
+    public List<VectorIndex.Hit> simdSearch() {
+        return index.search(query, 10, VectorScorers.simd());
+    }
+
+    private float dotProducts(VectorScorer scorer) {
+        float checksum = 0;
+        for (int from = 0; from < catalogSize; from += BLOCK_ROWS) {
+            int to = Math.min(catalogSize, from + BLOCK_ROWS);
+            scorer.dotProducts(matrix, dimension, from, to, query, scores);
+            checksum += scores[0];
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,49 @@
+package org.rag4j.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipfian distribution over the ranks {@code 0} to {@code n - 1}: rank {@code r} is drawn with a probability
+ * proportional to {@code 1 / (r + 1)^exponent}. A few speakers and tracks get most of the talks, and a long tail gets
+ * one or two each, like in a real conference catalog.
+ * <p>
+ * Sampling is a binary search in the cumulative distribution, so a sample depends on nothing but the random generator
+ * and the same seed always gives the same ranks.
+ */
+public final class ZipfDistribution {
+    private final double[] cumulative;
+
+    /**
+     * Creates the distribution.
+     *
+     * @param n        the number of ranks, must be positive
+     * @param exponent the skew, zero for a uniform distribution
+     */
+    public ZipfDistribution(int n, double exponent) {
+        if (n <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("Expected a positive number of ranks and a non-negative exponent, got "
+                    + n + " and " + exponent);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @param random the random generator
+     * @return the rank, lower ranks more likely
+     */
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+}
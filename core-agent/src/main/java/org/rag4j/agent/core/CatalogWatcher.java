@@ -0,0 +1,79 @@
+package org.rag4j.agent.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a catalog file and runs a reload on a background thread when it changes. Editors and deploy scripts often
+ * write a file in several steps or replace it with a rename, so the reload waits until the directory has been quiet
+ * for a short period and then runs once for the whole burst of events.
+ */
+final class CatalogWatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogWatcher.class);
+    private static final long QUIET_PERIOD_MILLIS = 300;
+
+    private final Path file;
+    private final Runnable reload;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    CatalogWatcher(Path file, Runnable reload) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.reload = reload;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = Thread.ofPlatform()
+                .name("talk-catalog-watcher")
+                .daemon()
+                .start(this::watch);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                if (!concernsFile(watchService.take())) {
+                    continue;
+                }
+                WatchKey next;
+                while ((next = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    concernsFile(next);
+                }
+                reload.run();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            logger.debug("Stopped watching {}", file);
+        }
+    }
+
+    private boolean concernsFile(WatchKey key) {
+        boolean concernsFile = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                concernsFile = true;
+            }
+        }
+        key.reset();
+        return concernsFile;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
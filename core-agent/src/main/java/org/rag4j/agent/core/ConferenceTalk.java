@@ -1,5 +1,12 @@
 package org.rag4j.agent.core;
 
+import org.rag4j.agent.core.search.Tokenizer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
 
 public record ConferenceTalk(
@@ -9,4 +16,45 @@ public record ConferenceTalk(
         String level,
         List<Speaker> speakers
 ) {
+
+    /**
+     * Returns the stable id of this talk, derived from its title and speaker names. The id stays the same across
+     * catalog reloads and snapshots, and for a talk that is read again from another copy of the catalog, so it can be
+     * stored in place of the title and speakers. It is not stable across edits to the catalog content: a corrected
+     * title or speaker name gives the talk a new id, and an id stored before the edit no longer resolves. See
+     * {@link #idOf(String, Collection)}.
+     *
+     * @return the id, 16 hexadecimal characters
+     */
+    public String id() {
+        return idOf(title, speakers == null ? List.of() : speakers.stream().map(Speaker::name).toList());
+    }
+
+    /**
+     * Derives the id of a talk from its title and speaker names. Case, surrounding and repeated whitespace, and the
+     * order of the speakers do not change the id; the description, track and level are not part of it. The id is the
+     * first 64 bits of the SHA-256 hash of the normalized fields.
+     *
+     * @param title        the title of the talk
+     * @param speakerNames the names of the speakers
+     * @return the id, 16 hexadecimal characters
+     */
+    public static String idOf(String title, Collection<String> speakerNames) {
+        StringBuilder key = new StringBuilder(normalize(title));
+        speakerNames.stream()
+                .filter(name -> name != null && !name.isBlank())
+                .map(ConferenceTalk::normalize)
+                .sorted()
+                .forEach(name -> key.append('\u001f').append(name));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, Long.BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : Tokenizer.normalize(value.strip().replaceAll("\\s+", " "));
+    }
 }
@@ -1,62 +1,752 @@
 package org.rag4j.agent.core;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
 
-public class ConferenceTalksRepository {
+/**
+ * Indexed access to the conference talks.
+ * <p>
+ * The talks and indexes form one immutable catalog that is published through a single volatile field. A repository
+ * that watches an external catalog file rebuilds the catalog on a background thread and then swaps the reference, so
+ * lookups never take a lock and never see a half-built index. Every published catalog gets a new
+ * {@link #catalogVersion() version}, which caches of lookup results can use to invalidate their entries.
+ * <p>
+ * With a {@link #useQueryCache(TalkQueryCache) query cache}, repeated lookups are answered from the cache until the
+ * next catalog is published.
+ * <p>
+ * The lookups that find talks return a {@link TalkList}, which holds the ordinals of the talks and the version of the
+ * catalog they were found in, so a caller can read the version and the results from the same catalog.
+ */
+public class ConferenceTalksRepository implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(ConferenceTalksRepository.class);
+    /**
+     * The edit distance per word that the lookups with similar matches allow, enough for a typo or two in a name.
+     */
+    public static final int DEFAULT_MAX_EDITS = 2;
+    /**
+     * The largest catalog for which the graph of related talks is built ahead without approximate semantic search,
+     * which compares every pair of talks.
+     */
+    static final int EXACT_RELATED_TALKS_LIMIT = 10_000;
 
-    private final List<ConferenceTalk> talks;
+    private volatile Published published;
+    private final Path source;
+    private final long bundledChecksum;
+    private volatile CatalogWatcher watcher;
+    private HnswParameters approximateSearch;
+    private volatile TalkQueryCache queryCache;
+    private volatile boolean precomputeRelatedTalks;
+    private Thread relatedTalksBuilder;
+    private final List<Consumer<TalkList>> publishListeners = new CopyOnWriteArrayList<>();
 
     public ConferenceTalksRepository() {
+        this(bundledCatalog());
+    }
+
+    private ConferenceTalksRepository(byte[] bundledCatalog) {
         try {
-            this.talks = parseTalksFromJson();
+            this.published = new Published(
+                    TalkCatalog.build(TalksJsonReader.read(new ByteArrayInputStream(bundledCatalog))), 1);
         } catch (IOException e) {
             logger.error("Failed to parse talks from JSON", e);
             throw new RuntimeException(e);
         }
+        this.source = null;
+        this.bundledChecksum = checksum(bundledCatalog);
+        logger.info("Indexed {} conference talks", published.catalog().size());
+    }
+
+    /**
+     * Creates a repository for the provided talks instead of the bundled talks.json.
+     *
+     * @param talks the talks to index
+     */
+    public ConferenceTalksRepository(List<ConferenceTalk> talks) {
+        this(TalkCatalog.build(talks), null);
+    }
+
+    private ConferenceTalksRepository(TalkCatalog catalog, Path source) {
+        this(catalog, source, TalkCatalog.UNKNOWN_SOURCE);
+    }
+
+    private ConferenceTalksRepository(TalkCatalog catalog, Path source, long bundledChecksum) {
+        this.published = new Published(catalog, 1);
+        this.source = source;
+        this.bundledChecksum = bundledChecksum;
+    }
+
+    /**
+     * Creates a repository for an external catalog file in the talks.json format and reloads it whenever the file
+     * changes. Lookups keep using the previous catalog until the new one is completely indexed. When the changed file
+     * cannot be parsed, the previous catalog stays in place.
+     *
+     * @param catalogFile the JSON file with an array of talks
+     * @return the repository, which must be closed to stop watching
+     * @throws IOException when the file cannot be read or watched
+     */
+    public static ConferenceTalksRepository watching(Path catalogFile) throws IOException {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(
+                TalkCatalog.build(parseTalksFromJson(catalogFile, true)), catalogFile);
+        logger.info("Indexed {} conference talks from {}", repository.published.catalog().size(), catalogFile);
+        repository.watcher = new CatalogWatcher(catalogFile, repository::reloadAfterChange);
+        return repository;
+    }
+
+    /**
+     * Creates the repository the agent configurations ask for. A catalog file takes precedence over a snapshot; blank
+     * values are ignored, and without either the bundled talks.json is used.
+     *
+     * @param catalogFile an external catalog file to watch for changes, or blank
+     * @param snapshot    a binary snapshot to open or create, or blank
+     * @return the repository
+     * @throws IOException when the catalog file cannot be read or watched
+     */
+    public static ConferenceTalksRepository create(String catalogFile, String snapshot) throws IOException {
+        if (catalogFile != null && !catalogFile.isBlank()) {
+            return watching(Path.of(catalogFile));
+        }
+        if (snapshot != null && !snapshot.isBlank()) {
+            return withSnapshot(Path.of(snapshot));
+        }
+        return new ConferenceTalksRepository();
+    }
+
+    /**
+     * Creates the repository the agents share, as {@link #create(String, String)} does, answering repeated lookups
+     * from the cache and building the graph of related talks in the background.
+     *
+     * @param catalogFile an external catalog file to watch for changes, or blank
+     * @param snapshot    a binary snapshot to open or create, or blank
+     * @param cache       the query cache of this repository
+     * @return the repository
+     * @throws IOException when the catalog file cannot be read or watched
+     * @see #useQueryCache(TalkQueryCache)
+     * @see #precomputeRelatedTalks()
+     */
+    public static ConferenceTalksRepository forAgents(String catalogFile, String snapshot, TalkQueryCache cache)
+            throws IOException {
+        ConferenceTalksRepository repository = create(catalogFile, snapshot);
+        repository.useQueryCache(cache);
+        repository.precomputeRelatedTalks();
+        return repository;
+    }
+
+    /**
+     * Parses and indexes the catalog file again and publishes the result. Only one reload runs at a time; lookups
+     * continue on the current catalog while it runs.
+     *
+     * @return the version of the newly published catalog
+     * @throws IOException           when the catalog file cannot be read or parsed
+     * @throws IllegalStateException when the repository does not read from a catalog file
+     */
+    public synchronized long reload() throws IOException {
+        if (source == null) {
+            throw new IllegalStateException("This repository does not read from a catalog file");
+        }
+        long start = System.nanoTime();
+        TalkCatalog catalog = TalkCatalog.build(parseTalksFromJson(source, true));
+        if (approximateSearch != null) {
+            catalog = catalog.withApproximateSearch(approximateSearch, published.catalog());
+        }
+        Published next = new Published(catalog, published.version() + 1);
+        publish(next);
+        logger.info("Reloaded {} conference talks from {} as version {} in {} ms", catalog.size(), source,
+                next.version(), (System.nanoTime() - start) / 1_000_000);
+        return next.version();
+    }
+
+    /**
+     * Switches semantic search to an approximate search on an HNSW graph, for catalogs too large to score every talk
+     * per query. The graph is built and published as a new catalog version; lookups use the exact search until then.
+     * Reloads keep the graph: when talks were only appended to the catalog file, the new talks are inserted into a
+     * copy of the current graph instead of building it again. A snapshot written afterwards includes the graph, so a
+     * repository opened from it does not build the graph at startup.
+     *
+     * @param parameters the graph and search settings
+     * @return the version of the newly published catalog
+     */
+    public synchronized long useApproximateSemanticSearch(HnswParameters parameters) {
+        long start = System.nanoTime();
+        Published current = published;
+        Published next = new Published(current.catalog().withApproximateSearch(parameters, null),
+                current.version() + 1);
+        approximateSearch = parameters;
+        publish(next);
+        logger.info("Published catalog version {} with approximate semantic search {} in {} ms", next.version(),
+                parameters, (System.nanoTime() - start) / 1_000_000);
+        return next.version();
+    }
+
+    /**
+     * Answers repeated lookups from a cache. The cache only holds results of the current catalog version: publishing
+     * a new catalog drops its entries. Every repository needs its own cache. The cache keys hold the catalog version
+     * but not the repository, and every repository numbers its catalogs from 1, so two repositories sharing a cache
+     * would answer each other's lookups, and a reload of one would drop the entries of both.
+     *
+     * @param cache the cache, or null to stop caching
+     */
+    public void useQueryCache(TalkQueryCache cache) {
+        queryCache = cache;
+    }
+
+    /**
+     * Builds the graph of related talks on a background thread, for the current catalog and for every catalog that is
+     * published later, so {@link #findRelatedTalks(String, int)} answers from the graph instead of building it on the
+     * first call. Publishing a catalog cancels the build for the previous one. Without
+     * {@link #useApproximateSemanticSearch(HnswParameters) approximate semantic search} the build compares every pair
+     * of talks, so catalogs larger than {@value #EXACT_RELATED_TALKS_LIMIT} talks then build the graph on first use.
+     */
+    public synchronized void precomputeRelatedTalks() {
+        precomputeRelatedTalks = true;
+        startRelatedTalks(published);
+    }
+
+    /**
+     * Prepares something for every talk of a catalog when it is published, for instance a rendered line per talk kept
+     * in an array indexed by {@link TalkList#ordinal(int) ordinal}. The listener is called with all talks of the
+     * current catalog right away, and with all talks of every catalog published later, on the thread that publishes
+     * it and before the lookups switch to that catalog.
+     *
+     * @param listener receives the talks of every published catalog, with their catalog version
+     * @see #removePublishListener(Consumer)
+     */
+    public synchronized void onPublish(Consumer<TalkList> listener) {
+        publishListeners.add(listener);
+        Published current = published;
+        listener.accept(current.talks());
+    }
+
+    /**
+     * Stops calling a listener registered with {@link #onPublish(Consumer)}, so it no longer prepares anything for
+     * the catalogs published later and can be garbage collected.
+     *
+     * @param listener the listener as it was registered
+     */
+    public synchronized void removePublishListener(Consumer<TalkList> listener) {
+        publishListeners.remove(listener);
+    }
+
+    private void publish(Published next) {
+        for (Consumer<TalkList> listener : publishListeners) {
+            try {
+                listener.accept(next.talks());
+            } catch (RuntimeException e) {
+                logger.warn("Failed to prepare catalog version {} for a publish listener", next.version(), e);
+            }
+        }
+        Published previous = published;
+        published = next;
+        TalkQueryCache cache = queryCache;
+        if (cache != null) {
+            logger.info("Query cache for catalog version {}: {}", previous.version(), cache.statistics());
+            cache.invalidateAll();
+        }
+        if (precomputeRelatedTalks) {
+            startRelatedTalks(next);
+        }
+    }
+
+    private synchronized void startRelatedTalks(Published current) {
+        if (relatedTalksBuilder != null) {
+            // The graph of the previous catalog is no longer needed
+            relatedTalksBuilder.interrupt();
+            relatedTalksBuilder = null;
+        }
+        TalkCatalog catalog = current.catalog();
+        if (!catalog.hasApproximateSearch() && catalog.size() > EXACT_RELATED_TALKS_LIMIT) {
+            logger.info("Not building the related talks of catalog version {} ahead, {} talks need approximate "
+                    + "semantic search", current.version(), catalog.size());
+            return;
+        }
+        relatedTalksBuilder = Thread.ofPlatform()
+                .name("related-talks-" + current.version())
+                .daemon()
+                .start(() -> {
+                    long start = System.nanoTime();
+                    Thread builder = Thread.currentThread();
+                    if (catalog.relatedTalks(builder::isInterrupted) == null) {
+                        logger.info("Cancelled the related talks of catalog version {}", current.version());
+                        return;
+                    }
+                    logger.info("Built the related talks of catalog version {} in {} ms", current.version(),
+                            (System.nanoTime() - start) / 1_000_000);
+                });
+    }
+
+    private void reloadAfterChange() {
+        try {
+            reload();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to reload {}, keeping catalog version {}", source, published.version(), e);
+        }
+    }
+
+    /**
+     * Returns the version of the catalog that lookups currently use. It starts at 1 and increases with every reload.
+     *
+     * @return the catalog version
+     */
+    public long catalogVersion() {
+        return published.version();
+    }
+
+    /**
+     * Stops watching the catalog file, if this repository watches one, and logs the statistics of the query cache.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (relatedTalksBuilder != null) {
+                relatedTalksBuilder.interrupt();
+            }
+        }
+        TalkQueryCache cache = queryCache;
+        if (cache != null) {
+            logger.info("Query cache for catalog version {}: {}", catalogVersion(), cache.statistics());
+        }
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    /**
+     * Creates a repository from a binary snapshot of the catalog and its indexes. The snapshot is memory mapped and
+     * talks are decoded when they are returned, so startup does not have to parse or index the catalog. The snapshot
+     * header holds a checksum of the bundled talks.json it was written from; when the snapshot does not exist, cannot
+     * be opened or was written from another talks.json, the bundled talks.json is indexed and written as the snapshot
+     * for the next start. To open a snapshot of another catalog, use {@link #indexed(Path, Path)}.
+     *
+     * @param snapshot the snapshot file
+     * @return the repository
+     */
+    public static ConferenceTalksRepository withSnapshot(Path snapshot) {
+        byte[] bundledCatalog = bundledCatalog();
+        long checksum = checksum(bundledCatalog);
+        if (Files.isRegularFile(snapshot)) {
+            try {
+                TalkCatalog catalog = TalkCatalog.openSnapshot(snapshot, checksum);
+                if (catalog != null) {
+                    logger.info("Opened snapshot {} with {} conference talks", snapshot, catalog.size());
+                    return new ConferenceTalksRepository(catalog, null, checksum);
+                }
+                logger.info("Snapshot {} was written from another talks.json, indexing talks.json again", snapshot);
+            } catch (IOException e) {
+                logger.warn("Failed to open snapshot {}, falling back to talks.json", snapshot, e);
+            }
+        }
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(bundledCatalog);
+        try {
+            repository.writeSnapshot(snapshot);
+            logger.info("Wrote snapshot {}", snapshot);
+        } catch (IOException e) {
+            logger.warn("Failed to write snapshot {}", snapshot, e);
+        }
+        return repository;
+    }
+
+    /**
+     * Creates a repository for a catalog file in the talks.json format, with its indexes cached in a snapshot. Like
+     * {@link #withSnapshot(Path)}, the snapshot header holds a checksum of the catalog file it was written from. A
+     * snapshot with the checksum of the current catalog file is opened as is; otherwise the catalog file is indexed,
+     * written as the snapshot and the new snapshot is opened. Either way the talks and indexes are mapped from the
+     * snapshot instead of held on the heap. The catalog file is not watched for changes.
+     *
+     * @param catalogFile the JSON file with an array of talks
+     * @param snapshot    the snapshot file to open or create
+     * @return the repository
+     * @throws IOException when the catalog file cannot be read or the snapshot cannot be written
+     */
+    public static ConferenceTalksRepository indexed(Path catalogFile, Path snapshot) throws IOException {
+        long checksum = checksum(catalogFile);
+        if (Files.isRegularFile(snapshot)) {
+            try {
+                TalkCatalog catalog = TalkCatalog.openSnapshot(snapshot, checksum);
+                if (catalog != null) {
+                    return new ConferenceTalksRepository(catalog, null);
+                }
+                logger.info("Snapshot {} was written from another version of {}, indexing it again", snapshot,
+                        catalogFile);
+            } catch (IOException e) {
+                logger.warn("Failed to open snapshot {}, indexing {} again", snapshot, catalogFile, e);
+            }
+        }
+        long start = System.nanoTime();
+        TalkCatalog.build(parseTalksFromJson(catalogFile, true)).writeSnapshot(snapshot, checksum);
+        TalkCatalog catalog = TalkCatalog.openSnapshot(snapshot);
+        logger.info("Indexed {} conference talks from {} into {} in {} ms", catalog.size(), catalogFile, snapshot,
+                (System.nanoTime() - start) / 1_000_000);
+        return new ConferenceTalksRepository(catalog, null);
+    }
+
+    /**
+     * Writes the talks and indexes of this repository to a binary snapshot, for instance from a build step. An
+     * existing snapshot is replaced atomically. Only a snapshot of the bundled talks.json can be opened with
+     * {@link #withSnapshot(Path)}; one of other talks is indexed again there.
+     *
+     * @param snapshot the snapshot file
+     * @throws IOException when the snapshot cannot be written
+     */
+    public void writeSnapshot(Path snapshot) throws IOException {
+        published.catalog().writeSnapshot(snapshot, bundledChecksum);
     }
 
-    public List<ConferenceTalk> findTalksByTitle(String title) {
-        return talks.stream()
-                .filter(talk -> talk.title().toLowerCase().contains(title.toLowerCase()))
-                .toList();
+    /**
+     * Returns all talks of the current catalog, for instance to prepare something per talk whenever the
+     * {@link #catalogVersion() catalog version} changes. For a snapshot the list is a view that decodes a talk each
+     * time it is read.
+     *
+     * @return the talks in catalog order
+     */
+    public TalkList talks() {
+        return published.talks();
     }
 
-    public List<ConferenceTalk> findTalksBySpeaker(String speaker) {
-        return talks.stream()
-                .filter(talk -> talk.speakers().stream()
-                        .anyMatch(talkSpeaker -> talkSpeaker.name().toLowerCase().contains(speaker.toLowerCase())))
-                .toList();
+    /**
+     * Finds the talks with a title that contains the provided text, ignoring case.
+     *
+     * @param title the text to look for in the title
+     * @return the matching talks in catalog order
+     */
+    public TalkList findTalksByTitle(String title) {
+        return found(TalkQueryCache.Lookup.TITLE, title, 0, catalog -> catalog.findByTitle(title));
     }
 
+    /**
+     * Finds the talks with at least one speaker whose name contains the provided text, ignoring case.
+     *
+     * @param speaker the text to look for in the speaker names
+     * @return the matching talks in catalog order
+     */
+    public TalkList findTalksBySpeaker(String speaker) {
+        return found(TalkQueryCache.Lookup.SPEAKER, speaker, 0, catalog -> catalog.findBySpeaker(speaker));
+    }
+
+    /**
+     * Finds the talks with a title that has a word close to every word of the provided text. Case and accents are
+     * ignored, and each word may differ by up to {@code maxEdits} inserted, deleted or replaced characters from a word
+     * of the title; short words allow fewer edits.
+     *
+     * @param title    the words to look for in the title
+     * @param maxEdits the maximum edit distance per word
+     * @return the matching talks, closest first and ties in catalog order
+     */
+    public TalkList findTalksByTitleFuzzy(String title, int maxEdits) {
+        return found(TalkQueryCache.Lookup.TITLE_FUZZY, title, maxEdits,
+                catalog -> catalog.findByTitleFuzzy(title, maxEdits));
+    }
+
+    /**
+     * Finds the talks with a speaker name that has a word close to every word of the provided text, so "Sebastian
+     * Blanc" finds the talks of "Sébastien Blanc". Matching works like {@link #findTalksByTitleFuzzy(String, int)}.
+     *
+     * @param speaker  the words to look for in the speaker names
+     * @param maxEdits the maximum edit distance per word
+     * @return the matching talks, closest first and ties in catalog order
+     */
+    public TalkList findTalksBySpeakerFuzzy(String speaker, int maxEdits) {
+        return found(TalkQueryCache.Lookup.SPEAKER_FUZZY, speaker, maxEdits,
+                catalog -> catalog.findBySpeakerFuzzy(speaker, maxEdits));
+    }
+
+    /**
+     * Finds the talks by title like {@link #findTalksByTitle(String)}, and when nothing matches, falls back to the
+     * closest titles with {@link #DEFAULT_MAX_EDITS}. Both lookups run on the same catalog version.
+     *
+     * @param title the text to look for in the title
+     * @return the matching talks, or the talks with similar titles marked as {@link TalkList#similar() similar}
+     */
+    public TalkList findTalksByTitleOrSimilar(String title) {
+        return foundOrSimilar(TalkQueryCache.Lookup.TITLE_OR_SIMILAR, title, catalog -> catalog.findByTitle(title),
+                catalog -> catalog.findByTitleFuzzy(title, DEFAULT_MAX_EDITS));
+    }
+
+    /**
+     * Finds the talks by speaker like {@link #findTalksBySpeaker(String)}, and when nothing matches, falls back to
+     * the closest speaker names with {@link #DEFAULT_MAX_EDITS}. Both lookups run on the same catalog version.
+     *
+     * @param speaker the text to look for in the speaker names
+     * @return the matching talks, or the talks of speakers with similar names marked as
+     *         {@link TalkList#similar() similar}
+     */
+    public TalkList findTalksBySpeakerOrSimilar(String speaker) {
+        return foundOrSimilar(TalkQueryCache.Lookup.SPEAKER_OR_SIMILAR, speaker,
+                catalog -> catalog.findBySpeaker(speaker),
+                catalog -> catalog.findBySpeakerFuzzy(speaker, DEFAULT_MAX_EDITS));
+    }
+
+    /**
+     * Completes a partly typed title with the most popular matching titles: those shared by the most talks, for
+     * instance when a talk is given at several conferences. Case and accents are ignored, so "sebas" also completes
+     * with "Sébastien".
+     *
+     * @param prefix the start of the title
+     * @param k      the maximum number of titles to return, must be positive
+     * @return the distinct titles, most popular first and ties in alphabetical order
+     */
+    public List<String> completeTitle(String prefix, int k) {
+        return cached(TalkQueryCache.Lookup.COMPLETE_TITLE, prefix, k, catalog -> catalog.completeTitle(prefix, k));
+    }
+
+    /**
+     * Completes a partly typed speaker name with the names of the speakers with the most talks. A name is completed
+     * from the start of its first name as well as from the start of every later part, so "blan" completes with
+     * "Sébastien Blanc".
+     *
+     * @param prefix the start of the name or of a later part of it
+     * @param k      the maximum number of names to return, must be positive
+     * @return the distinct names, most popular first and ties in alphabetical order
+     */
+    public List<String> completeSpeaker(String prefix, int k) {
+        return cached(TalkQueryCache.Lookup.COMPLETE_SPEAKER, prefix, k,
+                catalog -> catalog.completeSpeaker(prefix, k));
+    }
+
+    /**
+     * Searches the title and description of the talks with BM25 ranking. The query is lower cased, accent folded and
+     * stemmed, and common synonyms are expanded, so "development environments" also finds talks about IDEs.
+     *
+     * @param query the free text query
+     * @param k     the maximum number of talks to return, must be positive
+     * @return the best matching talks, most relevant first
+     */
+    public TalkList searchTalks(String query, int k) {
+        return found(TalkQueryCache.Lookup.SEARCH, query, k, catalog -> catalog.search(query, k));
+    }
+
+    /**
+     * Searches the talks by meaning rather than by exact terms. Titles and descriptions are embedded offline as hashed
+     * word, word pair and character trigram features, so paraphrases and other forms of a word still score close to
+     * the talk. The scores are computed with SIMD instructions when the JVM runs with
+     * {@code --add-modules jdk.incubator.vector}, or approximated with a graph after
+     * {@link #useApproximateSemanticSearch(HnswParameters)}.
+     *
+     * @param query the free text query
+     * @param k     the maximum number of talks to return, must be positive
+     * @return the most similar talks, most similar first
+     */
+    public TalkList semanticSearchTalks(String query, int k) {
+        return found(TalkQueryCache.Lookup.SEMANTIC_SEARCH, query, k, catalog -> catalog.semanticSearch(query, k));
+    }
+
+    /**
+     * Finds a talk by its {@link ConferenceTalk#id() id}. The id index is built on the first call for a catalog, after
+     * that a lookup is a constant time hash table read. As the id is derived from the title and speakers, the same talk
+     * keeps its id when the catalog is reloaded.
+     *
+     * @param id the id of the talk
+     * @return the talk, or empty when no talk in the current catalog has the id
+     */
+    public Optional<ConferenceTalk> findTalkById(String id) {
+        return Optional.ofNullable(published.catalog().findById(id));
+    }
+
+    /**
+     * Finds the talks most like a talk: with a similar title and description, and preferably by the same speakers or
+     * in the same track. The answer is read from a graph of the ten most related talks per talk, which is built once
+     * per catalog, see {@link #precomputeRelatedTalks()}.
+     *
+     * @param title the title of the talk, or a part of it
+     * @param k     the maximum number of talks to return, must be positive; at most ten are returned
+     * @return the related talks, most related first, or an empty list when no talk has the title
+     */
+    public TalkList findRelatedTalks(String title, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of related talks must be positive, got " + k);
+        }
+        return found(TalkQueryCache.Lookup.RELATED, title, k, catalog -> catalog.findRelated(title, k));
+    }
+
+    /**
+     * Runs a compound query that combines conditions on track, level, speaker and keyword. Besides the matching talks,
+     * the result counts the matches per track and per level, so aggregate questions can be answered without reading
+     * the talks themselves.
+     *
+     * @param query the conditions the talks must meet
+     * @return the matches with their counts per track and level
+     */
+    public TalkQueryResult query(TalkQuery query) {
+        Published current = published;
+        TalkQueryCache cache = queryCache;
+        if (cache == null) {
+            return current.catalog().query(query);
+        }
+        return cache.get(query, current.version(), () -> current.catalog().query(query));
+    }
+
+    /**
+     * Counts the talks that match a query. Without conditions the count is the catalog size.
+     *
+     * @param query the conditions the talks must meet
+     * @return the number of matching talks
+     */
+    public int countTalks(TalkQuery query) {
+        return query(query).count();
+    }
+
+    /**
+     * Counts the talks that match a query per track. Without conditions the counts are read from the statistics that
+     * are computed when the catalog is published.
+     *
+     * @param query the conditions the talks must meet
+     * @return the number of matching talks per track, highest count first
+     */
+    public Map<String, Integer> countTalksByTrack(TalkQuery query) {
+        return query(query).trackCounts();
+    }
+
+    /**
+     * Counts the talks that match a query per level. Without conditions the counts are read from the statistics that
+     * are computed when the catalog is published.
+     *
+     * @param query the conditions the talks must meet
+     * @return the number of matching talks per level, highest count first
+     */
+    public Map<String, Integer> countTalksByLevel(TalkQuery query) {
+        return query(query).levelCounts();
+    }
+
+    /**
+     * Returns the speakers with the most talks among the talks that match a query. Names are compared ignoring case.
+     * Without conditions the speakers are read from a ranking that is computed when the catalog is published;
+     * otherwise only the speakers of the matches are counted.
+     *
+     * @param query the conditions the talks must meet
+     * @param k     the maximum number of speakers to return, must be positive
+     * @return the speakers with their number of matching talks, most talks first and ties in alphabetical order
+     */
+    public Map<String, Integer> topSpeakers(TalkQuery query, int k) {
+        Published current = published;
+        TalkQueryCache cache = queryCache;
+        if (cache == null) {
+            return current.catalog().topSpeakers(query, k);
+        }
+        return cache.get(TalkQueryCache.Lookup.TOP_SPEAKERS, query, k, current.version(),
+                () -> current.catalog().topSpeakers(query, k));
+    }
+
+    /**
+     * Runs a lookup on the current catalog, through the query cache when there is one.
+     */
+    private <T> T cached(TalkQueryCache.Lookup lookup, String query, int limit, Function<TalkCatalog, T> function) {
+        Published current = published;
+        TalkQueryCache cache = queryCache;
+        if (cache == null) {
+            return function.apply(current.catalog());
+        }
+        return cache.get(lookup, query, limit, current.version(), () -> function.apply(current.catalog()));
+    }
+
+    /**
+     * Runs a lookup that finds talks on the current catalog, through the query cache when there is one, and returns
+     * the talks with the version of that catalog.
+     */
+    private TalkList found(TalkQueryCache.Lookup lookup, String query, int limit,
+                           Function<TalkCatalog, int[]> function) {
+        Published current = published;
+        TalkQueryCache cache = queryCache;
+        if (cache == null) {
+            return current.talks(function.apply(current.catalog()));
+        }
+        return cache.get(lookup, query, limit, current.version(),
+                () -> current.talks(function.apply(current.catalog())));
+    }
+
+    private TalkList foundOrSimilar(TalkQueryCache.Lookup lookup, String query, Function<TalkCatalog, int[]> exact,
+                                    Function<TalkCatalog, int[]> similar) {
+        Published current = published;
+        Supplier<TalkList> loader = () -> {
+            int[] talks = exact.apply(current.catalog());
+            return talks.length > 0 ? current.talks(talks)
+                    : current.catalog().talks(similar.apply(current.catalog()), current.version(), true);
+        };
+        TalkQueryCache cache = queryCache;
+        return cache == null ? loader.get() : cache.get(lookup, query, 0, current.version(), loader);
+    }
+
+    /**
+     * Reads the bundled talks.json with the streaming JSON parser.
+     *
+     * @return the talks in the order of the file
+     * @throws IOException when talks.json is missing or cannot be parsed
+     */
     public static List<ConferenceTalk> parseTalksFromJson() throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        List<ConferenceTalk> talks = new ArrayList<>();
         try (InputStream is = ConferenceTalksRepository.class.getClassLoader().getResourceAsStream("talks.json")) {
             if (is == null) {
                 throw new IOException("talks.json not found in resources");
             }
-            JsonNode root = mapper.readTree(is);
-            for (JsonNode node : root) {
-                String title = node.path("title").asText();
-                String description = node.path("description").asText();
-                String track = node.path("track").asText();
-                String level = node.path("level").asText();
-                List<Speaker> speakers = new ArrayList<>();
-                for (JsonNode speakerNode : node.path("speakers")) {
-                    speakers.add(new Speaker(speakerNode.asText()));
-                }
-                talks.add(new ConferenceTalk(title, description, track, level, speakers));
+            return TalksJsonReader.read(is);
+        }
+    }
+
+    private static byte[] bundledCatalog() {
+        try (InputStream is = ConferenceTalksRepository.class.getClassLoader().getResourceAsStream("talks.json")) {
+            if (is == null) {
+                throw new IOException("talks.json not found in resources");
             }
+            return is.readAllBytes();
+        } catch (IOException e) {
+            logger.error("Failed to read talks.json", e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static long checksum(byte[] json) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(json);
+        // Offset the value, so the checksum of any talks.json differs from the unknown source.
+        return checksum.getValue() + 1;
+    }
+
+    private static long checksum(Path file) throws IOException {
+        // Streamed, as a catalog file may be too large to read at once; offset like the checksum of talks.json
+        CRC32C checksum = new CRC32C();
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+                checksum.update(buffer, 0, read);
+            }
+        }
+        return checksum.getValue() + 1;
+    }
+
+    /**
+     * Reads a catalog file with the same format as talks.json. For very large files the parallel mode splits the
+     * top-level array into chunks that are parsed on the common fork-join pool.
+     *
+     * @param file     the JSON file with an array of talks
+     * @param parallel whether to parse chunks of the file in parallel
+     * @return the talks in the order of the file
+     * @throws IOException when the file cannot be read or parsed
+     */
+    public static List<ConferenceTalk> parseTalksFromJson(Path file, boolean parallel) throws IOException {
+        return TalksJsonReader.read(file, parallel);
+    }
+
+    /**
+     * A catalog together with the version under which it was published.
+     */
+    private record Published(TalkCatalog catalog, long version) {
+
+        TalkList talks() {
+            return catalog.talks(version);
+        }
+
+        TalkList talks(int[] ordinals) {
+            return catalog.talks(ordinals, version);
         }
-        return talks;
     }
 }
@@ -0,0 +1,140 @@
+package org.rag4j.agent.core;
+
+import org.rag4j.agent.core.search.Tokenizer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Talk store on the heap, for catalogs that are built from a list of talks. The fields are stored in columns instead
+ * of one record per talk, so values that repeat across the catalog are only kept once:
+ * <ul>
+ *     <li>tracks and levels are dictionary codes into a small table of distinct values;</li>
+ *     <li>every distinct speaker is one canonical {@link Speaker}, its id is its position in the speaker table, and a
+ *     talk holds the ids of its speakers;</li>
+ *     <li>descriptions, the largest field and the one least often read, are kept as UTF-8 bytes and decoded when a
+ *     talk is read.</li>
+ * </ul>
+ * A {@link ConferenceTalk} is assembled from the columns each time it is read.
+ */
+final class InMemoryTalkStore implements TalkStore {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final String[] titles;
+    private final byte[][] descriptions;
+    private final String[] tracks;
+    private final int[] trackCodes;
+    private final String[] levels;
+    private final int[] levelCodes;
+    private final Speaker[] speakers;
+    private final String[] normalizedSpeakerNames;
+    private final int[] speakerOffsets;
+    private final int[] speakerIds;
+
+    InMemoryTalkStore(List<ConferenceTalk> talks) {
+        int size = talks.size();
+        this.titles = new String[size];
+        this.descriptions = new byte[size][];
+        this.trackCodes = new int[size];
+        this.levelCodes = new int[size];
+        this.speakerOffsets = new int[size + 1];
+
+        Map<String, Integer> trackDictionary = new HashMap<>();
+        Map<String, Integer> levelDictionary = new HashMap<>();
+        Map<String, Integer> speakerDictionary = new HashMap<>();
+        List<Speaker> canonicalSpeakers = new ArrayList<>();
+        int[] ids = new int[Math.max(16, size * 2)];
+        int idCount = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            ConferenceTalk talk = talks.get(ordinal);
+            titles[ordinal] = talk.title();
+            descriptions[ordinal] = talk.description().isEmpty()
+                    ? EMPTY
+                    : talk.description().getBytes(StandardCharsets.UTF_8);
+            trackCodes[ordinal] = trackDictionary.computeIfAbsent(talk.track(), t -> trackDictionary.size());
+            levelCodes[ordinal] = levelDictionary.computeIfAbsent(talk.level(), l -> levelDictionary.size());
+            for (Speaker speaker : talk.speakers()) {
+                int id = speakerDictionary.computeIfAbsent(speaker.name(), name -> {
+                    canonicalSpeakers.add(speaker);
+                    return canonicalSpeakers.size() - 1;
+                });
+                if (idCount == ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[idCount++] = id;
+            }
+            speakerOffsets[ordinal + 1] = idCount;
+        }
+        this.tracks = keysByCode(trackDictionary);
+        this.levels = keysByCode(levelDictionary);
+        this.speakers = canonicalSpeakers.toArray(Speaker[]::new);
+        this.normalizedSpeakerNames = new String[speakers.length];
+        for (int id = 0; id < speakers.length; id++) {
+            normalizedSpeakerNames[id] = Tokenizer.normalize(speakers[id].name());
+        }
+        this.speakerIds = Arrays.copyOf(ids, idCount);
+    }
+
+    private static String[] keysByCode(Map<String, Integer> dictionary) {
+        String[] values = new String[dictionary.size()];
+        dictionary.forEach((value, code) -> values[code] = value);
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return titles.length;
+    }
+
+    @Override
+    public ConferenceTalk talk(int ordinal) {
+        return new ConferenceTalk(titles[ordinal], description(ordinal), track(ordinal), level(ordinal),
+                speakers(ordinal));
+    }
+
+    @Override
+    public String title(int ordinal) {
+        return titles[ordinal];
+    }
+
+    @Override
+    public String description(int ordinal) {
+        return new String(descriptions[ordinal], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String track(int ordinal) {
+        return tracks[trackCodes[ordinal]];
+    }
+
+    @Override
+    public String level(int ordinal) {
+        return levels[levelCodes[ordinal]];
+    }
+
+    @Override
+    public List<Speaker> speakers(int ordinal) {
+        int from = speakerOffsets[ordinal];
+        int to = speakerOffsets[ordinal + 1];
+        Speaker[] talkSpeakers = new Speaker[to - from];
+        for (int i = from; i < to; i++) {
+            talkSpeakers[i - from] = speakers[speakerIds[i]];
+        }
+        return List.of(talkSpeakers);
+    }
+
+    @Override
+    public String[] normalizedSpeakers(int ordinal) {
+        int from = speakerOffsets[ordinal];
+        int to = speakerOffsets[ordinal + 1];
+        String[] names = new String[to - from];
+        for (int i = from; i < to; i++) {
+            names[i - from] = normalizedSpeakerNames[speakerIds[i]];
+        }
+        return names;
+    }
+}
@@ -0,0 +1,148 @@
+package org.rag4j.agent.core;
+
+import org.rag4j.agent.core.search.SnapshotInput;
+import org.rag4j.agent.core.search.SnapshotOutput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Talk store backed by the records section of a memory-mapped snapshot. Nothing is decoded when the snapshot is
+ * opened; a field is decoded from the mapping each time it is read.
+ * <p>
+ * A record is the title, description, track and level followed by the number of speakers and their names. Every
+ * string is an int byte length followed by its UTF-8 bytes. An offset table gives the start of every record.
+ */
+final class MappedTalkStore implements TalkStore {
+    private final IntBuffer offsets;
+    private final ByteBuffer records;
+
+    private MappedTalkStore(IntBuffer offsets, ByteBuffer records) {
+        this.offsets = offsets;
+        this.records = records;
+    }
+
+    static MappedTalkStore readFrom(SnapshotInput input) throws IOException {
+        return new MappedTalkStore(input.readInts(), input.readBytes());
+    }
+
+    /**
+     * Writes the records of a store in the format that {@link #readFrom(SnapshotInput)} maps.
+     */
+    static void write(TalkStore store, SnapshotOutput output) throws IOException {
+        int[] offsets = new int[store.size() + 1];
+        long position = 0;
+        for (int ordinal = 0; ordinal < store.size(); ordinal++) {
+            position += recordLength(store.talk(ordinal));
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("The talk records do not fit in a snapshot of 2 GB");
+            }
+            offsets[ordinal + 1] = (int) position;
+        }
+        output.writeInts(offsets);
+        output.startBytes(position);
+        for (int ordinal = 0; ordinal < store.size(); ordinal++) {
+            ConferenceTalk talk = store.talk(ordinal);
+            putString(output, talk.title());
+            putString(output, talk.description());
+            putString(output, talk.track());
+            putString(output, talk.level());
+            output.putInt(talk.speakers().size());
+            for (Speaker speaker : talk.speakers()) {
+                putString(output, speaker.name());
+            }
+        }
+        output.endBytes();
+    }
+
+    @Override
+    public int size() {
+        return offsets.limit() - 1;
+    }
+
+    @Override
+    public ConferenceTalk talk(int ordinal) {
+        int position = offsets.get(ordinal);
+        String title = string(position);
+        position = skip(position);
+        String description = string(position);
+        position = skip(position);
+        String track = string(position);
+        position = skip(position);
+        String level = string(position);
+        return new ConferenceTalk(title, description, track, level, speakersAt(skip(position)));
+    }
+
+    @Override
+    public String title(int ordinal) {
+        return string(offsets.get(ordinal));
+    }
+
+    @Override
+    public String description(int ordinal) {
+        return string(skip(offsets.get(ordinal)));
+    }
+
+    @Override
+    public String track(int ordinal) {
+        return string(skip(skip(offsets.get(ordinal))));
+    }
+
+    @Override
+    public String level(int ordinal) {
+        return string(skip(skip(skip(offsets.get(ordinal)))));
+    }
+
+    @Override
+    public List<Speaker> speakers(int ordinal) {
+        int position = offsets.get(ordinal);
+        for (int field = 0; field < 4; field++) {
+            position = skip(position);
+        }
+        return speakersAt(position);
+    }
+
+    private List<Speaker> speakersAt(int position) {
+        int count = records.getInt(position);
+        position += Integer.BYTES;
+        List<Speaker> speakers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            speakers.add(new Speaker(string(position)));
+            position = skip(position);
+        }
+        return List.copyOf(speakers);
+    }
+
+    private String string(int position) {
+        byte[] bytes = new byte[records.getInt(position)];
+        records.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int skip(int position) {
+        return position + Integer.BYTES + records.getInt(position);
+    }
+
+    private static long recordLength(ConferenceTalk talk) {
+        long length = stringLength(talk.title()) + stringLength(talk.description()) + stringLength(talk.track())
+                + stringLength(talk.level()) + Integer.BYTES;
+        for (Speaker speaker : talk.speakers()) {
+            length += stringLength(speaker.name());
+        }
+        return length;
+    }
+
+    private static long stringLength(String value) {
+        return Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putString(SnapshotOutput output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.putInt(bytes.length);
+        output.putBytes(bytes);
+    }
+}
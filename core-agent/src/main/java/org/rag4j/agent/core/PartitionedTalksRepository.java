@@ -0,0 +1,223 @@
+package org.rag4j.agent.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Catalogs of several conferences, or several years of one, served from one deployment without holding them all in
+ * memory.
+ * <p>
+ * Every conference is a partition: a catalog file {@code <conference>.json} in the catalog directory, in the
+ * talks.json format. A partition is loaded on first access, through
+ * {@link ConferenceTalksRepository#indexed(Path, Path)}: its indexes are cached as {@code <conference>.snapshot} in
+ * the index directory, so only the first load of a new or changed catalog file indexes the talks, and a loaded
+ * partition maps its talks and indexes from that snapshot instead of keeping them on the heap.
+ * <p>
+ * The loaded partitions together hold at most a configured number of talks: every partition weighs as much as it
+ * has talks, so one large conference takes the room of many small ones. Caffeine evicts the partitions that are used
+ * least when the bound is exceeded and the evicted partition is closed. It is opened from its snapshot again on the
+ * next access. Closing this repository closes the partitions that are still loaded.
+ * <p>
+ * Lookups target one partition with {@link #partition(String)}, or fan out across several with
+ * {@link #fanOut(Collection, Function)}, which loads and queries the partitions in parallel on virtual threads.
+ */
+public class PartitionedTalksRepository implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedTalksRepository.class);
+    private static final Pattern CONFERENCE = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+    private static final String CATALOG_SUFFIX = ".json";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private final Path catalogDirectory;
+    private final Path indexDirectory;
+    private final Cache<String, ConferenceTalksRepository> partitions;
+
+    /**
+     * Creates the repository. No partition is loaded until it is accessed.
+     *
+     * @param catalogDirectory the directory with a {@code <conference>.json} catalog file per conference
+     * @param indexDirectory   the directory to cache the index snapshots in, created when needed
+     * @param maxLoadedTalks   the maximum number of talks in all loaded partitions together, must be positive; a
+     *                         partition with more talks is loaded for the access and evicted right after
+     */
+    public PartitionedTalksRepository(Path catalogDirectory, Path indexDirectory, long maxLoadedTalks) {
+        if (maxLoadedTalks <= 0) {
+            throw new IllegalArgumentException("The maximum number of loaded talks must be positive, got "
+                    + maxLoadedTalks);
+        }
+        this.catalogDirectory = catalogDirectory;
+        this.indexDirectory = indexDirectory;
+        this.partitions = Caffeine.newBuilder()
+                .maximumWeight(maxLoadedTalks)
+                .weigher((String conference, ConferenceTalksRepository partition) -> 1 + partition.talks().size())
+                // Run the removal listener on the evicting thread, so close() returns after the partitions are closed
+                .executor(Runnable::run)
+                .removalListener((String conference, ConferenceTalksRepository partition, RemovalCause cause) ->
+                        unload(conference, partition, cause))
+                .build();
+    }
+
+    /**
+     * Returns the conferences that have a catalog file, in alphabetical order.
+     *
+     * @return the conference keys
+     * @throws UncheckedIOException when the catalog directory cannot be listed
+     */
+    public List<String> conferences() {
+        try (Stream<Path> files = Files.list(catalogDirectory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(CATALOG_SUFFIX))
+                    .map(name -> name.substring(0, name.length() - CATALOG_SUFFIX.length()))
+                    .filter(conference -> CONFERENCE.matcher(conference).matches())
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list the catalogs in " + catalogDirectory, e);
+        }
+    }
+
+    /**
+     * Returns the partition of a conference, loading it when it is not loaded.
+     *
+     * @param conference the conference key, the name of its catalog file without {@code .json}
+     * @return the repository of the conference
+     * @throws IllegalArgumentException when there is no catalog file for the conference
+     * @throws UncheckedIOException     when the partition cannot be loaded
+     */
+    public ConferenceTalksRepository partition(String conference) {
+        Path catalogFile = catalogFile(conference);
+        return partitions.get(conference, key -> load(key, catalogFile));
+    }
+
+    /**
+     * Runs a lookup on several partitions in parallel, each on a virtual thread.
+     *
+     * @param conferences the conference keys
+     * @param lookup      the lookup to run on every partition
+     * @return the result per conference, in the order of the conferences
+     * @throws IllegalArgumentException when there is no catalog file for one of the conferences
+     * @throws UncheckedIOException     when a partition cannot be loaded
+     */
+    public <T> Map<String, T> fanOut(Collection<String> conferences, Function<ConferenceTalksRepository, T> lookup) {
+        List<String> keys = List.copyOf(conferences);
+        keys.forEach(this::catalogFile);
+        List<Future<T>> results = new ArrayList<>(keys.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String conference : keys) {
+                results.add(executor.submit(() -> lookup.apply(partition(conference))));
+            }
+            Map<String, T> result = new LinkedHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                result.put(keys.get(i), results.get(i).get());
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying the partitions " + keys, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to query the partitions " + keys, e.getCause());
+        }
+    }
+
+    /**
+     * Finds the talks by a speaker in several conferences.
+     *
+     * @param conferences the conference keys
+     * @param speaker     text contained in the name of one of the speakers, ignoring case
+     * @return the talks per conference, in the order of the conferences
+     */
+    public Map<String, List<ConferenceTalk>> findTalksBySpeaker(Collection<String> conferences, String speaker) {
+        return fanOut(conferences, partition -> partition.findTalksBySpeaker(speaker));
+    }
+
+    /**
+     * Counts the talks that match a query in several conferences.
+     *
+     * @param conferences the conference keys
+     * @param query       the conditions the talks must meet
+     * @return the counts per conference, in the order of the conferences
+     */
+    public Map<String, TalkCounts> countTalks(Collection<String> conferences, TalkQuery query) {
+        return fanOut(conferences, partition -> partition.query(query).counts());
+    }
+
+    /**
+     * Returns whether a partition is loaded right now, without loading it.
+     */
+    public boolean isLoaded(String conference) {
+        return partitions.getIfPresent(conference) != null;
+    }
+
+    /**
+     * Unloads a partition; its snapshot stays on disk for the next access.
+     */
+    public void evict(String conference) {
+        partitions.invalidate(conference);
+    }
+
+    /**
+     * Unloads and closes all loaded partitions. Their snapshots stay on disk.
+     */
+    @Override
+    public void close() {
+        partitions.invalidateAll();
+        partitions.cleanUp();
+    }
+
+    private Path catalogFile(String conference) {
+        if (conference == null || !CONFERENCE.matcher(conference).matches()) {
+            throw new IllegalArgumentException("Invalid conference key: " + conference);
+        }
+        Path file = catalogDirectory.resolve(conference + CATALOG_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Unknown conference " + conference + ", expected " + file);
+        }
+        return file;
+    }
+
+    private static void unload(String conference, ConferenceTalksRepository partition, RemovalCause cause) {
+        logger.info("Evicted partition {} ({})", conference, cause);
+        if (partition == null) {
+            return;
+        }
+        try {
+            partition.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close partition {}", conference, e);
+        }
+    }
+
+    private ConferenceTalksRepository load(String conference, Path catalogFile) {
+        try {
+            Files.createDirectories(indexDirectory);
+            ConferenceTalksRepository partition = ConferenceTalksRepository.indexed(catalogFile,
+                    indexDirectory.resolve(conference + SNAPSHOT_SUFFIX));
+            logger.info("Loaded partition {} with {} conference talks", conference, partition.talks().size());
+            return partition;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load the partition " + conference, e);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package org.rag4j.agent.core;
+
+import org.rag4j.agent.core.search.Bitmap;
+import org.rag4j.agent.core.search.Bm25Index;
+import org.rag4j.agent.core.search.CompletionIndex;
+import org.rag4j.agent.core.search.FacetIndex;
+import org.rag4j.agent.core.search.FuzzyIndex;
+import org.rag4j.agent.core.search.HashedEmbedding;
+import org.rag4j.agent.core.search.HnswIndex;
+import org.rag4j.agent.core.search.InvertedIndex;
+import org.rag4j.agent.core.search.RelatedTalksIndex;
+import org.rag4j.agent.core.search.SnapshotInput;
+import org.rag4j.agent.core.search.SnapshotOutput;
+import org.rag4j.agent.core.search.TextAnalyzer;
+import org.rag4j.agent.core.search.TokenSearch;
+import org.rag4j.agent.core.search.Tokenizer;
+import org.rag4j.agent.core.search.TopValuesIndex;
+import org.rag4j.agent.core.search.TrigramIndex;
+import org.rag4j.agent.core.search.VectorIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, indexed view of the conference talks. The talks are addressed by their ordinal, the position in the
+ * catalog, and the indexes map normalized tokens to posting lists of those ordinals.
+ * <p>
+ * Lookups keep the substring semantics of a plain {@code contains} check: the indexes only narrow down the candidates,
+ * each candidate is verified against the normalized field before it is returned. Queries with a complete token or a
+ * token prefix use the token indexes; fragments from the middle of a word use the trigram indexes. Fuzzy lookups
+ * tolerate typos and missing accents with a {@link FuzzyIndex} per field, and a {@link CompletionIndex} per field
+ * completes what a user has typed so far with the most popular titles and names. Ranked free text
+ * search uses a BM25 index over title and description, and semantic search a vector index of hashed n-gram
+ * embeddings of the same fields, optionally with an HNSW graph for approximate search.
+ * <p>
+ * Compound queries combine conditions as {@link Bitmap bitmaps}: tracks and levels have a bitmap per value, and the
+ * speaker and keyword matches are turned into bitmaps before they are intersected. The same bitmaps count the matches
+ * per track and level.
+ * <p>
+ * Aggregations over the whole catalog are precomputed: the counts per track and level are computed once per catalog,
+ * and a {@link TopValuesIndex} keeps the number of talks per speaker ranked by that number. A query without
+ * conditions is answered from these statistics; with conditions, the speakers are counted within the matches.
+ * <p>
+ * The {@link RelatedTalksIndex graph of related talks} is not part of the catalog as it is built or opened: it costs a
+ * similarity search per talk, so it is built on first use, or ahead of that on a background thread by the repository.
+ * The same goes for the {@link TalkIdIndex} that finds a talk by its {@link ConferenceTalk#id() id}.
+ * <p>
+ * A catalog can be written to a binary snapshot and opened again with {@link #openSnapshot(Path)}. Opening maps the
+ * records and the indexes from the file without decoding them, so it takes about the same time for any catalog size.
+ * The header of a snapshot holds a checksum of the JSON the catalog was read from, so a snapshot can be checked
+ * against its source before it is opened.
+ */
+final class TalkCatalog {
+    private static final int SNAPSHOT_MAGIC = 0x54414c4b;
+    private static final int SNAPSHOT_VERSION = 8;
+    /**
+     * The source checksum of a snapshot written without one, which matches no source.
+     */
+    static final long UNKNOWN_SOURCE = 0;
+    /**
+     * The number of related talks kept per talk.
+     */
+    static final int RELATED_TALKS = 10;
+
+    private final TalkStore store;
+    private final InvertedIndex titleIndex;
+    private final InvertedIndex speakerIndex;
+    private final TrigramIndex titleTrigrams;
+    private final TrigramIndex speakerTrigrams;
+    private final FuzzyIndex titleFuzzy;
+    private final FuzzyIndex speakerFuzzy;
+    private final CompletionIndex titleCompletions;
+    private final CompletionIndex speakerCompletions;
+    private final Bm25Index textIndex;
+    private final FacetIndex trackFacets;
+    private final FacetIndex levelFacets;
+    private final TopValuesIndex speakerCounts;
+    private final VectorIndex vectorIndex;
+    private final TalkCounts totals;
+    // Each lazy index has its own lock, so id lookups do not wait for the graph of related talks
+    private final Object relatedTalksLock = new Object();
+    private final Object talkIdsLock = new Object();
+    private volatile RelatedTalksIndex relatedTalks;
+    private volatile TalkIdIndex talkIds;
+
+    private TalkCatalog(TalkStore store, InvertedIndex titleIndex, InvertedIndex speakerIndex,
+                        TrigramIndex titleTrigrams, TrigramIndex speakerTrigrams, FuzzyIndex titleFuzzy,
+                        FuzzyIndex speakerFuzzy, CompletionIndex titleCompletions,
+                        CompletionIndex speakerCompletions, Bm25Index textIndex, FacetIndex trackFacets,
+                        FacetIndex levelFacets, TopValuesIndex speakerCounts, VectorIndex vectorIndex) {
+        this.store = store;
+        this.titleIndex = titleIndex;
+        this.speakerIndex = speakerIndex;
+        this.titleTrigrams = titleTrigrams;
+        this.speakerTrigrams = speakerTrigrams;
+        this.titleFuzzy = titleFuzzy;
+        this.speakerFuzzy = speakerFuzzy;
+        this.titleCompletions = titleCompletions;
+        this.speakerCompletions = speakerCompletions;
+        this.textIndex = textIndex;
+        this.trackFacets = trackFacets;
+        this.levelFacets = levelFacets;
+        this.speakerCounts = speakerCounts;
+        this.vectorIndex = vectorIndex;
+        Bitmap all = Bitmap.range(store.size());
+        this.totals = new TalkCounts(store.size(), trackFacets.counts(all), levelFacets.counts(all));
+    }
+
+    static TalkCatalog build(List<ConferenceTalk> talks) {
+        TalkStore store = new InMemoryTalkStore(talks);
+        InvertedIndex.Builder titleIndex = InvertedIndex.builder();
+        InvertedIndex.Builder speakerIndex = InvertedIndex.builder();
+
+        for (int ordinal = 0; ordinal < store.size(); ordinal++) {
+            for (String token : Tokenizer.tokens(store.normalizedTitle(ordinal))) {
+                titleIndex.add(token, ordinal);
+            }
+            for (String name : store.normalizedSpeakers(ordinal)) {
+                for (String token : Tokenizer.tokens(name)) {
+                    speakerIndex.add(token, ordinal);
+                }
+            }
+        }
+        TrigramIndex titleTrigrams = TrigramIndex.build(store.size(),
+                ordinal -> new String[]{store.normalizedTitle(ordinal)});
+        TrigramIndex speakerTrigrams = TrigramIndex.build(store.size(), store::normalizedSpeakers);
+        FuzzyIndex titleFuzzy = FuzzyIndex.build(store.size(), ordinal -> new String[]{store.normalizedTitle(ordinal)});
+        FuzzyIndex speakerFuzzy = FuzzyIndex.build(store.size(), store::normalizedSpeakers);
+        CompletionIndex titleCompletions = CompletionIndex.build(store.size(),
+                ordinal -> new String[]{store.title(ordinal)}, false);
+        CompletionIndex speakerCompletions = CompletionIndex.build(store.size(),
+                ordinal -> speakerNames(store, ordinal), true);
+        Bm25Index textIndex = Bm25Index.build(store.size(), store::title, store::description,
+                TextAnalyzer.withDefaultSynonyms());
+        return new TalkCatalog(store, titleIndex.build(), speakerIndex.build(), titleTrigrams, speakerTrigrams,
+                titleFuzzy, speakerFuzzy, titleCompletions, speakerCompletions, textIndex,
+                FacetIndex.build(store.size(), store::track), FacetIndex.build(store.size(), store::level),
+                TopValuesIndex.build(store.size(), ordinal -> speakerNames(store, ordinal)),
+                VectorIndex.build(store.size(), store::title, store::description, HashedEmbedding.withDefaults()));
+    }
+
+    /**
+     * Opens a snapshot written by {@link #writeSnapshot(Path)}, whatever its source.
+     *
+     * @param file the snapshot file
+     * @return the catalog, reading records and indexes from the mapped file
+     * @throws IOException when the file cannot be read or is not a snapshot of this version
+     */
+    static TalkCatalog openSnapshot(Path file) throws IOException {
+        return openSnapshot(file, null);
+    }
+
+    /**
+     * Opens a snapshot written by {@link #writeSnapshot(Path, long)} from a source with a checksum.
+     *
+     * @param file   the snapshot file
+     * @param source the checksum of the JSON the snapshot must have been written from
+     * @return the catalog, or null when the snapshot was written from another source
+     * @throws IOException when the file cannot be read or is not a snapshot of this version
+     */
+    static TalkCatalog openSnapshot(Path file, long source) throws IOException {
+        return openSnapshot(file, Long.valueOf(source));
+    }
+
+    private static TalkCatalog openSnapshot(Path file, Long source) throws IOException {
+        try (SnapshotInput input = new SnapshotInput(file)) {
+            if (input.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a talk catalog snapshot: " + file);
+            }
+            int version = input.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+            long written = input.readLong();
+            if (source != null && written != source) {
+                return null;
+            }
+            TalkStore store = MappedTalkStore.readFrom(input);
+            return new TalkCatalog(store, InvertedIndex.readFrom(input), InvertedIndex.readFrom(input),
+                    TrigramIndex.readFrom(input), TrigramIndex.readFrom(input), FuzzyIndex.readFrom(input),
+                    FuzzyIndex.readFrom(input), CompletionIndex.readFrom(input), CompletionIndex.readFrom(input),
+                    Bm25Index.readFrom(input, TextAnalyzer.withDefaultSynonyms()), FacetIndex.readFrom(input),
+                    FacetIndex.readFrom(input), TopValuesIndex.readFrom(input),
+                    VectorIndex.readFrom(input, HashedEmbedding.withDefaults()));
+        }
+    }
+
+    /**
+     * Writes the records and indexes to a snapshot without a source checksum.
+     *
+     * @param file the snapshot file to create or replace
+     * @throws IOException when the snapshot cannot be written
+     */
+    void writeSnapshot(Path file) throws IOException {
+        writeSnapshot(file, UNKNOWN_SOURCE);
+    }
+
+    /**
+     * Writes the records and indexes to a snapshot. The snapshot is written next to the target and moved in place
+     * when it is complete, so a reader never sees a partial file.
+     *
+     * @param file   the snapshot file to create or replace
+     * @param source the checksum of the JSON this catalog was read from, or {@link #UNKNOWN_SOURCE}
+     * @throws IOException when the snapshot cannot be written
+     */
+    void writeSnapshot(Path file, long source) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (SnapshotOutput output = new SnapshotOutput(temporary)) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_VERSION);
+                output.writeLong(source);
+                MappedTalkStore.write(store, output);
+                titleIndex.writeTo(output);
+                speakerIndex.writeTo(output);
+                titleTrigrams.writeTo(output);
+                speakerTrigrams.writeTo(output);
+                titleFuzzy.writeTo(output);
+                speakerFuzzy.writeTo(output);
+                titleCompletions.writeTo(output);
+                speakerCompletions.writeTo(output);
+                textIndex.writeTo(output);
+                trackFacets.writeTo(output);
+                levelFacets.writeTo(output);
+                speakerCounts.writeTo(output);
+                vectorIndex.writeTo(output);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Returns this catalog with an HNSW graph for semantic search. An existing graph with the same {@code m} and
+     * {@code efConstruction} is reused. When the talks of the previous catalog are the first talks of this one, its
+     * graph is copied and only the added talks are inserted; otherwise the graph is built from scratch.
+     *
+     * @param parameters the graph and search settings
+     * @param previous   the catalog this one replaces, or null
+     * @return the catalog with the graph
+     */
+    TalkCatalog withApproximateSearch(HnswParameters parameters, TalkCatalog previous) {
+        HnswIndex graph;
+        if (hasGraph(this, parameters)) {
+            graph = vectorIndex.graph();
+        } else if (previous != null && hasGraph(previous, parameters) && vectorIndex.startsWith(previous.vectorIndex)) {
+            graph = vectorIndex.extendGraph(previous.vectorIndex.graph());
+        } else {
+            graph = vectorIndex.buildGraph(parameters.m(), parameters.efConstruction());
+        }
+        return new TalkCatalog(store, titleIndex, speakerIndex, titleTrigrams, speakerTrigrams, titleFuzzy,
+                speakerFuzzy, titleCompletions, speakerCompletions, textIndex, trackFacets, levelFacets,
+                speakerCounts, vectorIndex.withGraph(graph, parameters.efSearch()));
+    }
+
+    private static boolean hasGraph(TalkCatalog catalog, HnswParameters parameters) {
+        HnswIndex graph = catalog.vectorIndex.graph();
+        return graph != null && graph.m() == parameters.m() && graph.efConstruction() == parameters.efConstruction();
+    }
+
+    int size() {
+        return store.size();
+    }
+
+    /**
+     * Returns all talks as a list view. For a snapshot, a talk is decoded each time it is read from the view.
+     *
+     * @param version the version the catalog is published as
+     */
+    TalkList talks(long version) {
+        return new TalkList(store, null, version, false);
+    }
+
+    /**
+     * Returns the talks with some ordinals, as returned by the lookups of this catalog.
+     *
+     * @param ordinals the ordinals in the order to list them
+     * @param version  the version the catalog is published as
+     */
+    TalkList talks(int[] ordinals, long version) {
+        return talks(ordinals, version, false);
+    }
+
+    /**
+     * Returns the talks with some ordinals, marked as exact or similar matches.
+     *
+     * @param similar whether the talks are similar matches because nothing matched exactly
+     */
+    TalkList talks(int[] ordinals, long version, boolean similar) {
+        return new TalkList(store, ordinals, version, similar);
+    }
+
+    int[] findByTitle(String title) {
+        return titleOrdinals(Tokenizer.normalize(title));
+    }
+
+    int[] findBySpeaker(String speaker) {
+        return speakerOrdinals(Tokenizer.normalize(speaker));
+    }
+
+    int[] findByTitleFuzzy(String title, int maxEdits) {
+        return ordinals(titleFuzzy.search(title, maxEdits));
+    }
+
+    int[] findBySpeakerFuzzy(String speaker, int maxEdits) {
+        return ordinals(speakerFuzzy.search(speaker, maxEdits));
+    }
+
+    List<String> completeTitle(String prefix, int k) {
+        return values(titleCompletions.complete(prefix, k));
+    }
+
+    List<String> completeSpeaker(String prefix, int k) {
+        return values(speakerCompletions.complete(prefix, k));
+    }
+
+    int[] search(String query, int k) {
+        return textIndex.search(query, k).stream().mapToInt(Bm25Index.Hit::ordinal).toArray();
+    }
+
+    int[] semanticSearch(String query, int k) {
+        return vectorIndex.search(query, k).stream().mapToInt(VectorIndex.Hit::ordinal).toArray();
+    }
+
+    TalkQueryResult query(TalkQuery query) {
+        if (isUnrestricted(query)) {
+            return new TalkQueryResult(store, Bitmap.range(store.size()), totals.byTrack(), totals.byLevel());
+        }
+        Bitmap matches = matches(query);
+        return new TalkQueryResult(store, matches, trackFacets.counts(matches), levelFacets.counts(matches));
+    }
+
+    /**
+     * Returns the speakers with the most talks among the talks that match the query.
+     *
+     * @param query the conditions the talks must meet
+     * @param k     the maximum number of speakers
+     * @return the speakers with their number of matching talks, most talks first and alphabetically within a count
+     */
+    Map<String, Integer> topSpeakers(TalkQuery query, int k) {
+        if (isUnrestricted(query)) {
+            return speakerCounts.top(k);
+        }
+        return speakerCounts.top(matches(query).toArray(), k);
+    }
+
+    /**
+     * Returns the talks most related to the talk with a title, from the graph of related talks. The talk is the one
+     * with exactly that title, ignoring case, or else the first talk with a title that contains it.
+     *
+     * @param title the title of the talk
+     * @param k     the maximum number of talks
+     * @return the ordinals of the related talks, most related first, or none when no talk has the title
+     */
+    int[] findRelated(String title, int k) {
+        String query = Tokenizer.normalize(title.strip());
+        int[] ordinals = titleOrdinals(query);
+        if (ordinals.length == 0) {
+            return ordinals;
+        }
+        int talk = ordinals[0];
+        for (int ordinal : ordinals) {
+            if (store.normalizedTitle(ordinal).equals(query)) {
+                talk = ordinal;
+                break;
+            }
+        }
+        return relatedTalks().neighbours(talk, k);
+    }
+
+    /**
+     * Returns the talk with an id, building the id index first when this catalog does not have it yet.
+     *
+     * @param id the id as returned by {@link ConferenceTalk#id()}
+     * @return the talk, or null when no talk has the id
+     */
+    ConferenceTalk findById(String id) {
+        TalkIdIndex index = talkIds;
+        if (index == null) {
+            synchronized (talkIdsLock) {
+                index = talkIds;
+                if (index == null) {
+                    index = TalkIdIndex.build(store);
+                    talkIds = index;
+                }
+            }
+        }
+        int ordinal = index.ordinal(id);
+        return ordinal < 0 ? null : store.talk(ordinal);
+    }
+
+    /**
+     * Returns the graph of related talks, building it first when this catalog does not have it yet.
+     */
+    RelatedTalksIndex relatedTalks() {
+        return relatedTalks(() -> false);
+    }
+
+    /**
+     * Returns the graph of related talks like {@link #relatedTalks()}, and gives up building it when it is no longer
+     * needed.
+     *
+     * @param cancelled checked while the graph is built
+     * @return the graph, or null when the build was cancelled
+     */
+    RelatedTalksIndex relatedTalks(BooleanSupplier cancelled) {
+        RelatedTalksIndex result = relatedTalks;
+        if (result == null) {
+            synchronized (relatedTalksLock) {
+                result = relatedTalks;
+                if (result == null) {
+                    result = RelatedTalksIndex.build(RELATED_TALKS, vectorIndex, speakerCounts, trackFacets,
+                            cancelled);
+                    relatedTalks = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    boolean hasRelatedTalks() {
+        return relatedTalks != null;
+    }
+
+    /**
+     * Returns whether semantic search uses an HNSW graph, which also makes the graph of related talks cheap to build.
+     */
+    boolean hasApproximateSearch() {
+        return vectorIndex.graph() != null;
+    }
+
+    private static boolean isUnrestricted(TalkQuery query) {
+        return query.track() == null && query.level() == null && query.speaker() == null && query.keyword() == null;
+    }
+
+    private Bitmap matches(TalkQuery query) {
+        Bitmap matches = Bitmap.range(store.size());
+        if (query.track() != null) {
+            matches = matches.and(trackFacets.lookup(query.track()));
+        }
+        if (query.level() != null) {
+            matches = matches.and(levelFacets.lookup(query.level()));
+        }
+        if (query.speaker() != null && !matches.isEmpty()) {
+            matches = matches.and(Bitmap.of(speakerOrdinals(Tokenizer.normalize(query.speaker()))));
+        }
+        if (query.keyword() != null && !matches.isEmpty()) {
+            matches = matches.and(Bitmap.of(textIndex.matchingAll(query.keyword())));
+        }
+        return matches;
+    }
+
+    private int[] titleOrdinals(String query) {
+        return find(query, titleIndex, titleTrigrams, ordinal -> store.normalizedTitle(ordinal).contains(query));
+    }
+
+    private int[] speakerOrdinals(String query) {
+        return find(query, speakerIndex, speakerTrigrams, ordinal -> {
+            for (String name : store.normalizedSpeakers(ordinal)) {
+                if (name.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static String[] speakerNames(TalkStore store, int ordinal) {
+        return store.speakers(ordinal).stream().map(Speaker::name).toArray(String[]::new);
+    }
+
+    private static List<String> values(List<CompletionIndex.Completion> completions) {
+        return completions.stream().map(CompletionIndex.Completion::value).toList();
+    }
+
+    private static int[] ordinals(List<FuzzyIndex.Match> matches) {
+        return matches.stream().mapToInt(FuzzyIndex.Match::ordinal).toArray();
+    }
+
+    private int[] find(String query, InvertedIndex index, TrigramIndex trigrams, IntPredicate matches) {
+        int[] candidates = TokenSearch.candidates(index, query, fragment -> query.length() >= TrigramIndex.GRAM_LENGTH
+                ? trigrams.candidates(query)
+                : index.postingsForTermsContaining(fragment));
+        if (candidates == null) {
+            // Queries without letters or digits, like an empty string, cannot use the index.
+            return IntStream.range(0, store.size()).filter(matches).toArray();
+        }
+        return Arrays.stream(candidates).filter(matches).toArray();
+    }
+}
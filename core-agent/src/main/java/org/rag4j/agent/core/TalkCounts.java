@@ -0,0 +1,13 @@
+package org.rag4j.agent.core;
+
+import java.util.Map;
+
+/**
+ * The aggregate part of a {@link TalkQueryResult}, small enough to hand to a language model as a tool result.
+ *
+ * @param count    the number of matching talks
+ * @param byTrack  the number of matches per track, highest count first
+ * @param byLevel  the number of matches per level, highest count first
+ */
+public record TalkCounts(int count, Map<String, Integer> byTrack, Map<String, Integer> byLevel) {
+}
@@ -0,0 +1,70 @@
+package org.rag4j.agent.core;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Hash table from the {@link ConferenceTalk#id() id} of a talk to its ordinal in a catalog. The 64-bit ids and the
+ * ordinals are kept in two primitive arrays with open addressing, so a lookup is one or a few array reads. When the
+ * catalog has the same talk more than once, the id refers to the first one.
+ */
+final class TalkIdIndex {
+    private static final int EMPTY = -1;
+
+    private final long[] ids;
+    private final int[] ordinals;
+    private final int mask;
+
+    private TalkIdIndex(long[] ids, int[] ordinals) {
+        this.ids = ids;
+        this.ordinals = ordinals;
+        this.mask = ids.length - 1;
+    }
+
+    static TalkIdIndex build(TalkStore store) {
+        int capacity = Integer.highestOneBit(Math.max(2, store.size() * 2 - 1)) << 1;
+        long[] ids = new long[capacity];
+        int[] ordinals = new int[capacity];
+        Arrays.fill(ordinals, EMPTY);
+        TalkIdIndex index = new TalkIdIndex(ids, ordinals);
+        for (int ordinal = 0; ordinal < store.size(); ordinal++) {
+            long id = HexFormat.fromHexDigitsToLong(store.talk(ordinal).id());
+            int slot = index.slot(id);
+            if (ordinals[slot] == EMPTY) {
+                ids[slot] = id;
+                ordinals[slot] = ordinal;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the ordinal of the talk with an id.
+     *
+     * @param id the id as returned by {@link ConferenceTalk#id()}
+     * @return the ordinal, or -1 when no talk has the id or the id is not valid
+     */
+    int ordinal(String id) {
+        if (id == null || id.length() != 2 * Long.BYTES) {
+            return EMPTY;
+        }
+        long value;
+        try {
+            value = HexFormat.fromHexDigitsToLong(id);
+        } catch (IllegalArgumentException e) {
+            return EMPTY;
+        }
+        return ordinals[slot(value)];
+    }
+
+    /**
+     * Returns the slot that holds the id, or the empty slot where it would be inserted.
+     */
+    private int slot(long id) {
+        int slot = (int) (id ^ (id >>> 32)) & mask;
+        while (ordinals[slot] != EMPTY && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,77 @@
+package org.rag4j.agent.core;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Talks found in one published catalog, as returned by the lookups of a {@link ConferenceTalksRepository}.
+ * <p>
+ * The list holds the ordinals of the talks, their positions in the catalog, together with the
+ * {@link ConferenceTalksRepository#catalogVersion() catalog version} they belong to. Something prepared per talk of a
+ * catalog version, like a rendered line, can therefore be kept in an array indexed by ordinal and looked up for the
+ * talks of a result without comparing records. Like {@link TalkQueryResult}, the list decodes a talk when it is read,
+ * so it does not keep records on the heap for a snapshot. The list is unmodifiable.
+ * <p>
+ * The lookups that fall back to similar matches mark the list as {@link #similar()} when nothing matched exactly.
+ */
+public final class TalkList extends AbstractList<ConferenceTalk> implements RandomAccess {
+    private final TalkStore store;
+    private final int[] ordinals;
+    private final long version;
+    private final boolean similar;
+
+    /**
+     * Creates a list of some talks of a catalog.
+     *
+     * @param ordinals the ordinals in the order to list them, or null for all talks in catalog order
+     * @param similar  whether the talks are similar matches because nothing matched exactly
+     */
+    TalkList(TalkStore store, int[] ordinals, long version, boolean similar) {
+        this.store = store;
+        this.ordinals = ordinals;
+        this.version = version;
+        this.similar = similar;
+    }
+
+    /**
+     * Returns the version of the catalog the talks were found in.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns whether the talks are similar matches, found because nothing matched the query exactly.
+     */
+    public boolean similar() {
+        return similar;
+    }
+
+    /**
+     * Returns the ordinal in the catalog of the talk at a position in this list.
+     *
+     * @param index the position in this list
+     * @return the ordinal, between 0 and {@link #catalogSize()}
+     */
+    public int ordinal(int index) {
+        return ordinals == null ? Objects.checkIndex(index, store.size()) : ordinals[index];
+    }
+
+    /**
+     * Returns the number of talks in the catalog the talks were found in.
+     */
+    public int catalogSize() {
+        return store.size();
+    }
+
+    @Override
+    public ConferenceTalk get(int index) {
+        return store.talk(ordinal(index));
+    }
+
+    @Override
+    public int size() {
+        return ordinals == null ? store.size() : ordinals.length;
+    }
+}
@@ -0,0 +1,32 @@
+package org.rag4j.agent.core;
+
+/**
+ * Conditions for a compound catalog query. A talk matches when it meets every condition that is set; a null or blank
+ * condition does not restrict the talks.
+ *
+ * @param track   the track of the talk, ignoring case
+ * @param level   the level of the talk, ignoring case
+ * @param speaker text contained in the name of one of the speakers, ignoring case
+ * @param keyword words that must all occur in the title or description, matched like {@code searchTalks} terms; a
+ *                keyword of only stop words matches no talk
+ */
+public record TalkQuery(String track, String level, String speaker, String keyword) {
+
+    public TalkQuery {
+        track = blankToNull(track);
+        level = blankToNull(level);
+        speaker = blankToNull(speaker);
+        keyword = blankToNull(keyword);
+    }
+
+    /**
+     * Returns a query that matches every talk.
+     */
+    public static TalkQuery all() {
+        return new TalkQuery(null, null, null, null);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
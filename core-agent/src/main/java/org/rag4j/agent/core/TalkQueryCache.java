@@ -0,0 +1,168 @@
+package org.rag4j.agent.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.rag4j.agent.core.search.TextAnalyzer;
+import org.rag4j.agent.core.search.Tokenizer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of lookup results for a {@link ConferenceTalksRepository}, so the same question from different users
+ * is answered from memory.
+ * <p>
+ * Entries are keyed by the lookup, the query in the form the lookup itself normalizes it to, the limit and the catalog
+ * version. A query that only differs in case, or for token based lookups in accents and punctuation, therefore shares
+ * the entry. The catalog version makes entries of an older catalog unreachable, and the repository drops them all
+ * when it publishes a new catalog.
+ * <p>
+ * Caffeine evicts with W-TinyLFU, which keeps the frequently asked queries when a burst of one-off queries passes
+ * through. The size is bounded by the number of talks in the cached results, so a lookup that returns the whole
+ * catalog, or a compound query that matches it, weighs as much as it costs. Bound to a {@link MeterRegistry}, the cache reports the Micrometer
+ * {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} and {@code cache.size} meters under the name
+ * {@value #NAME}. Spring Boot binds the cache bean to its registry when actuator is on the classpath, as in the web
+ * app, which serves the meters under {@code /actuator/metrics}. Without a registry, the repository logs the
+ * {@link #statistics() statistics} when it drops the entries of a catalog and when it is closed.
+ */
+public final class TalkQueryCache implements MeterBinder {
+    public static final String NAME = "conferenceTalks";
+    public static final long DEFAULT_MAXIMUM_TALKS = 10_000;
+
+    private final Cache<Key, Object> cache;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumTalks the maximum number of talks in all cached results together, must be positive
+     */
+    public TalkQueryCache(long maximumTalks) {
+        if (maximumTalks <= 0) {
+            throw new IllegalArgumentException("The maximum number of cached talks must be positive, got "
+                    + maximumTalks);
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumTalks)
+                .weigher((Key key, Object value) -> weight(value))
+                .recordStats()
+                .build();
+    }
+
+    private static int weight(Object value) {
+        if (value instanceof Collection<?> talks) {
+            return 1 + talks.size();
+        }
+        return value instanceof TalkQueryResult result ? 1 + result.count() : 1;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+
+    /**
+     * The lookups of the repository, each with the normalization that lookup applies to its query itself.
+     */
+    enum Lookup {
+        TITLE(Tokenizer::normalize),
+        SPEAKER(Tokenizer::normalize),
+        TITLE_OR_SIMILAR(Tokenizer::normalize),
+        SPEAKER_OR_SIMILAR(Tokenizer::normalize),
+        TITLE_FUZZY(TextAnalyzer::foldedTokens),
+        SPEAKER_FUZZY(TextAnalyzer::foldedTokens),
+        COMPLETE_TITLE(Tokenizer::normalize),
+        COMPLETE_SPEAKER(Tokenizer::normalize),
+        SEARCH(TextAnalyzer::foldedTokens),
+        SEMANTIC_SEARCH(TextAnalyzer::foldedTokens),
+        RELATED(Tokenizer::normalize),
+        QUERY(UnaryOperator.identity()),
+        TOP_SPEAKERS(UnaryOperator.identity());
+
+        private final UnaryOperator<String> normalizer;
+
+        Lookup(UnaryOperator<String> normalizer) {
+            this.normalizer = normalizer;
+        }
+    }
+
+    /**
+     * Returns the cached result of a lookup, or runs the lookup and caches its result. Concurrent calls for the same
+     * key wait for one lookup. A list result is stored as an unmodifiable copy, apart from a {@link TalkList}, which
+     * cannot be modified.
+     *
+     * @param lookup  the lookup
+     * @param query   the query as passed to the lookup
+     * @param limit   the limit or edit distance passed to the lookup, or zero
+     * @param version the version of the catalog the lookup runs on
+     * @param loader  runs the lookup on that catalog
+     * @return the result
+     */
+    <T> T get(Lookup lookup, String query, int limit, long version, Supplier<T> loader) {
+        return get(new Key(lookup, lookup.normalizer.apply(query), limit, version), loader);
+    }
+
+    /**
+     * Returns the cached result of a compound query, or runs it and caches its result.
+     */
+    <T> T get(TalkQuery query, long version, Supplier<T> loader) {
+        return get(Lookup.QUERY, query, 0, version, loader);
+    }
+
+    /**
+     * Returns the cached result of a lookup over the matches of a compound query, like {@link Lookup#TOP_SPEAKERS},
+     * or runs it and caches its result.
+     */
+    <T> T get(Lookup lookup, TalkQuery query, int limit, long version, Supplier<T> loader) {
+        TalkQuery normalized = new TalkQuery(
+                query.track() == null ? null : Tokenizer.normalize(query.track().strip()),
+                query.level() == null ? null : Tokenizer.normalize(query.level().strip()),
+                query.speaker() == null ? null : Tokenizer.normalize(query.speaker()),
+                query.keyword() == null ? null : TextAnalyzer.foldedTokens(query.keyword()));
+        return get(new Key(lookup, normalized, limit, version), loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Supplier<T> loader) {
+        return (T) cache.get(key, k -> {
+            T value = loader.get();
+            return value instanceof List<?> list && !(value instanceof TalkList) ? List.copyOf(list) : value;
+        });
+    }
+
+    /**
+     * Drops all entries, for instance the entries of a catalog that was replaced.
+     */
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Runs the pending maintenance, such as evictions, right away instead of on the next cache operations.
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    /**
+     * Returns the hits, misses and evictions so far and the number of cached results, for a log line.
+     */
+    String statistics() {
+        CacheStats stats = cache.stats();
+        return String.format("%d hits, %d misses (hit rate %.1f%%), %d evictions, %d cached results",
+                stats.hitCount(), stats.missCount(), 100 * stats.hitRate(), stats.evictionCount(),
+                cache.estimatedSize());
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private record Key(Lookup lookup, Object query, int limit, long version) {
+    }
+}
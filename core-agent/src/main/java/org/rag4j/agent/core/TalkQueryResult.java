@@ -0,0 +1,102 @@
+package org.rag4j.agent.core;
+
+import org.rag4j.agent.core.search.Bitmap;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Result of a {@link TalkQuery}: the matching talks and how they are spread over the tracks and levels.
+ * <p>
+ * The ordinals are the positions of the talks in the catalog the query ran against, so they are only meaningful for
+ * that {@link ConferenceTalksRepository#catalogVersion() catalog version}. Talks are decoded when they are read, which
+ * keeps a count-only query cheap for any number of matches. A result can be shared between threads through the
+ * {@link TalkQueryCache}.
+ */
+public final class TalkQueryResult {
+    private final TalkStore store;
+    private final Bitmap matches;
+    private final Map<String, Integer> trackCounts;
+    private final Map<String, Integer> levelCounts;
+    // Set on first use; an int array is safely published through the volatile field, and two threads that race
+    // compute the same ordinals.
+    private volatile int[] ordinals;
+
+    TalkQueryResult(TalkStore store, Bitmap matches, Map<String, Integer> trackCounts,
+                    Map<String, Integer> levelCounts) {
+        this.store = store;
+        this.matches = matches;
+        this.trackCounts = trackCounts;
+        this.levelCounts = levelCounts;
+    }
+
+    public int count() {
+        return matches.cardinality();
+    }
+
+    /**
+     * Returns the ordinals of the matching talks.
+     *
+     * @return the ascending catalog positions of the matches
+     */
+    public int[] ordinals() {
+        return matchOrdinals().clone();
+    }
+
+    /**
+     * Returns the matching talks in catalog order.
+     */
+    public List<ConferenceTalk> talks() {
+        return new MatchList(matchOrdinals());
+    }
+
+    /**
+     * Returns the number of matching talks per track, highest count first. Tracks without matches are left out.
+     */
+    public Map<String, Integer> trackCounts() {
+        return trackCounts;
+    }
+
+    /**
+     * Returns the number of matching talks per level, highest count first. Levels without matches are left out.
+     */
+    public Map<String, Integer> levelCounts() {
+        return levelCounts;
+    }
+
+    /**
+     * Returns the count and the counts per track and level, without the talks.
+     */
+    public TalkCounts counts() {
+        return new TalkCounts(count(), trackCounts, levelCounts);
+    }
+
+    private int[] matchOrdinals() {
+        int[] result = ordinals;
+        if (result == null) {
+            result = matches.toArray();
+            ordinals = result;
+        }
+        return result;
+    }
+
+    private final class MatchList extends AbstractList<ConferenceTalk> implements RandomAccess {
+        private final int[] ordinals;
+
+        private MatchList(int[] ordinals) {
+            this.ordinals = ordinals;
+        }
+
+        @Override
+        public ConferenceTalk get(int index) {
+            return store.talk(ordinals[index]);
+        }
+
+        @Override
+        public int size() {
+            return ordinals.length;
+        }
+    }
+}
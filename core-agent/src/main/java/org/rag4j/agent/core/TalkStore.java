@@ -0,0 +1,39 @@
+package org.rag4j.agent.core;
+
+import org.rag4j.agent.core.search.Tokenizer;
+
+import java.util.List;
+
+/**
+ * Storage of the talk records of a catalog, addressed by ordinal. The indexes only hold ordinals, so the records can
+ * live on the heap or in a memory-mapped snapshot, and single fields can be read without building the whole record.
+ */
+interface TalkStore {
+
+    int size();
+
+    ConferenceTalk talk(int ordinal);
+
+    String title(int ordinal);
+
+    String description(int ordinal);
+
+    String track(int ordinal);
+
+    String level(int ordinal);
+
+    List<Speaker> speakers(int ordinal);
+
+    default String normalizedTitle(int ordinal) {
+        return Tokenizer.normalize(title(ordinal));
+    }
+
+    default String[] normalizedSpeakers(int ordinal) {
+        List<Speaker> speakers = speakers(ordinal);
+        String[] names = new String[speakers.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = Tokenizer.normalize(speakers.get(i).name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,246 @@
+package org.rag4j.agent.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Reads a catalog of talks from JSON with the Jackson streaming parser. The records are built directly from the
+ * tokens, so no tree of the complete file is kept in memory.
+ * <p>
+ * A large file can also be read in parallel. The file is memory mapped and scanned once for the boundaries of the
+ * elements of the top-level array, the elements are split into contiguous chunks, and every chunk is parsed on the
+ * common fork-join pool as an array of its own. The chunks are concatenated in order, so the result is the same as for
+ * the sequential read.
+ */
+final class TalksJsonReader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+
+    private TalksJsonReader() {
+    }
+
+    /**
+     * Reads all talks from a stream holding a JSON array of talk objects.
+     *
+     * @param inputStream the JSON stream, not closed by this method
+     * @return the talks in the order of the array
+     * @throws IOException when the stream cannot be read or is not a JSON array
+     */
+    static List<ConferenceTalk> read(InputStream inputStream) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            return readArray(parser);
+        }
+    }
+
+    /**
+     * Reads all talks from a file holding a JSON array of talk objects.
+     *
+     * @param file     the JSON file
+     * @param parallel parse chunks of the array on the fork-join pool, only worth it for large files
+     * @return the talks in the order of the array
+     * @throws IOException when the file cannot be read or is not a JSON array
+     */
+    static List<ConferenceTalk> read(Path file, boolean parallel) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (!parallel || size < 2L * MIN_CHUNK_BYTES || size > Integer.MAX_VALUE) {
+                // A single mapping is limited to 2 GB; larger files are streamed sequentially.
+                try (InputStream inputStream = Files.newInputStream(file)) {
+                    return read(inputStream);
+                }
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return readParallel(buffer);
+        }
+    }
+
+    private static List<ConferenceTalk> readParallel(ByteBuffer buffer) throws IOException {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int targetChunkBytes = Math.max(MIN_CHUNK_BYTES, buffer.limit() / (parallelism * 4) + 1);
+        List<int[]> chunks = splitTopLevelArray(buffer, targetChunkBytes);
+        try {
+            List<List<ConferenceTalk>> parsed = IntStream.range(0, chunks.size())
+                    .parallel()
+                    .mapToObj(i -> parseChunk(buffer, chunks.get(i)[0], chunks.get(i)[1]))
+                    .toList();
+            List<ConferenceTalk> talks = new ArrayList<>(parsed.stream().mapToInt(List::size).sum());
+            parsed.forEach(talks::addAll);
+            return talks;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Scans the top-level array for element boundaries, keeping track of nesting and string literals. Returns ranges
+     * of whole elements of roughly the target size; a range runs from the first byte of its first element to just past
+     * its last element, so it only contains the commas between its own elements.
+     */
+    static List<int[]> splitTopLevelArray(ByteBuffer buffer, int targetChunkBytes) throws IOException {
+        List<int[]> chunks = new ArrayList<>();
+        int limit = buffer.limit();
+        int depth = 0;
+        boolean inString = false;
+        int chunkStart = -1;
+        int elementStart = -1;
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"' -> {
+                    inString = true;
+                    if (depth == 1 && elementStart < 0) {
+                        elementStart = i;
+                    }
+                }
+                case '{', '[' -> {
+                    if (depth == 1 && elementStart < 0) {
+                        elementStart = i;
+                    }
+                    depth++;
+                }
+                case '}', ']' -> {
+                    depth--;
+                    if (depth == 0) {
+                        if (chunkStart >= 0) {
+                            chunks.add(new int[]{chunkStart, i});
+                        }
+                        return chunks;
+                    }
+                }
+                case ',' -> {
+                    if (depth == 1 && elementStart >= 0) {
+                        if (i - chunkStart >= targetChunkBytes) {
+                            chunks.add(new int[]{chunkStart, i});
+                            chunkStart = -1;
+                        }
+                        elementStart = -1;
+                    }
+                }
+                default -> {
+                    if (depth == 1 && elementStart < 0 && !isWhitespace(b)) {
+                        elementStart = i;
+                    }
+                }
+            }
+            if (depth == 1 && chunkStart < 0 && elementStart >= 0) {
+                chunkStart = elementStart;
+            }
+        }
+        throw new JsonParseException(null, "Catalog is not a complete JSON array");
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static List<ConferenceTalk> parseChunk(ByteBuffer buffer, int from, int to) {
+        ByteBuffer slice = buffer.slice(from, to - from);
+        InputStream chunk = new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(new byte[]{'['}),
+                new ByteBufferInputStream(slice),
+                new ByteArrayInputStream(new byte[]{']'}))));
+        try {
+            return read(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<ConferenceTalk> readArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a JSON array of talks");
+        }
+        List<ConferenceTalk> talks = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of the talks array");
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a talk object but found " + token);
+            }
+            talks.add(readTalk(parser));
+        }
+        return talks;
+    }
+
+    private static ConferenceTalk readTalk(JsonParser parser) throws IOException {
+        String title = "";
+        String description = "";
+        String track = "";
+        String level = "";
+        List<Speaker> speakers = new ArrayList<>(2);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "title" -> title = parser.getValueAsString("");
+                case "description" -> description = parser.getValueAsString("");
+                case "track" -> track = parser.getValueAsString("");
+                case "level" -> level = parser.getValueAsString("");
+                case "speakers" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            speakers.add(new Speaker(parser.getValueAsString("")));
+                            parser.skipChildren();
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new ConferenceTalk(title, description, track, level, speakers);
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.rag4j.agent.core.favourites;
+
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.Speaker;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The title and speakers of a favourite talk, as the favourites tools and web pages exchange it.
+ */
+public record FavouriteTalk(String title, String[] speakers) {
+
+    /**
+     * Returns the title and speakers of a talk from the catalog.
+     */
+    public static FavouriteTalk of(ConferenceTalk talk) {
+        return new FavouriteTalk(talk.title(), talk.speakers() == null ? new String[0]
+                : talk.speakers().stream().map(Speaker::name).toArray(String[]::new));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FavouriteTalk talk && Objects.equals(title, talk.title)
+                && Arrays.equals(speakers, talk.speakers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(title) + Arrays.hashCode(speakers);
+    }
+
+    @Override
+    public String toString() {
+        return "FavouriteTalk[title=" + title + ", speakers=" + Arrays.toString(speakers) + "]";
+    }
+}
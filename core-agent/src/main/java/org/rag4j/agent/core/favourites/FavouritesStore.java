@@ -0,0 +1,239 @@
+package org.rag4j.agent.core.favourites;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Favourite talks per user, stored in a JSON file as references to the talk catalog.
+ * <p>
+ * A favourite is kept as the {@link ConferenceTalk#id() id} of the catalog talk, so the favourites file holds one
+ * short id per favourite instead of repeating the title and speakers for every user who likes a talk. Ids are
+ * resolved back to the catalog records with {@link ConferenceTalksRepository#findTalkById(String)} in constant time.
+ * A favourites file in the earlier format, with the title and speakers of every favourite, is converted to ids when
+ * it is loaded. A favourite in that format that is not in the catalog, for instance because the catalog misses the
+ * talk or was not loaded yet, is kept as it is and converted on a later load when the catalog has it.
+ * <p>
+ * As the id is derived from the title and speakers, it is stable across reloads of the same catalog, but not across
+ * edits to the content of a talk: a corrected title or speaker name gives the talk a new id. A stored id that no
+ * longer resolves is left out of the answers and logged once, and stays in the file, so the favourite returns when
+ * the edit is reverted. {@link #orphanedFavourites()} lists them.
+ */
+public class FavouritesStore {
+    private static final Logger logger = LoggerFactory.getLogger(FavouritesStore.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Set<String>> userFavourites = new HashMap<>();
+    private final Map<String, List<JsonNode>> unresolvedFavourites = new HashMap<>();
+    private final Set<String> reportedOrphans = new HashSet<>();
+    private final ConferenceTalksRepository conferenceTalksRepository;
+    private final Path file;
+
+    /**
+     * Loads the favourites from the file, when it exists.
+     *
+     * @param conferenceTalksRepository the catalog the favourites refer to
+     * @param file                      the favourites file
+     * @throws FavouritesStoreException when the file cannot be read
+     */
+    public FavouritesStore(ConferenceTalksRepository conferenceTalksRepository, Path file) {
+        this.conferenceTalksRepository = conferenceTalksRepository;
+        this.file = file;
+
+        loadFromDisk();
+    }
+
+    public synchronized List<FavouriteTalk> getFavourites(String userId) {
+        return getFavouriteTalks(userId).stream().map(FavouriteTalk::of).toList();
+    }
+
+    /**
+     * Returns the favourites of every user that has any.
+     *
+     * @return the favourites per user
+     */
+    public synchronized Map<String, List<FavouriteTalk>> getAllFavourites() {
+        Map<String, List<FavouriteTalk>> all = new HashMap<>();
+        for (String userId : userFavourites.keySet()) {
+            all.put(userId, getFavourites(userId));
+        }
+        return all;
+    }
+
+    /**
+     * Returns the catalog records of the favourites of a user, in the order they were added. Favourites that are no
+     * longer in the catalog are left out.
+     */
+    public synchronized List<ConferenceTalk> getFavouriteTalks(String userId) {
+        List<ConferenceTalk> talks = new ArrayList<>();
+        for (String id : userFavourites.getOrDefault(userId, Set.of())) {
+            find(userId, id).ifPresent(talks::add);
+        }
+        return talks;
+    }
+
+    /**
+     * Adds a favourite for a user, unless the user already has it.
+     *
+     * @throws IllegalArgumentException when the talk is not in the catalog
+     */
+    public synchronized void addFavourite(String userId, FavouriteTalk item) {
+        String id = resolve(item.title(), item.speakers() == null ? List.of() : Arrays.asList(item.speakers()));
+        if (id == null) {
+            throw new IllegalArgumentException("No talk with the title '" + item.title() + "' in the catalog");
+        }
+        if (userFavourites.computeIfAbsent(userId, k -> new LinkedHashSet<>()).add(id)) {
+            saveToDisk();
+        }
+    }
+
+    public synchronized void removeFavourite(String userId, FavouriteTalk item) {
+        Set<String> favs = userFavourites.get(userId);
+        String id = resolve(item.title(), item.speakers() == null ? List.of() : Arrays.asList(item.speakers()));
+        boolean removed = favs != null && id != null && favs.remove(id);
+        List<JsonNode> unresolved = unresolvedFavourites.get(userId);
+        if (unresolved != null && item.title() != null) {
+            removed |= unresolved.removeIf(favourite ->
+                    favourite.path("title").asText().strip().equalsIgnoreCase(item.title().strip()));
+        }
+        if (removed) {
+            saveToDisk();
+        }
+    }
+
+    /**
+     * Counts the favourites per track, joining the stored ids with the catalog.
+     *
+     * @param userId the user, or null for the favourites of all users
+     * @return the number of favourites per track, highest count first
+     */
+    public synchronized Map<String, Integer> countFavouritesByTrack(String userId) {
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, Set<String>> favourites = userId == null ? userFavourites
+                : Map.of(userId, userFavourites.getOrDefault(userId, Set.of()));
+        favourites.forEach((user, ids) -> {
+            for (String id : ids) {
+                find(user, id).ifPresent(talk -> counts.merge(talk.track(), 1, Integer::sum));
+            }
+        });
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Returns the stored ids that no longer resolve to a talk in the current catalog, for instance because the title
+     * or a speaker name of the talk was edited.
+     *
+     * @return the orphaned ids per user, for the users that have any
+     */
+    public synchronized Map<String, List<String>> orphanedFavourites() {
+        Map<String, List<String>> orphaned = new HashMap<>();
+        userFavourites.forEach((userId, ids) -> ids.stream()
+                .filter(id -> conferenceTalksRepository.findTalkById(id).isEmpty())
+                .forEach(id -> orphaned.computeIfAbsent(userId, k -> new ArrayList<>()).add(id)));
+        return orphaned;
+    }
+
+    private Optional<ConferenceTalk> find(String userId, String id) {
+        Optional<ConferenceTalk> talk = conferenceTalksRepository.findTalkById(id);
+        if (talk.isEmpty() && reportedOrphans.add(id)) {
+            logger.warn("Favourite {} of user {} is no longer in the catalog, the talk may have been edited",
+                    id, userId);
+        }
+        return talk;
+    }
+
+    /**
+     * Finds the catalog id of a talk: the id derived from the title and speakers when the catalog has it, or else the
+     * id of the first talk with exactly that title, ignoring case.
+     *
+     * @return the id, or null when no talk in the catalog has the title
+     */
+    private String resolve(String title, List<String> speakers) {
+        String id = ConferenceTalk.idOf(title, speakers);
+        if (conferenceTalksRepository.findTalkById(id).isPresent()) {
+            return id;
+        }
+        if (title == null || title.isBlank()) {
+            return null;
+        }
+        List<ConferenceTalk> sameTitle = conferenceTalksRepository.findTalksByTitle(title.strip()).stream()
+                .filter(talk -> talk.title().strip().equalsIgnoreCase(title.strip()))
+                .toList();
+        return sameTitle.stream()
+                .filter(talk -> talk.speakers().stream().map(Speaker::name).anyMatch(name -> speakers.stream()
+                        .anyMatch(speaker -> speaker.strip().equalsIgnoreCase(name.strip()))))
+                .findFirst()
+                .or(() -> sameTitle.stream().findFirst())
+                .map(ConferenceTalk::id)
+                .orElse(null);
+    }
+
+    private void loadFromDisk() {
+        logger.info("Loading Favourites from disk...");
+        if (Files.exists(file)) {
+            try {
+                Map<String, List<JsonNode>> data = objectMapper.readValue(file.toFile(),
+                        new TypeReference<Map<String, List<JsonNode>>>() {});
+                boolean converted = false;
+                for (Map.Entry<String, List<JsonNode>> entry : data.entrySet()) {
+                    Set<String> ids = new LinkedHashSet<>();
+                    for (JsonNode favourite : entry.getValue()) {
+                        if (favourite.isTextual()) {
+                            ids.add(favourite.asText());
+                            continue;
+                        }
+                        // A favourite in the earlier format, with the title and speakers
+                        converted = true;
+                        List<String> speakers = new ArrayList<>();
+                        favourite.path("speakers").forEach(speaker -> speakers.add(speaker.asText()));
+                        String id = resolve(favourite.path("title").asText(), speakers);
+                        if (id == null) {
+                            logger.warn("Keeping favourite '{}' of user {} unconverted, it is not in the catalog",
+                                    favourite.path("title").asText(), entry.getKey());
+                            unresolvedFavourites.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(favourite);
+                        } else {
+                            ids.add(id);
+                        }
+                    }
+                    userFavourites.put(entry.getKey(), ids);
+                }
+                if (converted) {
+                    logger.info("Converted the favourites to talk ids");
+                    saveToDisk();
+                }
+            } catch (IOException e) {
+                logger.error("Failed to load favourites from disk", e);
+                throw new FavouritesStoreException("Failed to load favourites from disk", e);
+            }
+        }
+    }
+
+    private void saveToDisk() {
+        logger.info("Saving Favourites to disk...");
+        try {
+            // Favourites that could not be converted are written back as they were read
+            Map<String, List<Object>> data = new LinkedHashMap<>();
+            userFavourites.forEach((userId, ids) -> data.computeIfAbsent(userId, k -> new ArrayList<>()).addAll(ids));
+            unresolvedFavourites.forEach((userId, favourites) ->
+                    data.computeIfAbsent(userId, k -> new ArrayList<>()).addAll(favourites));
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), data);
+        } catch (IOException e) {
+            logger.error("Failed to save favourites to disk", e);
+            throw new FavouritesStoreException("Failed to save favourites to disk", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.rag4j.agent.core.favourites;
+
+/**
+ * Thrown when the favourites file cannot be read or written.
+ */
+public class FavouritesStoreException extends RuntimeException {
+    public FavouritesStoreException(String message) {
+        super(message);
+    }
+
+    public FavouritesStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
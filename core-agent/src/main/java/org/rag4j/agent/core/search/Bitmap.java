@@ -0,0 +1,363 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Immutable compressed set of talk ordinals with the layout of a Roaring bitmap. The ordinals are split into chunks by
+ * their high 16 bits and every chunk is stored in a container for its low 16 bits: a sorted char array when the chunk
+ * holds at most {@link #ARRAY_LIMIT} ordinals, a bitset of 1024 longs otherwise. A sparse set, like the talks of one
+ * speaker, is about as small as a posting list, and a dense set, like all beginner talks, takes one bit per talk and
+ * is intersected a word at a time.
+ * <p>
+ * The containers live in buffers, so a bitmap built in memory and one mapped from a snapshot share the same code.
+ */
+public final class Bitmap {
+    static final int ARRAY_LIMIT = 4096;
+    private static final int CHUNK_BITS = 16;
+    private static final int BITSET_WORDS = (1 << CHUNK_BITS) / Long.SIZE;
+
+    public static final Bitmap EMPTY = new Builder().build();
+
+    private final CharBuffer keys;
+    private final IntBuffer cardinalities;
+    private final IntBuffer offsets;
+    private final CharBuffer arrays;
+    private final LongBuffer words;
+
+    private Bitmap(CharBuffer keys, IntBuffer cardinalities, IntBuffer offsets, CharBuffer arrays, LongBuffer words) {
+        this.keys = keys;
+        this.cardinalities = cardinalities;
+        this.offsets = offsets;
+        this.arrays = arrays;
+        this.words = words;
+    }
+
+    /**
+     * Creates a bitmap from a posting list.
+     *
+     * @param sortedOrdinals ascending ordinals without duplicates
+     * @return the bitmap
+     */
+    public static Bitmap of(int[] sortedOrdinals) {
+        Builder builder = new Builder();
+        int start = 0;
+        while (start < sortedOrdinals.length) {
+            int key = sortedOrdinals[start] >>> CHUNK_BITS;
+            int end = start;
+            while (end < sortedOrdinals.length && sortedOrdinals[end] >>> CHUNK_BITS == key) {
+                end++;
+            }
+            if (end - start <= ARRAY_LIMIT) {
+                char[] values = new char[end - start];
+                for (int i = start; i < end; i++) {
+                    values[i - start] = (char) sortedOrdinals[i];
+                }
+                builder.addArray(key, values, values.length);
+            } else {
+                long[] bitset = new long[BITSET_WORDS];
+                for (int i = start; i < end; i++) {
+                    char low = (char) sortedOrdinals[i];
+                    bitset[low >>> 6] |= 1L << low;
+                }
+                builder.addBitset(key, bitset, end - start);
+            }
+            start = end;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a bitmap with all ordinals of a catalog.
+     *
+     * @param size the number of talks
+     * @return the bitmap with the ordinals {@code 0} up to {@code size - 1}
+     */
+    public static Bitmap range(int size) {
+        Builder builder = new Builder();
+        for (int key = 0; key << CHUNK_BITS < size; key++) {
+            int count = Math.min(size - (key << CHUNK_BITS), 1 << CHUNK_BITS);
+            long[] bitset = new long[BITSET_WORDS];
+            Arrays.fill(bitset, 0, count >>> 6, -1L);
+            if ((count & 63) != 0) {
+                bitset[count >>> 6] = (1L << count) - 1;
+            }
+            builder.addWords(key, bitset, count);
+        }
+        return builder.build();
+    }
+
+    public static Bitmap readFrom(SnapshotInput input) throws IOException {
+        return new Bitmap(input.readChars(), input.readInts(), input.readInts(), input.readChars(), input.readLongs());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        output.writeChars(keys);
+        output.writeInts(cardinalities);
+        output.writeInts(offsets);
+        output.writeChars(arrays);
+        output.writeLongs(words);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int c = 0; c < cardinalities.limit(); c++) {
+            cardinality += cardinalities.get(c);
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return keys.limit() == 0;
+    }
+
+    public boolean contains(int ordinal) {
+        int c = container(ordinal >>> CHUNK_BITS);
+        if (c < 0) {
+            return false;
+        }
+        char low = (char) ordinal;
+        int offset = offsets.get(c);
+        if (isBitset(c)) {
+            return (words.get(offset + (low >>> 6)) & (1L << low)) != 0;
+        }
+        return Buffers.binarySearch(arrays, offset, offset + cardinalities.get(c), low) >= 0;
+    }
+
+    /**
+     * Intersects this bitmap with another one, container by container.
+     *
+     * @param other the other bitmap
+     * @return the ordinals present in both bitmaps
+     */
+    public Bitmap and(Bitmap other) {
+        Builder builder = new Builder();
+        long[] bitset = new long[BITSET_WORDS];
+        char[] values = new char[ARRAY_LIMIT];
+        int i = 0, j = 0;
+        while (i < keys.limit() && j < other.keys.limit()) {
+            char key = keys.get(i);
+            char otherKey = other.keys.get(j);
+            if (key < otherKey) {
+                i++;
+            } else if (key > otherKey) {
+                j++;
+            } else {
+                if (isBitset(i) && other.isBitset(j)) {
+                    int cardinality = 0;
+                    int offset = offsets.get(i);
+                    int otherOffset = other.offsets.get(j);
+                    for (int w = 0; w < BITSET_WORDS; w++) {
+                        bitset[w] = words.get(offset + w) & other.words.get(otherOffset + w);
+                        cardinality += Long.bitCount(bitset[w]);
+                    }
+                    builder.addWords(key, bitset, cardinality);
+                } else {
+                    builder.addArray(key, values, intersectArray(i, other, j, values));
+                }
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Counts the ordinals present in both bitmaps without building the intersection.
+     *
+     * @param other the other bitmap
+     * @return the cardinality of the intersection
+     */
+    public int andCardinality(Bitmap other) {
+        int cardinality = 0;
+        char[] values = null;
+        int i = 0, j = 0;
+        while (i < keys.limit() && j < other.keys.limit()) {
+            char key = keys.get(i);
+            char otherKey = other.keys.get(j);
+            if (key < otherKey) {
+                i++;
+            } else if (key > otherKey) {
+                j++;
+            } else {
+                if (isBitset(i) && other.isBitset(j)) {
+                    int offset = offsets.get(i);
+                    int otherOffset = other.offsets.get(j);
+                    for (int w = 0; w < BITSET_WORDS; w++) {
+                        cardinality += Long.bitCount(words.get(offset + w) & other.words.get(otherOffset + w));
+                    }
+                } else {
+                    values = values == null ? new char[ARRAY_LIMIT] : values;
+                    cardinality += intersectArray(i, other, j, values);
+                }
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns the ordinals as a posting list.
+     *
+     * @return the ascending ordinals
+     */
+    public int[] toArray() {
+        int[] ordinals = new int[cardinality()];
+        int n = 0;
+        for (int c = 0; c < keys.limit(); c++) {
+            int high = keys.get(c) << CHUNK_BITS;
+            int offset = offsets.get(c);
+            if (isBitset(c)) {
+                for (int w = 0; w < BITSET_WORDS; w++) {
+                    long word = words.get(offset + w);
+                    while (word != 0) {
+                        ordinals[n++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (int i = offset; i < offset + cardinalities.get(c); i++) {
+                    ordinals[n++] = high | arrays.get(i);
+                }
+            }
+        }
+        return ordinals;
+    }
+
+    private boolean isBitset(int container) {
+        return cardinalities.get(container) > ARRAY_LIMIT;
+    }
+
+    private int container(int key) {
+        int low = 0;
+        int high = keys.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midKey = keys.get(mid);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Intersects two containers of which at least one is an array, so the result has at most {@link #ARRAY_LIMIT}
+     * values.
+     */
+    private int intersectArray(int c, Bitmap other, int otherC, char[] result) {
+        if (isBitset(c)) {
+            return other.intersectArray(otherC, this, c, result);
+        }
+        int from = offsets.get(c);
+        int to = from + cardinalities.get(c);
+        int n = 0;
+        if (other.isBitset(otherC)) {
+            int otherOffset = other.offsets.get(otherC);
+            for (int i = from; i < to; i++) {
+                char low = arrays.get(i);
+                if ((other.words.get(otherOffset + (low >>> 6)) & (1L << low)) != 0) {
+                    result[n++] = low;
+                }
+            }
+            return n;
+        }
+        int j = other.offsets.get(otherC);
+        int otherTo = j + other.cardinalities.get(otherC);
+        int i = from;
+        while (i < to && j < otherTo) {
+            char a = arrays.get(i);
+            char b = other.arrays.get(j);
+            if (a < b) {
+                i++;
+            } else if (a > b) {
+                j++;
+            } else {
+                result[n++] = a;
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+
+    private static final class Builder {
+        private char[] keys = new char[4];
+        private int[] cardinalities = new int[4];
+        private int[] offsets = new int[4];
+        private int containers;
+        private char[] arrays = new char[16];
+        private int arrayLength;
+        private long[] words = new long[0];
+        private int wordLength;
+
+        void addArray(int key, char[] values, int count) {
+            if (count == 0) {
+                return;
+            }
+            if (arrayLength + count > arrays.length) {
+                arrays = Arrays.copyOf(arrays, Math.max(arrays.length * 2, arrayLength + count));
+            }
+            System.arraycopy(values, 0, arrays, arrayLength, count);
+            addContainer(key, count, arrayLength);
+            arrayLength += count;
+        }
+
+        void addBitset(int key, long[] bitset, int cardinality) {
+            if (wordLength + BITSET_WORDS > words.length) {
+                words = Arrays.copyOf(words, Math.max(words.length * 2, wordLength + BITSET_WORDS));
+            }
+            System.arraycopy(bitset, 0, words, wordLength, BITSET_WORDS);
+            addContainer(key, cardinality, wordLength);
+            wordLength += BITSET_WORDS;
+        }
+
+        /**
+         * Adds a chunk given as a bitset, stored as an array container when it has few enough values.
+         */
+        void addWords(int key, long[] bitset, int cardinality) {
+            if (cardinality > ARRAY_LIMIT) {
+                addBitset(key, bitset, cardinality);
+                return;
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < BITSET_WORDS && n < cardinality; w++) {
+                long word = bitset[w];
+                while (word != 0) {
+                    values[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            addArray(key, values, n);
+        }
+
+        private void addContainer(int key, int cardinality, int offset) {
+            if (containers == keys.length) {
+                keys = Arrays.copyOf(keys, containers * 2);
+                cardinalities = Arrays.copyOf(cardinalities, containers * 2);
+                offsets = Arrays.copyOf(offsets, containers * 2);
+            }
+            keys[containers] = (char) key;
+            cardinalities[containers] = cardinality;
+            offsets[containers] = offset;
+            containers++;
+        }
+
+        Bitmap build() {
+            return new Bitmap(CharBuffer.wrap(Arrays.copyOf(keys, containers)),
+                    IntBuffer.wrap(Arrays.copyOf(cardinalities, containers)),
+                    IntBuffer.wrap(Arrays.copyOf(offsets, containers)),
+                    CharBuffer.wrap(Arrays.copyOf(arrays, arrayLength)),
+                    LongBuffer.wrap(Arrays.copyOf(words, wordLength)));
+        }
+    }
+}
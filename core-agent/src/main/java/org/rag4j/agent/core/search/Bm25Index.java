@@ -0,0 +1,231 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable term-frequency index that ranks talks with BM25 over their title and description.
+ * <p>
+ * Title terms count {@link #TITLE_BOOST} times, which is a simple way to weigh the title above the description. The
+ * per-term frequencies and the document lengths are computed once at build time, so a query only walks the posting
+ * lists of its own terms and keeps the best {@code k} talks in a bounded heap.
+ */
+public final class Bm25Index {
+    public static final float K1 = 1.2f;
+    public static final float B = 0.75f;
+    public static final int TITLE_BOOST = 2;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingInt(Hit::ordinal).reversed());
+
+    private final TextAnalyzer analyzer;
+    private final TermDictionary terms;
+    private final IntBuffer offsets;
+    private final IntBuffer postings;
+    private final IntBuffer frequencies;
+    private final IntBuffer documentLengths;
+    private final float averageLength;
+
+    private Bm25Index(TextAnalyzer analyzer, TermDictionary terms, IntBuffer offsets, IntBuffer postings,
+                      IntBuffer frequencies, IntBuffer documentLengths, float averageLength) {
+        this.analyzer = analyzer;
+        this.terms = terms;
+        this.offsets = offsets;
+        this.postings = postings;
+        this.frequencies = frequencies;
+        this.documentLengths = documentLengths;
+        this.averageLength = averageLength;
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(SnapshotOutput)}. The analyzer is not part of the snapshot and must be
+     * the one the index was built with.
+     */
+    public static Bm25Index readFrom(SnapshotInput input, TextAnalyzer analyzer) throws IOException {
+        return new Bm25Index(analyzer, TermDictionary.readFrom(input), input.readInts(), input.readInts(),
+                input.readInts(), input.readInts(), input.readFloat());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        terms.writeTo(output);
+        output.writeInts(offsets);
+        output.writeInts(postings);
+        output.writeInts(frequencies);
+        output.writeInts(documentLengths);
+        output.writeFloat(averageLength);
+    }
+
+    /**
+     * A talk ordinal with its relevance score.
+     */
+    public record Hit(int ordinal, float score) {
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param size         the number of talks
+     * @param titles       returns the title for an ordinal
+     * @param descriptions returns the description for an ordinal
+     * @param analyzer     the analyzer used for both the documents and the queries
+     * @return the index
+     */
+    public static Bm25Index build(int size, IntFunction<String> titles, IntFunction<String> descriptions,
+                                  TextAnalyzer analyzer) {
+        Map<String, TermPostings> postingsByTerm = new HashMap<>();
+        int[] documentLengths = new int[size];
+        Map<String, Integer> counts = new HashMap<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            counts.clear();
+            for (String term : analyzer.analyze(titles.apply(ordinal))) {
+                counts.merge(term, TITLE_BOOST, Integer::sum);
+            }
+            for (String term : analyzer.analyze(descriptions.apply(ordinal))) {
+                counts.merge(term, 1, Integer::sum);
+            }
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                TermPostings termPostings = postingsByTerm.computeIfAbsent(entry.getKey(), t -> new TermPostings());
+                termPostings.ordinals.add(ordinal);
+                termPostings.frequencies.add(entry.getValue());
+                length += entry.getValue();
+            }
+            documentLengths[ordinal] = length;
+        }
+
+        String[] terms = postingsByTerm.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        int[] offsets = new int[terms.length + 1];
+        for (int i = 0; i < terms.length; i++) {
+            offsets[i + 1] = offsets[i] + postingsByTerm.get(terms[i]).ordinals.size();
+        }
+        int[] postings = new int[offsets[terms.length]];
+        int[] frequencies = new int[postings.length];
+        for (int i = 0; i < terms.length; i++) {
+            TermPostings termPostings = postingsByTerm.get(terms[i]);
+            for (int j = 0; j < termPostings.ordinals.size(); j++) {
+                postings[offsets[i] + j] = termPostings.ordinals.get(j);
+                frequencies[offsets[i] + j] = termPostings.frequencies.get(j);
+            }
+        }
+        long totalLength = 0;
+        for (int length : documentLengths) {
+            totalLength += length;
+        }
+        float averageLength = size == 0 ? 1f : Math.max(1f, (float) totalLength / size);
+        return new Bm25Index(analyzer, TermDictionary.of(terms), IntBuffer.wrap(offsets), IntBuffer.wrap(postings),
+                IntBuffer.wrap(frequencies), IntBuffer.wrap(documentLengths), averageLength);
+    }
+
+    /**
+     * Returns the {@code k} most relevant talks for a query.
+     *
+     * @param query the free text query
+     * @param k     the maximum number of hits
+     * @return the hits with the highest score first; ties keep catalog order
+     */
+    public List<Hit> search(String query, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of results must be positive, got " + k);
+        }
+        int[] ordinals = PostingLists.EMPTY;
+        float[] scores = new float[0];
+        int documentCount = documentLengths.limit();
+        for (Map.Entry<String, Float> queryTerm : analyzer.analyzeQuery(query).entrySet()) {
+            int termIndex = terms.indexOf(queryTerm.getKey());
+            if (termIndex < 0) {
+                continue;
+            }
+            int from = offsets.get(termIndex);
+            int to = offsets.get(termIndex + 1);
+            int documentFrequency = to - from;
+            float idf = (float) Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            float[] termScores = new float[documentFrequency];
+            for (int i = from; i < to; i++) {
+                float tf = frequencies.get(i);
+                float norm = K1 * (1 - B + B * documentLengths.get(postings.get(i)) / averageLength);
+                termScores[i - from] = queryTerm.getValue() * idf * tf * (K1 + 1) / (tf + norm);
+            }
+
+            // Merge the sorted posting list of this term into the accumulated scores.
+            int[] mergedOrdinals = new int[ordinals.length + documentFrequency];
+            float[] mergedScores = new float[mergedOrdinals.length];
+            int a = 0, b = from, n = 0;
+            while (a < ordinals.length || b < to) {
+                if (b == to || (a < ordinals.length && ordinals[a] < postings.get(b))) {
+                    mergedOrdinals[n] = ordinals[a];
+                    mergedScores[n++] = scores[a++];
+                } else if (a == ordinals.length || postings.get(b) < ordinals[a]) {
+                    mergedOrdinals[n] = postings.get(b);
+                    mergedScores[n++] = termScores[b++ - from];
+                } else {
+                    mergedOrdinals[n] = ordinals[a];
+                    mergedScores[n++] = scores[a++] + termScores[b++ - from];
+                }
+            }
+            ordinals = Arrays.copyOf(mergedOrdinals, n);
+            scores = Arrays.copyOf(mergedScores, n);
+        }
+        return topK(ordinals, scores, k);
+    }
+
+    /**
+     * Returns the talks that contain every term of a query in their title or description, without ranking them. A
+     * synonym of a query term counts as that term.
+     *
+     * @param query the free text query
+     * @return the ascending ordinals of the matching talks, none if the query has no terms, like a query of only stop
+     *         words
+     */
+    public int[] matchingAll(String query) {
+        List<List<String>> clauses = analyzer.analyzeClauses(query);
+        if (clauses.isEmpty()) {
+            return new int[0];
+        }
+        int[] result = null;
+        for (List<String> clause : clauses) {
+            List<int[]> alternatives = new ArrayList<>();
+            for (String term : clause) {
+                int termIndex = terms.indexOf(term);
+                if (termIndex >= 0) {
+                    alternatives.add(Buffers.copyOfRange(postings, offsets.get(termIndex), offsets.get(termIndex + 1)));
+                }
+            }
+            int[] clauseOrdinals = PostingLists.union(alternatives);
+            result = result == null ? clauseOrdinals : PostingLists.intersect(result, clauseOrdinals);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static List<Hit> topK(int[] ordinals, float[] scores, int k) {
+        PriorityQueue<Hit> heap = new PriorityQueue<>(Math.min(k, Math.max(1, ordinals.length)), WORST_FIRST);
+        for (int i = 0; i < ordinals.length; i++) {
+            Hit hit = new Hit(ordinals[i], scores[i]);
+            if (heap.size() < k) {
+                heap.add(hit);
+            } else if (WORST_FIRST.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(WORST_FIRST.reversed());
+        return hits;
+    }
+
+    private static final class TermPostings {
+        private final IntArrayList ordinals = new IntArrayList();
+        private final IntArrayList frequencies = new IntArrayList();
+    }
+}
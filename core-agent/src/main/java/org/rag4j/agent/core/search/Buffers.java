@@ -0,0 +1,76 @@
+package org.rag4j.agent.core.search;
+
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Array-style helpers for the buffers that back the indexes. An index is either built in memory, with buffers that
+ * wrap plain arrays, or opened from a snapshot, with buffers that are mapped from the file.
+ */
+final class Buffers {
+
+    private Buffers() {
+    }
+
+    /**
+     * Binary search in a sorted range, with the same contract as {@link java.util.Arrays#binarySearch(int[], int,
+     * int, int)}.
+     */
+    static int binarySearch(IntBuffer values, int from, int to, int key) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = values.get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    static int binarySearch(CharBuffer values, int from, int to, char key) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char value = values.get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    static int binarySearch(LongBuffer values, long key) {
+        int low = 0;
+        int high = values.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = values.get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    static int[] copyOfRange(IntBuffer values, int from, int to) {
+        int[] copy = new int[to - from];
+        values.get(from, copy);
+        return copy;
+    }
+}
@@ -0,0 +1,276 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Prefix completion of field values, for instance speaker names, with the most popular values first.
+ * <p>
+ * Every value is stored under one or more keys: the lower cased, accent folded value itself and, when requested, the
+ * value from each later word on, so "blan" completes "Sébastien Blanc". The keys are kept in a sorted
+ * {@link TermDictionary}, which works like a flattened trie: the keys with a prefix form one contiguous range found
+ * with two binary searches. A key is followed by a zero char and the value, so the display text costs no extra
+ * structure.
+ * <p>
+ * A segment tree over the popularity of the keys answers "most popular key in a range" in logarithmic time. The top
+ * {@code k} of a prefix range are found by taking the maximum, splitting the range around it and repeating on the
+ * best remaining part, which touches {@code O(k log n)} tree nodes however many keys share the prefix.
+ */
+public final class CompletionIndex {
+    private static final char VALUE_SEPARATOR = '\0';
+
+    private final TermDictionary keys;
+    private final IntBuffer popularity;
+    private final IntBuffer maxTree;
+
+    private CompletionIndex(TermDictionary keys, IntBuffer popularity, IntBuffer maxTree) {
+        this.keys = keys;
+        this.popularity = popularity;
+        this.maxTree = maxTree;
+    }
+
+    /**
+     * Builds the index. The popularity of a value is the number of talks that have it.
+     *
+     * @param size       the number of talks
+     * @param fields     returns the values of the field for an ordinal
+     * @param wordStarts whether a value is also completed from the start of each later word
+     * @return the index
+     */
+    public static CompletionIndex build(int size, IntFunction<String[]> fields, boolean wordStarts) {
+        Map<String, Integer> talksPerValue = new HashMap<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            Set<String> seen = new HashSet<>();
+            for (String value : fields.apply(ordinal)) {
+                String trimmed = value.strip();
+                if (!trimmed.isEmpty() && seen.add(trimmed)) {
+                    talksPerValue.merge(trimmed, 1, Integer::sum);
+                }
+            }
+        }
+        Map<String, Integer> popularityPerKey = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : talksPerValue.entrySet()) {
+            String folded = TextAnalyzer.fold(entry.getKey());
+            popularityPerKey.put(folded + VALUE_SEPARATOR + entry.getKey(), entry.getValue());
+            if (wordStarts) {
+                for (int i = 1; i < folded.length(); i++) {
+                    if (!Character.isLetterOrDigit(folded.charAt(i - 1)) && Character.isLetterOrDigit(folded.charAt(i))) {
+                        popularityPerKey.put(folded.substring(i) + VALUE_SEPARATOR + entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+        String[] sortedKeys = popularityPerKey.keySet().toArray(String[]::new);
+        Arrays.sort(sortedKeys);
+        int[] weights = new int[sortedKeys.length];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            weights[i] = popularityPerKey.get(sortedKeys[i]);
+        }
+        return new CompletionIndex(TermDictionary.of(sortedKeys), IntBuffer.wrap(weights),
+                IntBuffer.wrap(buildMaxTree(weights)));
+    }
+
+    public static CompletionIndex readFrom(SnapshotInput input) throws IOException {
+        return new CompletionIndex(TermDictionary.readFrom(input), input.readInts(), input.readInts());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        keys.writeTo(output);
+        output.writeInts(popularity);
+        output.writeInts(maxTree);
+    }
+
+    /**
+     * A completed value with its popularity.
+     */
+    public record Completion(String value, int popularity) {
+    }
+
+    /**
+     * Returns the most popular values with a key that starts with the prefix. Values with the same popularity are in
+     * alphabetical order of their key.
+     *
+     * @param prefix the text typed so far; case and accents are ignored
+     * @param k      the maximum number of completions, must be positive
+     * @return the distinct completions, most popular first
+     */
+    public List<Completion> complete(String prefix, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of completions must be positive, got " + k);
+        }
+        String folded = TextAnalyzer.fold(prefix).stripLeading();
+        int start = keys.prefixStart(folded);
+        int end = keys.prefixEnd(folded);
+        List<Completion> result = new ArrayList<>(Math.min(k, end - start));
+        if (start >= end) {
+            return result;
+        }
+        // Candidate ranges ordered by their best key; each entry holds the range and the position of that key.
+        RangeHeap ranges = new RangeHeap(2 * k + 2);
+        ranges.push(start, end, maxIndex(start, end));
+        Set<String> seen = new HashSet<>();
+        while (result.size() < k && !ranges.isEmpty()) {
+            int from = ranges.topFrom();
+            int to = ranges.topTo();
+            int best = ranges.topBest();
+            ranges.pop();
+            String key = keys.term(best);
+            String value = key.substring(key.indexOf(VALUE_SEPARATOR) + 1);
+            if (seen.add(value)) {
+                result.add(new Completion(value, popularity.get(best)));
+            }
+            if (from < best) {
+                ranges.push(from, best, maxIndex(from, best));
+            }
+            if (best + 1 < to) {
+                ranges.push(best + 1, to, maxIndex(best + 1, to));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return popularity.limit();
+    }
+
+    /**
+     * Builds an iterative segment tree: leaf {@code i} is node {@code n + i}, and node {@code j < n} holds the
+     * position of the best key among the leaves of nodes {@code 2j} and {@code 2j + 1}.
+     */
+    private static int[] buildMaxTree(int[] weights) {
+        int n = weights.length;
+        int[] tree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int node = n - 1; node > 0; node--) {
+            tree[node] = better(weights, tree[2 * node], tree[2 * node + 1]);
+        }
+        return tree;
+    }
+
+    private static int better(int[] weights, int a, int b) {
+        return weights[b] > weights[a] || (weights[b] == weights[a] && b < a) ? b : a;
+    }
+
+    private int better(int a, int b) {
+        int weightA = popularity.get(a);
+        int weightB = popularity.get(b);
+        return weightB > weightA || (weightB == weightA && b < a) ? b : a;
+    }
+
+    /**
+     * Returns the position of the most popular key in {@code [from, to)}, the first one on ties.
+     */
+    private int maxIndex(int from, int to) {
+        int n = popularity.limit();
+        int best = from;
+        for (int low = from + n, high = to + n; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                best = better(best, maxTree.get(low++));
+            }
+            if ((high & 1) == 1) {
+                best = better(best, maxTree.get(--high));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Max-heap of key ranges by the popularity of their best key, on primitive arrays.
+     */
+    private final class RangeHeap {
+        private int[] from;
+        private int[] to;
+        private int[] best;
+        private int size;
+
+        RangeHeap(int capacity) {
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.best = new int[capacity];
+        }
+
+        void push(int rangeFrom, int rangeTo, int rangeBest) {
+            if (size == best.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                best = Arrays.copyOf(best, size * 2);
+            }
+            from[size] = rangeFrom;
+            to[size] = rangeTo;
+            best[size] = rangeBest;
+            int index = size++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!above(index, parent)) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        int topFrom() {
+            return from[0];
+        }
+
+        int topTo() {
+            return to[0];
+        }
+
+        int topBest() {
+            return best[0];
+        }
+
+        void pop() {
+            size--;
+            from[0] = from[size];
+            to[0] = to[size];
+            best[0] = best[size];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && above(child + 1, child)) {
+                    child++;
+                }
+                if (!above(child, index)) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        private boolean above(int a, int b) {
+            return better(best[a], best[b]) == best[a] && best[a] != best[b];
+        }
+
+        private void swap(int a, int b) {
+            int value = from[a];
+            from[a] = from[b];
+            from[b] = value;
+            value = to[a];
+            to[a] = to[b];
+            to[b] = value;
+            value = best[a];
+            best[a] = best[b];
+            best[b] = value;
+        }
+    }
+}
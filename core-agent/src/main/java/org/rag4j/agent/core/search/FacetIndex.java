@@ -0,0 +1,123 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Bitmap index over a field with few distinct values, like the track or the level of a talk. Values are compared
+ * ignoring case; every distinct value keeps the spelling it first appeared with and has a {@link Bitmap} of the talks
+ * that have that value. Counting the talks per value within a set of matches is one bitmap intersection per value.
+ */
+public final class FacetIndex {
+    private final TermDictionary values;
+    private final Bitmap[] bitmaps;
+
+    private FacetIndex(TermDictionary values, Bitmap[] bitmaps) {
+        this.values = values;
+        this.bitmaps = bitmaps;
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param size   the number of talks
+     * @param values returns the field value for an ordinal
+     * @return the index
+     */
+    public static FacetIndex build(int size, IntFunction<String> values) {
+        Map<String, String> spellings = new HashMap<>();
+        Map<String, IntArrayList> ordinals = new HashMap<>();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            String value = values.apply(ordinal);
+            String key = Tokenizer.normalize(value);
+            spellings.putIfAbsent(key, value);
+            ordinals.computeIfAbsent(key, k -> new IntArrayList()).add(ordinal);
+        }
+        String[] keys = spellings.keySet().toArray(String[]::new);
+        Arrays.sort(keys, Comparator.comparing(spellings::get));
+        String[] sortedValues = new String[keys.length];
+        Bitmap[] bitmaps = new Bitmap[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sortedValues[i] = spellings.get(keys[i]);
+            bitmaps[i] = Bitmap.of(ordinals.get(keys[i]).toArray());
+        }
+        return new FacetIndex(TermDictionary.of(sortedValues), bitmaps);
+    }
+
+    public static FacetIndex readFrom(SnapshotInput input) throws IOException {
+        TermDictionary values = TermDictionary.readFrom(input);
+        Bitmap[] bitmaps = new Bitmap[input.readInt()];
+        for (int i = 0; i < bitmaps.length; i++) {
+            bitmaps[i] = Bitmap.readFrom(input);
+        }
+        return new FacetIndex(values, bitmaps);
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        values.writeTo(output);
+        output.writeInt(bitmaps.length);
+        for (Bitmap bitmap : bitmaps) {
+            bitmap.writeTo(output);
+        }
+    }
+
+    /**
+     * Returns the talks with a value, ignoring case.
+     *
+     * @param value the value to look up
+     * @return the talks with the value, empty when no talk has it
+     */
+    public Bitmap lookup(String value) {
+        String key = Tokenizer.normalize(value.strip());
+        for (int i = 0; i < bitmaps.length; i++) {
+            if (Tokenizer.normalize(values.term(i)).equals(key)) {
+                return bitmaps[i];
+            }
+        }
+        return Bitmap.EMPTY;
+    }
+
+    /**
+     * Returns the value of every talk as the position of the value in this index.
+     *
+     * @param size the number of talks
+     * @return the value position per ordinal, or -1 for a talk without a value in this index
+     */
+    public int[] valuePerOrdinal(int size) {
+        int[] result = new int[size];
+        Arrays.fill(result, -1);
+        for (int i = 0; i < bitmaps.length; i++) {
+            for (int ordinal : bitmaps[i].toArray()) {
+                result[ordinal] = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the talks per value within a set of talks.
+     *
+     * @param matches the talks to count
+     * @return the values that occur in the matches with their count, highest count first
+     */
+    public Map<String, Integer> counts(Bitmap matches) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        for (int i = 0; i < bitmaps.length; i++) {
+            int count = bitmaps[i].andCardinality(matches);
+            if (count > 0) {
+                counts.add(Map.entry(values.term(i), count));
+            }
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counts.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+}
@@ -0,0 +1,278 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Typo-tolerant lookup of talks by the tokens of a field, for instance "sebastian blanc" for "Sébastien Blanc".
+ * <p>
+ * The tokens are lower cased and stripped of accents, and kept in an {@link InvertedIndex}. A BK-tree over the terms
+ * of that index finds the terms within an edit distance of a query token without comparing the token with every
+ * term: each child hangs under its parent by its Levenshtein distance to the parent, and the triangle inequality rules
+ * out all children whose distance differs more than the allowed edits from the distance of the query to the parent.
+ * <p>
+ * The tree is stored as offsets into two int buffers, the children sorted by distance, so a snapshot maps it from the
+ * file like the other indexes.
+ */
+public final class FuzzyIndex {
+    private final InvertedIndex index;
+    private final IntBuffer childOffsets;
+    private final IntBuffer childDistances;
+    private final IntBuffer children;
+
+    private FuzzyIndex(InvertedIndex index, IntBuffer childOffsets, IntBuffer childDistances, IntBuffer children) {
+        this.index = index;
+        this.childOffsets = childOffsets;
+        this.childDistances = childDistances;
+        this.children = children;
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param size   the number of talks
+     * @param fields returns the values of the field for an ordinal, for instance the speaker names
+     * @return the index
+     */
+    public static FuzzyIndex build(int size, IntFunction<String[]> fields) {
+        InvertedIndex.Builder builder = InvertedIndex.builder();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            for (String value : fields.apply(ordinal)) {
+                for (String token : Tokenizer.tokens(TextAnalyzer.fold(value))) {
+                    builder.add(token, ordinal);
+                }
+            }
+        }
+        InvertedIndex index = builder.build();
+        int terms = index.termCount();
+
+        // Build the tree with linked lists of children first, then pack the children of each node by distance.
+        int[] firstChild = new int[terms];
+        int[] nextSibling = new int[terms];
+        int[] distanceToParent = new int[terms];
+        Arrays.fill(firstChild, -1);
+        for (int term = 1; term < terms; term++) {
+            String value = index.term(term);
+            int node = 0;
+            while (true) {
+                int distance = distance(value, index.term(node));
+                int child = firstChild[node];
+                while (child >= 0 && distanceToParent[child] != distance) {
+                    child = nextSibling[child];
+                }
+                if (child < 0) {
+                    distanceToParent[term] = distance;
+                    nextSibling[term] = firstChild[node];
+                    firstChild[node] = term;
+                    break;
+                }
+                node = child;
+            }
+        }
+        int[] offsets = new int[terms + 1];
+        int[] counts = new int[terms];
+        for (int node = 0; node < terms; node++) {
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                counts[node]++;
+            }
+        }
+        for (int node = 0; node < terms; node++) {
+            offsets[node + 1] = offsets[node] + counts[node];
+        }
+        int[] packedDistances = new int[Math.max(0, terms - 1)];
+        int[] packedChildren = new int[packedDistances.length];
+        for (int node = 0; node < terms; node++) {
+            int start = offsets[node];
+            int n = 0;
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                packedChildren[start + n] = child;
+                packedDistances[start + n] = distanceToParent[child];
+                n++;
+            }
+            sortByDistance(packedDistances, packedChildren, start, start + n);
+        }
+        return new FuzzyIndex(index, IntBuffer.wrap(offsets), IntBuffer.wrap(packedDistances),
+                IntBuffer.wrap(packedChildren));
+    }
+
+    public static FuzzyIndex readFrom(SnapshotInput input) throws IOException {
+        return new FuzzyIndex(InvertedIndex.readFrom(input), input.readInts(), input.readInts(), input.readInts());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        index.writeTo(output);
+        output.writeInts(childOffsets);
+        output.writeInts(childDistances);
+        output.writeInts(children);
+    }
+
+    /**
+     * A talk ordinal with the summed edit distance of the query tokens to the closest tokens of the talk.
+     */
+    public record Match(int ordinal, int distance) {
+    }
+
+    /**
+     * Finds the talks that have, for every token of the query, a token within the allowed edit distance. Short tokens
+     * allow fewer edits than {@code maxEdits}: none up to two characters and one up to five, so that a typo in a long
+     * name is forgiven without letting "al" match every two-letter word.
+     *
+     * @param query    the query text
+     * @param maxEdits the maximum Levenshtein distance per query token, zero or more
+     * @return the matches with the lowest distance first, ties in catalog order; empty for a query without tokens
+     */
+    public List<Match> search(String query, int maxEdits) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("The edit distance must not be negative, got " + maxEdits);
+        }
+        List<String> tokens = Tokenizer.tokens(TextAnalyzer.fold(query));
+        if (tokens.isEmpty() || index.termCount() == 0) {
+            return List.of();
+        }
+        long[] matches = null;
+        for (String token : tokens) {
+            long[] tokenMatches = matchesFor(token, Math.min(maxEdits, allowedEdits(token)));
+            matches = matches == null ? tokenMatches : intersect(matches, tokenMatches);
+            if (matches.length == 0) {
+                return List.of();
+            }
+        }
+        List<Match> result = new ArrayList<>(matches.length);
+        for (long match : rankByDistance(matches)) {
+            result.add(new Match((int) (match & 0xffffffffL), (int) (match >>> 32)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two strings: the minimum number of inserted, deleted and replaced
+     * characters that turns one into the other.
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int replace = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(replace, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static int allowedEdits(String token) {
+        return token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Returns the talks with a term within the edit distance of the token, encoded as {@code ordinal << 32 | distance}
+     * in ascending order, each ordinal once with its lowest distance.
+     */
+    private long[] matchesFor(String token, int maxEdits) {
+        IntArrayList terms = new IntArrayList();
+        IntArrayList distances = new IntArrayList();
+        IntArrayList stack = new IntArrayList();
+        stack.add(0);
+        int next = 0;
+        while (next < stack.size()) {
+            int node = stack.get(next++);
+            int distance = distance(token, index.term(node));
+            if (distance <= maxEdits) {
+                terms.add(node);
+                distances.add(distance);
+            }
+            for (int i = childOffsets.get(node), end = childOffsets.get(node + 1); i < end; i++) {
+                int childDistance = childDistances.get(i);
+                if (childDistance > distance + maxEdits) {
+                    break;
+                }
+                if (childDistance >= distance - maxEdits) {
+                    stack.add(children.get(i));
+                }
+            }
+        }
+        int total = 0;
+        List<int[]> postings = new ArrayList<>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            int[] ordinals = index.postingsAt(terms.get(i));
+            postings.add(ordinals);
+            total += ordinals.length;
+        }
+        long[] encoded = new long[total];
+        int n = 0;
+        for (int i = 0; i < terms.size(); i++) {
+            for (int ordinal : postings.get(i)) {
+                encoded[n++] = (long) ordinal << 32 | distances.get(i);
+            }
+        }
+        Arrays.sort(encoded);
+        int distinct = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            if (distinct == 0 || encoded[i] >>> 32 != encoded[distinct - 1] >>> 32) {
+                encoded[distinct++] = encoded[i];
+            }
+        }
+        return Arrays.copyOf(encoded, distinct);
+    }
+
+    /**
+     * Intersects two match lists by ordinal and adds up the distances.
+     */
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            long ordinalA = a[i] >>> 32;
+            long ordinalB = b[j] >>> 32;
+            if (ordinalA < ordinalB) {
+                i++;
+            } else if (ordinalA > ordinalB) {
+                j++;
+            } else {
+                result[n++] = a[i++] + (b[j++] & 0xffffffffL);
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Turns {@code ordinal << 32 | distance} entries into {@code distance << 32 | ordinal} entries, lowest distance
+     * first and ties in catalog order.
+     */
+    private static long[] rankByDistance(long[] matches) {
+        long[] ranked = new long[matches.length];
+        for (int i = 0; i < matches.length; i++) {
+            ranked[i] = (matches[i] & 0xffffffffL) << 32 | matches[i] >>> 32;
+        }
+        Arrays.sort(ranked);
+        return ranked;
+    }
+
+    private static void sortByDistance(int[] distances, int[] nodes, int from, int to) {
+        // Insertion sort: a node has few children, at most one per distance.
+        for (int i = from + 1; i < to; i++) {
+            int distance = distances[i];
+            int node = nodes[i];
+            int j = i - 1;
+            while (j >= from && distances[j] > distance) {
+                distances[j + 1] = distances[j];
+                nodes[j + 1] = nodes[j];
+                j--;
+            }
+            distances[j + 1] = distance;
+            nodes[j + 1] = node;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.rag4j.agent.core.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline text embedding that projects hashed n-gram features onto a fixed number of dimensions. It needs no model
+ * and no network, so it is deterministic and cheap enough to embed a large catalog at startup.
+ * <p>
+ * The features of a text are its analyzed terms, pairs of adjacent terms, and the character trigrams of every term.
+ * Terms carry most of the meaning, pairs keep a little word order, and trigrams let related word forms like "agent"
+ * and "agentic" end up close to each other. Every feature is hashed to one dimension with a random sign, which keeps
+ * collisions from adding up in one direction, and the vector is scaled to unit length so a dot product is the cosine
+ * similarity.
+ */
+public final class HashedEmbedding {
+    public static final int DEFAULT_DIMENSION = 128;
+
+    private static final float PAIR_WEIGHT = 0.5f;
+    private static final float TRIGRAM_WEIGHT = 0.25f;
+
+    private final TextAnalyzer analyzer;
+    private final int dimension;
+
+    /**
+     * Creates an embedding.
+     *
+     * @param analyzer  the analyzer for documents and queries, its synonyms expand the queries
+     * @param dimension the number of dimensions, a power of two
+     */
+    public HashedEmbedding(TextAnalyzer analyzer, int dimension) {
+        if (dimension <= 0 || Integer.bitCount(dimension) != 1) {
+            throw new IllegalArgumentException("The dimension must be a power of two, got " + dimension);
+        }
+        this.analyzer = analyzer;
+        this.dimension = dimension;
+    }
+
+    public static HashedEmbedding withDefaults() {
+        return new HashedEmbedding(TextAnalyzer.withDefaultSynonyms(), DEFAULT_DIMENSION);
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Embeds a talk. Title terms count {@link Bm25Index#TITLE_BOOST} times, like in the BM25 index.
+     *
+     * @param title       the title of the talk
+     * @param description the description of the talk
+     * @return the unit vector, all zeros if the talk has no terms
+     */
+    public float[] embedDocument(String title, String description) {
+        float[] vector = new float[dimension];
+        addTerms(analyzer.analyze(title), Bm25Index.TITLE_BOOST, vector);
+        addTerms(analyzer.analyze(description), 1, vector);
+        normalize(vector);
+        return vector;
+    }
+
+    /**
+     * Embeds a query. Synonyms of the query terms are added with the weight the analyzer gives them.
+     *
+     * @param query the query text
+     * @return the unit vector, all zeros if the query has no terms
+     */
+    public float[] embedQuery(String query) {
+        float[] vector = new float[dimension];
+        for (Map.Entry<String, Float> term : analyzer.analyzeQuery(query).entrySet()) {
+            addTerm(term.getKey(), term.getValue(), vector);
+        }
+        List<String> terms = analyzer.analyze(query);
+        for (int i = 1; i < terms.size(); i++) {
+            add(terms.get(i - 1) + ' ' + terms.get(i), PAIR_WEIGHT, vector);
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    private void addTerms(List<String> terms, float weight, float[] vector) {
+        for (int i = 0; i < terms.size(); i++) {
+            addTerm(terms.get(i), weight, vector);
+            if (i > 0) {
+                add(terms.get(i - 1) + ' ' + terms.get(i), weight * PAIR_WEIGHT, vector);
+            }
+        }
+    }
+
+    private void addTerm(String term, float weight, float[] vector) {
+        add(term, weight, vector);
+        String padded = '#' + term + '#';
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            add(padded.substring(i, i + 3), weight * TRIGRAM_WEIGHT, vector);
+        }
+    }
+
+    private void add(String feature, float weight, float[] vector) {
+        int hash = mix(feature.hashCode());
+        vector[hash & (dimension - 1)] += hash < 0 ? -weight : weight;
+    }
+
+    /**
+     * Finalization step of MurmurHash3, which spreads the bits of {@link String#hashCode()} over the whole int.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static void normalize(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        if (sum == 0) {
+            return;
+        }
+        float scale = (float) (1 / Math.sqrt(sum));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+    }
+}
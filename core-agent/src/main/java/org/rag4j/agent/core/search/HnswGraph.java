@@ -0,0 +1,121 @@
+package org.rag4j.agent.core.search;
+
+/**
+ * Search over a hierarchical navigable small world graph, shared by the immutable {@link HnswIndex} and its
+ * {@link HnswIndex.Builder}. Node {@code n} is row {@code n} of a row-major matrix of unit vectors, and similarity is
+ * the dot product.
+ * <p>
+ * Every node has links on level 0 and, with a probability that shrinks by a factor {@code m} per level, on higher
+ * levels. A search walks greedily from the entry point through the sparse upper levels and then runs a best-first
+ * search with a candidate list of size {@code ef} on level 0. Similarities are computed with the
+ * {@link VectorScorers#preferred() preferred} scorer.
+ */
+abstract class HnswGraph {
+    static final int MAX_LEVEL = 16;
+    private static final VectorScorer SCORER = VectorScorers.preferred();
+
+    final int dimension;
+    final int m;
+    final int efConstruction;
+
+    HnswGraph(int dimension, int m, int efConstruction) {
+        this.dimension = dimension;
+        this.m = m;
+        this.efConstruction = efConstruction;
+    }
+
+    abstract int size();
+
+    abstract int entryPoint();
+
+    abstract int maxLevel();
+
+    abstract int level(int node);
+
+    abstract int neighbourCount(int node, int level);
+
+    abstract int neighbour(int node, int level, int index);
+
+    final int maxConnections(int level) {
+        return level == 0 ? 2 * m : m;
+    }
+
+    final float similarity(float[] vectors, int node, float[] query) {
+        return SCORER.dotProduct(vectors, node * dimension, query, 0, dimension);
+    }
+
+    final float similarity(float[] vectors, int a, int b) {
+        return SCORER.dotProduct(vectors, a * dimension, vectors, b * dimension, dimension);
+    }
+
+    /**
+     * Walks greedily from a node to the most similar node on one level.
+     */
+    final int greedyClosest(float[] vectors, float[] query, int node, int level) {
+        float best = similarity(vectors, node, query);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 0, count = neighbourCount(node, level); i < count; i++) {
+                int candidate = neighbour(node, level, i);
+                float score = similarity(vectors, candidate, query);
+                if (score > best) {
+                    best = score;
+                    node = candidate;
+                    improved = true;
+                }
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Best-first search on one level.
+     *
+     * @return the up to {@code ef} most similar nodes found, least similar on top
+     */
+    final NodeHeap searchLevel(float[] vectors, float[] query, int entry, int ef, int level) {
+        VisitedNodes visited = new VisitedNodes();
+        visited.add(entry);
+        float entryScore = similarity(vectors, entry, query);
+        NodeHeap candidates = new NodeHeap(ef, true);
+        NodeHeap results = new NodeHeap(ef + 1, false);
+        candidates.push(entry, entryScore);
+        results.push(entry, entryScore);
+        while (!candidates.isEmpty()) {
+            int node = candidates.topNode();
+            if (candidates.topScore() < results.topScore() && results.size() >= ef) {
+                break;
+            }
+            candidates.pop();
+            for (int i = 0, count = neighbourCount(node, level); i < count; i++) {
+                int neighbour = neighbour(node, level, i);
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                float score = similarity(vectors, neighbour, query);
+                if (results.size() < ef || score > results.topScore()) {
+                    candidates.push(neighbour, score);
+                    results.push(neighbour, score);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Searches the whole graph.
+     *
+     * @return the up to {@code ef} most similar nodes, least similar on top
+     */
+    final NodeHeap search(float[] vectors, float[] query, int ef) {
+        int node = entryPoint();
+        for (int level = maxLevel(); level > 0; level--) {
+            node = greedyClosest(vectors, query, node, level);
+        }
+        return searchLevel(vectors, query, node, ef, 0);
+    }
+}
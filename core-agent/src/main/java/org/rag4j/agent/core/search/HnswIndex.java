@@ -0,0 +1,374 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable HNSW graph for approximate nearest-neighbour search over the rows of a {@link VectorIndex}. The graph only
+ * holds links between row numbers; the vectors stay in the vector index and are passed in for every search.
+ * <p>
+ * {@code m} is the number of links per node on the upper levels, twice that on level 0, and {@code efConstruction}
+ * is the size of the candidate list while inserting. Larger values give better recall for a slower build and a larger
+ * graph. The {@code ef} of a search trades recall against latency in the same way.
+ * <p>
+ * The level of a node is derived from its row number, so inserting the same rows gives the same graph whether they
+ * are inserted at once or added later through {@link #toBuilder()}. Like the other indexes the links live in buffers,
+ * so a graph from a snapshot is mapped instead of rebuilt.
+ */
+public final class HnswIndex extends HnswGraph {
+    private final int entryPoint;
+    private final int maxLevel;
+    private final IntBuffer levels;
+    private final IntBuffer level0;
+    private final IntBuffer upperOffsets;
+    private final IntBuffer upperLinks;
+
+    private HnswIndex(int dimension, int m, int efConstruction, int entryPoint, int maxLevel, IntBuffer levels,
+                      IntBuffer level0, IntBuffer upperOffsets, IntBuffer upperLinks) {
+        super(dimension, m, efConstruction);
+        this.entryPoint = entryPoint;
+        this.maxLevel = maxLevel;
+        this.levels = levels;
+        this.level0 = level0;
+        this.upperOffsets = upperOffsets;
+        this.upperLinks = upperLinks;
+    }
+
+    /**
+     * Starts an empty graph.
+     *
+     * @param dimension      the number of elements per vector
+     * @param m              the number of links per node on the upper levels, at least 2
+     * @param efConstruction the size of the candidate list while inserting, at least {@code m}
+     * @return the builder
+     */
+    public static Builder builder(int dimension, int m, int efConstruction) {
+        if (m < 2 || efConstruction < m) {
+            throw new IllegalArgumentException("Expected m >= 2 and efConstruction >= m, got m=" + m
+                    + " and efConstruction=" + efConstruction);
+        }
+        return new Builder(dimension, m, efConstruction, 16);
+    }
+
+    public static HnswIndex readFrom(SnapshotInput input) throws IOException {
+        return new HnswIndex(input.readInt(), input.readInt(), input.readInt(), input.readInt(), input.readInt(),
+                input.readInts(), input.readInts(), input.readInts(), input.readInts());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        output.writeInt(dimension);
+        output.writeInt(m);
+        output.writeInt(efConstruction);
+        output.writeInt(entryPoint);
+        output.writeInt(maxLevel);
+        output.writeInts(levels);
+        output.writeInts(level0);
+        output.writeInts(upperOffsets);
+        output.writeInts(upperLinks);
+    }
+
+    public int m() {
+        return m;
+    }
+
+    public int efConstruction() {
+        return efConstruction;
+    }
+
+    @Override
+    public int size() {
+        return levels.limit();
+    }
+
+    /**
+     * Returns the approximate {@code k} nearest rows to a query.
+     *
+     * @param vectors the row-major vectors the graph was built on
+     * @param query   the unit query vector
+     * @param k       the maximum number of hits
+     * @param ef      the size of the candidate list, raised to {@code k} when it is smaller
+     * @return the hits with the highest similarity first
+     */
+    public List<VectorIndex.Hit> search(float[] vectors, float[] query, int k, int ef) {
+        if (size() == 0) {
+            return List.of();
+        }
+        NodeHeap found = search(vectors, query, Math.max(ef, k));
+        int[] nodes = new int[found.size()];
+        float[] scores = new float[nodes.length];
+        found.drainMostSimilarFirst(nodes, scores);
+        List<VectorIndex.Hit> hits = new ArrayList<>(Math.min(k, nodes.length));
+        for (int i = 0; i < Math.min(k, nodes.length); i++) {
+            hits.add(new VectorIndex.Hit(nodes[i], scores[i]));
+        }
+        return hits;
+    }
+
+    /**
+     * Copies the graph into a builder to insert more rows.
+     */
+    public Builder toBuilder() {
+        int size = size();
+        Builder builder = new Builder(dimension, m, efConstruction, Math.max(16, size));
+        builder.size = size;
+        builder.entryPoint = entryPoint;
+        builder.maxLevel = maxLevel;
+        levels.get(0, builder.levels, 0, size);
+        level0.get(0, builder.level0, 0, size * (2 * m + 1));
+        for (int node = 0; node < size; node++) {
+            int from = upperOffsets.get(node);
+            int to = upperOffsets.get(node + 1);
+            if (to > from) {
+                builder.upper[node] = new int[to - from];
+                upperLinks.get(from, builder.upper[node]);
+            }
+        }
+        return builder;
+    }
+
+    @Override
+    int entryPoint() {
+        return entryPoint;
+    }
+
+    @Override
+    int maxLevel() {
+        return maxLevel;
+    }
+
+    @Override
+    int level(int node) {
+        return levels.get(node);
+    }
+
+    @Override
+    int neighbourCount(int node, int level) {
+        return level == 0 ? level0.get(node * (2 * m + 1)) : upperLinks.get(upperBlock(node, level));
+    }
+
+    @Override
+    int neighbour(int node, int level, int index) {
+        return level == 0
+                ? level0.get(node * (2 * m + 1) + 1 + index)
+                : upperLinks.get(upperBlock(node, level) + 1 + index);
+    }
+
+    private int upperBlock(int node, int level) {
+        return upperOffsets.get(node) + (level - 1) * (m + 1);
+    }
+
+    /**
+     * Mutable graph that inserts rows one at a time, in row order.
+     */
+    public static final class Builder extends HnswGraph {
+        private static final long LEVEL_SEED = 0x5DEECE66DL;
+
+        private int size;
+        private int entryPoint = -1;
+        private int maxLevel;
+        private int[] levels;
+        private int[] level0;
+        private int[][] upper;
+
+        private Builder(int dimension, int m, int efConstruction, int capacity) {
+            super(dimension, m, efConstruction);
+            this.levels = new int[capacity];
+            this.level0 = new int[capacity * (2 * m + 1)];
+            this.upper = new int[capacity][];
+        }
+
+        /**
+         * Inserts the rows from the current size up to a new size.
+         *
+         * @param vectors the row-major unit vectors, at least {@code newSize} rows
+         * @param newSize the number of rows in the graph after inserting
+         * @return this builder
+         */
+        public Builder add(float[] vectors, int newSize) {
+            if (vectors.length < newSize * dimension) {
+                throw new IllegalArgumentException("Expected " + newSize + " rows of " + dimension + " floats");
+            }
+            for (int node = size; node < newSize; node++) {
+                insert(vectors, node);
+            }
+            return this;
+        }
+
+        public HnswIndex build() {
+            int[] upperOffsets = new int[size + 1];
+            for (int node = 0; node < size; node++) {
+                upperOffsets[node + 1] = upperOffsets[node] + (upper[node] == null ? 0 : upper[node].length);
+            }
+            int[] upperLinks = new int[upperOffsets[size]];
+            for (int node = 0; node < size; node++) {
+                if (upper[node] != null) {
+                    System.arraycopy(upper[node], 0, upperLinks, upperOffsets[node], upper[node].length);
+                }
+            }
+            return new HnswIndex(dimension, m, efConstruction, entryPoint, maxLevel,
+                    IntBuffer.wrap(Arrays.copyOf(levels, size)),
+                    IntBuffer.wrap(Arrays.copyOf(level0, size * (2 * m + 1))),
+                    IntBuffer.wrap(upperOffsets), IntBuffer.wrap(upperLinks));
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        int entryPoint() {
+            return entryPoint;
+        }
+
+        @Override
+        int maxLevel() {
+            return maxLevel;
+        }
+
+        @Override
+        int level(int node) {
+            return levels[node];
+        }
+
+        @Override
+        int neighbourCount(int node, int level) {
+            return level == 0 ? level0[node * (2 * m + 1)] : upper[node][(level - 1) * (m + 1)];
+        }
+
+        @Override
+        int neighbour(int node, int level, int index) {
+            return level == 0
+                    ? level0[node * (2 * m + 1) + 1 + index]
+                    : upper[node][(level - 1) * (m + 1) + 1 + index];
+        }
+
+        private void insert(float[] vectors, int node) {
+            ensureCapacity(node + 1);
+            int level = randomLevel(node);
+            levels[node] = level;
+            if (level > 0) {
+                upper[node] = new int[level * (m + 1)];
+            }
+            size = node + 1;
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return;
+            }
+
+            float[] query = Arrays.copyOfRange(vectors, node * dimension, (node + 1) * dimension);
+            int entry = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                entry = greedyClosest(vectors, query, entry, l);
+            }
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                NodeHeap found = searchLevel(vectors, query, entry, efConstruction, l);
+                int[] nodes = new int[found.size()];
+                float[] scores = new float[nodes.length];
+                found.drainMostSimilarFirst(nodes, scores);
+                int[] selected = new int[maxConnections(l)];
+                int count = selectNeighbours(vectors, nodes, scores, selected);
+                setNeighbours(node, l, selected, count);
+                for (int i = 0; i < count; i++) {
+                    link(vectors, selected[i], node, l);
+                }
+                entry = nodes[0];
+            }
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+        }
+
+        /**
+         * Adds a back link, and when the node already has the maximum number of links, selects again among the old
+         * links and the new one.
+         */
+        private void link(float[] vectors, int from, int to, int level) {
+            int count = neighbourCount(from, level);
+            int max = maxConnections(level);
+            if (count < max) {
+                int[] block = level == 0 ? level0 : upper[from];
+                int start = level == 0 ? from * (2 * m + 1) : (level - 1) * (m + 1);
+                block[start + 1 + count] = to;
+                block[start] = count + 1;
+                return;
+            }
+            NodeHeap candidates = new NodeHeap(count + 1, true);
+            candidates.push(to, similarity(vectors, from, to));
+            for (int i = 0; i < count; i++) {
+                int neighbour = neighbour(from, level, i);
+                candidates.push(neighbour, similarity(vectors, from, neighbour));
+            }
+            int[] nodes = new int[count + 1];
+            float[] scores = new float[count + 1];
+            candidates.drainMostSimilarFirst(nodes, scores);
+            int[] selected = new int[max];
+            setNeighbours(from, level, selected, selectNeighbours(vectors, nodes, scores, selected));
+        }
+
+        /**
+         * Selects diverse neighbours with the heuristic of the HNSW paper: a candidate is skipped when it is more
+         * similar to an already selected neighbour than to the base node. Skipped candidates fill up the remaining
+         * slots, which keeps sparse regions of the graph connected.
+         *
+         * @param nodes    the candidates, most similar to the base node first
+         * @param scores   the similarity of each candidate to the base node
+         * @param selected receives the selected nodes; its length is the maximum to select
+         * @return the number of selected nodes
+         */
+        private int selectNeighbours(float[] vectors, int[] nodes, float[] scores, int[] selected) {
+            int count = 0;
+            int[] skipped = new int[nodes.length];
+            int skippedCount = 0;
+            for (int i = 0; i < nodes.length && count < selected.length; i++) {
+                boolean diverse = true;
+                for (int j = 0; j < count; j++) {
+                    if (similarity(vectors, nodes[i], selected[j]) > scores[i]) {
+                        diverse = false;
+                        break;
+                    }
+                }
+                if (diverse) {
+                    selected[count++] = nodes[i];
+                } else {
+                    skipped[skippedCount++] = nodes[i];
+                }
+            }
+            for (int i = 0; i < skippedCount && count < selected.length; i++) {
+                selected[count++] = skipped[i];
+            }
+            return count;
+        }
+
+        private void setNeighbours(int node, int level, int[] neighbours, int count) {
+            int[] block = level == 0 ? level0 : upper[node];
+            int start = level == 0 ? node * (2 * m + 1) : (level - 1) * (m + 1);
+            block[start] = count;
+            System.arraycopy(neighbours, 0, block, start + 1, count);
+        }
+
+        private int randomLevel(int node) {
+            long bits = node * 0x9E3779B97F4A7C15L + LEVEL_SEED;
+            bits = (bits ^ (bits >>> 30)) * 0xBF58476D1CE4E5B9L;
+            bits = (bits ^ (bits >>> 27)) * 0x94D049BB133111EBL;
+            bits ^= bits >>> 31;
+            double uniform = ((bits >>> 11) + 1) * 0x1.0p-53;
+            return Math.min(MAX_LEVEL, (int) (-Math.log(uniform) / Math.log(m)));
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= levels.length) {
+                return;
+            }
+            int grown = Math.max(capacity, levels.length + (levels.length >> 1));
+            levels = Arrays.copyOf(levels, grown);
+            level0 = Arrays.copyOf(level0, grown * (2 * m + 1));
+            upper = Arrays.copyOf(upper, grown);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.rag4j.agent.core.search;
+
+import java.util.Arrays;
+
+/**
+ * Minimal growable list of primitive ints, used while building posting lists to avoid boxing every ordinal.
+ */
+final class IntArrayList {
+    private int[] values;
+    private int size;
+
+    IntArrayList() {
+        this(4);
+    }
+
+    IntArrayList(int initialCapacity) {
+        this.values = new int[Math.max(1, initialCapacity)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int last() {
+        return values[size - 1];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
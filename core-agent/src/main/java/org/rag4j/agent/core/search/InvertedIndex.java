@@ -0,0 +1,174 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable inverted index from normalized terms to posting lists of talk ordinals.
+ * <p>
+ * The terms are kept in a sorted {@link TermDictionary}, and all posting lists are stored back to back in one int
+ * buffer with an offset table. That keeps the index compact for large catalogs, makes an exact term lookup a binary
+ * search, and lets a snapshot map the index from disk as is.
+ */
+public final class InvertedIndex {
+    private final TermDictionary terms;
+    private final IntBuffer offsets;
+    private final IntBuffer postings;
+
+    private InvertedIndex(TermDictionary terms, IntBuffer offsets, IntBuffer postings) {
+        this.terms = terms;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static InvertedIndex readFrom(SnapshotInput input) throws IOException {
+        return new InvertedIndex(TermDictionary.readFrom(input), input.readInts(), input.readInts());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        terms.writeTo(output);
+        output.writeInts(offsets);
+        output.writeInts(postings);
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Returns the term at an index of the sorted vocabulary.
+     */
+    public String term(int termIndex) {
+        return terms.term(termIndex);
+    }
+
+    /**
+     * Returns the posting list for a term.
+     *
+     * @param term the normalized term
+     * @return the ascending ordinals of the talks containing the term, or an empty array if the term is unknown
+     */
+    public int[] postings(String term) {
+        int index = terms.indexOf(term);
+        return index < 0 ? PostingLists.EMPTY : postingsAt(index);
+    }
+
+    /**
+     * Returns the length of the posting list for a term without copying it.
+     *
+     * @param term the normalized term
+     * @return the number of talks containing the term
+     */
+    public int postingCount(String term) {
+        int index = terms.indexOf(term);
+        return index < 0 ? 0 : offsets.get(index + 1) - offsets.get(index);
+    }
+
+    /**
+     * Checks whether a talk contains a term, using a binary search in the posting list of that term.
+     *
+     * @param term    the normalized term
+     * @param ordinal the ordinal of the talk
+     * @return true if the talk contains the term
+     */
+    public boolean contains(String term, int ordinal) {
+        int index = terms.indexOf(term);
+        return index >= 0 && Buffers.binarySearch(postings, offsets.get(index), offsets.get(index + 1), ordinal) >= 0;
+    }
+
+    /**
+     * Returns the total length of the posting lists of all terms starting with the prefix. Terms are sorted, so these
+     * terms form one contiguous range and this is two binary searches.
+     *
+     * @param prefix the normalized prefix
+     * @return the summed number of postings of the terms starting with the prefix
+     */
+    public int prefixPostingCount(String prefix) {
+        return offsets.get(terms.prefixEnd(prefix)) - offsets.get(terms.prefixStart(prefix));
+    }
+
+    /**
+     * Returns the ordinals of all talks containing a term that starts with the prefix.
+     *
+     * @param prefix the normalized prefix
+     * @return the ascending ordinals of the talks with a term starting with the prefix
+     */
+    public int[] postingsForPrefix(String prefix) {
+        int start = terms.prefixStart(prefix);
+        int end = terms.prefixEnd(prefix);
+        List<int[]> matches = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            matches.add(postingsAt(i));
+        }
+        return PostingLists.union(matches);
+    }
+
+    /**
+     * Returns the ordinals of all talks that contain a term of which the fragment is a substring. This scans the
+     * vocabulary, not the catalog, so the cost grows with the number of distinct terms.
+     *
+     * @param fragment the normalized fragment, for instance a query token
+     * @return the ascending ordinals of the talks with a term containing the fragment
+     */
+    public int[] postingsForTermsContaining(String fragment) {
+        List<int[]> matches = new ArrayList<>();
+        for (int i = 0; i < terms.size(); i++) {
+            if (terms.termContains(i, fragment)) {
+                matches.add(postingsAt(i));
+            }
+        }
+        return PostingLists.union(matches);
+    }
+
+    /**
+     * Returns the posting list of the term at an index of the sorted vocabulary.
+     */
+    public int[] postingsAt(int termIndex) {
+        return Buffers.copyOfRange(postings, offsets.get(termIndex), offsets.get(termIndex + 1));
+    }
+
+    /**
+     * Collects term occurrences and packs them into an {@link InvertedIndex}. Ordinals must be added in ascending
+     * order per term; adding the same ordinal twice for a term is ignored.
+     */
+    public static final class Builder {
+        private final Map<String, IntArrayList> postingsByTerm = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(String term, int ordinal) {
+            IntArrayList list = postingsByTerm.computeIfAbsent(term, t -> new IntArrayList());
+            if (list.isEmpty() || list.last() != ordinal) {
+                list.add(ordinal);
+            }
+            return this;
+        }
+
+        public InvertedIndex build() {
+            String[] terms = postingsByTerm.keySet().toArray(String[]::new);
+            Arrays.sort(terms);
+            int[] offsets = new int[terms.length + 1];
+            for (int i = 0; i < terms.length; i++) {
+                offsets[i + 1] = offsets[i] + postingsByTerm.get(terms[i]).size();
+            }
+            int[] postings = new int[offsets[terms.length]];
+            for (int i = 0; i < terms.length; i++) {
+                IntArrayList list = postingsByTerm.get(terms[i]);
+                for (int j = 0; j < list.size(); j++) {
+                    postings[offsets[i] + j] = list.get(j);
+                }
+            }
+            return new InvertedIndex(TermDictionary.of(terms), IntBuffer.wrap(offsets), IntBuffer.wrap(postings));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.rag4j.agent.core.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable binary heap of graph nodes with their similarity to a query, on primitive arrays. The heap keeps either the
+ * most similar or the least similar node on top.
+ */
+final class NodeHeap {
+    private final boolean mostSimilarOnTop;
+    private int[] nodes;
+    private float[] scores;
+    private int size;
+
+    NodeHeap(int capacity, boolean mostSimilarOnTop) {
+        this.mostSimilarOnTop = mostSimilarOnTop;
+        this.nodes = new int[Math.max(1, capacity)];
+        this.scores = new float[nodes.length];
+    }
+
+    void push(int node, float score) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        nodes[size] = node;
+        scores[size] = score;
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!above(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    int topNode() {
+        return nodes[0];
+    }
+
+    float topScore() {
+        return scores[0];
+    }
+
+    void pop() {
+        size--;
+        nodes[0] = nodes[size];
+        scores[0] = scores[size];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && above(child + 1, child)) {
+                child++;
+            }
+            if (!above(child, index)) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the heap into arrays ordered from most to least similar; ties are ordered by node.
+     */
+    void drainMostSimilarFirst(int[] orderedNodes, float[] orderedScores) {
+        int n = size;
+        int[] drainedNodes = Arrays.copyOf(nodes, n);
+        float[] drainedScores = Arrays.copyOf(scores, n);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> drainedScores[a] != drainedScores[b]
+                ? Float.compare(drainedScores[b], drainedScores[a])
+                : Integer.compare(drainedNodes[a], drainedNodes[b]));
+        for (int i = 0; i < n; i++) {
+            orderedNodes[i] = drainedNodes[order[i]];
+            orderedScores[i] = drainedScores[order[i]];
+        }
+        size = 0;
+    }
+
+    private boolean above(int a, int b) {
+        return mostSimilarOnTop ? scores[a] > scores[b] : scores[a] < scores[b];
+    }
+
+    private void swap(int a, int b) {
+        int node = nodes[a];
+        nodes[a] = nodes[b];
+        nodes[b] = node;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
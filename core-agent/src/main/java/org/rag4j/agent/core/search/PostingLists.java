@@ -0,0 +1,78 @@
+package org.rag4j.agent.core.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Operations on posting lists. A posting list is an ascending array of talk ordinals without duplicates.
+ */
+public final class PostingLists {
+    public static final int[] EMPTY = new int[0];
+
+    private PostingLists() {
+    }
+
+    /**
+     * Intersects two posting lists with a linear merge.
+     *
+     * @param a the first sorted posting list
+     * @param b the second sorted posting list
+     * @return the ordinals present in both lists, in ascending order
+     */
+    public static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Unions a number of posting lists.
+     *
+     * @param lists the sorted posting lists to combine
+     * @return the ordinals present in at least one list, in ascending order
+     */
+    public static int[] union(List<int[]> lists) {
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        if (lists.size() == 1) {
+            return lists.getFirst();
+        }
+        int total = 0;
+        for (int[] list : lists) {
+            total += list.length;
+        }
+        int[] all = new int[total];
+        int offset = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, all, offset, list.length);
+            offset += list.length;
+        }
+        Arrays.sort(all);
+        return distinctSorted(all);
+    }
+
+    private static int[] distinctSorted(int[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int n = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[n - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+}
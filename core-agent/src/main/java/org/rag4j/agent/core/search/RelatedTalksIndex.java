@@ -0,0 +1,172 @@
+package org.rag4j.agent.core.search;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed k-nearest-neighbour graph of the talks, for "what else is like this talk" questions.
+ * <p>
+ * Two talks are related when their embeddings are similar, and more so when they share a speaker or a track: the
+ * score is the cosine similarity of the {@link VectorIndex} rows, plus {@value #SPEAKER_BONUS} per shared speaker and
+ * {@value #TRACK_BONUS} for the same track. The candidates of a talk are its most similar rows and the other talks of
+ * its speakers, so the graph is built without scoring every pair of talks. The neighbours of every talk are stored in
+ * one int array with {@code k} slots per talk, which makes answering a lookup a copy of at most {@code k} ints.
+ * <p>
+ * Finding the most similar rows is only cheap with an HNSW graph in the {@link VectorIndex}; without one every row is
+ * scored against every other row, and the build takes time quadratic in the number of talks.
+ */
+public final class RelatedTalksIndex {
+    static final float SPEAKER_BONUS = 0.2f;
+    static final float TRACK_BONUS = 0.1f;
+    private static final int NONE = -1;
+
+    private final int k;
+    private final int[] neighbours;
+
+    private RelatedTalksIndex(int k, int[] neighbours) {
+        this.k = k;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Builds the graph, scoring the talks in parallel.
+     *
+     * @param k        the number of neighbours to keep per talk, must be positive
+     * @param vectors  the embeddings of the talks
+     * @param speakers the speakers of the talks
+     * @param tracks   the tracks of the talks
+     * @return the graph
+     */
+    public static RelatedTalksIndex build(int k, VectorIndex vectors, TopValuesIndex speakers, FacetIndex tracks) {
+        return build(k, vectors, speakers, tracks, () -> false);
+    }
+
+    /**
+     * Builds the graph like {@link #build(int, VectorIndex, TopValuesIndex, FacetIndex)}, and gives up when the build
+     * is no longer needed.
+     *
+     * @param cancelled checked before every talk is scored; once it returns true the remaining talks are skipped
+     * @return the graph, or null when the build was cancelled
+     */
+    public static RelatedTalksIndex build(int k, VectorIndex vectors, TopValuesIndex speakers, FacetIndex tracks,
+                                          BooleanSupplier cancelled) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of neighbours must be positive, got " + k);
+        }
+        int size = vectors.size();
+        int[] trackPerOrdinal = tracks.valuePerOrdinal(size);
+        int[][] talksPerSpeaker = talksPerValue(size, speakers);
+        int candidates = Math.min(size, 4 * k + 1);
+        int[] neighbours = new int[size * k];
+        Arrays.fill(neighbours, NONE);
+        IntStream.range(0, size).parallel().forEach(ordinal -> {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            int[] related = related(ordinal, k, candidates, vectors, speakers, talksPerSpeaker, trackPerOrdinal);
+            System.arraycopy(related, 0, neighbours, ordinal * k, related.length);
+        });
+        return cancelled.getAsBoolean() ? null : new RelatedTalksIndex(k, neighbours);
+    }
+
+    /**
+     * Returns the number of neighbours kept per talk.
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * Returns the talks most related to a talk.
+     *
+     * @param ordinal the talk
+     * @param limit   the maximum number of talks, at most {@link #k()} are returned
+     * @return the ordinals of the related talks, most related first
+     */
+    public int[] neighbours(int ordinal, int limit) {
+        int start = ordinal * k;
+        int end = start;
+        while (end < start + Math.min(limit, k) && neighbours[end] != NONE) {
+            end++;
+        }
+        return Arrays.copyOfRange(neighbours, start, end);
+    }
+
+    private static int[] related(int ordinal, int k, int candidates, VectorIndex vectors, TopValuesIndex speakers,
+                                 int[][] talksPerSpeaker, int[] trackPerOrdinal) {
+        IntArrayList candidateOrdinals = new IntArrayList();
+        for (VectorIndex.Hit hit : vectors.similarTo(ordinal, candidates)) {
+            candidateOrdinals.add(hit.ordinal());
+        }
+        int[] ownSpeakers = speakers.valueIds(ordinal);
+        for (int speaker : ownSpeakers) {
+            int[] talks = talksPerSpeaker[speaker];
+            for (int i = 0; i < Math.min(talks.length, candidates); i++) {
+                candidateOrdinals.add(talks[i]);
+            }
+        }
+        int[] unique = candidateOrdinals.toArray();
+        Arrays.sort(unique);
+        // Sort by score, highest first, with the ordinal as tie breaker so the graph is deterministic.
+        long[] keys = new long[unique.length];
+        int count = 0;
+        for (int i = 0; i < unique.length; i++) {
+            int other = unique[i];
+            if (other == ordinal || (i > 0 && other == unique[i - 1])) {
+                continue;
+            }
+            float score = vectors.similarity(ordinal, other)
+                    + SPEAKER_BONUS * shared(ownSpeakers, speakers.valueIds(other))
+                    + (trackPerOrdinal[ordinal] != NONE && trackPerOrdinal[ordinal] == trackPerOrdinal[other]
+                    ? TRACK_BONUS : 0);
+            keys[count++] = (long) ~sortable(score) << 32 | other;
+        }
+        Arrays.sort(keys, 0, count);
+        int[] result = new int[Math.min(k, count)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) keys[i];
+        }
+        return result;
+    }
+
+    /**
+     * Maps a float to an int with the same order, so scores can be packed into sortable longs.
+     */
+    private static int sortable(float score) {
+        int bits = Float.floatToIntBits(score);
+        return bits >= 0 ? bits : bits ^ Integer.MAX_VALUE;
+    }
+
+    private static int shared(int[] a, int[] b) {
+        int shared = 0;
+        for (int value : a) {
+            for (int other : b) {
+                if (value == other) {
+                    shared++;
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static int[][] talksPerValue(int size, TopValuesIndex values) {
+        int[] counts = new int[values.size()];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            for (int id : values.valueIds(ordinal)) {
+                counts[id]++;
+            }
+        }
+        int[][] talks = new int[counts.length][];
+        for (int id = 0; id < counts.length; id++) {
+            talks[id] = new int[counts[id]];
+        }
+        int[] filled = new int[counts.length];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            for (int id : values.valueIds(ordinal)) {
+                talks[id][filled[id]++] = ordinal;
+            }
+        }
+        return talks;
+    }
+}
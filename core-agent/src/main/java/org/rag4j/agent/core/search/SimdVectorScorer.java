@@ -0,0 +1,49 @@
+package org.rag4j.agent.core.search;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scorer on the Vector API. Each row is multiplied with the query in lanes of the widest vector the CPU supports and
+ * accumulated with fused multiply-adds; the lanes are only added up once per row. Only loaded through
+ * {@link VectorScorers}.
+ */
+final class SimdVectorScorer implements VectorScorer {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void dotProducts(float[] matrix, int dimension, int fromRow, int toRow, float[] query, float[] scores) {
+        int vectorLength = SPECIES.loopBound(dimension);
+        for (int row = fromRow; row < toRow; row++) {
+            int base = row * dimension;
+            FloatVector sum = FloatVector.zero(SPECIES);
+            int i = 0;
+            for (; i < vectorLength; i += SPECIES.length()) {
+                FloatVector values = FloatVector.fromArray(SPECIES, matrix, base + i);
+                sum = values.fma(FloatVector.fromArray(SPECIES, query, i), sum);
+            }
+            float score = sum.reduceLanes(VectorOperators.ADD);
+            for (; i < dimension; i++) {
+                score += matrix[base + i] * query[i];
+            }
+            scores[row - fromRow] = score;
+        }
+    }
+
+    @Override
+    public float dotProduct(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        int vectorLength = SPECIES.loopBound(length);
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < vectorLength; i += SPECIES.length()) {
+            FloatVector values = FloatVector.fromArray(SPECIES, a, aOffset + i);
+            sum = values.fma(FloatVector.fromArray(SPECIES, b, bOffset + i), sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += a[aOffset + i] * b[bOffset + i];
+        }
+        return result;
+    }
+}
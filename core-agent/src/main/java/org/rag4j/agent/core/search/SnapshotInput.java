@@ -0,0 +1,98 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader for a snapshot written by {@link SnapshotOutput}. Arrays are not copied: each one is mapped from
+ * the file with {@link FileChannel#map} and returned as a read-only buffer view, so the operating system pages the data
+ * in when it is used. The mappings stay valid after the reader is closed.
+ * <p>
+ * A single array is limited to 2 GB, the maximum size of one mapping.
+ */
+public final class SnapshotInput implements AutoCloseable {
+    private final FileChannel channel;
+    private final long size;
+    private final ByteBuffer scalar = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private long position;
+
+    public SnapshotInput(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+    }
+
+    public int readInt() throws IOException {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt snapshot: int value out of range at " + (position - Long.BYTES));
+        }
+        return (int) value;
+    }
+
+    public long readLong() throws IOException {
+        requireAvailable(Long.BYTES);
+        scalar.clear();
+        while (scalar.hasRemaining()) {
+            if (channel.read(scalar, position + scalar.position()) < 0) {
+                throw new IOException("Unexpected end of snapshot");
+            }
+        }
+        position += Long.BYTES;
+        return scalar.getLong(0);
+    }
+
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public IntBuffer readInts() throws IOException {
+        return map(Integer.BYTES).asIntBuffer();
+    }
+
+    public FloatBuffer readFloats() throws IOException {
+        return map(Float.BYTES).asFloatBuffer();
+    }
+
+    public LongBuffer readLongs() throws IOException {
+        return map(Long.BYTES).asLongBuffer();
+    }
+
+    public CharBuffer readChars() throws IOException {
+        return map(Character.BYTES).asCharBuffer();
+    }
+
+    public ByteBuffer readBytes() throws IOException {
+        return map(1);
+    }
+
+    private ByteBuffer map(int elementBytes) throws IOException {
+        long count = readLong();
+        long bytes = count * elementBytes;
+        if (count < 0 || bytes > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt snapshot: invalid array length " + count + " at " + (position - Long.BYTES));
+        }
+        requireAvailable(bytes);
+        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, bytes).order(ByteOrder.LITTLE_ENDIAN);
+        position += (bytes + 7) & ~7L;
+        return mapped;
+    }
+
+    private void requireAvailable(long bytes) throws IOException {
+        if (position + bytes > size) {
+            throw new IOException("Unexpected end of snapshot at " + position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
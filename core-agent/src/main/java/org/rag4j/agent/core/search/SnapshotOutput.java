@@ -0,0 +1,176 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential writer for the binary catalog snapshot. Values are little endian and every value or array starts on an
+ * 8-byte boundary, so {@link SnapshotInput} can map each array straight into a typed buffer view.
+ * <p>
+ * Arrays are written as a long element count followed by the elements. The reader must read the values in the same
+ * order as they were written; there is no per-section type information.
+ */
+public final class SnapshotOutput implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long position;
+    private long streamEnd;
+
+    public SnapshotOutput(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    public void writeInt(int value) throws IOException {
+        writeLong(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+        position += Long.BYTES;
+    }
+
+    public void writeFloat(float value) throws IOException {
+        writeLong(Float.floatToIntBits(value));
+    }
+
+    public void writeInts(IntBuffer values) throws IOException {
+        int count = values.limit();
+        writeLong(count);
+        for (int i = 0; i < count; i++) {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(values.get(i));
+        }
+        position += (long) count * Integer.BYTES;
+        pad();
+    }
+
+    public void writeInts(int[] values) throws IOException {
+        writeInts(IntBuffer.wrap(values));
+    }
+
+    public void writeFloats(FloatBuffer values) throws IOException {
+        int count = values.limit();
+        writeLong(count);
+        for (int i = 0; i < count; i++) {
+            ensureRemaining(Float.BYTES);
+            buffer.putFloat(values.get(i));
+        }
+        position += (long) count * Float.BYTES;
+        pad();
+    }
+
+    public void writeLongs(LongBuffer values) throws IOException {
+        int count = values.limit();
+        writeLong(count);
+        for (int i = 0; i < count; i++) {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(values.get(i));
+        }
+        position += (long) count * Long.BYTES;
+    }
+
+    public void writeChars(CharBuffer values) throws IOException {
+        int count = values.limit();
+        writeLong(count);
+        for (int i = 0; i < count; i++) {
+            ensureRemaining(Character.BYTES);
+            buffer.putChar(values.get(i));
+        }
+        position += (long) count * Character.BYTES;
+        pad();
+    }
+
+    public void writeBytes(ByteBuffer values) throws IOException {
+        int count = values.limit();
+        writeLong(count);
+        for (int i = 0; i < count; i++) {
+            ensureRemaining(1);
+            buffer.put(values.get(i));
+        }
+        position += count;
+        pad();
+    }
+
+    /**
+     * Starts a byte array that is streamed in parts with {@link #putInt(int)} and {@link #putBytes(byte[])}, for data
+     * that is too large to collect in one buffer first. The number of bytes must be known up front.
+     *
+     * @param count the exact number of bytes that will be put before {@link #endBytes()}
+     */
+    public void startBytes(long count) throws IOException {
+        writeLong(count);
+        streamEnd = position + count;
+    }
+
+    public void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    public void putBytes(byte[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int n = Math.min(buffer.remaining(), values.length - offset);
+            buffer.put(values, offset, n);
+            offset += n;
+        }
+        position += values.length;
+    }
+
+    public void endBytes() throws IOException {
+        if (position != streamEnd) {
+            throw new IllegalStateException("Expected the byte array to end at " + streamEnd + " but it ends at "
+                    + position);
+        }
+        pad();
+    }
+
+    private void pad() throws IOException {
+        int padding = (int) (-position & 7);
+        ensureRemaining(padding);
+        for (int i = 0; i < padding; i++) {
+            buffer.put((byte) 0);
+        }
+        position += padding;
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+}
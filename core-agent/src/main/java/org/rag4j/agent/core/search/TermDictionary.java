@@ -0,0 +1,131 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Immutable sorted list of terms, stored as one run of chars with an offset table instead of an array of strings. The
+ * same layout works for a dictionary built in memory and for one mapped from a snapshot, and terms are only turned
+ * into strings when a caller asks for one.
+ * <p>
+ * Terms are compared char by char, which is the order of {@link String#compareTo}.
+ */
+public final class TermDictionary {
+    private final IntBuffer starts;
+    private final CharBuffer chars;
+
+    private TermDictionary(IntBuffer starts, CharBuffer chars) {
+        this.starts = starts;
+        this.chars = chars;
+    }
+
+    /**
+     * Creates a dictionary from terms that are already sorted and distinct.
+     *
+     * @param sortedTerms the terms in {@link String#compareTo} order
+     * @return the dictionary
+     */
+    public static TermDictionary of(String[] sortedTerms) {
+        int[] starts = new int[sortedTerms.length + 1];
+        for (int i = 0; i < sortedTerms.length; i++) {
+            starts[i + 1] = starts[i] + sortedTerms[i].length();
+        }
+        char[] chars = new char[starts[sortedTerms.length]];
+        for (int i = 0; i < sortedTerms.length; i++) {
+            sortedTerms[i].getChars(0, sortedTerms[i].length(), chars, starts[i]);
+        }
+        return new TermDictionary(IntBuffer.wrap(starts), CharBuffer.wrap(chars));
+    }
+
+    public static TermDictionary readFrom(SnapshotInput input) throws IOException {
+        return new TermDictionary(input.readInts(), input.readChars());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        output.writeInts(starts);
+        output.writeChars(chars);
+    }
+
+    public int size() {
+        return starts.limit() - 1;
+    }
+
+    public String term(int index) {
+        int start = starts.get(index);
+        char[] term = new char[starts.get(index + 1) - start];
+        chars.get(start, term);
+        return new String(term);
+    }
+
+    /**
+     * Looks up a term, with the same contract as {@link java.util.Arrays#binarySearch(Object[], Object)}.
+     *
+     * @param term the term to look for
+     * @return the index of the term, or {@code -(insertion point) - 1} if it is not in the dictionary
+     */
+    public int indexOf(CharSequence term) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compare(mid, term);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the first term that starts with the prefix, or of the first term after it.
+     */
+    public int prefixStart(String prefix) {
+        int index = indexOf(prefix);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * Returns the index just past the last term that starts with the prefix.
+     */
+    public int prefixEnd(String prefix) {
+        // No term starting with the prefix sorts after the prefix followed by the highest char.
+        int index = indexOf(prefix + Character.MAX_VALUE);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * Checks whether the term at an index contains a fragment, without creating a string for the term.
+     */
+    public boolean termContains(int index, String fragment) {
+        int start = starts.get(index);
+        int last = starts.get(index + 1) - fragment.length();
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < fragment.length() && chars.get(i + j) == fragment.charAt(j)) {
+                j++;
+            }
+            if (j == fragment.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int compare(int index, CharSequence term) {
+        int start = starts.get(index);
+        int length = starts.get(index + 1) - start;
+        int common = Math.min(length, term.length());
+        for (int i = 0; i < common; i++) {
+            int difference = chars.get(start + i) - term.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - term.length();
+    }
+}
@@ -0,0 +1,172 @@
+package org.rag4j.agent.core.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Small analyzer for ranked keyword search. It lower cases, folds accents, drops stop words, applies a light English
+ * stemmer and, for queries, expands synonyms.
+ * <p>
+ * The stemmer only strips a handful of common suffixes. It is applied to both the indexed text and the query, so
+ * "environments" and "environment" or "IDEs" and "IDE" end up as the same term.
+ */
+public final class TextAnalyzer {
+    public static final float SYNONYM_WEIGHT = 0.5f;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "about", "an", "and", "are", "as", "at", "be", "by", "can", "do", "does", "for", "from", "how", "i",
+            "in", "into", "is", "it", "its", "me", "of", "on", "or", "our", "so", "that", "the", "their", "there",
+            "this", "to", "us", "was", "we", "what", "when", "where", "which", "who", "why", "will", "with", "you",
+            "your", "talk", "talks", "session", "sessions", "any", "some", "give", "show", "find");
+    private static final String[] SUFFIXES = {"ments", "ment", "ings", "ing", "ers", "er", "ed", "ly"};
+    private static final Map<String, List<String>> DEFAULT_SYNONYMS = Map.of(
+            "ide", List.of("intellij", "idea", "editor", "eclipse", "vscode", "netbeans"),
+            "development environment", List.of("ide"),
+            "ai", List.of("artificial intelligence", "genai", "llm"),
+            "genai", List.of("ai", "generative ai"),
+            "llm", List.of("large language model", "ai"),
+            "agent", List.of("agentic"),
+            "k8s", List.of("kubernetes"),
+            "test", List.of("testing", "junit"));
+
+    private final Map<String, List<String>> synonyms;
+    private final int longestSynonymKey;
+
+    /**
+     * Creates an analyzer with a synonym table. Keys and values are plain text and are analyzed the same way as the
+     * documents, so they can be written naturally. A key with several words matches consecutive query terms.
+     *
+     * @param synonyms the synonyms, from a word or phrase to the words or phrases that mean the same
+     */
+    public TextAnalyzer(Map<String, List<String>> synonyms) {
+        Map<String, List<String>> analyzed = new HashMap<>();
+        int longest = 1;
+        for (Map.Entry<String, List<String>> entry : synonyms.entrySet()) {
+            List<String> key = analyze(entry.getKey());
+            if (key.isEmpty()) {
+                continue;
+            }
+            List<String> values = analyzed.computeIfAbsent(String.join(" ", key), k -> new ArrayList<>());
+            for (String value : entry.getValue()) {
+                values.addAll(analyze(value));
+            }
+            longest = Math.max(longest, key.size());
+        }
+        this.synonyms = analyzed;
+        this.longestSynonymKey = longest;
+    }
+
+    public static TextAnalyzer withDefaultSynonyms() {
+        return new TextAnalyzer(DEFAULT_SYNONYMS);
+    }
+
+    /**
+     * Analyzes text for indexing.
+     *
+     * @param text the text to analyze
+     * @return the terms in order of appearance, duplicates included
+     */
+    public List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : Tokenizer.tokens(fold(text))) {
+            if (!STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Analyzes a query and expands it with synonyms. Terms of the query itself get weight 1; terms that only come in
+     * through a synonym get {@link #SYNONYM_WEIGHT}. The synonyms of a synonym are added as well, so a phrase can
+     * point to a word that has its own synonyms.
+     *
+     * @param query the query text
+     * @return the distinct query terms with their weight, in order of appearance
+     */
+    public Map<String, Float> analyzeQuery(String query) {
+        List<String> terms = analyze(query);
+        Map<String, Float> weighted = new LinkedHashMap<>();
+        for (String term : terms) {
+            weighted.put(term, 1.0f);
+        }
+        for (int start = 0; start < terms.size(); start++) {
+            for (int length = 1; length <= longestSynonymKey && start + length <= terms.size(); length++) {
+                List<String> expansion = synonyms.get(String.join(" ", terms.subList(start, start + length)));
+                if (expansion != null) {
+                    for (String term : expansion) {
+                        weighted.putIfAbsent(term, SYNONYM_WEIGHT);
+                        synonyms.getOrDefault(term, List.of()).forEach(t -> weighted.putIfAbsent(t, SYNONYM_WEIGHT));
+                    }
+                }
+            }
+        }
+        return weighted;
+    }
+
+    /**
+     * Analyzes a query into clauses that must all match, one per distinct query term. A clause holds the term and its
+     * synonyms, any of which satisfies it. Only single-word synonym keys apply here; phrase keys are not expanded.
+     *
+     * @param query the query text
+     * @return the clauses in order of appearance, each with the query term first
+     */
+    public List<List<String>> analyzeClauses(String query) {
+        List<List<String>> clauses = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(analyze(query))) {
+            Set<String> alternatives = new LinkedHashSet<>();
+            alternatives.add(term);
+            for (String synonym : synonyms.getOrDefault(term, List.of())) {
+                alternatives.add(synonym);
+                alternatives.addAll(synonyms.getOrDefault(synonym, List.of()));
+            }
+            clauses.add(List.copyOf(alternatives));
+        }
+        return clauses;
+    }
+
+    /**
+     * Returns the lower cased, accent folded tokens of a text separated by single spaces. Texts with the same folded
+     * tokens are analyzed into the same terms, so the result can key a cache of query results.
+     *
+     * @param text the text
+     * @return the folded tokens
+     */
+    public static String foldedTokens(String text) {
+        return String.join(" ", Tokenizer.tokens(fold(text)));
+    }
+
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(Tokenizer.normalize(text), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    static String stem(String term) {
+        String stem = term;
+        if (stem.length() > 4 && stem.endsWith("ies")) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.endsWith("sses")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.length() > 3 && stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        for (String suffix : SUFFIXES) {
+            if (stem.endsWith(suffix) && stem.length() - suffix.length() >= 4) {
+                stem = stem.substring(0, stem.length() - suffix.length());
+                break;
+            }
+        }
+        if (stem.length() > 3 && stem.endsWith("e")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        return stem;
+    }
+}
@@ -0,0 +1,112 @@
+package org.rag4j.agent.core.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Plans substring lookups on an {@link InvertedIndex} of tokens.
+ * <p>
+ * A token in the query that is preceded by a separator must be a prefix of a token in the field, a token that is
+ * followed by a separator must be a suffix, and a token with separators on both sides must be a complete field token.
+ * The planner uses the cheapest exact or prefix lookup to produce candidates and filters them with the other complete
+ * tokens. Queries that only have suffixes or fragments are handed to a fallback, for instance a trigram index. The
+ * candidates are a superset of the matches, so callers still verify each one.
+ */
+public final class TokenSearch {
+
+    private TokenSearch() {
+    }
+
+    /**
+     * Returns the candidate ordinals for a substring query, scanning the vocabulary for queries without a complete
+     * token or prefix.
+     *
+     * @param index           the token index of the field
+     * @param normalizedQuery the normalized query
+     * @return the ascending candidate ordinals, or null if the query has no tokens and every talk is a candidate
+     */
+    public static int[] candidates(InvertedIndex index, String normalizedQuery) {
+        return candidates(index, normalizedQuery, index::postingsForTermsContaining);
+    }
+
+    /**
+     * Returns the candidate ordinals for a substring query.
+     *
+     * @param index           the token index of the field
+     * @param normalizedQuery the normalized query
+     * @param fragmentLookup  produces candidates for the longest token when no complete token or prefix is available
+     * @return the ascending candidate ordinals, or null if the query has no tokens and every talk is a candidate
+     */
+    public static int[] candidates(InvertedIndex index, String normalizedQuery, Function<String, int[]> fragmentLookup) {
+        List<String> exact = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        String fragment = null;
+
+        int length = normalizedQuery.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean tokenChar = i < length && Character.isLetterOrDigit(normalizedQuery.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                String token = normalizedQuery.substring(start, i);
+                boolean anchoredLeft = start > 0;
+                boolean anchoredRight = i < length;
+                if (anchoredLeft && anchoredRight) {
+                    exact.add(token);
+                } else if (anchoredLeft) {
+                    prefixes.add(token);
+                } else if (fragment == null || token.length() > fragment.length()) {
+                    // Suffixes and unanchored tokens can only be answered by scanning the vocabulary.
+                    fragment = token;
+                }
+                start = -1;
+            }
+        }
+
+        String cheapestExact = null;
+        for (String token : exact) {
+            if (cheapestExact == null || index.postingCount(token) < index.postingCount(cheapestExact)) {
+                cheapestExact = token;
+            }
+        }
+        String cheapestPrefix = null;
+        for (String token : prefixes) {
+            if (cheapestPrefix == null || index.prefixPostingCount(token) < index.prefixPostingCount(cheapestPrefix)) {
+                cheapestPrefix = token;
+            }
+        }
+
+        int[] candidates;
+        if (cheapestExact != null && (cheapestPrefix == null
+                || index.postingCount(cheapestExact) <= index.prefixPostingCount(cheapestPrefix))) {
+            candidates = index.postings(cheapestExact);
+        } else if (cheapestPrefix != null) {
+            candidates = index.postingsForPrefix(cheapestPrefix);
+        } else if (fragment != null) {
+            candidates = fragmentLookup.apply(fragment);
+        } else {
+            return null;
+        }
+
+        for (String token : exact) {
+            if (!token.equals(cheapestExact)) {
+                candidates = retain(candidates, index, token);
+            }
+        }
+        return candidates;
+    }
+
+    private static int[] retain(int[] candidates, InvertedIndex index, String term) {
+        int[] retained = new int[candidates.length];
+        int n = 0;
+        for (int ordinal : candidates) {
+            if (index.contains(term, ordinal)) {
+                retained[n++] = ordinal;
+            }
+        }
+        return n == retained.length ? retained : Arrays.copyOf(retained, n);
+    }
+}
@@ -0,0 +1,53 @@
+package org.rag4j.agent.core.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into normalized tokens. A token is a maximal run of letters and digits, lower cased.
+ * <p>
+ * Because a token is a maximal run, every token of a query that occurs as a substring of a field is itself a
+ * substring of one of the tokens of that field. The indexes rely on this to narrow down candidates without losing
+ * matches.
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Normalizes text for case-insensitive comparison.
+     *
+     * @param text the text to normalize
+     * @return the lower cased text
+     */
+    public static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Tokenizes text that has already been normalized.
+     *
+     * @param normalized the normalized text
+     * @return the tokens in order of appearance, duplicates included
+     */
+    public static List<String> tokens(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,200 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Talk counts per value of a field with many distinct values and possibly several values per talk, like the speakers
+ * of a talk. Values are compared ignoring case; every distinct value keeps the spelling it first appeared with.
+ * <p>
+ * The count of every value over the whole catalog and the values ranked by that count are computed when the index is
+ * built, so the top values of the catalog are read without counting. The values of every talk are kept as ids, which
+ * makes counting within a set of matches a sort of the ids of the matched talks instead of a pass over all values.
+ */
+public final class TopValuesIndex {
+    private final TermDictionary values;
+    private final IntBuffer counts;
+    private final IntBuffer ranking;
+    private final IntBuffer offsets;
+    private final IntBuffer ids;
+
+    private TopValuesIndex(TermDictionary values, IntBuffer counts, IntBuffer ranking, IntBuffer offsets,
+                           IntBuffer ids) {
+        this.values = values;
+        this.counts = counts;
+        this.ranking = ranking;
+        this.offsets = offsets;
+        this.ids = ids;
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param size   the number of talks
+     * @param values returns the field values for an ordinal
+     * @return the index
+     */
+    public static TopValuesIndex build(int size, IntFunction<String[]> values) {
+        Map<String, Integer> idsByKey = new HashMap<>();
+        List<String> spellings = new ArrayList<>();
+        int[] offsets = new int[size + 1];
+        IntArrayList ids = new IntArrayList();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int start = ids.size();
+            for (String value : values.apply(ordinal)) {
+                if (value == null || value.isBlank()) {
+                    continue;
+                }
+                String spelling = value.strip();
+                int id = idsByKey.computeIfAbsent(Tokenizer.normalize(spelling), key -> {
+                    spellings.add(spelling);
+                    return spellings.size() - 1;
+                });
+                if (!containsFrom(ids, start, id)) {
+                    ids.add(id);
+                }
+            }
+            offsets[ordinal + 1] = ids.size();
+        }
+
+        // Renumber the values in dictionary order, so an id is the index of its value in the dictionary.
+        Integer[] order = new Integer[spellings.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> spellings.get(a).compareTo(spellings.get(b)));
+        int[] renumbered = new int[order.length];
+        String[] sortedValues = new String[order.length];
+        for (int i = 0; i < order.length; i++) {
+            renumbered[order[i]] = i;
+            sortedValues[i] = spellings.get(order[i]);
+        }
+        int[] sortedIds = ids.toArray();
+        int[] counts = new int[order.length];
+        for (int i = 0; i < sortedIds.length; i++) {
+            sortedIds[i] = renumbered[sortedIds[i]];
+            counts[sortedIds[i]]++;
+        }
+        int[] ranking = rank(counts, counts.length);
+        return new TopValuesIndex(TermDictionary.of(sortedValues), IntBuffer.wrap(counts),
+                IntBuffer.wrap(ranking), IntBuffer.wrap(offsets), IntBuffer.wrap(sortedIds));
+    }
+
+    public static TopValuesIndex readFrom(SnapshotInput input) throws IOException {
+        return new TopValuesIndex(TermDictionary.readFrom(input), input.readInts(), input.readInts(),
+                input.readInts(), input.readInts());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        values.writeTo(output);
+        output.writeInts(counts);
+        output.writeInts(ranking);
+        output.writeInts(offsets);
+        output.writeInts(ids);
+    }
+
+    /**
+     * Returns the number of distinct values.
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Returns the ids of the distinct values of a talk, where an id is the position of the value in alphabetical
+     * order.
+     */
+    public int[] valueIds(int ordinal) {
+        int[] result = new int[offsets.get(ordinal + 1) - offsets.get(ordinal)];
+        ids.get(offsets.get(ordinal), result);
+        return result;
+    }
+
+    /**
+     * Returns the values with the most talks in the whole catalog, read from the precomputed ranking.
+     *
+     * @param k the maximum number of values, must be positive
+     * @return the values with their count, highest count first and alphabetically within a count
+     */
+    public Map<String, Integer> top(int k) {
+        checkPositive(k);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(k, ranking.limit()); i++) {
+            int id = ranking.get(i);
+            result.put(values.term(id), counts.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values with the most talks within a set of talks.
+     *
+     * @param ordinals the ordinals of the talks to count, ascending
+     * @param k        the maximum number of values, must be positive
+     * @return the values with their count, highest count first and alphabetically within a count
+     */
+    public Map<String, Integer> top(int[] ordinals, int k) {
+        checkPositive(k);
+        IntArrayList matched = new IntArrayList();
+        for (int ordinal : ordinals) {
+            for (int i = offsets.get(ordinal); i < offsets.get(ordinal + 1); i++) {
+                matched.add(ids.get(i));
+            }
+        }
+        int[] sorted = matched.toArray();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        int[] distinctIds = new int[sorted.length];
+        int[] distinctCounts = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                distinctIds[distinct++] = sorted[i];
+            }
+            distinctCounts[distinct - 1]++;
+        }
+        int[] ranked = rank(Arrays.copyOf(distinctCounts, distinct), Math.min(k, distinct));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < ranked.length; i++) {
+            result.put(values.term(distinctIds[ranked[i]]), distinctCounts[ranked[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Orders positions by their count, highest first and lowest position within a count, and keeps the first
+     * {@code k}. The positions are either the ids themselves or indexes into ascending ids, so both orders are
+     * alphabetical within a count.
+     */
+    private static int[] rank(int[] counts, int k) {
+        long[] keys = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            keys[i] = (long) (Integer.MAX_VALUE - counts[i]) << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] ranked = new int[k];
+        for (int i = 0; i < k; i++) {
+            ranked[i] = (int) keys[i];
+        }
+        return ranked;
+    }
+
+    private static void checkPositive(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of values must be positive, got " + k);
+        }
+    }
+
+    private static boolean containsFrom(IntArrayList ids, int start, int id) {
+        for (int i = start; i < ids.size(); i++) {
+            if (ids.get(i) == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,220 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable trigram index for substring queries. Every run of three characters of a normalized field is a key, and the
+ * postings of a key are the ordinals of the talks containing it.
+ * <p>
+ * Any text containing the query also contains every trigram of the query, so intersecting the posting lists of the
+ * query trigrams gives a small superset of the matches, also for fragments in the middle of a word. Callers verify each
+ * candidate. Keys are three chars packed into a long and kept sorted next to a single posting buffer.
+ */
+public final class TrigramIndex {
+    public static final int GRAM_LENGTH = 3;
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private final LongBuffer keys;
+    private final IntBuffer offsets;
+    private final IntBuffer postings;
+
+    private TrigramIndex(LongBuffer keys, IntBuffer offsets, IntBuffer postings) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    public static TrigramIndex readFrom(SnapshotInput input) throws IOException {
+        return new TrigramIndex(input.readLongs(), input.readInts(), input.readInts());
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        output.writeLongs(keys);
+        output.writeInts(offsets);
+        output.writeInts(postings);
+    }
+
+    /**
+     * Builds the index in parallel on the common fork-join pool. The ordinals are split into contiguous chunks that are
+     * indexed independently, and the chunk posting lists are concatenated in chunk order, so they stay sorted.
+     *
+     * @param size   the number of talks
+     * @param fields returns the normalized field values for an ordinal, for instance the names of all speakers
+     * @return the trigram index
+     */
+    public static TrigramIndex build(int size, IntFunction<String[]> fields) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4) + 1);
+        int chunks = (size + chunkSize - 1) / chunkSize;
+
+        List<ChunkPostings> chunkPostings = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> indexChunk(chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize), fields))
+                .toList();
+
+        Map<Long, Integer> postingCounts = new HashMap<>();
+        for (ChunkPostings chunk : chunkPostings) {
+            for (int slot = 0; slot < chunk.keys.length; slot++) {
+                if (chunk.lists[slot] != null) {
+                    postingCounts.merge(chunk.keys[slot], chunk.lists[slot].size(), Integer::sum);
+                }
+            }
+        }
+        long[] keys = new long[postingCounts.size()];
+        int k = 0;
+        for (Long key : postingCounts.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+
+        int[] offsets = new int[keys.length + 1];
+        for (int i = 0; i < keys.length; i++) {
+            offsets[i + 1] = offsets[i] + postingCounts.get(keys[i]);
+        }
+        int[] postings = new int[offsets[keys.length]];
+        IntStream.range(0, keys.length).parallel().forEach(i -> {
+            int position = offsets[i];
+            for (ChunkPostings chunk : chunkPostings) {
+                IntArrayList list = chunk.get(keys[i]);
+                if (list != null) {
+                    for (int j = 0; j < list.size(); j++) {
+                        postings[position++] = list.get(j);
+                    }
+                }
+            }
+        });
+        return new TrigramIndex(LongBuffer.wrap(keys), IntBuffer.wrap(offsets), IntBuffer.wrap(postings));
+    }
+
+    private static ChunkPostings indexChunk(int from, int to, IntFunction<String[]> fields) {
+        ChunkPostings chunk = new ChunkPostings();
+        for (int ordinal = from; ordinal < to; ordinal++) {
+            for (String value : fields.apply(ordinal)) {
+                for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                    chunk.add(key(value, i), ordinal);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    public int trigramCount() {
+        return keys.limit();
+    }
+
+    /**
+     * Returns the candidate ordinals for a normalized query of at least {@link #GRAM_LENGTH} characters. The posting
+     * lists are intersected from the shortest to the longest, so the work is bounded by the rarest trigram.
+     *
+     * @param normalizedQuery the normalized query
+     * @return the ascending ordinals of the talks containing all trigrams of the query
+     */
+    public int[] candidates(String normalizedQuery) {
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            throw new IllegalArgumentException("Query must have at least " + GRAM_LENGTH + " characters");
+        }
+        List<Integer> keyIndexes = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedQuery.length(); i++) {
+            int keyIndex = Buffers.binarySearch(keys, key(normalizedQuery, i));
+            if (keyIndex < 0) {
+                return PostingLists.EMPTY;
+            }
+            if (!keyIndexes.contains(keyIndex)) {
+                keyIndexes.add(keyIndex);
+            }
+        }
+        keyIndexes.sort((a, b) -> Integer.compare(postingCount(a), postingCount(b)));
+
+        int first = keyIndexes.getFirst();
+        int[] candidates = Buffers.copyOfRange(postings, offsets.get(first), offsets.get(first + 1));
+        int n = candidates.length;
+        for (int k = 1; k < keyIndexes.size() && n > 0; k++) {
+            int keyIndex = keyIndexes.get(k);
+            int from = offsets.get(keyIndex);
+            int to = offsets.get(keyIndex + 1);
+            int retained = 0;
+            for (int c = 0; c < n; c++) {
+                int found = Buffers.binarySearch(postings, from, to, candidates[c]);
+                if (found >= 0) {
+                    candidates[retained++] = candidates[c];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            n = retained;
+        }
+        return n == candidates.length ? candidates : Arrays.copyOf(candidates, n);
+    }
+
+    private int postingCount(int keyIndex) {
+        return offsets.get(keyIndex + 1) - offsets.get(keyIndex);
+    }
+
+    private static long key(String value, int start) {
+        return ((long) value.charAt(start) << 32) | ((long) value.charAt(start + 1) << 16) | value.charAt(start + 2);
+    }
+
+    /**
+     * Posting lists of one chunk, in an open addressing table keyed by the packed trigram to avoid boxing a key for
+     * every trigram occurrence.
+     */
+    private static final class ChunkPostings {
+        private long[] keys = new long[1024];
+        private IntArrayList[] lists = new IntArrayList[1024];
+        private int size;
+
+        void add(long key, int ordinal) {
+            int slot = slot(key);
+            IntArrayList list = lists[slot];
+            if (list == null) {
+                list = new IntArrayList();
+                keys[slot] = key;
+                lists[slot] = list;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            }
+            if (list.isEmpty() || list.last() != ordinal) {
+                list.add(ordinal);
+            }
+        }
+
+        IntArrayList get(long key) {
+            return lists[slot(key)];
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (lists[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            IntArrayList[] oldLists = lists;
+            keys = new long[oldKeys.length * 2];
+            lists = new IntArrayList[oldLists.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldLists[i] != null) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    lists[slot] = oldLists[i];
+                }
+            }
+        }
+    }
+}
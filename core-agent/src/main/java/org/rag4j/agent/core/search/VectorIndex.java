@@ -0,0 +1,368 @@
+package org.rag4j.agent.core.search;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Nearest-neighbour index over {@link HashedEmbedding} vectors of the talks.
+ * <p>
+ * The vectors are unit length and stored row by row in one contiguous float array, so a query is a single pass over
+ * memory that a {@link VectorScorer} can score with SIMD instructions. Rows are scored in blocks, and a block only
+ * touches the top-k heap for rows that beat the current k-th best score.
+ * <p>
+ * For large catalogs an {@link HnswIndex} graph can replace the scan over all rows with an approximate search that
+ * only scores a few thousand rows. The index keeps scanning when it has no graph.
+ * <p>
+ * A snapshot maps the vectors and the graph from the file like the other indexes. The scorers work on a float array,
+ * so the first query on a mapped index copies the vectors to the heap once.
+ */
+public final class VectorIndex {
+    private static final int BLOCK_ROWS = 1024;
+
+    private final HashedEmbedding embedding;
+    private final int dimension;
+    private final FloatBuffer vectors;
+    private final HnswIndex graph;
+    private final int efSearch;
+    private volatile float[] matrix;
+
+    private VectorIndex(HashedEmbedding embedding, FloatBuffer vectors, HnswIndex graph, int efSearch) {
+        this.embedding = embedding;
+        this.dimension = embedding.dimension();
+        this.vectors = vectors;
+        this.graph = graph;
+        this.efSearch = efSearch;
+        this.matrix = vectors.hasArray() && vectors.arrayOffset() == 0 ? vectors.array() : null;
+    }
+
+    /**
+     * Embeds the talks in parallel and builds the index.
+     *
+     * @param size         the number of talks
+     * @param titles       returns the title for an ordinal
+     * @param descriptions returns the description for an ordinal
+     * @param embedding    the embedding used for both the talks and the queries
+     * @return the index
+     */
+    public static VectorIndex build(int size, IntFunction<String> titles, IntFunction<String> descriptions,
+                                    HashedEmbedding embedding) {
+        int dimension = embedding.dimension();
+        if ((long) size * dimension > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many talks for one vector array: " + size);
+        }
+        float[] matrix = new float[size * dimension];
+        IntStream.range(0, size).parallel().forEach(ordinal -> System.arraycopy(
+                embedding.embedDocument(titles.apply(ordinal), descriptions.apply(ordinal)), 0,
+                matrix, ordinal * dimension, dimension));
+        return new VectorIndex(embedding, FloatBuffer.wrap(matrix), null, 0);
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(SnapshotOutput)}. The embedding is not part of the snapshot and must
+     * be the one the index was built with.
+     */
+    public static VectorIndex readFrom(SnapshotInput input, HashedEmbedding embedding) throws IOException {
+        int dimension = input.readInt();
+        if (dimension != embedding.dimension()) {
+            throw new IOException("Snapshot vectors have " + dimension + " dimensions, the embedding has "
+                    + embedding.dimension());
+        }
+        FloatBuffer vectors = input.readFloats();
+        if (input.readInt() == 0) {
+            return new VectorIndex(embedding, vectors, null, 0);
+        }
+        int efSearch = input.readInt();
+        return new VectorIndex(embedding, vectors, HnswIndex.readFrom(input), efSearch);
+    }
+
+    public void writeTo(SnapshotOutput output) throws IOException {
+        output.writeInt(dimension);
+        output.writeFloats(vectors);
+        output.writeInt(graph == null ? 0 : 1);
+        if (graph != null) {
+            output.writeInt(efSearch);
+            graph.writeTo(output);
+        }
+    }
+
+    /**
+     * Returns an index on the same vectors that searches with a graph.
+     *
+     * @param graph    the graph over all rows of this index
+     * @param efSearch the size of the candidate list for searches
+     * @return the index with the graph
+     */
+    public VectorIndex withGraph(HnswIndex graph, int efSearch) {
+        if (graph.size() != size()) {
+            throw new IllegalArgumentException("The graph has " + graph.size() + " rows, the index " + size());
+        }
+        VectorIndex index = new VectorIndex(embedding, vectors, graph, efSearch);
+        index.matrix = matrix;
+        return index;
+    }
+
+    /**
+     * Returns the graph, or null if the index searches by scanning all rows.
+     */
+    public HnswIndex graph() {
+        return graph;
+    }
+
+    public int efSearch() {
+        return efSearch;
+    }
+
+    /**
+     * Builds a graph over all rows.
+     *
+     * @param m              the number of links per node on the upper levels
+     * @param efConstruction the size of the candidate list while inserting
+     * @return the graph
+     */
+    public HnswIndex buildGraph(int m, int efConstruction) {
+        return HnswIndex.builder(dimension, m, efConstruction).add(matrix(), size()).build();
+    }
+
+    /**
+     * Extends the graph of an earlier index with the rows this index has in addition. Only valid when this index
+     * {@link #startsWith(VectorIndex) starts with} the earlier one.
+     *
+     * @param graph the graph over the rows of the earlier index
+     * @return a new graph over all rows of this index
+     */
+    public HnswIndex extendGraph(HnswIndex graph) {
+        return graph.toBuilder().add(matrix(), size()).build();
+    }
+
+    /**
+     * Checks whether the first rows of this index are exactly the rows of another index, for instance when talks were
+     * only appended to a catalog.
+     */
+    public boolean startsWith(VectorIndex other) {
+        return other.dimension == dimension && other.size() <= size()
+                && Arrays.equals(matrix(), 0, other.vectors.limit(), other.matrix(), 0, other.vectors.limit());
+    }
+
+    /**
+     * A talk ordinal with its cosine similarity to the query.
+     */
+    public record Hit(int ordinal, float score) {
+    }
+
+    public int size() {
+        return vectors.limit() / dimension;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the {@code k} talks most similar to a query. With a graph the result is approximate, otherwise all rows
+     * are scored with the {@link VectorScorers#preferred() preferred} scorer.
+     *
+     * @param query the free text query
+     * @param k     the maximum number of hits, must be positive
+     * @return the hits with the highest similarity first
+     */
+    public List<Hit> search(String query, int k) {
+        float[] vector = embedding.embedQuery(query);
+        if (graph == null) {
+            return search(vector, k, VectorScorers.preferred());
+        }
+        return searchApproximate(vector, k, efSearch);
+    }
+
+    /**
+     * Returns the approximate {@code k} rows most similar to a query vector, using the graph.
+     *
+     * @param query the unit query vector
+     * @param k     the maximum number of hits, must be positive
+     * @param ef    the size of the candidate list
+     * @return the hits with the highest similarity first
+     * @throws IllegalStateException when the index has no graph
+     */
+    public List<Hit> searchApproximate(float[] query, int k, int ef) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of results must be positive, got " + k);
+        }
+        if (graph == null) {
+            throw new IllegalStateException("This vector index has no graph");
+        }
+        if (isZero(query)) {
+            return List.of();
+        }
+        return graph.search(matrix(), query, k, ef);
+    }
+
+    /**
+     * Returns the exact {@code k} rows most similar to a query vector, by scoring all rows.
+     *
+     * @param query  the unit query vector
+     * @param k      the maximum number of hits, must be positive
+     * @param scorer the scorer to compute the similarities with
+     * @return the hits with the highest similarity first; ties keep catalog order
+     */
+    public List<Hit> search(float[] query, int k, VectorScorer scorer) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of results must be positive, got " + k);
+        }
+        if (query.length != dimension) {
+            throw new IllegalArgumentException("Expected a query with " + dimension + " dimensions, got "
+                    + query.length);
+        }
+        if (isZero(query)) {
+            return List.of();
+        }
+        float[] matrix = matrix();
+        int size = size();
+        TopHits top = new TopHits(Math.min(k, size));
+        float[] scores = new float[BLOCK_ROWS];
+        for (int from = 0; from < size; from += BLOCK_ROWS) {
+            int to = Math.min(size, from + BLOCK_ROWS);
+            scorer.dotProducts(matrix, dimension, from, to, query, scores);
+            for (int row = from; row < to; row++) {
+                top.offer(row, scores[row - from]);
+            }
+        }
+        return top.toList();
+    }
+
+    /**
+     * Returns the {@code k} rows most similar to a row of this index, approximate when the index has a graph. The row
+     * itself is usually the first hit.
+     *
+     * @param ordinal the row
+     * @param k       the maximum number of hits, must be positive
+     * @return the hits with the highest similarity first
+     */
+    public List<Hit> similarTo(int ordinal, int k) {
+        float[] row = Arrays.copyOfRange(matrix(), ordinal * dimension, (ordinal + 1) * dimension);
+        if (graph == null) {
+            return search(row, k, VectorScorers.preferred());
+        }
+        return searchApproximate(row, k, Math.max(k, efSearch));
+    }
+
+    /**
+     * Returns the cosine similarity of two rows.
+     */
+    public float similarity(int a, int b) {
+        float[] matrix = matrix();
+        float sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += matrix[a * dimension + i] * matrix[b * dimension + i];
+        }
+        return sum;
+    }
+
+    private float[] matrix() {
+        float[] result = matrix;
+        if (result == null) {
+            synchronized (this) {
+                result = matrix;
+                if (result == null) {
+                    result = new float[vectors.limit()];
+                    vectors.get(0, result);
+                    matrix = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isZero(float[] vector) {
+        for (float value : vector) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bounded min-heap of the best rows on primitive arrays. A row with a lower score is worse, and of two rows with
+     * the same score the later one is worse.
+     */
+    private static final class TopHits {
+        private final int[] ordinals;
+        private final float[] scores;
+        private int size;
+
+        private TopHits(int capacity) {
+            this.ordinals = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void offer(int ordinal, float score) {
+            if (size < ordinals.length) {
+                ordinals[size] = ordinal;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && score > scores[0]) {
+                // Rows arrive in ascending order, so an equal score never replaces an earlier row.
+                ordinals[0] = ordinal;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> toList() {
+            Hit[] hits = new Hit[size];
+            while (size > 0) {
+                hits[size - 1] = new Hit(ordinals[0], scores[0]);
+                size--;
+                ordinals[0] = ordinals[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return new ArrayList<>(List.of(hits));
+        }
+
+        private boolean worse(int a, int b) {
+            return scores[a] < scores[b] || (scores[a] == scores[b] && ordinals[a] > ordinals[b]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!worse(index, parent)) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && worse(child + 1, child)) {
+                    child++;
+                }
+                if (!worse(child, index)) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
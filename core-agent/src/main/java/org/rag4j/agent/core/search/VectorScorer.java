@@ -0,0 +1,40 @@
+package org.rag4j.agent.core.search;
+
+/**
+ * Computes the similarity of a query vector with the rows of a row-major matrix of unit vectors. For unit vectors the
+ * dot product is the cosine similarity.
+ *
+ * @see VectorScorers
+ */
+public interface VectorScorer {
+
+    /**
+     * Computes the dot products of a query with consecutive rows.
+     *
+     * @param matrix    the rows, {@code dimension} floats each
+     * @param dimension the number of elements per row and in the query
+     * @param fromRow   the first row to score
+     * @param toRow     the row after the last row to score
+     * @param query     the query vector
+     * @param scores    receives the score of row {@code fromRow + i} at index {@code i}
+     */
+    void dotProducts(float[] matrix, int dimension, int fromRow, int toRow, float[] query, float[] scores);
+
+    /**
+     * Computes the dot product of two vectors that are part of larger arrays, for instance two rows of a matrix.
+     *
+     * @param a       the array with the first vector
+     * @param aOffset the index of the first element of the first vector
+     * @param b       the array with the second vector
+     * @param bOffset the index of the first element of the second vector
+     * @param length  the number of elements per vector
+     * @return the dot product
+     */
+    default float dotProduct(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+}
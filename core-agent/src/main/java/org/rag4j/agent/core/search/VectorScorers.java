@@ -0,0 +1,74 @@
+package org.rag4j.agent.core.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The available {@link VectorScorer} implementations. The SIMD scorer uses the incubating Vector API, which is only
+ * present when the JVM runs with {@code --add-modules jdk.incubator.vector}; without it the scalar scorer is used.
+ * The SIMD class is loaded by name, so nothing links against the Vector API when the module is missing.
+ */
+public final class VectorScorers {
+    private static final Logger logger = LoggerFactory.getLogger(VectorScorers.class);
+    private static final String SIMD_SCORER = "org.rag4j.agent.core.search.SimdVectorScorer";
+    private static final VectorScorer SCALAR = VectorScorers::scalarDotProducts;
+    private static final VectorScorer PREFERRED = loadPreferred();
+
+    private VectorScorers() {
+    }
+
+    /**
+     * Returns the scorer with a plain loop, which the JIT may or may not vectorize.
+     */
+    public static VectorScorer scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * Returns the scorer with explicit SIMD instructions.
+     *
+     * @throws UnsupportedOperationException when the Vector API module is not available
+     */
+    public static VectorScorer simd() {
+        if (!simdAvailable()) {
+            throw new UnsupportedOperationException("Run with --add-modules jdk.incubator.vector for SIMD scoring");
+        }
+        return PREFERRED;
+    }
+
+    /**
+     * Returns the SIMD scorer when the Vector API is available and the scalar scorer otherwise.
+     */
+    public static VectorScorer preferred() {
+        return PREFERRED;
+    }
+
+    public static boolean simdAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    private static VectorScorer loadPreferred() {
+        if (!simdAvailable()) {
+            logger.info("The Vector API is not available, vector search uses the scalar scorer");
+            return SCALAR;
+        }
+        try {
+            return (VectorScorer) Class.forName(SIMD_SCORER).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Failed to load the SIMD scorer, vector search uses the scalar scorer", e);
+            return SCALAR;
+        }
+    }
+
+    private static void scalarDotProducts(float[] matrix, int dimension, int fromRow, int toRow, float[] query,
+                                          float[] scores) {
+        for (int row = fromRow; row < toRow; row++) {
+            int base = row * dimension;
+            float sum = 0;
+            for (int i = 0; i < dimension; i++) {
+                sum += matrix[base + i] * query[i];
+            }
+            scores[row - fromRow] = sum;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.rag4j.agent.core.search;
+
+/**
+ * Set of the graph nodes a search has already scored, as an open-addressing hash table. A search only visits a few
+ * thousand nodes, so this stays small even for a graph of millions of nodes.
+ */
+final class VisitedNodes {
+    private int[] slots;
+    private int size;
+
+    VisitedNodes() {
+        this.slots = new int[1024];
+    }
+
+    /**
+     * Adds a node.
+     *
+     * @return true if the node was not visited before
+     */
+    boolean add(int node) {
+        if (size * 2 >= slots.length) {
+            grow();
+        }
+        if (insert(slots, node + 1)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean insert(int[] table, int key) {
+        int mask = table.length - 1;
+        int index = mix(key) & mask;
+        while (table[index] != 0) {
+            if (table[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = key;
+        return true;
+    }
+
+    private void grow() {
+        int[] old = slots;
+        slots = new int[old.length * 2];
+        for (int key : old) {
+            if (key != 0) {
+                insert(slots, key);
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9e3779b9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -2,7 +2,10 @@ package org.rag4j.agent.core;
 
 import org.junit.jupiter.api.Test;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Locale;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,4 +43,196 @@ class ConferenceTalkRepositoryTest {
         assertTrue(talks.stream().anyMatch(t -> t.speakers().stream().anyMatch(s -> s.name().equalsIgnoreCase("Daniël Spee"))),
                 "Should find talks with 'Daniël Spee' as a speaker");
     }
+
+    @Test
+    void testFindTalksByTitle_matchesSubstringsWithinWords() {
+        ConferenceTalksRepository parser = new ConferenceTalksRepository();
+        List<ConferenceTalk> talks = parser.findTalksByTitle("AVA");
+        assertTrue(talks.stream().anyMatch(t -> t.title().contains("Java")),
+                "A fragment in the middle of a word should still match");
+    }
+
+    @Test
+    void testFindTalksBySpeaker_matchesPartialName() {
+        ConferenceTalksRepository parser = new ConferenceTalksRepository();
+        List<ConferenceTalk> talks = parser.findTalksBySpeaker("BASTIEN BLA");
+        assertFalse(talks.isEmpty());
+        assertTrue(talks.stream().allMatch(t -> t.speakers().stream().anyMatch(s -> s.name().equals("Sébastien Blanc"))));
+    }
+
+    @Test
+    void testIndexedLookups_returnSameTalksAsLinearScan() throws IOException {
+        List<ConferenceTalk> all = ConferenceTalksRepository.parseTalksFromJson();
+        ConferenceTalksRepository parser = new ConferenceTalksRepository(all);
+        for (String query : List.of("java", "Spring AI", "a", "", " ", "& b", "-", "Agents", "ai ",
+                "Daniël", "er", "simon ritter", " to ", "n rit", "java - how", "of java ")) {
+            String lower = query.toLowerCase(Locale.ROOT);
+            List<ConferenceTalk> expectedByTitle = all.stream()
+                    .filter(t -> t.title().toLowerCase(Locale.ROOT).contains(lower))
+                    .toList();
+            List<ConferenceTalk> expectedBySpeaker = all.stream()
+                    .filter(t -> t.speakers().stream().anyMatch(s -> s.name().toLowerCase(Locale.ROOT).contains(lower)))
+                    .toList();
+            assertEquals(expectedByTitle, parser.findTalksByTitle(query), "Title query: '" + query + "'");
+            assertEquals(expectedBySpeaker, parser.findTalksBySpeaker(query), "Speaker query: '" + query + "'");
+        }
+    }
+
+    @Test
+    void testSearchTalks_ranksTalksAboutIdesForSynonyms() {
+        ConferenceTalksRepository parser = new ConferenceTalksRepository();
+        List<ConferenceTalk> talks = parser.searchTalks("talks about development environments, or IDEs", 5);
+        assertTrue(talks.size() <= 5);
+        assertTrue(talks.stream().anyMatch(t -> t.title().equals("Be more productive with IntelliJ IDEA")),
+                "IntelliJ IDEA should be found through the IDE synonyms");
+        assertTrue(talks.stream().anyMatch(t -> t.title().contains("AI IDEs Face Off")));
+    }
+
+    @Test
+    void testSearchTalks_rejectsNonPositiveLimit() {
+        ConferenceTalksRepository parser = new ConferenceTalksRepository();
+        assertThrows(IllegalArgumentException.class, () -> parser.searchTalks("java", 0));
+    }
+
+    @Test
+    void testQuery_combinesConditionsAndCountsPerTrackAndLevel() throws IOException {
+        List<ConferenceTalk> all = ConferenceTalksRepository.parseTalksFromJson();
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(all);
+
+        TalkQueryResult everything = repository.query(TalkQuery.all());
+        assertEquals(189, everything.count());
+        assertEquals(46, everything.trackCounts().get("GenAI & Beyond"));
+        assertEquals("INTERMEDIATE", everything.levelCounts().keySet().iterator().next());
+
+        TalkQueryResult result = repository.query(new TalkQuery("java", "intermediate", null, null));
+        List<ConferenceTalk> expected = all.stream()
+                .filter(t -> t.track().equals("Java") && t.level().equals("INTERMEDIATE"))
+                .toList();
+        assertEquals(expected, result.talks());
+        assertEquals(expected.size(), result.ordinals().length);
+        assertEquals(Map.of("Java", expected.size()), result.trackCounts());
+        assertEquals(Map.of("INTERMEDIATE", expected.size()), result.levelCounts());
+    }
+
+    @Test
+    void testQuery_keywordAndSpeakerNarrowTheMatches() throws IOException {
+        List<ConferenceTalk> all = ConferenceTalksRepository.parseTalksFromJson();
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(all);
+
+        TalkQueryResult agents = repository.query(new TalkQuery(null, null, null, "AI agents"));
+        assertTrue(agents.count() > 0);
+        assertTrue(agents.count() < all.size());
+        assertEquals(agents.count(), agents.trackCounts().values().stream().mapToInt(Integer::intValue).sum());
+
+        TalkQueryResult bySpeaker = repository.query(new TalkQuery(null, null, "simon ritter", " "));
+        assertEquals(repository.findTalksBySpeaker("simon ritter"), bySpeaker.talks());
+
+        assertEquals(0, repository.query(new TalkQuery("No such track", null, null, null)).count());
+        assertTrue(repository.query(new TalkQuery(null, null, null, "zzzunknownzzz")).trackCounts().isEmpty());
+        assertEquals(0, repository.query(new TalkQuery(null, null, null, "the and of")).count());
+    }
+
+    @Test
+    void testAggregations_matchCountingTheTalks() throws IOException {
+        List<ConferenceTalk> all = ConferenceTalksRepository.parseTalksFromJson();
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(all);
+
+        assertEquals(all.size(), repository.countTalks(TalkQuery.all()));
+        assertEquals(repository.query(TalkQuery.all()).trackCounts(), repository.countTalksByTrack(TalkQuery.all()));
+        TalkQuery java = new TalkQuery("java", null, null, null);
+        assertEquals(Map.of("Java", repository.countTalks(java)), repository.countTalksByTrack(java));
+        assertEquals(repository.countTalks(java),
+                repository.countTalksByLevel(java).values().stream().mapToInt(Integer::intValue).sum());
+
+        for (TalkQuery query : List.of(TalkQuery.all(), java, new TalkQuery(null, null, null, "AI agents"))) {
+            List<ConferenceTalk> matches = repository.query(query).talks();
+            Map<String, Integer> expected = new HashMap<>();
+            matches.forEach(talk -> talk.speakers().stream()
+                    .map(speaker -> speaker.name().strip())
+                    .distinct()
+                    .forEach(name -> expected.merge(name, 1, Integer::sum)));
+            Map<String, Integer> top = repository.topSpeakers(query, 5);
+            assertEquals(Math.min(5, expected.size()), top.size());
+            int previous = Integer.MAX_VALUE;
+            for (Map.Entry<String, Integer> speaker : top.entrySet()) {
+                assertEquals(expected.get(speaker.getKey()), speaker.getValue(), speaker.getKey());
+                assertTrue(speaker.getValue() <= previous, "Speakers with the most talks come first");
+                previous = speaker.getValue();
+            }
+            int lowest = previous;
+            assertTrue(expected.values().stream().filter(count -> count > lowest).count() <= top.size(),
+                    "No speaker left out has more talks than a listed one");
+        }
+        assertTrue(repository.topSpeakers(new TalkQuery("No such track", null, null, null), 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repository.topSpeakers(TalkQuery.all(), 0));
+    }
+
+    @Test
+    void testFindRelatedTalks_answersFromThePrecomputedGraph() throws IOException {
+        List<ConferenceTalk> all = ConferenceTalksRepository.parseTalksFromJson();
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(all);
+        ConferenceTalk talk = all.getFirst();
+
+        List<ConferenceTalk> related = repository.findRelatedTalks(talk.title(), 5);
+        assertEquals(5, related.size());
+        assertFalse(related.contains(talk), "A talk is not related to itself");
+        assertEquals(related.subList(0, 2), repository.findRelatedTalks(talk.title().toUpperCase(Locale.ROOT), 2));
+        assertEquals(10, repository.findRelatedTalks(talk.title(), 50).size());
+        assertTrue(repository.findRelatedTalks("zzzunknownzzz", 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repository.findRelatedTalks(talk.title(), 0));
+    }
+
+    @Test
+    void testSemanticSearchTalks_findsTalksForAParaphrasedQuestion() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository();
+        List<ConferenceTalk> talks = repository.semanticSearchTalks("building agentic applications", 5);
+        assertEquals(5, talks.size());
+        assertTrue(talks.stream().anyMatch(t -> t.title().toLowerCase(Locale.ROOT).contains("agent")),
+                "Should find talks about agents for a question about agentic applications");
+    }
+
+    @Test
+    void testFindTalksBySpeakerFuzzy_toleratesMissingAccentsAndTypos() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository();
+        assertTrue(repository.findTalksBySpeaker("Sebastian Blanc").isEmpty());
+
+        List<ConferenceTalk> talks = repository.findTalksBySpeakerFuzzy("Sebastian Blanc",
+                ConferenceTalksRepository.DEFAULT_MAX_EDITS);
+
+        assertEquals(repository.findTalksBySpeaker("Sébastien Blanc"), talks);
+        assertTrue(repository.findTalksBySpeakerFuzzy("Sebastian Blanc", 0).isEmpty());
+        assertEquals(talks, repository.findTalksBySpeakerOrSimilar("Sebastian Blanc"));
+    }
+
+    @Test
+    void testFindTalksBySpeakerFuzzy_ranksCloserNamesFirst() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(List.of(
+                new ConferenceTalk("Far", "", "Java", "BEGINNER", List.of(new Speaker("Loic Magnetic"))),
+                new ConferenceTalk("Close", "", "Java", "BEGINNER", List.of(new Speaker("Loïc Magnette")))));
+
+        List<ConferenceTalk> talks = repository.findTalksBySpeakerFuzzy("loic magnete", 2);
+
+        assertEquals(List.of("Close", "Far"), talks.stream().map(ConferenceTalk::title).toList());
+    }
+
+    @Test
+    void testFindTalksByTitleOrSimilar_prefersExactMatches() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository();
+        assertEquals(repository.findTalksByTitle("AVA"), repository.findTalksByTitleOrSimilar("AVA"));
+        assertFalse(repository.findTalksByTitleOrSimilar("AVA").similar());
+
+        TalkList talks = repository.findTalksByTitleOrSimilar("Javva");
+        assertFalse(talks.isEmpty());
+        assertTrue(talks.similar());
+        assertTrue(talks.stream().allMatch(t -> t.title().toLowerCase(Locale.ROOT).contains("java")));
+    }
+
+    @Test
+    void testCompleteSpeaker_completesFromAnyPartOfTheName() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository();
+        assertEquals(List.of("Sébastien Blanc"), repository.completeSpeaker("blan", 5));
+        assertEquals(List.of("Sébastien Blanc"), repository.completeSpeaker("Sebastien B", 5));
+        assertTrue(repository.completeTitle("Java", 3).stream().allMatch(t -> t.startsWith("Java")));
+        assertEquals(3, repository.completeTitle("", 3).size());
+    }
 }
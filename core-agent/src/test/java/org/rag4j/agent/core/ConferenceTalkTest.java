@@ -0,0 +1,44 @@
+package org.rag4j.agent.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConferenceTalkTest {
+
+    @Test
+    void idIsDerivedFromTitleAndSpeakers() {
+        ConferenceTalk talk = new ConferenceTalk("Agents in Java", "A description", "Java", "BEGINNER",
+                List.of(new Speaker("Alice"), new Speaker("Bob")));
+        ConferenceTalk edited = new ConferenceTalk("  agents  in JAVA ", "Another description", "GenAI",
+                "ADVANCED", List.of(new Speaker("bob"), new Speaker("Alice")));
+
+        assertEquals(16, talk.id().length());
+        assertEquals(talk.id(), edited.id(), "Case, whitespace, speaker order and other fields do not count");
+        assertEquals(talk.id(), ConferenceTalk.idOf("Agents in Java", List.of("Alice", "Bob")));
+        assertNotEquals(talk.id(), ConferenceTalk.idOf("Agents in Java", List.of("Alice")));
+        assertEquals("7efbcafc7b82f3af", ConferenceTalk.idOf("Agents in Java", List.of("Alice", "Bob")),
+                "The id must not change between releases");
+    }
+
+    @Test
+    void repositoryFindsEveryTalkById() throws Exception {
+        List<ConferenceTalk> talks = ConferenceTalksRepository.parseTalksFromJson();
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(talks);
+        Set<String> ids = new HashSet<>();
+
+        for (ConferenceTalk talk : talks) {
+            ConferenceTalk found = repository.findTalkById(talk.id()).orElseThrow();
+            assertEquals(talk.id(), found.id());
+            ids.add(talk.id());
+        }
+        assertTrue(ids.size() > talks.size() - 5, "Ids are unique apart from repeated talks");
+        assertTrue(repository.findTalkById("0000000000000000").isEmpty());
+        assertTrue(repository.findTalkById("not an id").isEmpty());
+        assertTrue(repository.findTalkById(null).isEmpty());
+    }
+}
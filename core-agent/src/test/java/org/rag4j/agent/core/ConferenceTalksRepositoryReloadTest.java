@@ -0,0 +1,174 @@
+package org.rag4j.agent.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConferenceTalksRepositoryReloadTest {
+
+    @Test
+    void reloadPublishesANewVersion(@TempDir Path directory) throws IOException {
+        Path file = writeCatalog(directory, "Agents", 3);
+        try (ConferenceTalksRepository repository = ConferenceTalksRepository.watching(file)) {
+            assertEquals(1, repository.catalogVersion());
+            assertEquals(3, repository.findTalksByTitle("agents").size());
+
+            writeCatalog(directory, "Records", 2);
+            assertEquals(2, repository.reload());
+
+            assertEquals(2, repository.catalogVersion());
+            assertTrue(repository.findTalksByTitle("agents").isEmpty());
+            assertEquals(2, repository.findTalksByTitle("records").size());
+        }
+    }
+
+    @Test
+    void lookupsAndPublishListenersSeeTheVersionOfTheirCatalog(@TempDir Path directory) throws IOException {
+        Path file = writeCatalog(directory, "Agents", 3);
+        try (ConferenceTalksRepository repository = ConferenceTalksRepository.watching(file)) {
+            List<TalkList> published = new ArrayList<>();
+            repository.onPublish(published::add);
+            TalkList agents = (TalkList) repository.findTalksByTitle("agents");
+
+            writeCatalog(directory, "Records", 2);
+            repository.reload();
+            TalkList records = (TalkList) repository.findTalksByTitle("records");
+
+            assertEquals(List.of(1L, 2L), published.stream().map(TalkList::version).toList());
+            assertEquals(List.of(3, 2), published.stream().map(TalkList::catalogSize).toList());
+            assertEquals(1, agents.version());
+            assertEquals(2, records.version());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(published.get(1).get(records.ordinal(i)), records.get(i));
+            }
+        }
+    }
+
+    @Test
+    void approximateSemanticSearchSurvivesAReloadWithAppendedTalks(@TempDir Path directory) throws IOException {
+        List<ConferenceTalk> bundled = ConferenceTalksRepository.parseTalksFromJson();
+        int half = bundled.size() / 2;
+        Path file = writeTalks(directory, bundled.subList(0, half));
+        try (ConferenceTalksRepository repository = ConferenceTalksRepository.watching(file)) {
+            assertEquals(2, repository.useApproximateSemanticSearch(new HnswParameters(8, 64, 64)));
+            String first = bundled.getFirst().title();
+            assertEquals(first, repository.semanticSearchTalks(first, 1).getFirst().title());
+
+            writeTalks(directory, bundled);
+            assertEquals(3, repository.reload());
+
+            String last = bundled.getLast().title();
+            assertEquals(last, repository.semanticSearchTalks(last, 1).getFirst().title());
+        }
+    }
+
+    @Test
+    void failedReloadKeepsTheCurrentCatalog(@TempDir Path directory) throws IOException {
+        Path file = writeCatalog(directory, "Agents", 3);
+        try (ConferenceTalksRepository repository = ConferenceTalksRepository.watching(file)) {
+            Files.writeString(file, "[{\"title\": ");
+
+            assertThrows(IOException.class, repository::reload);
+
+            assertEquals(1, repository.catalogVersion());
+            assertEquals(3, repository.findTalksByTitle("agents").size());
+        }
+    }
+
+    @Test
+    void reloadIsOnlyAvailableForCatalogFiles() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(List.of());
+
+        assertThrows(IllegalStateException.class, repository::reload);
+    }
+
+    @Test
+    void changedFileIsReloadedInTheBackground(@TempDir Path directory) throws Exception {
+        Path file = writeCatalog(directory, "Agents", 3);
+        try (ConferenceTalksRepository repository = ConferenceTalksRepository.watching(file)) {
+            writeCatalog(directory, "Records", 2);
+
+            long deadline = System.currentTimeMillis() + 20_000;
+            while (repository.catalogVersion() == 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(2, repository.catalogVersion());
+            assertEquals(2, repository.findTalksByTitle("records").size());
+        }
+    }
+
+    @Test
+    void readersAlwaysSeeACompleteCatalog(@TempDir Path directory) throws Exception {
+        Path file = writeCatalog(directory, "Agents", 50);
+        try (ConferenceTalksRepository repository = ConferenceTalksRepository.watching(file)) {
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicReference<String> failure = new AtomicReference<>();
+            List<Thread> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(Thread.ofPlatform().start(() -> {
+                    while (!done.get()) {
+                        // Both catalogs have 50 talks, every one of them matching its own title word. The two
+                        // lookups may run against different catalogs, so each count is checked on its own.
+                        int agents = repository.findTalksByTitle("agents").size();
+                        int records = repository.findTalksByTitle("records").size();
+                        if ((agents != 0 && agents != 50) || (records != 0 && records != 50)) {
+                            failure.set("Saw " + agents + " agents and " + records + " records");
+                        }
+                    }
+                }));
+            }
+            for (int i = 0; i < 20; i++) {
+                writeCatalog(directory, i % 2 == 0 ? "Records" : "Agents", 50);
+                repository.reload();
+            }
+            done.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            assertNull(failure.get());
+            assertTrue(repository.catalogVersion() >= 21);
+        }
+    }
+
+    private static Path writeTalks(Path directory, List<ConferenceTalk> talks) throws IOException {
+        List<Map<String, Object>> catalog = new ArrayList<>();
+        for (ConferenceTalk talk : talks) {
+            catalog.add(Map.of("title", talk.title(), "description", talk.description(), "track", talk.track(),
+                    "level", talk.level(), "speakers", talk.speakers().stream().map(Speaker::name).toList()));
+        }
+        Path temporary = directory.resolve("talks.json.tmp");
+        new ObjectMapper().writeValue(temporary.toFile(), catalog);
+        Path file = directory.resolve("talks.json");
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    private static Path writeCatalog(Path directory, String word, int talks) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < talks; i++) {
+            json.append(i == 0 ? "" : ",").append("""
+                    {"title": "%s %d", "description": "", "speakers": ["Speaker %d"], "track": "Java", "level": "BEGINNER"}
+                    """.formatted(word, i, i));
+        }
+        json.append("]");
+        Path file = directory.resolve("talks.json");
+        Path temporary = directory.resolve("talks.json.tmp");
+        Files.writeString(temporary, json);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+}
@@ -0,0 +1,112 @@
+package org.rag4j.agent.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedTalksRepositoryTest {
+
+    @Test
+    void loadsAPartitionOnFirstAccessAndCachesItsIndexes(@TempDir Path directory) throws IOException {
+        Path catalogs = Files.createDirectories(directory.resolve("catalogs"));
+        Path indexes = directory.resolve("indexes");
+        writeCatalog(catalogs, "devoxx-2024", "Agents", 3);
+        writeCatalog(catalogs, "devoxx-2025", "Records", 2);
+        PartitionedTalksRepository repository = new PartitionedTalksRepository(catalogs, indexes, 10);
+
+        assertEquals(List.of("devoxx-2024", "devoxx-2025"), repository.conferences());
+        assertFalse(repository.isLoaded("devoxx-2024"));
+        assertEquals(3, repository.partition("devoxx-2024").findTalksByTitle("agents").size());
+        assertTrue(repository.isLoaded("devoxx-2024"));
+        assertFalse(repository.isLoaded("devoxx-2025"));
+        Path snapshot = indexes.resolve("devoxx-2024.snapshot");
+        assertTrue(Files.isRegularFile(snapshot));
+
+        FileTime written = Files.getLastModifiedTime(snapshot);
+        repository.evict("devoxx-2024");
+        assertFalse(repository.isLoaded("devoxx-2024"));
+        assertEquals(3, repository.partition("devoxx-2024").findTalksByTitle("agents").size());
+        assertEquals(written, Files.getLastModifiedTime(snapshot), "The cached indexes are opened, not rebuilt");
+    }
+
+    @Test
+    void indexesAChangedCatalogFileAgain(@TempDir Path directory) throws IOException {
+        Path catalogs = Files.createDirectories(directory.resolve("catalogs"));
+        Path file = writeCatalog(catalogs, "devoxx-2025", "Agents", 3);
+        FileTime modified = Files.getLastModifiedTime(file);
+        PartitionedTalksRepository repository = new PartitionedTalksRepository(catalogs, directory.resolve("idx"), 10);
+        assertEquals(3, repository.partition("devoxx-2025").findTalksByTitle("agents").size());
+
+        repository.evict("devoxx-2025");
+        writeCatalog(catalogs, "devoxx-2025", "Records", 2);
+        Files.setLastModifiedTime(file, modified);
+
+        assertEquals(2, repository.partition("devoxx-2025").findTalksByTitle("records").size(),
+                "The checksum of the catalog file, not its modification time, tells the snapshot is stale");
+    }
+
+    @Test
+    void unloadsThePartitionsWhenClosed(@TempDir Path directory) throws IOException {
+        Path catalogs = Files.createDirectories(directory.resolve("catalogs"));
+        writeCatalog(catalogs, "devoxx-2024", "Agents", 3);
+        writeCatalog(catalogs, "devoxx-2025", "Records", 2);
+        PartitionedTalksRepository repository = new PartitionedTalksRepository(catalogs, directory.resolve("idx"), 10);
+        repository.fanOut(repository.conferences(), ConferenceTalksRepository::talks);
+        assertTrue(repository.isLoaded("devoxx-2024"));
+
+        repository.close();
+
+        assertFalse(repository.isLoaded("devoxx-2024"));
+        assertFalse(repository.isLoaded("devoxx-2025"));
+        assertEquals(2, repository.partition("devoxx-2025").talks().size(), "A partition can be loaded again");
+    }
+
+    @Test
+    void fansOutAcrossPartitions(@TempDir Path directory) throws IOException {
+        Path catalogs = Files.createDirectories(directory.resolve("catalogs"));
+        writeCatalog(catalogs, "devoxx-2024", "Agents", 3);
+        writeCatalog(catalogs, "devoxx-2025", "Records", 2);
+        writeCatalog(catalogs, "jfall-2025", "Streams", 4);
+        PartitionedTalksRepository repository = new PartitionedTalksRepository(catalogs, directory.resolve("idx"), 5);
+
+        Map<String, List<ConferenceTalk>> bySpeaker = repository.findTalksBySpeaker(
+                List.of("jfall-2025", "devoxx-2024"), "Speaker 1");
+        assertEquals(List.of("jfall-2025", "devoxx-2024"), List.copyOf(bySpeaker.keySet()));
+        assertEquals("Streams 1", bySpeaker.get("jfall-2025").getFirst().title());
+        assertEquals("Agents 1", bySpeaker.get("devoxx-2024").getFirst().title());
+
+        Map<String, TalkCounts> counts = repository.countTalks(repository.conferences(), TalkQuery.all());
+        assertEquals(9, counts.values().stream().mapToInt(TalkCounts::count).sum());
+        assertTrue(counts.size() > 2, "More partitions than stay loaded can be queried");
+    }
+
+    @Test
+    void rejectsUnknownAndInvalidConferences(@TempDir Path directory) throws IOException {
+        PartitionedTalksRepository repository = new PartitionedTalksRepository(directory, directory.resolve("idx"), 1);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.partition("devoxx-2030"));
+        assertThrows(IllegalArgumentException.class, () -> repository.partition("../talks"));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.fanOut(List.of("devoxx-2030"), ConferenceTalksRepository::talks));
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedTalksRepository(directory, directory, 0));
+    }
+
+    private static Path writeCatalog(Path directory, String conference, String word, int talks) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < talks; i++) {
+            json.append(i == 0 ? "" : ",").append("""
+                    {"title": "%s %d", "description": "", "speakers": ["Speaker %d"], "track": "Java", "level": "BEGINNER"}
+                    """.formatted(word, i, i));
+        }
+        json.append("]");
+        return Files.writeString(directory.resolve(conference + ".json"), json);
+    }
+}
@@ -0,0 +1,109 @@
+package org.rag4j.agent.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TalkCatalogSnapshotTest {
+
+    @Test
+    void snapshotAnswersLookupsLikeTheBuiltCatalog(@TempDir Path directory) throws IOException {
+        List<ConferenceTalk> talks = ConferenceTalksRepository.parseTalksFromJson();
+        TalkCatalog built = TalkCatalog.build(talks);
+        Path snapshot = directory.resolve("talks.snapshot");
+        built.writeSnapshot(snapshot);
+
+        TalkCatalog opened = TalkCatalog.openSnapshot(snapshot);
+
+        assertEquals(talks, opened.talks(1));
+        for (String query : List.of("java", "Spring AI", "", "n rit", "Daniël", "bastien", "of java ")) {
+            assertArrayEquals(built.findByTitle(query), opened.findByTitle(query), "Title query: '" + query + "'");
+            assertArrayEquals(built.findBySpeaker(query), opened.findBySpeaker(query),
+                    "Speaker query: '" + query + "'");
+        }
+        assertArrayEquals(built.search("development environments", 5), opened.search("development environments", 5));
+        TalkQuery query = new TalkQuery("GenAI & Beyond", "beginner", null, "agents");
+        assertEquals(built.query(query).talks(), opened.query(query).talks());
+        assertEquals(built.query(TalkQuery.all()).levelCounts(), opened.query(TalkQuery.all()).levelCounts());
+        assertArrayEquals(built.semanticSearch("agentic frameworks", 5),
+                opened.semanticSearch("agentic frameworks", 5));
+        assertArrayEquals(built.findBySpeakerFuzzy("Sebastian Blanc", 2),
+                opened.findBySpeakerFuzzy("Sebastian Blanc", 2));
+        assertArrayEquals(built.findByTitleFuzzy("javva agnets", 2), opened.findByTitleFuzzy("javva agnets", 2));
+        assertEquals(built.completeSpeaker("s", 10), opened.completeSpeaker("s", 10));
+        assertEquals(built.completeTitle("the", 10), opened.completeTitle("the", 10));
+        assertEquals(built.topSpeakers(TalkQuery.all(), 10), opened.topSpeakers(TalkQuery.all(), 10));
+        assertEquals(built.topSpeakers(query, 3), opened.topSpeakers(query, 3));
+    }
+
+    @Test
+    void snapshotKeepsTheGraphForApproximateSearch(@TempDir Path directory) throws IOException {
+        TalkCatalog built = TalkCatalog.build(ConferenceTalksRepository.parseTalksFromJson())
+                .withApproximateSearch(new HnswParameters(8, 32, 32), null);
+        Path snapshot = directory.resolve("talks.snapshot");
+        built.writeSnapshot(snapshot);
+
+        TalkCatalog opened = TalkCatalog.openSnapshot(snapshot);
+
+        assertArrayEquals(built.semanticSearch("agentic frameworks", 5),
+                opened.semanticSearch("agentic frameworks", 5));
+    }
+
+    @Test
+    void emptyCatalogRoundTrips(@TempDir Path directory) throws IOException {
+        Path snapshot = directory.resolve("empty.snapshot");
+        TalkCatalog.build(List.of()).writeSnapshot(snapshot);
+
+        TalkCatalog opened = TalkCatalog.openSnapshot(snapshot);
+
+        assertEquals(0, opened.size());
+        assertEquals(0, opened.findByTitle("java").length);
+        assertEquals(0, opened.search("java", 3).length);
+    }
+
+    @Test
+    void rejectsFilesThatAreNotASnapshot(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("talks.snapshot");
+        Files.writeString(file, "[{\"title\": \"not a snapshot\"}]");
+
+        assertThrows(IOException.class, () -> TalkCatalog.openSnapshot(file));
+    }
+
+    @Test
+    void repositoryWritesTheSnapshotOnFirstRunAndFallsBackWhenItIsBroken(@TempDir Path directory) throws IOException {
+        Path snapshot = directory.resolve("cache/talks.snapshot");
+
+        ConferenceTalksRepository firstRun = ConferenceTalksRepository.withSnapshot(snapshot);
+        assertTrue(Files.isRegularFile(snapshot));
+        ConferenceTalksRepository secondRun = ConferenceTalksRepository.withSnapshot(snapshot);
+        assertEquals(firstRun.findTalksBySpeaker("Simon Ritter"), secondRun.findTalksBySpeaker("Simon Ritter"));
+
+        Files.write(snapshot, new byte[]{1, 2, 3});
+        ConferenceTalksRepository fallback = ConferenceTalksRepository.withSnapshot(snapshot);
+        assertEquals(firstRun.findTalksByTitle("java"), fallback.findTalksByTitle("java"));
+        assertTrue(Files.size(snapshot) > 3, "The broken snapshot should be replaced");
+    }
+
+    @Test
+    void repositoryIndexesTalksJsonAgainWhenTheSnapshotWasWrittenFromOtherTalks(@TempDir Path directory)
+            throws IOException {
+        Path snapshot = directory.resolve("talks.snapshot");
+        List<ConferenceTalk> talks = ConferenceTalksRepository.parseTalksFromJson();
+        new ConferenceTalksRepository(talks.subList(0, 1)).writeSnapshot(snapshot);
+
+        ConferenceTalksRepository stale = ConferenceTalksRepository.withSnapshot(snapshot);
+        assertEquals(talks, stale.talks());
+
+        FileTime written = Files.getLastModifiedTime(snapshot);
+        ConferenceTalksRepository current = ConferenceTalksRepository.withSnapshot(snapshot);
+        assertEquals(talks, current.talks());
+        assertEquals(written, Files.getLastModifiedTime(snapshot), "A current snapshot should be opened as is");
+    }
+}
@@ -0,0 +1,159 @@
+package org.rag4j.agent.core;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TalkQueryCacheTest {
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRepeatedLookup_isAnsweredFromTheCache() {
+        ConferenceTalksRepository repository = repositoryWithCache(10_000);
+
+        List<ConferenceTalk> first = repository.findTalksBySpeaker("Simon Ritter");
+        List<ConferenceTalk> second = repository.findTalksBySpeaker("simon RITTER");
+
+        assertFalse(first.isEmpty());
+        assertSame(first, second, "A query that only differs in case should share the entry");
+        assertEquals(1, gets("hit"));
+        assertEquals(1, gets("miss"));
+    }
+
+    @Test
+    void testTokenBasedLookups_ignoreAccentsAndPunctuation() {
+        ConferenceTalksRepository repository = repositoryWithCache(10_000);
+
+        List<ConferenceTalk> first = repository.findTalksBySpeakerFuzzy("Sebastian Blanc", 2);
+        List<ConferenceTalk> second = repository.findTalksBySpeakerFuzzy("  sébastian, blanc ", 2);
+        List<ConferenceTalk> otherDistance = repository.findTalksBySpeakerFuzzy("Sebastian Blanc", 1);
+
+        assertSame(first, second);
+        assertNotSame(first, otherDistance, "The edit distance is part of the key");
+        assertEquals(1, gets("hit"));
+        assertEquals(2, gets("miss"));
+    }
+
+    @Test
+    void testLookupsWithDifferentLimits_doNotShareEntries() {
+        ConferenceTalksRepository repository = repositoryWithCache(10_000);
+
+        assertEquals(1, repository.searchTalks("development environments", 1).size());
+        assertEquals(3, repository.searchTalks("development environments", 3).size());
+    }
+
+    @Test
+    void testCompoundQueries_ignoreCaseOfTheConditions() {
+        ConferenceTalksRepository repository = repositoryWithCache(10_000);
+        TalkQuery query = new TalkQuery("Java", null, null, "agents");
+
+        TalkQueryResult first = repository.query(query);
+        TalkQueryResult second = repository.query(new TalkQuery(" JAVA ", "", null, "Agents!"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testCachedResults_areUnmodifiable() {
+        ConferenceTalksRepository repository = repositoryWithCache(10_000);
+
+        List<ConferenceTalk> talks = repository.findTalksByTitle("Java");
+
+        assertThrows(UnsupportedOperationException.class, talks::clear);
+        assertFalse(repository.findTalksByTitle("Java").isEmpty());
+    }
+
+    @Test
+    void testPublishingANewCatalog_dropsTheEntries() {
+        ConferenceTalksRepository repository = repositoryWithCache(10_000);
+        List<ConferenceTalk> before = repository.findTalksByTitle("Java");
+
+        repository.useApproximateSemanticSearch(HnswParameters.defaults());
+        List<ConferenceTalk> after = repository.findTalksByTitle("Java");
+
+        assertNotSame(before, after);
+        assertEquals(before, after);
+        assertEquals(0, gets("hit"));
+        assertEquals(2, gets("miss"));
+    }
+
+    @Test
+    void testCache_evictsWhenTheResultsHoldTooManyTalks() {
+        TalkQueryCache cache = new TalkQueryCache(20);
+        cache.bindTo(registry);
+        ConferenceTalksRepository repository = new ConferenceTalksRepository();
+        repository.useQueryCache(cache);
+
+        for (String title : List.of("Java", "AI", "agent", "Spring", "the")) {
+            repository.findTalksByTitle(title);
+        }
+        cache.cleanUp();
+
+        FunctionCounter evictions = registry.get("cache.evictions").tag("cache", TalkQueryCache.NAME).functionCounter();
+        assertTrue(evictions.count() > 0, "The cache should evict results above the maximum number of talks");
+    }
+
+    @Test
+    void testCompoundQueryResults_weighTheirMatches() {
+        TalkQueryCache cache = new TalkQueryCache(20);
+        cache.bindTo(registry);
+        ConferenceTalksRepository repository = new ConferenceTalksRepository();
+        repository.useQueryCache(cache);
+
+        TalkQueryResult result = repository.query(new TalkQuery("Java", null, null, null));
+        cache.cleanUp();
+
+        assertTrue(result.count() >= 20, "The query should match more talks than the cache holds");
+        assertEquals(0, cache.estimatedSize(), "A result with more matches than the maximum is not kept");
+    }
+
+    @Test
+    void testForAgents_answersRepeatedLookupsFromTheCache() throws Exception {
+        TalkQueryCache cache = new TalkQueryCache(TalkQueryCache.DEFAULT_MAXIMUM_TALKS);
+        cache.bindTo(registry);
+        try (ConferenceTalksRepository repository = ConferenceTalksRepository.forAgents("", " ", cache)) {
+            assertSame(repository.findTalksByTitle("Java"), repository.findTalksByTitle("java"));
+        }
+        assertEquals(1, gets("hit"));
+    }
+
+    @Test
+    void testStatistics_countTheHitsAndMisses() {
+        TalkQueryCache cache = new TalkQueryCache(1000);
+        ConferenceTalksRepository repository = new ConferenceTalksRepository();
+        repository.useQueryCache(cache);
+
+        repository.findTalksByTitle("Java");
+        repository.findTalksByTitle("java");
+
+        assertTrue(cache.statistics().startsWith("1 hits, 1 misses"), cache.statistics());
+    }
+
+    @Test
+    void testConstructor_rejectsNonPositiveMaximum() {
+        assertThrows(IllegalArgumentException.class, () -> new TalkQueryCache(0));
+    }
+
+    private ConferenceTalksRepository repositoryWithCache(long maximumTalks) {
+        TalkQueryCache cache = new TalkQueryCache(maximumTalks);
+        cache.bindTo(registry);
+        ConferenceTalksRepository repository = new ConferenceTalksRepository();
+        repository.useQueryCache(cache);
+        return repository;
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", TalkQueryCache.NAME).tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,76 @@
+package org.rag4j.agent.core;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the retained heap of the parsed talk records with the columnar {@link InMemoryTalkStore}. The default size
+ * keeps the test fast; run it at a million talks with
+ * {@code mvn test -pl core-agent -Dtest=TalkStoreFootprintTest -Dfootprint.talks=1000000}; walking the object graphs
+ * then needs about 4 GB of heap, for example with {@code JAVA_TOOL_OPTIONS=-Xmx4500m}.
+ */
+class TalkStoreFootprintTest {
+    private static final String[] TRACKS = {"GenAI & Beyond", "Java", "Development Practices", "People & Culture",
+            "Architecture", "Server Side Java", "Security", "Build Different", "Mind the geek"};
+    private static final String[] LEVELS = {"BEGINNER", "INTERMEDIATE", "ADVANCED"};
+    private static final String[] WORDS = {"java", "spring", "agents", "virtual", "threads", "records", "patterns",
+            "kubernetes", "security", "testing", "llm", "vector", "search", "performance", "memory", "design"};
+    // The store takes about 385 bytes per generated talk; the margin allows for differences in object layout.
+    private static final long MAX_STORE_BYTES_PER_TALK = 450;
+
+    static {
+        // JOL cannot read field offsets of records through Unsafe on recent JDKs without this fallback.
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    @Test
+    void columnarStoreIsSmallerThanTheParsedRecords() {
+        int size = Integer.getInteger("footprint.talks", 20_000);
+        List<ConferenceTalk> talks = parsedTalks(size);
+
+        long recordBytes = GraphLayout.parseInstance(talks).totalSize();
+        InMemoryTalkStore store = new InMemoryTalkStore(talks);
+        long storeBytes = GraphLayout.parseInstance(store).totalSize();
+
+        String footprint = "records " + recordBytes / size + " bytes per talk, store " + storeBytes / size
+                + " bytes per talk";
+        assertTrue(storeBytes < recordBytes * 0.8, "The store should save at least 20% of the record footprint, "
+                + footprint);
+        assertTrue(storeBytes / size <= MAX_STORE_BYTES_PER_TALK, "The store grew beyond "
+                + MAX_STORE_BYTES_PER_TALK + " bytes per talk, " + footprint);
+        assertEquals(talks.get(size / 2), store.talk(size / 2));
+    }
+
+    /**
+     * Creates talks the way the JSON reader does: every string is a separate instance, also when the value repeats.
+     */
+    private static List<ConferenceTalk> parsedTalks(int size) {
+        Random random = new Random(42);
+        List<ConferenceTalk> talks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<Speaker> speakers = new ArrayList<>();
+            for (int s = 0; s <= random.nextInt(2); s++) {
+                speakers.add(new Speaker(new String("Speaker " + random.nextInt(Math.max(1, size / 10)))));
+            }
+            talks.add(new ConferenceTalk(sentence(random, 6) + " " + i, sentence(random, 30),
+                    new String(TRACKS[random.nextInt(TRACKS.length)]), new String(LEVELS[random.nextInt(LEVELS.length)]),
+                    speakers));
+        }
+        return talks;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            sentence.append(w == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
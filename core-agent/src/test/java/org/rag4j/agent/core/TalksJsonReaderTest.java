@@ -0,0 +1,93 @@
+package org.rag4j.agent.core;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TalksJsonReaderTest {
+
+    @Test
+    void readsTalksWithoutATree() throws IOException {
+        String json = """
+                [
+                  {"title": "Agents", "description": "With \\"quotes\\", [brackets] and {braces}",
+                   "speakers": ["Jettro Coenradie", "Daniël Spee"], "track": "GenAI", "level": "BEGINNER",
+                   "room": null, "tags": {"nested": [1, 2, 3]}},
+                  {"title": "No speakers", "track": null}
+                ]
+                """;
+        List<ConferenceTalk> talks = TalksJsonReader.read(stream(json));
+
+        assertEquals(2, talks.size());
+        ConferenceTalk first = talks.getFirst();
+        assertEquals("Agents", first.title());
+        assertEquals("With \"quotes\", [brackets] and {braces}", first.description());
+        assertEquals(List.of(new Speaker("Jettro Coenradie"), new Speaker("Daniël Spee")), first.speakers());
+        assertEquals("GenAI", first.track());
+        assertEquals("BEGINNER", first.level());
+        assertEquals(new ConferenceTalk("No speakers", "", "", "", List.of()), talks.get(1));
+    }
+
+    @Test
+    void rejectsDocumentsThatAreNotAnArray() {
+        assertThrows(JsonParseException.class, () -> TalksJsonReader.read(stream("{\"title\": \"Agents\"}")));
+        assertThrows(JsonParseException.class, () -> TalksJsonReader.read(stream("[{\"title\": \"Agents\"}")));
+    }
+
+    @Test
+    void splitsTheTopLevelArrayOnElementBoundaries() throws IOException {
+        String json = "[ {\"title\": \"a, b\"}, {\"title\": \"c\\\"}, {\"}, [1, {\"x\": 2}], {\"title\": \"d\"} ]";
+        ByteBuffer buffer = ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+
+        List<int[]> chunks = TalksJsonReader.splitTopLevelArray(buffer, 1);
+
+        List<String> elements = new ArrayList<>();
+        for (int[] chunk : chunks) {
+            elements.add(json.substring(chunk[0], chunk[1]));
+        }
+        assertEquals(List.of("{\"title\": \"a, b\"}", "{\"title\": \"c\\\"}, {\"}", "[1, {\"x\": 2}]",
+                "{\"title\": \"d\"} "), elements);
+        assertTrue(TalksJsonReader.splitTopLevelArray(ByteBuffer.wrap("[]".getBytes()), 1).isEmpty());
+    }
+
+    @Test
+    void parallelReadReturnsTheSameTalksAsTheSequentialRead(@TempDir Path directory) throws IOException {
+        List<ConferenceTalk> bundled = ConferenceTalksRepository.parseTalksFromJson();
+        List<Map<String, Object>> catalog = new ArrayList<>();
+        // Repeat the bundled talks until the file is large enough to be split into several chunks.
+        for (int copy = 0; copy < 80; copy++) {
+            for (ConferenceTalk talk : bundled) {
+                catalog.add(Map.of("title", talk.title() + " " + copy, "description", talk.description(),
+                        "track", talk.track(), "level", talk.level(),
+                        "speakers", talk.speakers().stream().map(Speaker::name).toList()));
+            }
+        }
+        Path file = directory.resolve("talks.json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), catalog);
+        assertTrue(Files.size(file) > 4 << 20, "The file should span several chunks");
+
+        List<ConferenceTalk> sequential = ConferenceTalksRepository.parseTalksFromJson(file, false);
+        List<ConferenceTalk> parallel = ConferenceTalksRepository.parseTalksFromJson(file, true);
+
+        assertEquals(catalog.size(), sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(bundled.getFirst().title() + " 0", parallel.getFirst().title());
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,117 @@
+package org.rag4j.agent.core.favourites;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FavouritesStoreTest {
+    private static final String TEST_USER = "user1";
+    private final FavouriteTalk TALK1 = new FavouriteTalk("Talk 1", new String[]{"Talk 1"});
+    private final FavouriteTalk TALK2 = new FavouriteTalk("id2", new String[]{"Talk 2"});
+    private final ConferenceTalksRepository catalog = new ConferenceTalksRepository(List.of(
+            new ConferenceTalk("Talk 1", "First talk", "Java", "BEGINNER", List.of(new Speaker("Talk 1"))),
+            new ConferenceTalk("id2", "Second talk", "GenAI & Beyond", "BEGINNER", List.of(new Speaker("Talk 2"))),
+            new ConferenceTalk("Talk 3", "Third talk", "Java", "ADVANCED", List.of(new Speaker("Alice")))));
+
+    @TempDir
+    Path directory;
+    private Path file;
+    private FavouritesStore store;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("favourites.json");
+        store = new FavouritesStore(catalog, file);
+    }
+
+    @Test
+    void storesTalkIdsAndResolvesThemToCatalogTalks() throws IOException {
+        store.addFavourite(TEST_USER, new FavouriteTalk("talk 3", new String[]{}));
+        store.addFavourite("user2", TALK1);
+
+        String stored = Files.readString(file);
+        assertFalse(stored.contains("Talk 3"), "Only the id is stored");
+        assertTrue(stored.contains(catalog.talks().get(2).id()));
+
+        FavouritesStore reloaded = new FavouritesStore(catalog, file);
+        assertEquals(List.of(catalog.talks().get(2)), reloaded.getFavouriteTalks(TEST_USER));
+        assertArrayEquals(new String[]{"Alice"}, reloaded.getFavourites(TEST_USER).getFirst().speakers());
+        assertEquals(Map.of("Java", 2), reloaded.countFavouritesByTrack(null));
+        assertEquals(Map.of("Java", 1), reloaded.countFavouritesByTrack(TEST_USER));
+        assertEquals(Map.of(TEST_USER, List.of(FavouriteTalk.of(catalog.talks().get(2))), "user2", List.of(TALK1)),
+                reloaded.getAllFavourites());
+    }
+
+    @Test
+    void convertsFavouritesWithTitleAndSpeakersToIds() throws IOException {
+        Files.writeString(file, """
+                {"user1": [{"title": "Talk 1", "speakers": ["Talk 1"]}, {"title": "Unknown", "speakers": []}]}
+                """);
+
+        FavouritesStore converted = new FavouritesStore(catalog, file);
+
+        assertEquals(List.of(TALK1), converted.getFavourites(TEST_USER));
+        assertTrue(Files.readString(file).contains(catalog.talks().getFirst().id()));
+    }
+
+    @Test
+    void keepsFavouritesThatAreNotInTheCatalogThroughALoadAndSave() throws IOException {
+        Files.writeString(file, """
+                {"user1": [{"title": "Talk 1", "speakers": ["Talk 1"]}, {"title": "Unknown", "speakers": ["Bob"]}]}
+                """);
+
+        FavouritesStore converted = new FavouritesStore(catalog, file);
+        converted.addFavourite(TEST_USER, TALK2);
+
+        String stored = Files.readString(file);
+        assertTrue(stored.contains("Unknown"), "The favourite that is not in the catalog is kept");
+        assertTrue(stored.contains("Bob"));
+
+        ConferenceTalksRepository withUnknown = new ConferenceTalksRepository(List.of(
+                new ConferenceTalk("Talk 1", "First talk", "Java", "BEGINNER", List.of(new Speaker("Talk 1"))),
+                new ConferenceTalk("id2", "Second talk", "GenAI & Beyond", "BEGINNER", List.of(new Speaker("Talk 2"))),
+                new ConferenceTalk("Unknown", "Added later", "Java", "BEGINNER", List.of(new Speaker("Bob")))));
+        FavouritesStore reloaded = new FavouritesStore(withUnknown, file);
+
+        assertEquals(List.of(TALK1, TALK2, new FavouriteTalk("Unknown", new String[]{"Bob"})),
+                reloaded.getFavourites(TEST_USER));
+    }
+
+    @Test
+    void reportsAndKeepsFavouritesWhoseTalkWasEdited() throws IOException {
+        store.addFavourite(TEST_USER, TALK1);
+        store.addFavourite(TEST_USER, TALK2);
+        String editedId = catalog.talks().getFirst().id();
+
+        ConferenceTalksRepository edited = new ConferenceTalksRepository(List.of(
+                new ConferenceTalk("Talk 1, revised", "First talk", "Java", "BEGINNER", List.of(new Speaker("Talk 1"))),
+                new ConferenceTalk("id2", "Second talk", "GenAI & Beyond", "BEGINNER", List.of(new Speaker("Talk 2")))));
+        FavouritesStore reloaded = new FavouritesStore(edited, file);
+
+        assertEquals(List.of(TALK2), reloaded.getFavourites(TEST_USER));
+        assertEquals(Map.of("GenAI & Beyond", 1), reloaded.countFavouritesByTrack(TEST_USER));
+        assertEquals(Map.of(TEST_USER, List.of(editedId)), reloaded.orphanedFavourites());
+
+        reloaded.addFavourite("user2", TALK2);
+        assertTrue(Files.readString(file).contains(editedId), "The orphaned id stays in the file");
+    }
+
+    @Test
+    void addFavouriteRejectsTalksThatAreNotInTheCatalog() {
+        assertThrows(IllegalArgumentException.class,
+                () -> store.addFavourite(TEST_USER, new FavouriteTalk("Unknown", new String[]{"Nobody"})));
+        assertTrue(store.getFavourites(TEST_USER).isEmpty());
+        assertFalse(Files.exists(file));
+    }
+}
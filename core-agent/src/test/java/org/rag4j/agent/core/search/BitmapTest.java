@@ -0,0 +1,48 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitmapTest {
+
+    @Test
+    void roundTripsSparseAndDenseChunks() {
+        // Chunk 0 is dense and stored as a bitset, chunk 2 is sparse and stored as an array.
+        int[] ordinals = IntStream.concat(IntStream.range(0, 10_000), IntStream.of(131_072, 131_080, 196_607))
+                .toArray();
+        Bitmap bitmap = Bitmap.of(ordinals);
+
+        assertArrayEquals(ordinals, bitmap.toArray());
+        assertEquals(ordinals.length, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_999));
+        assertTrue(bitmap.contains(131_080));
+        assertFalse(bitmap.contains(10_000));
+        assertFalse(bitmap.contains(65_536));
+    }
+
+    @Test
+    void andMatchesPostingListIntersectionForAllContainerCombinations() {
+        Random random = new Random(7);
+        for (int density : new int[]{50, 8, 1}) {
+            int[] a = IntStream.range(0, 300_000).filter(i -> random.nextInt(100) < density).toArray();
+            int[] b = IntStream.range(0, 300_000).filter(i -> random.nextInt(100) < 9).toArray();
+            int[] expected = PostingLists.intersect(a, b);
+
+            assertArrayEquals(expected, Bitmap.of(a).and(Bitmap.of(b)).toArray(), "Density " + density);
+            assertEquals(expected.length, Bitmap.of(a).andCardinality(Bitmap.of(b)), "Density " + density);
+            assertArrayEquals(expected, Bitmap.of(b).and(Bitmap.of(a)).toArray(), "Density " + density);
+        }
+    }
+
+    @Test
+    void rangeContainsEveryOrdinalOfTheCatalog() {
+        assertArrayEquals(IntStream.range(0, 70_001).toArray(), Bitmap.range(70_001).toArray());
+        assertArrayEquals(new int[]{0, 1, 2}, Bitmap.range(3).toArray());
+        assertTrue(Bitmap.range(0).isEmpty());
+        assertEquals(0, Bitmap.EMPTY.and(Bitmap.range(10)).cardinality());
+    }
+}
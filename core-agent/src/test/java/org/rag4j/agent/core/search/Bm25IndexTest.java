@@ -0,0 +1,71 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25IndexTest {
+    private static final String[] TITLES = {
+            "Testing Spring Boot applications",
+            "Kubernetes for Java developers",
+            "Café culture and Java",
+            "Agents everywhere",
+    };
+    private static final String[] DESCRIPTIONS = {
+            "Write better tests with JUnit and Testcontainers.",
+            "Deploying to k8s made simple.",
+            "Nothing about testing at all.",
+            "Building agentic systems with Java.",
+    };
+
+    private final Bm25Index index = Bm25Index.build(TITLES.length, o -> TITLES[o], o -> DESCRIPTIONS[o],
+            TextAnalyzer.withDefaultSynonyms());
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        List<Bm25Index.Hit> hits = index.search("testing", 10);
+
+        assertEquals(List.of(0, 2), hits.stream().map(Bm25Index.Hit::ordinal).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void searchKeepsOnlyTheBestHits() {
+        List<Bm25Index.Hit> hits = index.search("java", 2);
+
+        assertEquals(2, hits.size());
+        assertFalse(hits.stream().anyMatch(hit -> hit.ordinal() == 3), "A title match should beat a description match");
+    }
+
+    @Test
+    void synonymsAccentsAndStemmingAreApplied() {
+        assertEquals(1, index.search("kubernetes", 1).getFirst().ordinal());
+        assertEquals(1, index.search("K8S", 1).getFirst().ordinal());
+        assertEquals(2, index.search("cafe", 1).getFirst().ordinal());
+        assertEquals(3, index.search("agent", 1).getFirst().ordinal());
+    }
+
+    @Test
+    void unknownTermsReturnNoHits() {
+        assertTrue(index.search("quarkus", 5).isEmpty());
+        assertTrue(index.search("the and of", 5).isEmpty());
+    }
+
+    @Test
+    void nonPositiveLimitIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("java", 0));
+    }
+
+    @Test
+    void analyzerWeighsSynonymsLowerThanQueryTerms() {
+        Map<String, Float> terms = TextAnalyzer.withDefaultSynonyms().analyzeQuery("development environments");
+
+        assertEquals(1.0f, terms.get("develop"));
+        assertEquals(1.0f, terms.get("environ"));
+        assertEquals(TextAnalyzer.SYNONYM_WEIGHT, terms.get("ide"));
+        assertEquals(TextAnalyzer.SYNONYM_WEIGHT, terms.get("intellij"));
+    }
+}
@@ -0,0 +1,67 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionIndexTest {
+
+    @Test
+    void completesWithTheMostPopularValuesFirst() {
+        String[][] speakers = {{"Simon Ritter"}, {"Simon Ritter", "Sébastien Blanc"}, {"Simone Bianchi"},
+                {"Sébastien Blanc"}, {"Simon Ritter"}};
+        CompletionIndex index = CompletionIndex.build(speakers.length, ordinal -> speakers[ordinal], true);
+
+        assertEquals(List.of(new CompletionIndex.Completion("Simon Ritter", 3),
+                new CompletionIndex.Completion("Simone Bianchi", 1)), index.complete("sim", 5));
+        assertEquals(List.of(new CompletionIndex.Completion("Simon Ritter", 3)), index.complete("SIM", 1));
+        assertEquals(List.of(new CompletionIndex.Completion("Sébastien Blanc", 2)), index.complete("sebas", 5));
+    }
+
+    @Test
+    void wordStartsCompleteLaterPartsOfAValueOnce() {
+        String[][] speakers = {{"Anna Annabel"}, {"Ben Blanc"}};
+        CompletionIndex withWordStarts = CompletionIndex.build(speakers.length, ordinal -> speakers[ordinal], true);
+        CompletionIndex withoutWordStarts = CompletionIndex.build(speakers.length, ordinal -> speakers[ordinal], false);
+
+        assertEquals(List.of("Anna Annabel"), values(withWordStarts.complete("ann", 5)));
+        assertEquals(List.of("Ben Blanc"), values(withWordStarts.complete("blan", 5)));
+        assertTrue(withoutWordStarts.complete("blan", 5).isEmpty());
+        assertTrue(withWordStarts.complete("x", 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> withWordStarts.complete("a", 0));
+    }
+
+    @Test
+    void topKMatchesSortingAllValuesWithThePrefix() {
+        Random random = new Random(17);
+        String[] titles = IntStream.range(0, 5_000)
+                .mapToObj(i -> "t" + (char) ('a' + random.nextInt(4)) + (char) ('a' + random.nextInt(4))
+                        + random.nextInt(60))
+                .toArray(String[]::new);
+        CompletionIndex index = CompletionIndex.build(titles.length, ordinal -> new String[]{titles[ordinal]}, false);
+        Map<String, Integer> counts = new HashMap<>();
+        for (String title : titles) {
+            counts.merge(title, 1, Integer::sum);
+        }
+
+        for (String prefix : List.of("", "t", "ta", "tbc", "tdd4", "tcb17")) {
+            List<String> expected = counts.keySet().stream()
+                    .filter(title -> title.startsWith(prefix))
+                    .sorted(Comparator.comparing((String title) -> -counts.get(title)).thenComparing(title -> title))
+                    .limit(10)
+                    .toList();
+            assertEquals(expected, values(index.complete(prefix, 10)), "Prefix '" + prefix + "'");
+        }
+    }
+
+    private static List<String> values(List<CompletionIndex.Completion> completions) {
+        return completions.stream().map(CompletionIndex.Completion::value).toList();
+    }
+}
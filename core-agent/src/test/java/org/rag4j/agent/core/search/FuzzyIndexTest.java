@@ -0,0 +1,65 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyIndexTest {
+
+    @Test
+    void searchMatchesEveryQueryTokenWithinTheEditDistance() {
+        String[][] speakers = {{"Sébastien Blanc"}, {"Jettro Coenradie", "Daniël Spee"}, {"Sebastian Daschner"}};
+        FuzzyIndex index = FuzzyIndex.build(speakers.length, ordinal -> speakers[ordinal]);
+
+        assertEquals(List.of(new FuzzyIndex.Match(0, 0)), index.search("sebastien blanc", 2));
+        assertEquals(List.of(new FuzzyIndex.Match(2, 1), new FuzzyIndex.Match(0, 2)), index.search("Sebastiaan", 2));
+        assertEquals(List.of(new FuzzyIndex.Match(1, 2)), index.search("jetro spe", 2));
+        assertTrue(index.search("jetro spe", 0).isEmpty());
+        assertTrue(index.search("", 2).isEmpty());
+    }
+
+    @Test
+    void shortTokensAllowFewerEdits() {
+        FuzzyIndex index = FuzzyIndex.build(2, ordinal -> new String[]{ordinal == 0 ? "al" : "ed jones"});
+
+        assertTrue(index.search("ab", 2).isEmpty());
+        assertEquals(List.of(new FuzzyIndex.Match(1, 1)), index.search("jonas", 2));
+    }
+
+    @Test
+    void treeFindsTheSameTermsAsComparingWithEveryTerm() {
+        Random random = new Random(3);
+        String[] names = IntStream.range(0, 2_000).mapToObj(i -> randomWord(random)).toArray(String[]::new);
+        FuzzyIndex index = FuzzyIndex.build(names.length, ordinal -> new String[]{names[ordinal]});
+
+        for (int q = 0; q < 50; q++) {
+            String query = randomWord(random);
+            int[] expected = IntStream.range(0, names.length)
+                    .filter(ordinal -> FuzzyIndex.distance(query, names[ordinal]) <= 2)
+                    .toArray();
+            int[] actual = index.search(query, 2).stream().mapToInt(FuzzyIndex.Match::ordinal).sorted().toArray();
+            assertArrayEquals(expected, actual, query);
+        }
+    }
+
+    @Test
+    void distanceCountsInsertionsDeletionsAndReplacements() {
+        assertEquals(0, FuzzyIndex.distance("blanc", "blanc"));
+        assertEquals(1, FuzzyIndex.distance("blanc", "blank"));
+        assertEquals(2, FuzzyIndex.distance("sebastien", "sebastiaan"));
+        assertEquals(3, FuzzyIndex.distance("kitten", "sitting"));
+        assertEquals(4, FuzzyIndex.distance("", "spee"));
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[6 + random.nextInt(3)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = "abcde".charAt(random.nextInt(5));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,99 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+    private static final int DIMENSION = 32;
+
+    @Test
+    void approximateSearchFindsMostOfTheExactNeighbours() {
+        float[] vectors = randomUnitVectors(5_000, 11);
+        VectorIndexRows rows = new VectorIndexRows(vectors);
+        HnswIndex graph = HnswIndex.builder(DIMENSION, 12, 80).add(vectors, rows.size).build();
+
+        Random random = new Random(5);
+        int found = 0;
+        int total = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = rows.row(random.nextInt(rows.size));
+            Set<Integer> exact = rows.exactTop(query, 10);
+            for (VectorIndex.Hit hit : graph.search(vectors, query, 10, 64)) {
+                found += exact.contains(hit.ordinal()) ? 1 : 0;
+            }
+            total += exact.size();
+        }
+        assertTrue(found >= total * 0.9, "Recall at 10 was " + (double) found / total);
+    }
+
+    @Test
+    void insertingLaterGivesTheSameGraphAsInsertingAtOnce() {
+        float[] vectors = randomUnitVectors(1_200, 13);
+        HnswIndex atOnce = HnswIndex.builder(DIMENSION, 8, 40).add(vectors, 1_200).build();
+        HnswIndex first = HnswIndex.builder(DIMENSION, 8, 40).add(vectors, 700).build();
+        HnswIndex extended = first.toBuilder().add(vectors, 1_200).build();
+
+        assertEquals(700, first.size());
+        assertEquals(1_200, extended.size());
+        float[] query = new VectorIndexRows(vectors).row(42);
+        assertEquals(atOnce.search(vectors, query, 10, 32), extended.search(vectors, query, 10, 32));
+        assertEquals(42, extended.search(vectors, query, 1, 32).getFirst().ordinal());
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> HnswIndex.builder(DIMENSION, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> HnswIndex.builder(DIMENSION, 16, 8));
+        assertTrue(HnswIndex.builder(DIMENSION, 4, 8).build().search(new float[0], new float[DIMENSION], 3, 8)
+                .isEmpty());
+    }
+
+    private static float[] randomUnitVectors(int count, long seed) {
+        Random random = new Random(seed);
+        float[] vectors = new float[count * DIMENSION];
+        for (int row = 0; row < count; row++) {
+            double sum = 0;
+            for (int i = 0; i < DIMENSION; i++) {
+                float value = (float) random.nextGaussian();
+                vectors[row * DIMENSION + i] = value;
+                sum += value * value;
+            }
+            for (int i = 0; i < DIMENSION; i++) {
+                vectors[row * DIMENSION + i] /= (float) Math.sqrt(sum);
+            }
+        }
+        return vectors;
+    }
+
+    private record VectorIndexRows(float[] vectors, int size) {
+        VectorIndexRows(float[] vectors) {
+            this(vectors, vectors.length / DIMENSION);
+        }
+
+        float[] row(int row) {
+            float[] vector = new float[DIMENSION];
+            System.arraycopy(vectors, row * DIMENSION, vector, 0, DIMENSION);
+            return vector;
+        }
+
+        Set<Integer> exactTop(float[] query, int k) {
+            float[] scores = new float[size];
+            VectorScorers.scalar().dotProducts(vectors, DIMENSION, 0, size, query, scores);
+            Set<Integer> top = new HashSet<>();
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                order.add(i);
+            }
+            order.sort((a, b) -> Float.compare(scores[b], scores[a]));
+            top.addAll(order.subList(0, k));
+            return top;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    @Test
+    void postingsReturnsSortedOrdinalsWithoutDuplicates() {
+        InvertedIndex index = InvertedIndex.builder()
+                .add("java", 0)
+                .add("java", 0)
+                .add("spring", 1)
+                .add("java", 2)
+                .build();
+
+        assertArrayEquals(new int[]{0, 2}, index.postings("java"));
+        assertArrayEquals(new int[]{1}, index.postings("spring"));
+        assertEquals(0, index.postings("kotlin").length);
+        assertEquals(2, index.termCount());
+    }
+
+    @Test
+    void postingsForTermsContainingUnionsAllMatchingTerms() {
+        InvertedIndex index = InvertedIndex.builder()
+                .add("java", 0)
+                .add("javascript", 1)
+                .add("lava", 3)
+                .add("java", 4)
+                .build();
+
+        assertArrayEquals(new int[]{0, 1, 3, 4}, index.postingsForTermsContaining("ava"));
+        assertArrayEquals(new int[]{1}, index.postingsForTermsContaining("script"));
+    }
+
+    @Test
+    void intersectAndUnionKeepPostingsSorted() {
+        assertArrayEquals(new int[]{2, 5}, PostingLists.intersect(new int[]{1, 2, 5, 9}, new int[]{2, 3, 5}));
+        assertArrayEquals(new int[]{1, 2, 3, 5}, PostingLists.union(List.of(new int[]{1, 5}, new int[]{2, 3, 5})));
+    }
+
+    @Test
+    void tokensAreMaximalRunsOfLettersAndDigits() {
+        assertEquals(List.of("spring", "ai", "1", "0", "daniël"),
+                Tokenizer.tokens(Tokenizer.normalize("Spring-AI 1.0 & Daniël")));
+    }
+}
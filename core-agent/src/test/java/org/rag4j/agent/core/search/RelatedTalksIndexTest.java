@@ -0,0 +1,61 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelatedTalksIndexTest {
+    private static final String[] TITLES = {"Building AI agents in Java", "Agents with Spring AI",
+            "Reactive streams in depth", "Virtual threads in practice", "Testing AI agents", "Kotlin coroutines"};
+    private static final String[] DESCRIPTIONS = {"Agents that call tools", "Agents that call tools with Spring",
+            "Backpressure and operators", "Loom and structured concurrency", "Evaluating tool calling agents",
+            "Structured concurrency on the JVM"};
+    private static final String[][] SPEAKERS = {{"Alice"}, {"Bob"}, {"Carol"}, {"Carol"}, {"Dave"}, {"Erin"}};
+    private static final String[] TRACKS = {"GenAI", "GenAI", "Java", "Java", "GenAI", "Kotlin"};
+
+    @Test
+    void keepsTheMostRelatedTalksPerTalk() {
+        RelatedTalksIndex index = build(3);
+
+        assertEquals(3, index.k());
+        int[] agents = index.neighbours(0, 3);
+        assertEquals(3, agents.length);
+        assertTrue(Arrays.stream(agents).noneMatch(ordinal -> ordinal == 0), "A talk is not related to itself");
+        assertEquals(Set.of(1, 4), Set.of(agents[0], agents[1]), "The other talks about agents come first");
+        assertEquals(1, index.neighbours(0, 1).length);
+        assertEquals(3, index.neighbours(0, 10).length, "At most k neighbours are kept");
+    }
+
+    @Test
+    void sharedSpeakersMakeTalksMoreRelated() {
+        RelatedTalksIndex index = build(5);
+
+        assertEquals(3, index.neighbours(2, 1)[0], "Talks by the same speaker rank first");
+        assertEquals(2, index.neighbours(3, 1)[0]);
+    }
+
+    @Test
+    void returnsNullWhenTheBuildIsCancelled() {
+        VectorIndex vectors = VectorIndex.build(TITLES.length, ordinal -> TITLES[ordinal],
+                ordinal -> DESCRIPTIONS[ordinal], HashedEmbedding.withDefaults());
+
+        assertNull(RelatedTalksIndex.build(3, vectors,
+                TopValuesIndex.build(SPEAKERS.length, ordinal -> SPEAKERS[ordinal]),
+                FacetIndex.build(TRACKS.length, ordinal -> TRACKS[ordinal]), () -> true));
+    }
+
+    @Test
+    void rejectsANonPositiveK() {
+        assertThrows(IllegalArgumentException.class, () -> build(0));
+    }
+
+    private static RelatedTalksIndex build(int k) {
+        VectorIndex vectors = VectorIndex.build(TITLES.length, ordinal -> TITLES[ordinal],
+                ordinal -> DESCRIPTIONS[ordinal], HashedEmbedding.withDefaults());
+        return RelatedTalksIndex.build(k, vectors, TopValuesIndex.build(SPEAKERS.length, ordinal -> SPEAKERS[ordinal]),
+                FacetIndex.build(TRACKS.length, ordinal -> TRACKS[ordinal]));
+    }
+}
@@ -0,0 +1,33 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermDictionaryTest {
+    private final TermDictionary dictionary = TermDictionary.of(new String[]{"agent", "agents", "java", "javascript", "jvm"});
+
+    @Test
+    void indexOfFollowsTheBinarySearchContract() {
+        assertEquals(5, dictionary.size());
+        assertEquals(2, dictionary.indexOf("java"));
+        assertEquals("javascript", dictionary.term(3));
+        assertEquals(-1, dictionary.indexOf("a"));
+        assertEquals(-3, dictionary.indexOf("ai"));
+        assertEquals(-6, dictionary.indexOf("kotlin"));
+    }
+
+    @Test
+    void prefixRangeCoversAllTermsWithThePrefix() {
+        assertEquals(2, dictionary.prefixStart("jav"));
+        assertEquals(4, dictionary.prefixEnd("jav"));
+        assertEquals(dictionary.prefixStart("scala"), dictionary.prefixEnd("scala"));
+    }
+
+    @Test
+    void termContainsMatchesFragmentsAnywhereInTheTerm() {
+        assertTrue(dictionary.termContains(3, "script"));
+        assertTrue(dictionary.termContains(1, "gent"));
+        assertFalse(dictionary.termContains(2, "javas"));
+    }
+}
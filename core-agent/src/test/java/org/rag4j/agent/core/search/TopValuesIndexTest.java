@@ -0,0 +1,60 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopValuesIndexTest {
+
+    @Test
+    void ranksValuesByTheirNumberOfTalks() {
+        String[][] speakers = {{"Simon Ritter"}, {"Simon Ritter", "Sébastien Blanc"}, {"Ana Lopez"},
+                {"sébastien blanc"}, {"Simon Ritter", "simon ritter"}, {}};
+        TopValuesIndex index = TopValuesIndex.build(speakers.length, ordinal -> speakers[ordinal]);
+
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("Simon Ritter", 3);
+        expected.put("Sébastien Blanc", 2);
+        expected.put("Ana Lopez", 1);
+        assertEquals(expected, index.top(5));
+        assertEquals(3, index.size());
+        assertEquals(Map.of("Simon Ritter", 3), index.top(1));
+        assertEquals(expected, index.top(IntStream.range(0, speakers.length).toArray(), 5));
+
+        Map<String, Integer> withinMatches = new LinkedHashMap<>();
+        withinMatches.put("Ana Lopez", 1);
+        withinMatches.put("Sébastien Blanc", 1);
+        assertEquals(withinMatches, index.top(new int[]{2, 3, 5}, 5), "Ties are in alphabetical order");
+        assertTrue(index.top(new int[0], 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.top(0));
+    }
+
+    @Test
+    void topWithinMatchesEqualsCountingTheMatches() {
+        Random random = new Random(11);
+        String[][] speakers = IntStream.range(0, 2_000)
+                .mapToObj(i -> IntStream.range(0, 1 + random.nextInt(3))
+                        .mapToObj(j -> "Speaker " + random.nextInt(300))
+                        .toArray(String[]::new))
+                .toArray(String[][]::new);
+        TopValuesIndex index = TopValuesIndex.build(speakers.length, ordinal -> speakers[ordinal]);
+        int[] matches = IntStream.range(0, speakers.length).filter(i -> i % 3 == 0).toArray();
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int ordinal : matches) {
+            Arrays.stream(speakers[ordinal]).distinct().forEach(name -> counts.merge(name, 1, Integer::sum));
+        }
+        Map<String, Integer> top = index.top(matches, 10);
+        assertEquals(10, top.size());
+        int lowest = top.values().stream().mapToInt(Integer::intValue).min().orElseThrow();
+        top.forEach((name, count) -> assertEquals(counts.get(name), count, name));
+        assertTrue(counts.values().stream().filter(count -> count > lowest).count() <= 10);
+    }
+}
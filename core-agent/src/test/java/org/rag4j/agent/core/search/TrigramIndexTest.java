@@ -0,0 +1,45 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    void candidatesContainTalksWithFragmentInsideAWord() {
+        String[] titles = {"30 years of java", "javascript for the jvm", "kotlin coroutines", "lava lamps"};
+        TrigramIndex index = TrigramIndex.build(titles.length, ordinal -> new String[]{titles[ordinal]});
+
+        assertArrayEquals(new int[]{0, 1, 3}, index.candidates("ava"));
+        assertArrayEquals(new int[]{0, 1}, index.candidates("java"));
+        assertArrayEquals(new int[]{2}, index.candidates("oroutine"));
+        assertEquals(0, index.candidates("scala").length);
+    }
+
+    @Test
+    void candidatesCoverEveryValueOfATalk() {
+        String[][] speakers = {{"jettro coenradie", "daniël spee"}, {"sébastien blanc"}};
+        TrigramIndex index = TrigramIndex.build(speakers.length, ordinal -> speakers[ordinal]);
+
+        assertArrayEquals(new int[]{0}, index.candidates("spee"));
+        assertArrayEquals(new int[]{1}, index.candidates("bastien"));
+    }
+
+    @Test
+    void parallelBuildKeepsPostingsSortedAcrossChunks() {
+        int size = 10_000;
+        TrigramIndex index = TrigramIndex.build(size, ordinal -> new String[]{ordinal % 7 == 0 ? "virtual threads" : "records"});
+
+        int[] expected = IntStream.range(0, size).filter(ordinal -> ordinal % 7 == 0).toArray();
+        assertArrayEquals(expected, index.candidates("thread"));
+    }
+
+    @Test
+    void candidatesRejectShortQueries() {
+        TrigramIndex index = TrigramIndex.build(1, ordinal -> new String[]{"java"});
+        assertThrows(IllegalArgumentException.class, () -> index.candidates("ja"));
+    }
+}
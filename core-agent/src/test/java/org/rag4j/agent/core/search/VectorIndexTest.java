@@ -0,0 +1,76 @@
+package org.rag4j.agent.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VectorIndexTest {
+    private static final String[] TITLES = {
+            "Building agentic systems with Spring AI",
+            "Virtual threads in practice",
+            "Testing your microservices with Testcontainers",
+            "Large language models on the JVM",
+            "Pattern matching for records"};
+
+    @Test
+    void simdAndScalarScorersAgree() {
+        assumeSimd();
+        Random random = new Random(3);
+        int dimension = 100; // Not a multiple of the lane count, to cover the tail loop.
+        float[] matrix = new float[50 * dimension];
+        float[] query = new float[dimension];
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i] = random.nextFloat() - 0.5f;
+        }
+        for (int i = 0; i < dimension; i++) {
+            query[i] = random.nextFloat() - 0.5f;
+        }
+        float[] scalar = new float[40];
+        float[] simd = new float[40];
+        VectorScorers.scalar().dotProducts(matrix, dimension, 10, 50, query, scalar);
+        VectorScorers.simd().dotProducts(matrix, dimension, 10, 50, query, simd);
+
+        assertArrayEquals(scalar, simd, 1e-4f);
+    }
+
+    @Test
+    void searchReturnsTheSameTopKAsSortingAllScores() {
+        HashedEmbedding embedding = HashedEmbedding.withDefaults();
+        int size = 3000;
+        VectorIndex index = VectorIndex.build(size, ordinal -> TITLES[ordinal % TITLES.length] + " " + ordinal,
+                ordinal -> "part " + (ordinal % 7), embedding);
+        float[] query = embedding.embedQuery("testing records");
+
+        List<VectorIndex.Hit> all = index.search(query, size, VectorScorers.scalar());
+        List<VectorIndex.Hit> expected = all.stream()
+                .sorted(Comparator.comparingDouble(VectorIndex.Hit::score).reversed()
+                        .thenComparingInt(VectorIndex.Hit::ordinal))
+                .limit(10)
+                .toList();
+
+        assertEquals(expected, index.search(query, 10, VectorScorers.scalar()));
+        assertEquals(expected.stream().map(VectorIndex.Hit::ordinal).toList(),
+                index.search(query, 10, VectorScorers.preferred()).stream().map(VectorIndex.Hit::ordinal).toList());
+    }
+
+    @Test
+    void relatedWordFormsAndSynonymsScoreCloseToTheTalk() {
+        VectorIndex index = VectorIndex.build(TITLES.length, ordinal -> TITLES[ordinal], ordinal -> "",
+                HashedEmbedding.withDefaults());
+
+        assertEquals(0, index.search("agent frameworks", 1).getFirst().ordinal());
+        assertEquals(3, index.search("LLM", 1).getFirst().ordinal());
+        assertEquals(2, index.search("how to test a microservice", 1).getFirst().ordinal());
+        assertTrue(index.search("the", 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.search("agents", 0));
+    }
+
+    private static void assumeSimd() {
+        assumeTrue(VectorScorers.simdAvailable(), "Vector API not available");
+    }
+}
@@ -7,11 +7,15 @@ import com.embabel.agent.config.annotation.McpServers;
 import com.embabel.agent.core.AgentPlatform;
 import org.rag4j.agent.core.Agent;
 import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkQueryCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 
+import java.io.IOException;
+
 @Configuration
 @Profile("embabel")
 @EnableAgents(mcpServers = McpServers.DOCKER)
@@ -29,7 +33,16 @@ public class EmbabelAgentConfig {
     }
 
     @Bean
-    public ConferenceTalksRepository getConferenceTalksRepository() {
-        return new ConferenceTalksRepository();
+    public TalkQueryCache talkQueryCache(
+            @Value("${agent.talks.cache-size:" + TalkQueryCache.DEFAULT_MAXIMUM_TALKS + "}") long maximumTalks) {
+        return new TalkQueryCache(maximumTalks);
+    }
+
+    @Bean
+    public ConferenceTalksRepository getConferenceTalksRepository(
+            @Value("${agent.talks.file:}") String catalogFile,
+            @Value("${agent.talks.snapshot:}") String snapshot,
+            TalkQueryCache talkQueryCache) throws IOException {
+        return ConferenceTalksRepository.forAgents(catalogFile, snapshot, talkQueryCache);
     }
 }
@@ -1,9 +1,10 @@
 package org.rag4j.agent.mcp;
 
-import org.rag4j.agent.mcp.model.FavouriteTalk;
+import org.rag4j.agent.core.favourites.FavouriteTalk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -27,11 +28,36 @@ public class FavouritesService {
     public String addFavourite(String userId, FavouriteTalk favouriteTalk) {
         logger.info("Adding favourite talk: {} for user: {}", favouriteTalk, userId);
 
+        try {
+            return addFavouriteForWeb(userId, favouriteTalk);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Not adding favourite talk: {}", e.getMessage());
+            return e.getMessage() + ", use the exact title of a conference talk.";
+        }
+    }
+
+    /**
+     * Web-only method to add a favourite, which leaves a talk that is not in the catalog to the caller
+     * This is NOT exposed as an MCP tool
+     *
+     * @throws IllegalArgumentException when the talk is not in the catalog
+     */
+    public String addFavouriteForWeb(String userId, FavouriteTalk favouriteTalk) {
         favouritesRepository.addFavourite(userId, favouriteTalk);
 
         return "Favourite talk '" + favouriteTalk.title() + "' by " + String.join(", ", favouriteTalk.speakers()) + " added for user " + userId;
     }
 
+    @Tool(
+            name = "favourites-by-track",
+            description = "Count the favourite talks per track, for one user or for all users when no user is given."
+    )
+    public Map<String, Integer> countFavouritesByTrack(@ToolParam(required = false) String userId) {
+        logger.info("Counting favourites by track for user: {}", userId);
+
+        return favouritesRepository.countFavouritesByTrack(userId == null || userId.isBlank() ? null : userId);
+    }
+
     @Tool(
             name = "list-favourites",
             description = "List all favourite talks for a user, with optional filtering by speaker name."
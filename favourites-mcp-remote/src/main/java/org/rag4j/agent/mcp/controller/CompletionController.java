@@ -0,0 +1,52 @@
+package org.rag4j.agent.mcp.controller;
+
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * JSON endpoints that complete partly typed talk titles and speaker names, used by the add favourite form while the
+ * user types. The completions come from the prefix index of the talk catalog, so a request does not scan the talks.
+ */
+@RestController
+@RequestMapping("/api/completions")
+public class CompletionController {
+    static final int MAX_LIMIT = 50;
+
+    private final ConferenceTalksRepository conferenceTalksRepository;
+
+    public CompletionController(ConferenceTalksRepository conferenceTalksRepository) {
+        this.conferenceTalksRepository = conferenceTalksRepository;
+    }
+
+    @GetMapping("/titles")
+    public List<String> completeTitle(@RequestParam(required = false) String prefix,
+                                      @RequestParam(defaultValue = "10") int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return conferenceTalksRepository.completeTitle(prefix, clamp(limit));
+    }
+
+    @GetMapping("/speakers")
+    public List<String> completeSpeaker(@RequestParam(required = false) String prefix,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        // Only the last name of a comma-separated list is being typed
+        String lastName = prefix.substring(prefix.lastIndexOf(',') + 1).strip();
+        if (lastName.isEmpty()) {
+            return List.of();
+        }
+        return conferenceTalksRepository.completeSpeaker(lastName, clamp(limit));
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
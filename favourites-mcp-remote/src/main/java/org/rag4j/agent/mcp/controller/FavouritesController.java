@@ -1,7 +1,7 @@
 package org.rag4j.agent.mcp.controller;
 
 import org.rag4j.agent.mcp.FavouritesService;
-import org.rag4j.agent.mcp.model.FavouriteTalk;
+import org.rag4j.agent.core.favourites.FavouriteTalk;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -57,7 +57,7 @@ public class FavouritesController {
             }
             
             FavouriteTalk favouriteTalk = new FavouriteTalk(form.getTitle(), speakers);
-            String result = favouritesService.addFavourite(userId, favouriteTalk);
+            String result = favouritesService.addFavouriteForWeb(userId, favouriteTalk);
             redirectAttributes.addFlashAttribute("successMessage", result);
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Error adding favourite: " + e.getMessage());
@@ -1,11 +1,13 @@
 package org.rag4j.agent.mcp;
 
 import org.junit.jupiter.api.Test;
-import org.rag4j.agent.mcp.model.FavouriteTalk;
+import org.rag4j.agent.core.favourites.FavouriteTalk;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -21,6 +23,35 @@ public class FavouritesServiceTest {
         assertTrue(result.contains("Favourite talk 'Title' by Speaker added for user userA"));
     }
 
+    @Test
+    void addFavouriteReturnsMessageForTalkNotInCatalog() {
+        FavouritesRepository repo = mock(FavouritesRepository.class);
+        FavouritesService service = new FavouritesService(repo);
+        FavouriteTalk talk = new FavouriteTalk("Unknown", new String[]{"Speaker"});
+        doThrow(new IllegalArgumentException("No talk with the title 'Unknown' in the catalog"))
+                .when(repo).addFavourite("userA", talk);
+        String result = service.addFavourite("userA", talk);
+        assertTrue(result.startsWith("No talk with the title 'Unknown' in the catalog"));
+    }
+
+    @Test
+    void addFavouriteForWebThrowsForTalkNotInCatalog() {
+        FavouritesRepository repo = mock(FavouritesRepository.class);
+        FavouritesService service = new FavouritesService(repo);
+        FavouriteTalk talk = new FavouriteTalk("Unknown", new String[]{"Speaker"});
+        doThrow(new IllegalArgumentException("No talk with the title 'Unknown' in the catalog"))
+                .when(repo).addFavourite("userA", talk);
+        assertThrows(IllegalArgumentException.class, () -> service.addFavouriteForWeb("userA", talk));
+    }
+
+    @Test
+    void countFavouritesByTrackCountsAllUsersWithoutUserId() {
+        FavouritesRepository repo = mock(FavouritesRepository.class);
+        FavouritesService service = new FavouritesService(repo);
+        when(repo.countFavouritesByTrack(null)).thenReturn(Map.of("Java", 3));
+        assertEquals(Map.of("Java", 3), service.countFavouritesByTrack(" "));
+    }
+
     @Test
     void listFavouritesReturnsAllForUser() {
         FavouritesRepository repo = mock(FavouritesRepository.class);
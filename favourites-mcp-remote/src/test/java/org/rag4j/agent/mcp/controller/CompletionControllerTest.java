@@ -0,0 +1,70 @@
+package org.rag4j.agent.mcp.controller;
+
+import org.junit.jupiter.api.Test;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.mcp.FavouritesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CompletionController.class)
+class CompletionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConferenceTalksRepository conferenceTalksRepository;
+
+    // Needed by the tool callback bean of the application
+    @MockBean
+    private FavouritesService favouritesService;
+
+    @Test
+    void testCompleteTitle() throws Exception {
+        when(conferenceTalksRepository.completeTitle("java", 10))
+                .thenReturn(List.of("Java for AI", "Java Memory Leaks"));
+
+        mockMvc.perform(get("/api/completions/titles").param("prefix", "java"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$[0]").value("Java for AI"))
+                .andExpect(jsonPath("$[1]").value("Java Memory Leaks"));
+    }
+
+    @Test
+    void testCompleteSpeakerUsesTheLastNameOfTheList() throws Exception {
+        when(conferenceTalksRepository.completeSpeaker("seb", CompletionController.MAX_LIMIT))
+                .thenReturn(List.of("Sébastien Blanc"));
+
+        mockMvc.perform(get("/api/completions/speakers")
+                        .param("prefix", "Simon Ritter, seb")
+                        .param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("Sébastien Blanc"));
+    }
+
+    @Test
+    void testBlankPrefixReturnsNoCompletions() throws Exception {
+        mockMvc.perform(get("/api/completions/speakers").param("prefix", "Simon Ritter, "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+        mockMvc.perform(get("/api/completions/titles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(conferenceTalksRepository, never()).completeTitle(anyString(), anyInt());
+        verify(conferenceTalksRepository, never()).completeSpeaker(anyString(), anyInt());
+    }
+}
@@ -2,7 +2,7 @@ package org.rag4j.agent.mcp.controller;
 
 import org.junit.jupiter.api.Test;
 import org.rag4j.agent.mcp.FavouritesService;
-import org.rag4j.agent.mcp.model.FavouriteTalk;
+import org.rag4j.agent.core.favourites.FavouriteTalk;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -73,7 +73,7 @@ class FavouritesControllerTest {
     @Test
     void testAddFavourite() throws Exception {
         // Arrange
-        when(favouritesService.addFavourite(eq("testuser"), any(FavouriteTalk.class)))
+        when(favouritesService.addFavouriteForWeb(eq("testuser"), any(FavouriteTalk.class)))
                 .thenReturn("Favourite talk 'Test Talk' by John Doe added for user testuser");
 
         // Act & Assert
@@ -88,7 +88,7 @@ class FavouritesControllerTest {
     @Test
     void testAddFavouriteWithEmptyUserId() throws Exception {
         // Arrange
-        when(favouritesService.addFavourite(eq("user"), any(FavouriteTalk.class)))
+        when(favouritesService.addFavouriteForWeb(eq("user"), any(FavouriteTalk.class)))
                 .thenReturn("Favourite talk 'Test Talk' by John Doe added for user user");
 
         // Act & Assert - empty userId should default to "user"
@@ -100,6 +100,24 @@ class FavouritesControllerTest {
                 .andExpect(redirectedUrl("/favourites?userId=user"));
     }
 
+    @Test
+    void testAddFavouriteNotInCatalogShowsError() throws Exception {
+        // Arrange
+        when(favouritesService.addFavouriteForWeb(eq("testuser"), any(FavouriteTalk.class)))
+                .thenThrow(new IllegalArgumentException("No talk with the title 'Unknown' in the catalog"));
+
+        // Act & Assert
+        mockMvc.perform(post("/favourites/add")
+                        .param("userId", "testuser")
+                        .param("title", "Unknown")
+                        .param("speakers", "John Doe"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/favourites?userId=testuser"))
+                .andExpect(flash().attribute("errorMessage",
+                        "Error adding favourite: No talk with the title 'Unknown' in the catalog"))
+                .andExpect(flash().attributeCount(1));
+    }
+
     @Test
     void testFavouritesPageShowAllUsers() throws Exception {
         // Arrange
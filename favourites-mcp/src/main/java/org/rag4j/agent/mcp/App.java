@@ -1,5 +1,6 @@
 package org.rag4j.agent.mcp;
 
+import org.rag4j.agent.core.ConferenceTalksRepository;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.boot.SpringApplication;
@@ -16,4 +17,9 @@ public class App {
     public ToolCallbackProvider locationTools(FavouritesService favouritesService) {
         return MethodToolCallbackProvider.builder().toolObjects(favouritesService).build();
     }
+
+    @Bean
+    public ConferenceTalksRepository conferenceTalksRepository() {
+        return new ConferenceTalksRepository();
+    }
 }
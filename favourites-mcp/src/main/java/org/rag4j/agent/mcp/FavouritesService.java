@@ -1,12 +1,14 @@
 package org.rag4j.agent.mcp;
 
-import org.rag4j.agent.mcp.model.FavouriteTalk;
+import org.rag4j.agent.core.favourites.FavouriteTalk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class FavouritesService {
@@ -25,11 +27,26 @@ public class FavouritesService {
     public String addFavourite(String userId, FavouriteTalk favouriteTalk) {
         logger.info("Adding favourite talk: {} for user: {}", favouriteTalk, userId);
 
-        favouritesRepository.addFavourite(userId, favouriteTalk);
+        try {
+            favouritesRepository.addFavourite(userId, favouriteTalk);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Not adding favourite talk: {}", e.getMessage());
+            return e.getMessage() + ", use the exact title of a conference talk.";
+        }
 
         return "Favourite talk '" + favouriteTalk.title() + "' by " + String.join(", ", favouriteTalk.speakers()) + " added for user " + userId;
     }
 
+    @Tool(
+            name = "favourites-by-track",
+            description = "Count the favourite talks per track, for one user or for all users when no user is given."
+    )
+    public Map<String, Integer> countFavouritesByTrack(@ToolParam(required = false) String userId) {
+        logger.info("Counting favourites by track for user: {}", userId);
+
+        return favouritesRepository.countFavouritesByTrack(userId == null || userId.isBlank() ? null : userId);
+    }
+
     @Tool(
             name = "list-favourites",
             description = "List all favourite talks for a user, with optional filtering by speaker name."
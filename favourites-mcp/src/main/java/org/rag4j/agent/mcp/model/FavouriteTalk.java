@@ -1,4 +0,0 @@
-package org.rag4j.agent.mcp.model;
-
-public record FavouriteTalk(String title, String[] speakers) {
-}
@@ -1,8 +1,10 @@
 package org.rag4j.agent.mcp;
 
 import org.junit.jupiter.api.*;
-import org.rag4j.agent.mcp.model.FavouriteTalk;
-import org.rag4j.agent.mcp.model.FavouriteRepositoryException;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+import org.rag4j.agent.core.favourites.FavouriteTalk;
 
 import java.io.File;
 import java.util.List;
@@ -15,13 +17,17 @@ class FavouritesRepositoryTest {
     private static final File DATA_FILE = new File("data/favourites.json");
     private final FavouriteTalk TALK1 = new FavouriteTalk("Talk 1", new String[]{"Talk 1"});
     private final FavouriteTalk TALK2 = new FavouriteTalk("id2", new String[]{"Talk 2"});
+    private final ConferenceTalksRepository catalog = new ConferenceTalksRepository(List.of(
+            new ConferenceTalk("Talk 1", "First talk", "Java", "BEGINNER", List.of(new Speaker("Talk 1"))),
+            new ConferenceTalk("id2", "Second talk", "GenAI & Beyond", "BEGINNER", List.of(new Speaker("Talk 2"))),
+            new ConferenceTalk("Talk 3", "Third talk", "Java", "ADVANCED", List.of(new Speaker("Alice")))));
 
     @BeforeEach
     void setUp() {
         if (DATA_FILE.exists()) {
             DATA_FILE.delete();
         }
-        repository = new FavouritesRepository();
+        repository = new FavouritesRepository(catalog);
     }
 
     @AfterEach
@@ -0,0 +1,89 @@
+package org.rag4j.agent;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * What happened during one invocation of the {@link PlainJavaAgent}: the reasoning steps with where their time went
+ * and how many tokens they used, and why the agent stopped.
+ *
+ * @param steps        the reasoning steps, in order
+ * @param elapsed      the wall-clock time of the invocation
+ * @param inputTokens  the prompt tokens of all steps
+ * @param outputTokens the response tokens of all steps
+ * @param outcome      why the agent stopped
+ */
+public record ExecutionTrace(List<Step> steps, Duration elapsed, long inputTokens, long outputTokens,
+                             Outcome outcome) {
+
+    public enum Outcome {
+        /**
+         * The model answered the question.
+         */
+        ANSWER,
+        /**
+         * The model responded with neither an answer nor an action.
+         */
+        NO_ANSWER,
+        /**
+         * The maximum number of reasoning steps was reached.
+         */
+        STEP_BUDGET,
+        /**
+         * The maximum duration was reached.
+         */
+        TIME_BUDGET,
+        /**
+         * The maximum number of tokens was reached.
+         */
+        TOKEN_BUDGET
+    }
+
+    /**
+     * One reasoning step. The actions start as soon as the model has written them and run concurrently, so with a
+     * streaming reasoning their time overlaps the LLM call; {@code waiting} is the part of it the step spent waiting
+     * after the LLM call.
+     *
+     * @param number       the number of the step, starting at 1
+     * @param actions      the names of the actions of the step, empty when the step has none
+     * @param llm          the time of the LLM call, without parsing
+     * @param parsing      the time spent parsing the response
+     * @param actionTime   the time the slowest action took, zero when the step has no actions
+     * @param waiting      the time spent waiting for the actions after the LLM call
+     * @param inputTokens  the prompt tokens of the step
+     * @param outputTokens the response tokens of the step
+     */
+    public record Step(int number, List<String> actions, Duration llm, Duration parsing, Duration actionTime,
+                       Duration waiting, long inputTokens, long outputTokens) {
+
+        /**
+         * Returns the wall-clock time of the step.
+         */
+        public Duration total() {
+            return llm.plus(parsing).plus(waiting);
+        }
+    }
+
+    public long totalTokens() {
+        return inputTokens + outputTokens;
+    }
+
+    /**
+     * Returns a one-line summary for the logs, with the time of every step in milliseconds.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder()
+                .append(outcome).append(" after ").append(steps.size()).append(" steps in ")
+                .append(elapsed.toMillis()).append(" ms, ").append(totalTokens()).append(" tokens");
+        for (Step step : steps) {
+            summary.append(" | ").append(step.number()).append(": llm ").append(step.llm().toMillis())
+                    .append(" ms, parsing ").append(step.parsing().toNanos() / 1000).append(" us");
+            if (!step.actions().isEmpty()) {
+                summary.append(", ").append(String.join(" + ", step.actions())).append(' ')
+                        .append(step.actionTime().toMillis())
+                        .append(" ms, waiting ").append(step.waiting().toMillis()).append(" ms");
+            }
+        }
+        return summary.toString();
+    }
+}
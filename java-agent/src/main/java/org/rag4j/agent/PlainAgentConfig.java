@@ -25,9 +25,10 @@ public class PlainAgentConfig {
                 "Conference Talks Agent",
                 "You are an AI agent that answers questions about conference talks.",
                 toolRegistry);
-        OpenAIReasoning openAIReasoning = new OpenAIReasoning(openAIClient, systemPrompt);
+        OpenAIReasoning openAIReasoning = new OpenAIReasoning(openAIClient, systemPrompt,
+                agentConfigProperties.isStreaming());
 
-        return new PlainJavaAgent(openAIReasoning, agentConfigProperties.getMaxReasoningSteps(), toolRegistry);
+        return new PlainJavaAgent(openAIReasoning, agentConfigProperties.toBudget(), toolRegistry);
     }
 
 
@@ -3,26 +3,45 @@ package org.rag4j.agent;
 import com.openai.client.OpenAIClient;
 import com.openai.client.okhttp.OpenAIOkHttpClient;
 import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkQueryCache;
+import org.rag4j.agent.tools.TalkRenderer;
 import org.rag4j.agent.tools.Tool;
 import org.rag4j.agent.tools.ToolRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.io.IOException;
 import java.util.List;
 
 @Configuration
-@EnableConfigurationProperties({PlainAgentOpenAIProperties.class, PlainAgentReasoningConfigProperties.class, PlainAgentMemoryConfigProperties.class})
+@EnableConfigurationProperties({PlainAgentOpenAIProperties.class, PlainAgentReasoningConfigProperties.class, PlainAgentMemoryConfigProperties.class, PlainAgentToolsConfigProperties.class})
 @Profile({"plain","plain-multi"})
 public class PlainAgentConfigCommon {
     @Bean
-    public ConferenceTalksRepository conferenceTalksRepository() {
-        return new ConferenceTalksRepository();
+    public TalkQueryCache talkQueryCache(
+            @Value("${agent.talks.cache-size:" + TalkQueryCache.DEFAULT_MAXIMUM_TALKS + "}") long maximumTalks) {
+        return new TalkQueryCache(maximumTalks);
+    }
+
+    @Bean
+    public ConferenceTalksRepository conferenceTalksRepository(
+            @Value("${agent.talks.file:}") String catalogFile,
+            @Value("${agent.talks.snapshot:}") String snapshot,
+            TalkQueryCache talkQueryCache) throws IOException {
+        return ConferenceTalksRepository.forAgents(catalogFile, snapshot, talkQueryCache);
+    }
+
+    @Bean
+    public TalkRenderer talkRenderer(ConferenceTalksRepository conferenceTalksRepository,
+                                     PlainAgentToolsConfigProperties props) {
+        return new TalkRenderer(conferenceTalksRepository, props.toOptions());
     }
 
     @Bean(name = "toolRegistry")
-    public ToolRegistry toolRegistry(ConferenceTalksRepository conferenceTalksRepository) {
+    public ToolRegistry toolRegistry(ConferenceTalksRepository conferenceTalksRepository, TalkRenderer talkRenderer) {
         List<Tool> tools = List.of();
 
         return new ToolRegistry(tools);
@@ -2,9 +2,16 @@ package org.rag4j.agent;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "agent.plain.reasoning")
 public class PlainAgentReasoningConfigProperties {
     private int maxReasoningSteps = 5;
+    private Duration maxDuration = Duration.ofSeconds(60);
+    private long maxTokens = 0;
+    private Duration actionTimeout = Duration.ofSeconds(20);
+    private boolean streaming = true;
+    private final Orchestrator orchestrator = new Orchestrator();
 
     public int getMaxReasoningSteps() {
         return maxReasoningSteps;
@@ -13,4 +20,92 @@ public class PlainAgentReasoningConfigProperties {
     public void setMaxReasoningSteps(int maxReasoningSteps) {
         this.maxReasoningSteps = maxReasoningSteps;
     }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public long getMaxTokens() {
+        return maxTokens;
+    }
+
+    public void setMaxTokens(long maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    public Duration getActionTimeout() {
+        return actionTimeout;
+    }
+
+    public void setActionTimeout(Duration actionTimeout) {
+        this.actionTimeout = actionTimeout;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public Orchestrator getOrchestrator() {
+        return orchestrator;
+    }
+
+    public ReActBudget toBudget() {
+        return new ReActBudget(maxReasoningSteps, maxDuration, maxTokens, actionTimeout);
+    }
+
+    /**
+     * The budget of the multi-agent orchestrator, set with {@code agent.plain.reasoning.orchestrator.*}. Its actions
+     * run whole sub-agent loops, each with the single-agent budget above, so it gets more time and no action timeout
+     * by default.
+     */
+    public static class Orchestrator {
+        private int maxReasoningSteps = 5;
+        private Duration maxDuration = Duration.ofMinutes(5);
+        private long maxTokens = 0;
+        private Duration actionTimeout = Duration.ZERO;
+
+        public int getMaxReasoningSteps() {
+            return maxReasoningSteps;
+        }
+
+        public void setMaxReasoningSteps(int maxReasoningSteps) {
+            this.maxReasoningSteps = maxReasoningSteps;
+        }
+
+        public Duration getMaxDuration() {
+            return maxDuration;
+        }
+
+        public void setMaxDuration(Duration maxDuration) {
+            this.maxDuration = maxDuration;
+        }
+
+        public long getMaxTokens() {
+            return maxTokens;
+        }
+
+        public void setMaxTokens(long maxTokens) {
+            this.maxTokens = maxTokens;
+        }
+
+        public Duration getActionTimeout() {
+            return actionTimeout;
+        }
+
+        public void setActionTimeout(Duration actionTimeout) {
+            this.actionTimeout = actionTimeout;
+        }
+
+        public ReActBudget toBudget() {
+            return new ReActBudget(maxReasoningSteps, maxDuration, maxTokens, actionTimeout);
+        }
+    }
 }
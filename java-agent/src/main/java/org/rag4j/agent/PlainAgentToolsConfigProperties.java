@@ -0,0 +1,52 @@
+package org.rag4j.agent;
+
+import org.rag4j.agent.tools.TalkRenderer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "agent.plain.tools")
+public class PlainAgentToolsConfigProperties {
+    private List<TalkRenderer.Field> fields = new ArrayList<>(List.of(TalkRenderer.Field.values()));
+    private int maxResults = 10;
+    private int maxFieldLength = 160;
+    private int tokenBudget = 800;
+
+    public List<TalkRenderer.Field> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<TalkRenderer.Field> fields) {
+        this.fields = fields;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public int getMaxFieldLength() {
+        return maxFieldLength;
+    }
+
+    public void setMaxFieldLength(int maxFieldLength) {
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+
+    public void setTokenBudget(int tokenBudget) {
+        this.tokenBudget = tokenBudget;
+    }
+
+    public TalkRenderer.Options toOptions() {
+        return new TalkRenderer.Options(Set.copyOf(fields), maxResults, maxFieldLength, tokenBudget);
+    }
+}
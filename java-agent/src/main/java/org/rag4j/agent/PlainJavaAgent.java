@@ -2,116 +2,277 @@ package org.rag4j.agent;
 
 import org.rag4j.agent.core.Agent;
 import org.rag4j.agent.core.Conversation;
+import org.rag4j.agent.reasoning.ReActEvent;
 import org.rag4j.agent.reasoning.Reasoning;
+import org.rag4j.agent.reasoning.ReasoningResponse;
 import org.rag4j.agent.tools.AgentAction;
 import org.rag4j.agent.tools.ToolRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.rag4j.agent.core.Sender.ASSISTANT;
 import static org.rag4j.agent.core.Sender.OBSERVATION;
 
 /**
  * Plain java agent that makes use of OpenAI for reasoning.
+ * <p>
+ * The agent runs reasoning steps in a loop until the model answers or the {@link ReActBudget} for the number of steps,
+ * the time or the tokens runs out. A step may have several independent actions. Every action is started on its own
+ * virtual thread as soon as the reasoning passes it on, which with a streaming {@link Reasoning} is before the model
+ * has finished its response, and the responses of all actions are fed back as one observation.
+ * Every invocation records an {@link ExecutionTrace}, returned by {@link #run(String, Conversation.Message)} and
+ * logged as a summary.
  */
-public record PlainJavaAgent(Reasoning reasoning, int maxReasoningSteps, ToolRegistry toolRegistry) implements Agent {
+public record PlainJavaAgent(Reasoning reasoning, ReActBudget budget, ToolRegistry toolRegistry) implements Agent {
     private static final Logger logger = LoggerFactory.getLogger(PlainJavaAgent.class);
+    static final int MAX_ACTIONS_PER_STEP = 5;
+
+    public PlainJavaAgent(Reasoning reasoning, int maxReasoningSteps, ToolRegistry toolRegistry) {
+        this(reasoning, ReActBudget.steps(maxReasoningSteps), toolRegistry);
+    }
+
+    /**
+     * The conversation of an invocation with its execution trace.
+     */
+    public record Result(Conversation conversation, ExecutionTrace trace) {
+    }
 
     @Override
     public Conversation invoke(String userId, Conversation.Message message) {
+        return run(userId, message).conversation();
+    }
 
+    /**
+     * Invokes the agent like {@link #invoke(String, Conversation.Message)}, and returns the execution trace with the
+     * conversation.
+     */
+    public Result run(String userId, Conversation.Message message) {
+        long start = System.nanoTime();
         Conversation conversation = new Conversation(new ArrayList<>());
-        Conversation.Message answerMessage = this.callReasoning(message, conversation, 1);
+        List<ExecutionTrace.Step> steps = new ArrayList<>();
+        long inputTokens = 0;
+        long outputTokens = 0;
+        Conversation.Message nextMessage = message;
+        Conversation.Message answerMessage;
+        ExecutionTrace.Outcome outcome;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            while (true) {
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                outcome = budget.exhausted(steps.size(), elapsed, inputTokens + outputTokens);
+                if (outcome != null) {
+                    logger.warn("Reasoning budget exhausted ({}), returning conversation without answer.", outcome);
+                    answerMessage = budgetMessage(outcome);
+                    break;
+                }
+                StepResult step = step(steps.size() + 1, nextMessage, conversation, executor,
+                        budget.remaining(elapsed));
+                steps.add(step.trace());
+                inputTokens += step.trace().inputTokens();
+                outputTokens += step.trace().outputTokens();
+                if (step.outcome() != null) {
+                    outcome = step.outcome();
+                    answerMessage = step.message();
+                    break;
+                }
+                nextMessage = step.message();
+            }
+        } finally {
+            // Do not wait for actions that were cancelled or timed out
+            executor.shutdownNow();
+        }
 
         conversation.messages().add(answerMessage);
 
-        return conversation;
+        ExecutionTrace trace = new ExecutionTrace(List.copyOf(steps), Duration.ofNanos(System.nanoTime() - start),
+                inputTokens, outputTokens, outcome);
+        logger.info("Execution trace: {}", trace.summary());
+        return new Result(conversation, trace);
     }
 
-    private Conversation.Message callReasoning(Conversation.Message userMessage, Conversation conversation, int reasoningStep) {
-        if (reasoningStep > maxReasoningSteps) {
-            logger.warn("Max reasoning steps reached, returning conversation without answer.");
-            return new Conversation.Message("Unable to provide an answer after multiple reasoning steps.",
-                    ASSISTANT);
-        }
+    /**
+     * The result of one reasoning step: the answer with the outcome, or the observation for the next step.
+     */
+    private record StepResult(Conversation.Message message, ExecutionTrace.Outcome outcome,
+                              ExecutionTrace.Step trace) {
+    }
+
+    private record TimedAction(String response, Duration duration) {
+    }
+
+    private StepResult step(int number, Conversation.Message userMessage, Conversation conversation,
+                            ExecutorService executor, Duration remaining) {
+        long start = System.nanoTime();
 
-        // Call the reasoning service to get the response
-        Conversation.Message response = reasoning.reason(userMessage, conversation);
+        // Call the reasoning service to get the response, every action starts as soon as it is complete
+        List<ReActEvent> events = new ArrayList<>();
+        Map<AgentAction, Future<TimedAction>> actions = new LinkedHashMap<>();
+        ReasoningResponse response = reasoning.reason(userMessage, conversation, event -> {
+            events.add(event);
+            if (event instanceof ReActEvent.Action(AgentAction agentAction) && !actions.containsKey(agentAction)) {
+                if (actions.size() == MAX_ACTIONS_PER_STEP) {
+                    logger.warn("Skipping action {}, a step runs at most {} actions.", agentAction.actionName(),
+                            MAX_ACTIONS_PER_STEP);
+                    return;
+                }
+                logger.info("Action: {} with arguments: {}", agentAction.actionName(), agentAction.arguments());
+                actions.put(agentAction, executor.submit(() -> this.executeAction(agentAction)));
+            }
+        });
+        long reasoningNanos = System.nanoTime() - start;
+        Duration llm = Duration.ofNanos(Math.max(0, reasoningNanos - response.parsing().toNanos()));
         if (userMessage.sender() != OBSERVATION) {
             conversation.messages().add(userMessage);
         }
-        logger.debug("Received response: {}", response.content());
+        logger.debug("Received response: {}", response.message().content());
 
-        // Log thinking and extract answer or action
-        logThinking(response.content());
-        Optional<String> answer = extractAnswer(response.content());
+        // Log thinking and extract answer or actions
+        Optional<String> answer = extractAnswer(events);
         if (answer.isPresent()) {
+            actions.values().forEach(action -> action.cancel(true));
             String answerText = answer.get();
             logger.info("Answer: {}", answerText);
-            return new Conversation.Message(answerText, ASSISTANT);
+            return new StepResult(new Conversation.Message(answerText, ASSISTANT), ExecutionTrace.Outcome.ANSWER,
+                    trace(number, List.of(), llm, response, Duration.ZERO, Duration.ZERO));
+        }
+
+        if (!actions.isEmpty()) {
+            return awaitActions(number, actions, llm, response,
+                    remaining == null ? null : remaining.minusNanos(reasoningNanos));
         }
 
-        Optional<AgentAction> action = extractAction(response.content());
-        if (action.isPresent()) {
-            AgentAction agentAction = action.get();
-            logger.info("Action: {} with arguments: {}", agentAction.actionName(), agentAction.arguments());
-            String actionResponse = this.executeAction(agentAction);
-            Conversation.Message observationMessage = new Conversation.Message(
-                    "Observation: " + actionResponse, OBSERVATION);
-            return this.callReasoning(observationMessage, conversation, reasoningStep + 1);
+        return new StepResult(new Conversation.Message(
+                "The Agent could not create an answer to your question.", ASSISTANT),
+                ExecutionTrace.Outcome.NO_ANSWER, trace(number, List.of(), llm, response, Duration.ZERO,
+                Duration.ZERO));
+    }
+
+    /**
+     * Waits for the actions of a step, which run concurrently, and combines their responses into one observation.
+     * An action that does not finish within the action timeout is cancelled and reported in the observation; when
+     * the time budget runs out first, the invocation stops.
+     *
+     * @param remaining the time left in the budget, or null when there is no time limit
+     */
+    private StepResult awaitActions(int number, Map<AgentAction, Future<TimedAction>> actions, Duration llm,
+                                    ReasoningResponse response, Duration remaining) {
+        long waitStart = System.nanoTime();
+        long budgetDeadline = remaining == null ? Long.MAX_VALUE : waitStart + Math.max(0, remaining.toNanos());
+        long actionDeadline = budget.actionTimeout().isZero() ? Long.MAX_VALUE
+                : waitStart + budget.actionTimeout().toNanos();
+        long deadline = Math.min(budgetDeadline, actionDeadline);
+
+        StringBuilder observation = new StringBuilder("Observation:");
+        List<String> names = new ArrayList<>(actions.size());
+        Duration slowest = Duration.ZERO;
+        boolean budgetExhausted = false;
+        for (Map.Entry<AgentAction, Future<TimedAction>> entry : actions.entrySet()) {
+            AgentAction action = entry.getKey();
+            TimedAction result;
+            try {
+                result = awaitAction(entry.getValue(), deadline);
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                budgetExhausted |= budgetDeadline <= actionDeadline;
+                logger.warn("Action [{}] did not finish in time.", action.actionName());
+                result = new TimedAction("The action did not finish in time.",
+                        Duration.ofNanos(System.nanoTime() - waitStart));
+            }
+            names.add(action.actionName());
+            slowest = result.duration().compareTo(slowest) > 0 ? result.duration() : slowest;
+            if (actions.size() == 1) {
+                observation.append(' ').append(result.response());
+            } else {
+                observation.append(names.size() == 1 ? "\n" : "\n\n").append(action.actionName()).append(": ")
+                        .append(action.arguments()).append('\n').append(result.response());
+            }
         }
 
-        return new Conversation.Message(
-                "The Agent could not create an answer to your question.", ASSISTANT);
+        ExecutionTrace.Step trace = trace(number, names, llm, response, slowest,
+                Duration.ofNanos(System.nanoTime() - waitStart));
+        if (budgetExhausted) {
+            return new StepResult(budgetMessage(ExecutionTrace.Outcome.TIME_BUDGET),
+                    ExecutionTrace.Outcome.TIME_BUDGET, trace);
+        }
+        return new StepResult(new Conversation.Message(observation.toString(), OBSERVATION), null, trace);
+    }
+
+    private static ExecutionTrace.Step trace(int number, List<String> actions, Duration llm,
+                                             ReasoningResponse response, Duration actionTime, Duration waiting) {
+        return new ExecutionTrace.Step(number, List.copyOf(actions), llm, response.parsing(), actionTime, waiting,
+                response.inputTokens(), response.outputTokens());
     }
 
-    private String executeAction(AgentAction action) {
+    private static Conversation.Message budgetMessage(ExecutionTrace.Outcome outcome) {
+        String message = switch (outcome) {
+            case TIME_BUDGET -> "Unable to provide an answer within the available time.";
+            case TOKEN_BUDGET -> "Unable to provide an answer within the token budget.";
+            default -> "Unable to provide an answer after multiple reasoning steps.";
+        };
+        return new Conversation.Message(message, ASSISTANT);
+    }
+
+    private TimedAction executeAction(AgentAction action) {
+        long start = System.nanoTime();
+        String response;
         try {
-            return toolRegistry.executeTool(action.actionName(), action.arguments());
+            response = toolRegistry.executeTool(action.actionName(), action.arguments());
         } catch (IllegalArgumentException e) {
             logger.error("Error executing action [{}] with arguments [{}]: {}",
                     action.actionName(), action.arguments(), e.getMessage());
-            return "Error executing action: " + e.getMessage();
+            response = "Error executing action: " + e.getMessage();
         } catch (Exception e) {
             logger.error("Unexpected error executing action [{}] with arguments [{}]: {}",
                     action.actionName(), action.arguments(), e.getMessage());
-            return "Unexpected error executing action: " + e.getMessage();
-        }
-    }
-
-    private static void logThinking(String output_message) {
-        Pattern thinkPattern = Pattern.compile("^Think: (.*)$", Pattern.MULTILINE);
-        Matcher thinkMatcher = thinkPattern.matcher(output_message);
-        while (thinkMatcher.find()) {
-            String thought = thinkMatcher.group(1);
-            logger.info("Think: {}", thought);
+            response = "Unexpected error executing action: " + e.getMessage();
         }
+        return new TimedAction(response, Duration.ofNanos(System.nanoTime() - start));
     }
 
-    private static Optional<String> extractAnswer(String output_message) {
-        Pattern answerPattern = Pattern.compile("^Answer: (.*)$", Pattern.MULTILINE);
-        Matcher answerMatcher = answerPattern.matcher(output_message);
-        if (answerMatcher.find()) {
-            String answer = answerMatcher.group(1);
-            return Optional.of(answer.trim());
+    private static Optional<String> extractAnswer(List<ReActEvent> events) {
+        Optional<String> answer = Optional.empty();
+        for (ReActEvent event : events) {
+            if (event instanceof ReActEvent.Think(String thought)) {
+                logger.info("Think: {}", thought);
+            } else if (event instanceof ReActEvent.Answer(String text) && answer.isEmpty()) {
+                answer = Optional.of(text);
+            }
         }
-        return Optional.empty();
+        return answer;
     }
 
-    private static Optional<AgentAction> extractAction(String output_message) {
-        Pattern actionPattern = Pattern.compile("^Action: (\\w+): (.*)$", Pattern.MULTILINE);
-        Matcher actionMatcher = actionPattern.matcher(output_message);
-        if (actionMatcher.find()) {
-            String actionName = actionMatcher.group(1);
-            String arguments = actionMatcher.group(2).trim();
-            return Optional.of(new AgentAction(actionName, arguments));
+    /**
+     * Waits for an action to finish.
+     *
+     * @param deadline the {@link System#nanoTime()} to wait until, {@link Long#MAX_VALUE} to wait without a limit
+     * @throws TimeoutException when the action does not finish before the deadline
+     */
+    private static TimedAction awaitAction(Future<TimedAction> actionResponse, long deadline)
+            throws TimeoutException {
+        try {
+            return deadline == Long.MAX_VALUE ? actionResponse.get()
+                    : actionResponse.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            actionResponse.cancel(true);
+            return new TimedAction("Unexpected error executing action: interrupted", Duration.ZERO);
+        } catch (ExecutionException e) {
+            return new TimedAction("Unexpected error executing action: " + e.getCause().getMessage(),
+                    Duration.ZERO);
         }
-        return Optional.empty();
     }
 
 }
@@ -38,9 +38,11 @@ public class PlainMultiAgentConfig {
                 "Orchestrator Agent",
                 "You are an AI agent that orchestrates other agents and ask them to answer questions.",
                 toolRegistry);
-        OpenAIReasoning openAIReasoning = new OpenAIReasoning(openAIClient, systemPrompt);
+        OpenAIReasoning openAIReasoning = new OpenAIReasoning(openAIClient, systemPrompt,
+                agentConfigProperties.isStreaming());
 
-        return new PlainJavaAgent(openAIReasoning, agentConfigProperties.getMaxReasoningSteps(), toolRegistry);
+        // The sub-agents enforce their own budgets, the orchestrator waits for them
+        return new PlainJavaAgent(openAIReasoning, agentConfigProperties.getOrchestrator().toBudget(), toolRegistry);
     }
 
 }
@@ -0,0 +1,68 @@
+package org.rag4j.agent;
+
+import java.time.Duration;
+
+/**
+ * Limits for one invocation of the {@link PlainJavaAgent}. The agent checks the budget before every reasoning step
+ * and gives up with a message when one of the limits is reached.
+ *
+ * @param maxSteps      the maximum number of reasoning steps, must be positive
+ * @param maxDuration   the maximum wall-clock time, {@link Duration#ZERO} for no limit
+ * @param maxTokens     the maximum number of tokens the model may use, 0 for no limit
+ * @param actionTimeout the maximum time to wait for the actions of a step after the model has responded,
+ *                      {@link Duration#ZERO} for no limit; an action that takes longer is reported as timed out in
+ *                      the observation
+ */
+public record ReActBudget(int maxSteps, Duration maxDuration, long maxTokens, Duration actionTimeout) {
+
+    public ReActBudget {
+        if (maxSteps <= 0) {
+            throw new IllegalArgumentException("The maximum number of reasoning steps must be positive, got "
+                    + maxSteps);
+        }
+        if (maxDuration == null || maxDuration.isNegative()) {
+            throw new IllegalArgumentException("The maximum duration must be zero or positive, got " + maxDuration);
+        }
+        if (actionTimeout == null || actionTimeout.isNegative()) {
+            throw new IllegalArgumentException("The action timeout must be zero or positive, got " + actionTimeout);
+        }
+        if (maxTokens < 0) {
+            throw new IllegalArgumentException("The maximum number of tokens must be zero or positive, got "
+                    + maxTokens);
+        }
+    }
+
+    /**
+     * Returns a budget that only limits the number of reasoning steps.
+     */
+    public static ReActBudget steps(int maxSteps) {
+        return new ReActBudget(maxSteps, Duration.ZERO, 0, Duration.ZERO);
+    }
+
+    /**
+     * Returns the limit that is reached after some steps, time and tokens, or null when there is budget left.
+     *
+     * @param steps   the number of steps taken
+     * @param elapsed the time since the invocation started
+     * @param tokens  the tokens used
+     */
+    ExecutionTrace.Outcome exhausted(int steps, Duration elapsed, long tokens) {
+        if (steps >= maxSteps) {
+            return ExecutionTrace.Outcome.STEP_BUDGET;
+        }
+        if (!maxDuration.isZero() && elapsed.compareTo(maxDuration) >= 0) {
+            return ExecutionTrace.Outcome.TIME_BUDGET;
+        }
+        if (maxTokens > 0 && tokens >= maxTokens) {
+            return ExecutionTrace.Outcome.TOKEN_BUDGET;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the time left after some elapsed time, or null when there is no time limit.
+     */
+    Duration remaining(Duration elapsed) {
+        return maxDuration.isZero() ? null : maxDuration.minus(elapsed);
+    }
+}
@@ -2,15 +2,22 @@ package org.rag4j.agent.reasoning;
 
 import com.openai.client.OpenAIClient;
 import com.openai.client.okhttp.OpenAIOkHttpClient;
+import com.openai.core.http.StreamResponse;
 import com.openai.models.ChatModel;
 import com.openai.models.chat.completions.ChatCompletion;
+import com.openai.models.chat.completions.ChatCompletionChunk;
 import com.openai.models.chat.completions.ChatCompletionCreateParams;
 import com.openai.models.chat.completions.ChatCompletionMessage;
+import com.openai.models.chat.completions.ChatCompletionStreamOptions;
+import com.openai.models.completions.CompletionUsage;
 import org.rag4j.agent.core.Conversation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.rag4j.agent.core.Sender.ASSISTANT;
 import static org.rag4j.agent.core.Sender.USER;
@@ -18,35 +25,102 @@ import static org.rag4j.agent.core.Sender.USER;
 /**
  * OpenAIReasoning is a service that interacts with the OpenAI API to perform reasoning tasks.
  * It uses the OpenAIClient to send messages and receive responses from the OpenAI model.
+ * <p>
+ * The model stops at the {@value #STOP_SEQUENCE} that ends every action, so it does not go on to write observations
+ * of its own. In streaming mode the response is parsed while it arrives and every ReAct step is passed to the listener
+ * of {@link #reason(Conversation.Message, Conversation, Consumer)} as soon as it is complete, which lets the agent
+ * start a tool before the response has finished.
  */
 public class OpenAIReasoning implements Reasoning {
     private static final Logger logger = LoggerFactory.getLogger(OpenAIReasoning.class);
 
+    /**
+     * The line the model ends every action with, and where it stops generating.
+     */
+    public static final String STOP_SEQUENCE = "PAUSE";
+
     private final OpenAIClient openAIClient;
     private final ChatModel chatModel;
     private final SystemPrompt systemPrompt;
+    private final boolean streaming;
 
     public OpenAIReasoning(OpenAIClient openAIClient, SystemPrompt systemPrompt) {
+        this(openAIClient, systemPrompt, false);
+    }
+
+    public OpenAIReasoning(OpenAIClient openAIClient, SystemPrompt systemPrompt, boolean streaming) {
         this.openAIClient = openAIClient;
         this.chatModel = ChatModel.GPT_4_1_MINI;
         this.systemPrompt = systemPrompt;
+        this.streaming = streaming;
     }
 
     public Conversation.Message reason(Conversation.Message userMessage, Conversation conversation) {
-        String outputMessage = callLlm(userMessage, conversation);
-        logger.debug("Received output message: {}", outputMessage);
+        return reason(userMessage, conversation, event -> {
+        }).message();
+    }
 
-        return new Conversation.Message(outputMessage, ASSISTANT);
+    @Override
+    public ReasoningResponse reason(Conversation.Message userMessage, Conversation conversation,
+                                    Consumer<ReActEvent> listener) {
+        ReasoningResponse response = streaming
+                ? streamLlm(userMessage, conversation, listener)
+                : callLlm(userMessage, conversation, listener);
+        logger.debug("Received output message: {}", response.message().content());
+
+        return response;
     }
 
-    private String callLlm(Conversation.Message userMessage, Conversation conversation) {
+    private ChatCompletionCreateParams createParams(Conversation.Message userMessage, Conversation conversation) {
         ChatCompletionCreateParams.Builder createParamsBuilder = ChatCompletionCreateParams.builder()
                 .model(this.chatModel)
+                .stop(STOP_SEQUENCE)
                 .addDeveloperMessage(systemPrompt.build());
+        if (streaming) {
+            createParamsBuilder.streamOptions(ChatCompletionStreamOptions.builder().includeUsage(true).build());
+        }
 
         prepareMessages(userMessage, conversation, createParamsBuilder);
+        return createParamsBuilder.build();
+    }
+
+    private ReasoningResponse streamLlm(Conversation.Message userMessage, Conversation conversation,
+                                        Consumer<ReActEvent> listener) {
+        ChatCompletionCreateParams params = createParams(userMessage, conversation);
+        StringBuilder output = new StringBuilder();
+        ReActParser parser = new ReActParser(listener);
+        long[] parsingNanos = new long[1];
+        CompletionUsage[] usage = new CompletionUsage[1];
+        try (StreamResponse<ChatCompletionChunk> stream =
+                     this.openAIClient.chat().completions().createStreaming(params)) {
+            stream.stream().forEach(chunk -> {
+                // The usage comes with the last chunk, which has no choices
+                chunk.usage().ifPresent(chunkUsage -> usage[0] = chunkUsage);
+                for (ChatCompletionChunk.Choice choice : chunk.choices()) {
+                    choice.delta().content().ifPresent(content -> {
+                        output.append(content);
+                        long start = System.nanoTime();
+                        parser.accept(content);
+                        parsingNanos[0] += System.nanoTime() - start;
+                    });
+                }
+            });
+        }
+        long start = System.nanoTime();
+        parser.finish();
+        parsingNanos[0] += System.nanoTime() - start;
+        if (output.isEmpty()) {
+            throw new IllegalStateException("No output received from OpenAI API.");
+        }
 
-        ChatCompletion chatCompletion = this.openAIClient.chat().completions().create(createParamsBuilder.build());
+        logger.info("Output message: {}", output);
+        return response(output.toString(), Optional.ofNullable(usage[0]), parsingNanos[0]);
+    }
+
+    private ReasoningResponse callLlm(Conversation.Message userMessage, Conversation conversation,
+                                      Consumer<ReActEvent> listener) {
+        ChatCompletion chatCompletion = this.openAIClient.chat().completions().create(
+                createParams(userMessage, conversation));
         List<ChatCompletionMessage> messages =
                 chatCompletion.choices().stream()
                         .map(ChatCompletion.Choice::message)
@@ -65,7 +139,18 @@ public class OpenAIReasoning implements Reasoning {
 
         String output_message = output.getFirst();
         logger.info("Output message: {}", output_message);
-        return output_message;
+        long start = System.nanoTime();
+        ReActParser parser = new ReActParser(listener);
+        parser.accept(output_message);
+        parser.finish();
+        return response(output_message, chatCompletion.usage(), System.nanoTime() - start);
+    }
+
+    private static ReasoningResponse response(String output, Optional<CompletionUsage> usage, long parsingNanos) {
+        return new ReasoningResponse(new Conversation.Message(output, ASSISTANT),
+                usage.map(CompletionUsage::promptTokens).orElse(0L),
+                usage.map(CompletionUsage::completionTokens).orElse(0L),
+                Duration.ofNanos(parsingNanos));
     }
 
     private static void prepareMessages(Conversation.Message userMessage,
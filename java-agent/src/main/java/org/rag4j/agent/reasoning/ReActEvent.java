@@ -0,0 +1,27 @@
+package org.rag4j.agent.reasoning;
+
+import org.rag4j.agent.tools.AgentAction;
+
+/**
+ * A step the model wrote in its ReAct output, as recognized by the {@link ReActParser}.
+ */
+public sealed interface ReActEvent {
+
+    /**
+     * A {@code Think:} block, the reasoning of the model.
+     */
+    record Think(String thought) implements ReActEvent {
+    }
+
+    /**
+     * An {@code Action:} line, the tool the model wants to call with its arguments.
+     */
+    record Action(AgentAction action) implements ReActEvent {
+    }
+
+    /**
+     * An {@code Answer:} block, the final answer to the question.
+     */
+    record Answer(String answer) implements ReActEvent {
+    }
+}
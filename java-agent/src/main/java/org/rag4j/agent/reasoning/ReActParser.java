@@ -0,0 +1,324 @@
+package org.rag4j.agent.reasoning;
+
+import org.rag4j.agent.tools.AgentAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Single-pass parser for the ReAct output of the model, see {@link SystemPrompt} for the format.
+ * <p>
+ * The output is read line by line as it arrives, either complete with {@link #parse(String)} or in chunks of any size
+ * with {@link #accept(CharSequence)} and {@link #finish()}, and every recognized step is passed to the listener as a
+ * {@link ReActEvent}. An action is passed on as soon as its line, or its JSON arguments when they span several lines,
+ * is complete, so the caller can start the tool before the model has finished writing. Think and Answer blocks run
+ * until the next keyword or the end of the output and may span several lines.
+ * <p>
+ * The parser accepts the deviations from the format models commonly make: keywords in any case, markdown emphasis
+ * around them, extra whitespace, {@code Thought:} or {@code Final Answer:} for the keywords, a missing {@code PAUSE},
+ * and action arguments that start on the next line. Anything after an {@code Observation:} the model wrote itself
+ * after an action is ignored, because the model made it up. Output without any keyword is taken as the answer.
+ * <p>
+ * The parser keeps its state between chunks and is not thread safe; it can be used again after {@link #finish()}.
+ */
+public final class ReActParser {
+    private enum Block {NONE, THINK, ACTION, ANSWER, SKIP, STOPPED}
+
+    private enum Keyword {
+        THINK("think"), THOUGHT("thought"), ACTION("action"), FINAL_ANSWER("final answer"), ANSWER("answer"),
+        PAUSE("pause"), OBSERVATION("observation"), QUESTION("question");
+
+        private final String text;
+
+        Keyword(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final Keyword[] KEYWORDS = Keyword.values();
+
+    private final Consumer<ReActEvent> listener;
+    private final StringBuilder line = new StringBuilder(128);
+    private final StringBuilder text = new StringBuilder(256);
+    private Block block = Block.NONE;
+    private String actionName;
+    private boolean sawKeyword;
+    private boolean sawAction;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * Creates a parser.
+     *
+     * @param listener receives the steps in the order the model wrote them
+     */
+    public ReActParser(Consumer<ReActEvent> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Parses a complete output.
+     *
+     * @param output the output of the model
+     * @return the steps in the order the model wrote them
+     */
+    public static List<ReActEvent> parse(String output) {
+        List<ReActEvent> events = new ArrayList<>(4);
+        ReActParser parser = new ReActParser(events::add);
+        parser.accept(output);
+        parser.finish();
+        return events;
+    }
+
+    /**
+     * Reads the next chunk of the output. Complete lines are parsed right away, the rest is kept for the next chunk.
+     */
+    public void accept(CharSequence chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (c == '\n') {
+                parseLine();
+                line.setLength(0);
+            } else if (c != '\r') {
+                line.append(c);
+            }
+        }
+    }
+
+    /**
+     * Ends the output: parses the last line and passes on the open block. The parser is ready for the next output.
+     */
+    public void finish() {
+        if (!line.isEmpty()) {
+            parseLine();
+        }
+        closeBlock();
+        if (!sawKeyword && !text.isEmpty()) {
+            emitText(ReActEvent.Answer::new);
+        }
+        line.setLength(0);
+        text.setLength(0);
+        block = Block.NONE;
+        sawKeyword = false;
+        sawAction = false;
+    }
+
+    private void parseLine() {
+        if (block == Block.STOPPED) {
+            return;
+        }
+        int start = skipDecoration(0);
+        for (Keyword keyword : KEYWORDS) {
+            int end = matchKeyword(keyword, start);
+            if (end >= 0) {
+                startBlock(keyword, end);
+                return;
+            }
+        }
+        continueBlock();
+    }
+
+    /**
+     * Returns the position after the keyword and its colon, or -1 when the line does not start with the keyword.
+     */
+    private int matchKeyword(Keyword keyword, int start) {
+        String word = keyword.text;
+        if (line.length() - start < word.length()) {
+            return -1;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.toLowerCase(line.charAt(start + i)) != word.charAt(i)) {
+                return -1;
+            }
+        }
+        int end = skipDecoration(start + word.length());
+        if (keyword == Keyword.PAUSE) {
+            // PAUSE stands on its own line, apart from punctuation
+            for (int i = end; i < line.length(); i++) {
+                if (Character.isLetterOrDigit(line.charAt(i))) {
+                    return -1;
+                }
+            }
+            return line.length();
+        }
+        if (end < line.length() && line.charAt(end) == ':') {
+            return skipWhitespace(end + 1);
+        }
+        return -1;
+    }
+
+    private void startBlock(Keyword keyword, int contentStart) {
+        closeBlock();
+        if (!sawKeyword) {
+            // Text before the first keyword is preamble
+            text.setLength(0);
+            sawKeyword = true;
+        }
+        switch (keyword) {
+            case THINK, THOUGHT -> {
+                block = Block.THINK;
+                appendContent(contentStart);
+            }
+            case ANSWER, FINAL_ANSWER -> {
+                block = Block.ANSWER;
+                appendContent(contentStart);
+            }
+            case ACTION -> startAction(contentStart);
+            case PAUSE -> block = Block.NONE;
+            // An observation after an action is made up by the model, one before it repeats the previous step.
+            case OBSERVATION -> block = sawAction ? Block.STOPPED : Block.SKIP;
+            case QUESTION -> block = Block.SKIP;
+        }
+    }
+
+    private void startAction(int contentStart) {
+        int i = skipQuotes(contentStart);
+        int nameStart = i;
+        while (i < line.length() && isNameChar(line.charAt(i))) {
+            i++;
+        }
+        if (i == nameStart) {
+            block = Block.SKIP;
+            return;
+        }
+        actionName = line.substring(nameStart, i);
+        i = skipQuotes(i);
+        if (i < line.length() && line.charAt(i) == ':') {
+            i = skipWhitespace(i + 1);
+        }
+        block = Block.ACTION;
+        depth = 0;
+        inString = false;
+        escaped = false;
+        appendArguments(i);
+    }
+
+    private void continueBlock() {
+        switch (block) {
+            case THINK, ANSWER -> {
+                text.append('\n');
+                appendContent(0);
+            }
+            case ACTION -> {
+                if (!text.isEmpty()) {
+                    text.append('\n');
+                }
+                appendArguments(skipWhitespace(0));
+            }
+            case NONE -> {
+                if (!sawKeyword) {
+                    if (!text.isEmpty()) {
+                        text.append('\n');
+                    }
+                    appendContent(0);
+                }
+            }
+            case SKIP, STOPPED -> {
+            }
+        }
+    }
+
+    private void appendContent(int from) {
+        text.append(line, from, line.length());
+    }
+
+    /**
+     * Appends arguments and passes on the action once they are complete: at the end of the line, unless a JSON object
+     * or array is still open.
+     */
+    private void appendArguments(int from) {
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            text.append(c);
+            if (escaped) {
+                escaped = false;
+            } else if (inString) {
+                if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+        if (depth <= 0 && !isBlank(text)) {
+            closeBlock();
+        }
+    }
+
+    private void closeBlock() {
+        switch (block) {
+            case THINK -> emitText(ReActEvent.Think::new);
+            case ANSWER -> emitText(ReActEvent.Answer::new);
+            case ACTION -> {
+                listener.accept(new ReActEvent.Action(new AgentAction(actionName, text.toString().strip())));
+                sawAction = true;
+            }
+            case NONE, SKIP, STOPPED -> {
+                return;
+            }
+        }
+        text.setLength(0);
+        block = Block.NONE;
+    }
+
+    private void emitText(Function<String, ReActEvent> event) {
+        String content = text.toString().strip();
+        if (!content.isEmpty()) {
+            listener.accept(event.apply(content));
+        }
+    }
+
+    /**
+     * Skips whitespace and the markdown markup models put around keywords, like {@code **Think**:} or
+     * {@code ### Answer:}.
+     */
+    private int skipDecoration(int from) {
+        int i = from;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (!Character.isWhitespace(c) && c != '*' && c != '#' && c != '_') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int skipWhitespace(int from) {
+        int i = from;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int skipQuotes(int from) {
+        int i = skipWhitespace(from);
+        while (i < line.length() && (line.charAt(i) == '`' || line.charAt(i) == '*')) {
+            i++;
+        }
+        return skipWhitespace(i);
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+    }
+
+    private static boolean isBlank(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
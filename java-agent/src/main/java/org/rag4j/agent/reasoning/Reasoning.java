@@ -2,6 +2,9 @@ package org.rag4j.agent.reasoning;
 
 import org.rag4j.agent.core.Conversation;
 
+import java.time.Duration;
+import java.util.function.Consumer;
+
 /**
  * Reasoning interface for processing user messages within a conversation.
  * <p>
@@ -18,4 +21,25 @@ public interface Reasoning {
      * @return a response message generated by the reasoning process
      */
     Conversation.Message reason(Conversation.Message userMessage, Conversation conversation);
+
+    /**
+     * Processes a user's message like {@link #reason(Conversation.Message, Conversation)}, and passes the ReAct steps
+     * in the response to a listener. Implementations that stream the response pass every step on as soon as it is
+     * complete, so an action can run while the model is still writing; by default the steps are passed on after the
+     * complete response is received, and no token usage is reported.
+     *
+     * @param userMessage   the user's message to reason about
+     * @param conversation  the current conversation context
+     * @param listener      receives the steps in the response, in the order the model wrote them
+     * @return the response generated by the reasoning process, with the tokens it used
+     */
+    default ReasoningResponse reason(Conversation.Message userMessage, Conversation conversation,
+                                     Consumer<ReActEvent> listener) {
+        Conversation.Message response = reason(userMessage, conversation);
+        long start = System.nanoTime();
+        ReActParser parser = new ReActParser(listener);
+        parser.accept(response.content());
+        parser.finish();
+        return new ReasoningResponse(response, 0, 0, Duration.ofNanos(System.nanoTime() - start));
+    }
 }
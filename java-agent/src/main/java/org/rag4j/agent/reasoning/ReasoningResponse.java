@@ -0,0 +1,20 @@
+package org.rag4j.agent.reasoning;
+
+import org.rag4j.agent.core.Conversation;
+
+import java.time.Duration;
+
+/**
+ * The response of the model to one reasoning step, with the tokens it used and the time spent parsing it.
+ *
+ * @param message      the response of the model
+ * @param inputTokens  the tokens of the prompt, 0 when the reasoning does not report them
+ * @param outputTokens the tokens of the response, 0 when the reasoning does not report them
+ * @param parsing      the time spent parsing the response into ReAct steps
+ */
+public record ReasoningResponse(Conversation.Message message, long inputTokens, long outputTokens, Duration parsing) {
+
+    public long totalTokens() {
+        return inputTokens + outputTokens;
+    }
+}
@@ -2,23 +2,40 @@ package org.rag4j.agent.reasoning;
 
 import org.rag4j.agent.tools.ToolRegistry;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * The system prompt of a ReAct agent, with the intro of the agent and the descriptions of its tools.
+ * <p>
+ * The prompt is built once and kept until the date or the tools change, instead of on every LLM call. Everything
+ * that is the same for every request comes first and the date comes last, so the prompt starts with the same bytes
+ * for every request and user of the agent, which lets the provider cache the prompt prefix.
+ */
 public class SystemPrompt {
     private final String agentName;
     private final String agentIntro;
     private final ToolRegistry toolRegistry;
+    private final Clock clock;
+    private volatile Prompt prompt;
+
+    private record Prompt(LocalDate date, List<String> tools, String text) {
+    }
 
     public SystemPrompt(String agentName, String agentIntro) {
-        this.agentName = agentName;
-        this.agentIntro = agentIntro;
-        this.toolRegistry = new ToolRegistry(List.of());
+        this(agentName, agentIntro, new ToolRegistry(List.of()));
     }
 
     public SystemPrompt(String agentName, String agentIntro, ToolRegistry registry) {
+        this(agentName, agentIntro, registry, Clock.systemDefaultZone());
+    }
+
+    public SystemPrompt(String agentName, String agentIntro, ToolRegistry registry, Clock clock) {
         this.agentName = agentName;
         this.agentIntro = agentIntro;
         this.toolRegistry = registry;
+        this.clock = clock;
     }
 
     public String agentName() {
@@ -26,19 +43,24 @@ public class SystemPrompt {
     }
 
     public String build() {
-        String today = java.time.LocalDate.now().toString();
+        LocalDate today = LocalDate.now(clock);
+        List<String> tools = toolRegistry.toolDescriptions();
+        Prompt current = prompt;
+        if (current == null || !current.date().equals(today) || !current.tools().equals(tools)) {
+            current = new Prompt(today, tools, format(today, tools));
+            prompt = current;
+        }
+        return current.text();
+    }
 
-        String actionsStr = toolRegistry.toolDescriptions().stream()
-            .reduce((a, b) -> a + "\n" + b)
-            .orElse("No actions available");
+    private String format(LocalDate today, List<String> tools) {
+        String actionsStr = tools.isEmpty() ? "No actions available" : String.join("\n", tools);
 
         return String.format("""
 %s
 
 You are an AI agent following the ReAct framework, where you **Think**, **Act**, and process **Observations** in response to a given **Question**.  During thinking you analyse the question, break it down into subquestions, and decide on the actions to take to answer the question. You then act by performing the actions you decided on. After each action, you pause to observe the results of the action. You then continue the cycle by thinking about the new observation and deciding on the next action to take. You continue this cycle until you have enough information to answer the original question.
 
-The date for today is: %s
-
 Arguments for an action are provided as a json document with the arguments as keys and the values as the values.
 
 You will always follow this structured format:
@@ -56,11 +78,17 @@ PAUSE
 Else, if the final answer is ready, you will return it:
 Answer: [Use Final answer to write a friendly response with the answer to the question]
 
+When you need several actions that do not depend on each other's results, write them all before the PAUSE, one Action line each. They run at the same time, and you receive one Observation with the result of every action:
+Action: [action]: [arguments]
+Action: [action]: [arguments]
+PAUSE
+
 Rules:
 1. Never answer a question directly; always go through the **Think → Action → PAUSE** cycle.
 2. Never generate output after "PAUSE"
 3. Observations will be provided as a response to an action; never generate your own output for an action.
-4. These are the only available actions, and there arguments:
+4. Only batch actions that are independent; when an action needs the result of another, wait for its observation.
+5. These are the only available actions, and there arguments:
 %s
 
 Example Interactions:
@@ -79,5 +107,8 @@ Model Continues:
 Observation: a Bulldogs average weight is 40 lbs
 Think: Now that I have the result, I can provide the final answer.
 Answer: The average weight for a Bulldog is 40 lbs.
-""".strip(), agentIntro, today, actionsStr);    }
+
+The date for today is: %s
+""".strip(), agentIntro, actionsStr, today);
+    }
 }
@@ -0,0 +1,67 @@
+package org.rag4j.agent.tools;
+
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkCounts;
+import org.rag4j.agent.core.TalkQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Tool for counting conference talks, grouped by track and level.
+ * This tool answers aggregate questions, like how many talks are about AI agents, with a few lines of counts instead
+ * of the talks themselves. All arguments are optional filters; empty strings are ignored.
+ */
+public class CountTalks extends Tool {
+    private static final Logger logger = LoggerFactory.getLogger(CountTalks.class);
+    private final ConferenceTalksRepository conferenceTalksRepository;
+
+    public CountTalks(ConferenceTalksRepository conferenceTalksRepository) {
+        super("count_talks",
+                "for counting conference talks grouped by track and level, all filters are optional and can be empty",
+                "{\"track\": \"string\", \"level\": \"string\", \"speaker\": \"string\", \"keywords\": \"string\"}");
+        this.conferenceTalksRepository = conferenceTalksRepository;
+    }
+
+    @Override
+    public String execute(String arguments) {
+        TalkQuery query = new TalkQuery(extractArgument("track", arguments), extractArgument("level", arguments),
+                extractArgument("speaker", arguments), extractArgument("keywords", arguments));
+        logger.info("Counting talks for: {}", query);
+        TalkCounts counts = this.conferenceTalksRepository.query(query).counts();
+        String filters = describe(query);
+        if (counts.count() == 0) {
+            return "No talks found" + filters;
+        }
+        return "Found " + counts.count() + " talks" + filters + ".\n"
+                + "By track: " + join(counts.byTrack()) + "\n"
+                + "By level: " + join(counts.byLevel()) + "\n";
+    }
+
+    static String describe(TalkQuery query) {
+        List<String> filters = new ArrayList<>();
+        if (query.track() != null) {
+            filters.add("track '" + query.track() + "'");
+        }
+        if (query.level() != null) {
+            filters.add("level '" + query.level() + "'");
+        }
+        if (query.speaker() != null) {
+            filters.add("speaker '" + query.speaker() + "'");
+        }
+        if (query.keyword() != null) {
+            filters.add("keywords '" + query.keyword() + "'");
+        }
+        return filters.isEmpty() ? "" : " for " + String.join(" and ", filters);
+    }
+
+    private static String join(Map<String, Integer> counts) {
+        StringJoiner joiner = new StringJoiner(", ");
+        counts.forEach((value, count) -> joiner.add(value + " " + count));
+        return joiner.toString();
+    }
+}
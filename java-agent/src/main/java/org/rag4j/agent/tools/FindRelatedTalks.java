@@ -0,0 +1,43 @@
+package org.rag4j.agent.tools;
+
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Tool for finding the conference talks that are most like a given talk.
+ * This tool reads the related talks from the graph the ConferenceTalksRepository precomputes per catalog, instead of
+ * letting the model search again with keywords it guessed from the talk.
+ */
+public class FindRelatedTalks extends Tool {
+    private static final Logger logger = LoggerFactory.getLogger(FindRelatedTalks.class);
+    private static final int MAX_RESULTS = 5;
+    private final ConferenceTalksRepository conferenceTalksRepository;
+    private final TalkRenderer renderer;
+
+    public FindRelatedTalks(ConferenceTalksRepository conferenceTalksRepository, TalkRenderer renderer) {
+        super("find_related_talks",
+                "for finding the conference talks most like a talk, by the title of that talk",
+                "{\"title\": \"string\"}");
+        this.conferenceTalksRepository = conferenceTalksRepository;
+        this.renderer = renderer;
+    }
+
+    @Override
+    public String execute(String arguments) {
+        String title = extractSingleArgument("title", arguments);
+        if (title == null || title.isBlank()) {
+            logger.error("Title cannot be empty.");
+            return "Title cannot be empty.";
+        }
+        logger.info("Finding talks related to: {}", title);
+        List<ConferenceTalk> related = this.conferenceTalksRepository.findRelatedTalks(title, MAX_RESULTS);
+        if (related.isEmpty()) {
+            return "No talk found with the title: " + title;
+        }
+        return renderer.render("Talks related to '" + title + "', most related first:", related);
+    }
+}
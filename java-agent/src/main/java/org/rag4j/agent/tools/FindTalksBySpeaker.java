@@ -1,12 +1,10 @@
 package org.rag4j.agent.tools;
 
-import org.rag4j.agent.core.ConferenceTalk;
 import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-
 /**
  * Tool for finding conference talks by speaker.
  * This tool queries the ConferenceTalksRepository to find talks associated with a specific speaker.
@@ -14,12 +12,14 @@ import java.util.List;
 public class FindTalksBySpeaker extends Tool {
     private static final Logger logger = LoggerFactory.getLogger(FindTalksBySpeaker.class);
     private final ConferenceTalksRepository conferenceTalksRepository;
+    private final TalkRenderer renderer;
 
-    public FindTalksBySpeaker(ConferenceTalksRepository conferenceTalksRepository) {
+    public FindTalksBySpeaker(ConferenceTalksRepository conferenceTalksRepository, TalkRenderer renderer) {
         super("find_talk_by_speaker",
-                "for obtaining conference talks by speaker",
+                "for obtaining conference talks by speaker, also when the name is misspelled",
                 "{\"speaker\": \"string\"}");
         this.conferenceTalksRepository = conferenceTalksRepository;
+        this.renderer = renderer;
     }
 
     @Override
@@ -30,17 +30,16 @@ public class FindTalksBySpeaker extends Tool {
             return "Speaker name cannot be empty.";
         }
         logger.info("Finding talk by speaker: {}", speaker);
-        List<ConferenceTalk> talksBySpeaker = this.conferenceTalksRepository.findTalksBySpeaker(speaker);
+        // One lookup against one catalog version, falling back to similar speakers when nothing matches exactly
+        TalkList talksBySpeaker = this.conferenceTalksRepository.findTalksBySpeakerOrSimilar(speaker);
         if (talksBySpeaker.isEmpty()) {
             return "No talks found with the speaker: " + speaker;
         }
-        // Create a string containing all the talks found with a short message telling these are the found talks
-        StringBuilder response = new StringBuilder("Found talks with speaker '" + speaker + "':\n");
-        for (ConferenceTalk talk : talksBySpeaker) {
-            response.append(talk.toString());
-            response.append("\n");
+        if (talksBySpeaker.similar()) {
+            return renderer.render("No talks found with the speaker '" + speaker
+                    + "', but found talks with similar speaker names:", talksBySpeaker);
         }
-        return response.toString();
+        return renderer.render("Found talks with speaker '" + speaker + "':", talksBySpeaker);
     }
 
 }
@@ -1,12 +1,10 @@
 package org.rag4j.agent.tools;
 
-import org.rag4j.agent.core.ConferenceTalk;
 import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-
 /**
  * Tool for finding conference talks by their title.
  * This tool queries the ConferenceTalksRepository to find talks associated with a specific title.
@@ -14,12 +12,14 @@ import java.util.List;
 public class FindTalksByTitle extends Tool {
     private static final Logger logger = LoggerFactory.getLogger(FindTalksByTitle.class);
     private final ConferenceTalksRepository conferenceTalksRepository;
+    private final TalkRenderer renderer;
 
-    public FindTalksByTitle(ConferenceTalksRepository conferenceTalksRepository) {
+    public FindTalksByTitle(ConferenceTalksRepository conferenceTalksRepository, TalkRenderer renderer) {
         super("find_talk_by_title",
-                "for obtaining conference talks by title",
+                "for obtaining conference talks by title, also when the title is misspelled",
                 "{\"title\": \"string\"}");
         this.conferenceTalksRepository = conferenceTalksRepository;
+        this.renderer = renderer;
     }
 
     @Override
@@ -30,17 +30,16 @@ public class FindTalksByTitle extends Tool {
             return "Title cannot be empty.";
         }
         logger.info("Finding talk by title: {}", title);
-        List<ConferenceTalk> talksByTitle = this.conferenceTalksRepository.findTalksByTitle(title);
+        // One lookup against one catalog version, falling back to similar titles when nothing matches exactly
+        TalkList talksByTitle = this.conferenceTalksRepository.findTalksByTitleOrSimilar(title);
         if (talksByTitle.isEmpty()) {
             return "No talks found with the title: " + title;
         }
-        // Create a string containing all the talks found with a short message telling these are the found talks
-        StringBuilder response = new StringBuilder("Found talks with title '" + title + "':\n");
-        for (ConferenceTalk talk : talksByTitle) {
-            response.append(talk.toString());
-            response.append("\n");
+        if (talksByTitle.similar()) {
+            return renderer.render("No talks found with the title '" + title
+                    + "', but found talks with similar titles:", talksByTitle);
         }
-        return response.toString();
+        return renderer.render("Found talks with title '" + title + "':", talksByTitle);
     }
 
 
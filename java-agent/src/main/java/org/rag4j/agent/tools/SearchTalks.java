@@ -0,0 +1,42 @@
+package org.rag4j.agent.tools;
+
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Tool for searching conference talks by topic.
+ * This tool asks the ConferenceTalksRepository for the talks with the most relevant title and description.
+ */
+public class SearchTalks extends Tool {
+    private static final Logger logger = LoggerFactory.getLogger(SearchTalks.class);
+    private static final int MAX_RESULTS = 10;
+    private final ConferenceTalksRepository conferenceTalksRepository;
+    private final TalkRenderer renderer;
+
+    public SearchTalks(ConferenceTalksRepository conferenceTalksRepository, TalkRenderer renderer) {
+        super("search_talks",
+                "for searching conference talks by topic, returns the most relevant talks first",
+                "{\"query\": \"string\"}");
+        this.conferenceTalksRepository = conferenceTalksRepository;
+        this.renderer = renderer;
+    }
+
+    @Override
+    public String execute(String arguments) {
+        String query = extractSingleArgument("query", arguments);
+        if (query == null || query.isBlank()) {
+            logger.error("Query cannot be empty.");
+            return "Query cannot be empty.";
+        }
+        logger.info("Searching talks for: {}", query);
+        List<ConferenceTalk> talks = this.conferenceTalksRepository.searchTalks(query, MAX_RESULTS);
+        if (talks.isEmpty()) {
+            return "No talks found for the query: " + query;
+        }
+        return renderer.render("Found talks for query '" + query + "', most relevant first:", talks);
+    }
+}
@@ -0,0 +1,190 @@
+package org.rag4j.agent.tools;
+
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+import org.rag4j.agent.core.TalkList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * Renders the talks found by a tool as compact lines for the prompt, instead of the full records.
+ * <p>
+ * Every talk becomes a single line with only the configured fields, each cut to a maximum length. At most
+ * {@link Options#maxResults()} talks are listed, and no more than fit in the token budget of the observation; the
+ * talks that are left out are counted in a closing "N more results omitted" line, so the model knows to narrow its
+ * query. Tokens are estimated as one per four characters, which is close enough for English text to keep the
+ * observation within budget.
+ * <p>
+ * The lines are rendered for all talks of the catalog when the renderer is created and again whenever the repository
+ * publishes a new catalog version, and kept in an array indexed by the ordinal of the talk. A tool call for talks
+ * found in that catalog version only concatenates strings; other talks are rendered when they are listed. Because
+ * every renderer keeps the lines of the whole catalog, the tools share one renderer, and {@link #close()} stops
+ * rendering the catalogs published later.
+ */
+public class TalkRenderer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TalkRenderer.class);
+    private static final int CHARACTERS_PER_TOKEN = 4;
+    private static final String ELLIPSIS = "...";
+
+    /**
+     * The fields of a talk that can be rendered, in the order they appear on the line.
+     */
+    public enum Field {
+        TITLE, SPEAKERS, TRACK, LEVEL, DESCRIPTION
+    }
+
+    /**
+     * Settings for the rendered observation.
+     *
+     * @param fields         the fields to render per talk
+     * @param maxResults     the maximum number of talks to list
+     * @param maxFieldLength the maximum number of characters per field, longer values are cut at a word boundary
+     * @param tokenBudget    the maximum estimated number of tokens of the whole observation
+     */
+    public record Options(Set<Field> fields, int maxResults, int maxFieldLength, int tokenBudget) {
+
+        public Options {
+            if (fields == null || fields.isEmpty() || maxResults < 1 || maxFieldLength < 10 || tokenBudget < 50) {
+                throw new IllegalArgumentException("Expected at least one field, maxResults >= 1, "
+                        + "maxFieldLength >= 10 and tokenBudget >= 50, got " + fields + ", " + maxResults + ", "
+                        + maxFieldLength + " and " + tokenBudget);
+            }
+            fields = Set.copyOf(fields);
+        }
+
+        /**
+         * Returns settings that list up to 10 talks with a short description in about 800 tokens.
+         */
+        public static Options defaults() {
+            return new Options(EnumSet.allOf(Field.class), 10, 160, 800);
+        }
+    }
+
+    private final Options options;
+    private final ConferenceTalksRepository repository;
+    private final Consumer<TalkList> publishListener = this::renderAll;
+    private volatile Rendered rendered;
+
+    public TalkRenderer(ConferenceTalksRepository repository, Options options) {
+        this.options = options;
+        this.repository = repository;
+        repository.onPublish(publishListener);
+    }
+
+    public Options options() {
+        return options;
+    }
+
+    /**
+     * Stops rendering the catalogs the repository publishes from now on. Talks are still rendered, one at a time when
+     * they are listed.
+     */
+    @Override
+    public void close() {
+        repository.removePublishListener(publishListener);
+        rendered = null;
+    }
+
+    /**
+     * Renders the header followed by the talks that fit.
+     *
+     * @param header the first line of the observation, for instance which query found the talks
+     * @param talks  the talks in the order to list them
+     * @return the observation
+     */
+    public String render(String header, List<ConferenceTalk> talks) {
+        Rendered current = rendered;
+        TalkList found = current != null && talks instanceof TalkList list && list.version() == current.version()
+                ? list : null;
+        StringBuilder response = new StringBuilder(header).append('\n');
+        int budget = options.tokenBudget() * CHARACTERS_PER_TOKEN;
+        int listed = 0;
+        for (int i = 0; i < talks.size(); i++) {
+            if (listed == options.maxResults()) {
+                break;
+            }
+            String line = found != null ? current.lines()[found.ordinal(i)] : line(talks.get(i));
+            int remaining = talks.size() - listed - 1;
+            int reserved = remaining > 0 ? omitted(remaining).length() : 0;
+            if (response.length() + line.length() + 1 + reserved > budget && listed > 0) {
+                break;
+            }
+            response.append(line).append('\n');
+            listed++;
+        }
+        if (listed < talks.size()) {
+            response.append(omitted(talks.size() - listed)).append('\n');
+        }
+        return response.toString();
+    }
+
+    /**
+     * Renders the compact line of one talk, without the token budget.
+     */
+    String line(ConferenceTalk talk) {
+        StringJoiner line = new StringJoiner(" | ", "- ", "");
+        for (Field field : Field.values()) {
+            if (!options.fields().contains(field)) {
+                continue;
+            }
+            String value = switch (field) {
+                case TITLE -> talk.title();
+                case SPEAKERS -> talk.speakers() == null ? null : speakers(talk.speakers());
+                case TRACK -> label("track", talk.track());
+                case LEVEL -> label("level", talk.level());
+                case DESCRIPTION -> talk.description();
+            };
+            if (value != null && !value.isBlank()) {
+                line.add(truncate(value.strip().replaceAll("\\s+", " ")));
+            }
+        }
+        return line.toString();
+    }
+
+    private void renderAll(TalkList talks) {
+        long start = System.nanoTime();
+        String[] lines = new String[talks.size()];
+        for (int ordinal = 0; ordinal < lines.length; ordinal++) {
+            lines[ordinal] = line(talks.get(ordinal));
+        }
+        rendered = new Rendered(talks.version(), lines);
+        logger.info("Rendered {} talks of catalog version {} in {} ms", lines.length, talks.version(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private String truncate(String value) {
+        if (value.length() <= options.maxFieldLength()) {
+            return value;
+        }
+        int end = options.maxFieldLength() - ELLIPSIS.length();
+        int space = value.lastIndexOf(' ', end);
+        return value.substring(0, space > end / 2 ? space : end).stripTrailing() + ELLIPSIS;
+    }
+
+    private static String speakers(List<Speaker> speakers) {
+        StringJoiner names = new StringJoiner(", ", "by ", "");
+        for (Speaker speaker : speakers) {
+            names.add(speaker.name());
+        }
+        return speakers.isEmpty() ? null : names.toString();
+    }
+
+    private static String label(String label, String value) {
+        return value == null || value.isBlank() ? null : label + ": " + value;
+    }
+
+    private static String omitted(int count) {
+        return "... " + count + " more " + (count == 1 ? "result" : "results") + " omitted, refine the query to see "
+                + (count == 1 ? "it" : "them");
+    }
+
+    private record Rendered(long version, String[] lines) {
+    }
+}
@@ -47,4 +47,19 @@ public abstract class Tool {
         return null;
     }
 
+    /**
+     * Extracts one string argument from an arguments object that can hold several, in any order.
+     * @param argumentName the name of the argument
+     * @param arguments the JSON object with the arguments
+     * @return the value, or null if the argument is missing or not a string
+     */
+    String extractArgument(String argumentName, String arguments) {
+        Pattern pattern = Pattern.compile("\"" + Pattern.quote(argumentName) + "\":\\s*\"([^\"]*)\"");
+        Matcher matcher = pattern.matcher(arguments);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return null;
+    }
+
 }
@@ -3,24 +3,30 @@ package org.rag4j.agent.tools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * ToolRegistry is responsible for managing a collection of AgenticTools.
  * It allows for the registration of tools and provides methods to execute them.
+ * <p>
+ * The tools are kept in the order of their names, so the tool descriptions, and with them the system prompt, are the
+ * same for every request, whatever the order the tools were registered in.
  */
 public class ToolRegistry {
     private static final Logger logger = LoggerFactory.getLogger(ToolRegistry.class);
     private final Map<String, Tool> toolMap;
-
+    private final List<String> toolDescriptions;
 
     public ToolRegistry(List<Tool> tools) {
-        this.toolMap = new HashMap<>();
+        this.toolMap = new TreeMap<>();
         for (Tool tool : tools) {
             this.toolMap.put(tool.toolName(), tool);
         }
+        this.toolDescriptions = toolMap.values().stream()
+                .map(Tool::toolDefinition)
+                .toList();
 
         logger.info("Tool registry initialized with {} tools.", toolMap.size());
         tools.forEach(tool -> logger.info("Registered tool: {}", tool.toolDefinition()));
@@ -29,13 +35,11 @@ public class ToolRegistry {
     /**
      * Returns a list of strings describing the tools available in the registry in the format required by the LLM.
      *
-     * @return List of tool descriptions. Each description includes the tool name, description, and arguments in JSON
-     * format.
+     * @return List of tool descriptions, ordered by tool name. Each description includes the tool name, description,
+     * and arguments in JSON format.
      */
     public List<String> toolDescriptions() {
-        return toolMap.values().stream()
-                .map(Tool::toolDefinition)
-                .toList();
+        return toolDescriptions;
     }
 
     /**
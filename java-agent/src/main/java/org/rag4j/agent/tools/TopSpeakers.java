@@ -0,0 +1,42 @@
+package org.rag4j.agent.tools;
+
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Tool for finding the speakers with the most conference talks.
+ * This tool answers questions like who speaks most about AI agents with a short ranking, which the repository reads
+ * from precomputed statistics when no filter is given. All arguments are optional filters; empty strings are ignored.
+ */
+public class TopSpeakers extends Tool {
+    private static final Logger logger = LoggerFactory.getLogger(TopSpeakers.class);
+    private static final int MAX_RESULTS = 10;
+    private final ConferenceTalksRepository conferenceTalksRepository;
+
+    public TopSpeakers(ConferenceTalksRepository conferenceTalksRepository) {
+        super("top_speakers",
+                "for finding the speakers with the most conference talks, all filters are optional and can be empty",
+                "{\"track\": \"string\", \"level\": \"string\", \"keywords\": \"string\"}");
+        this.conferenceTalksRepository = conferenceTalksRepository;
+    }
+
+    @Override
+    public String execute(String arguments) {
+        TalkQuery query = new TalkQuery(extractArgument("track", arguments), extractArgument("level", arguments),
+                null, extractArgument("keywords", arguments));
+        logger.info("Finding top speakers for: {}", query);
+        Map<String, Integer> speakers = this.conferenceTalksRepository.topSpeakers(query, MAX_RESULTS);
+        String filters = CountTalks.describe(query);
+        if (speakers.isEmpty()) {
+            return "No speakers found" + filters;
+        }
+        StringBuilder response = new StringBuilder("Speakers with the most talks" + filters + ":\n");
+        speakers.forEach((speaker, count) -> response.append("- ").append(speaker).append(": ").append(count)
+                .append(count == 1 ? " talk" : " talks").append('\n'));
+        return response.toString();
+    }
+}
@@ -5,12 +5,26 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.rag4j.agent.core.Conversation;
 import org.rag4j.agent.memory.Memory;
+import org.rag4j.agent.reasoning.ReActEvent;
+import org.rag4j.agent.reasoning.ReActParser;
 import org.rag4j.agent.reasoning.Reasoning;
+import org.rag4j.agent.reasoning.ReasoningResponse;
+import org.rag4j.agent.tools.AgentAction;
 import org.rag4j.agent.tools.ToolRegistry;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.rag4j.agent.core.Sender.ASSISTANT;
+import static org.rag4j.agent.core.Sender.OBSERVATION;
 import static org.rag4j.agent.core.Sender.USER;
 
 class PlainJavaAgentTest {
@@ -92,4 +106,196 @@ class PlainJavaAgentTest {
                 ASSISTANT), result.messages().get(1));
     }
 
+    @Test
+    @DisplayName("invoke starts the action before the reasoning has finished its response")
+    void invokeStartsActionBeforeReasoningFinishes() {
+        ToolRegistry toolRegistry = mock(ToolRegistry.class);
+        CountDownLatch toolStarted = new CountDownLatch(1);
+        when(toolRegistry.executeTool("search_talks", "{}")).thenAnswer(invocation -> {
+            toolStarted.countDown();
+            return "Agents in Java";
+        });
+        List<String> observations = new ArrayList<>();
+        Reasoning reasoning = new Reasoning() {
+            @Override
+            public Conversation.Message reason(Conversation.Message userMessage, Conversation conversation) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ReasoningResponse reason(Conversation.Message userMessage, Conversation conversation,
+                                            Consumer<ReActEvent> listener) {
+                if (userMessage.content().startsWith("Observation: ")) {
+                    observations.add(userMessage.content());
+                    listener.accept(new ReActEvent.Answer("There is a talk about agents."));
+                    return response("Answer: There is a talk about agents.", 0);
+                }
+                listener.accept(new ReActEvent.Action(new AgentAction("search_talks", "{}")));
+                try {
+                    assertTrue(toolStarted.await(5, TimeUnit.SECONDS), "The tool runs while the response streams");
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return response("Action: search_talks: {}", 0);
+            }
+        };
+
+        PlainJavaAgent agent = new PlainJavaAgent(reasoning, 5, toolRegistry);
+        Conversation result = agent.invoke("user4", new Conversation.Message("Any talks about agents?", USER));
+
+        assertEquals(List.of("Observation: Agents in Java"), observations);
+        assertEquals(new Conversation.Message("There is a talk about agents.", ASSISTANT), result.messages().getLast());
+    }
+
+    @Test
+    @DisplayName("run records a trace with the action and tokens of every step")
+    void runRecordsTraceOfEveryStep() {
+        ToolRegistry toolRegistry = mock(ToolRegistry.class);
+        when(toolRegistry.executeTool("count_talks", "{}")).thenReturn("12 talks");
+        Reasoning reasoning = scripted("Think: Count.\nAction: count_talks: {}", "Answer: There are 12 talks.");
+
+        PlainJavaAgent.Result result = new PlainJavaAgent(reasoning, 5, toolRegistry)
+                .run("user5", new Conversation.Message("How many talks?", USER));
+
+        ExecutionTrace trace = result.trace();
+        assertEquals(ExecutionTrace.Outcome.ANSWER, trace.outcome());
+        assertEquals(2, trace.steps().size());
+        assertEquals(List.of("count_talks"), trace.steps().get(0).actions());
+        assertTrue(trace.steps().get(1).actions().isEmpty());
+        assertEquals(200, trace.totalTokens());
+        assertTrue(trace.summary().startsWith("ANSWER after 2 steps"));
+        assertEquals(new Conversation.Message("There are 12 talks.", ASSISTANT),
+                result.conversation().messages().getLast());
+    }
+
+    @Test
+    @DisplayName("run stops when the step or token budget is exhausted")
+    void runStopsWhenBudgetIsExhausted() {
+        ToolRegistry toolRegistry = mock(ToolRegistry.class);
+        when(toolRegistry.executeTool(anyString(), anyString())).thenReturn("nothing");
+        String[] actions = new String[10];
+        Arrays.fill(actions, "Action: count_talks: {}");
+
+        PlainJavaAgent.Result steps = new PlainJavaAgent(scripted(actions), 3, toolRegistry)
+                .run("user6", new Conversation.Message("Loop", USER));
+        PlainJavaAgent.Result tokens = new PlainJavaAgent(scripted(actions), new ReActBudget(10, Duration.ZERO, 250, Duration.ZERO),
+                toolRegistry).run("user6", new Conversation.Message("Loop", USER));
+
+        assertEquals(ExecutionTrace.Outcome.STEP_BUDGET, steps.trace().outcome());
+        assertEquals(3, steps.trace().steps().size());
+        assertEquals(ExecutionTrace.Outcome.TOKEN_BUDGET, tokens.trace().outcome());
+        assertEquals(3, tokens.trace().steps().size(), "Stops once 250 tokens are used, after 300");
+        assertEquals("Unable to provide an answer within the token budget.",
+                tokens.conversation().messages().getLast().content());
+    }
+
+    @Test
+    @DisplayName("run stops waiting for an action when the time budget is exhausted")
+    void runStopsWaitingForActionWhenTimeBudgetIsExhausted() {
+        ToolRegistry toolRegistry = mock(ToolRegistry.class);
+        when(toolRegistry.executeTool(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return "too late";
+        });
+        ReActBudget budget = new ReActBudget(5, Duration.ofMillis(200), 0, Duration.ZERO);
+
+        PlainJavaAgent.Result result = new PlainJavaAgent(scripted("Action: slow_tool: {}"), budget, toolRegistry)
+                .run("user7", new Conversation.Message("Wait", USER));
+
+        assertEquals(ExecutionTrace.Outcome.TIME_BUDGET, result.trace().outcome());
+        assertTrue(result.trace().elapsed().compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals("Unable to provide an answer within the available time.",
+                result.conversation().messages().getLast().content());
+    }
+
+    @Test
+    @DisplayName("run executes the actions of a step concurrently and combines their observations")
+    void runExecutesActionsOfStepConcurrently() {
+        ToolRegistry toolRegistry = mock(ToolRegistry.class);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(toolRegistry.executeTool(eq("find_talks_by_speaker"), anyString())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS), "Both actions run at the same time");
+            return "Talks of " + invocation.getArgument(1, String.class);
+        });
+        List<String> observations = new ArrayList<>();
+        Reasoning reasoning = scripted(observations, """
+                Think: Both speakers are independent.
+                Action: find_talks_by_speaker: {"speaker": "Jettro"}
+                Action: find_talks_by_speaker: {"speaker": "Sebastien"}
+                Action: find_talks_by_speaker: {"speaker": "Jettro"}
+                PAUSE""", "Answer: Agents.");
+
+        PlainJavaAgent.Result result = new PlainJavaAgent(reasoning, 5, toolRegistry)
+                .run("user8", new Conversation.Message("What do Jettro and Sebastien speak about?", USER));
+
+        assertEquals(ExecutionTrace.Outcome.ANSWER, result.trace().outcome());
+        assertEquals(List.of("find_talks_by_speaker", "find_talks_by_speaker"), result.trace().steps().get(0).actions());
+        verify(toolRegistry, times(2)).executeTool(eq("find_talks_by_speaker"), anyString());
+        assertEquals("""
+                Observation:
+                find_talks_by_speaker: {"speaker": "Jettro"}
+                Talks of {"speaker": "Jettro"}
+
+                find_talks_by_speaker: {"speaker": "Sebastien"}
+                Talks of {"speaker": "Sebastien"}""", observations.getFirst());
+    }
+
+    @Test
+    @DisplayName("run reports an action that exceeds the action timeout in the observation")
+    void runReportsActionThatExceedsTimeout() {
+        ToolRegistry toolRegistry = mock(ToolRegistry.class);
+        when(toolRegistry.executeTool("slow_tool", "{}")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return "too late";
+        });
+        when(toolRegistry.executeTool("fast_tool", "{}")).thenReturn("done");
+        List<String> observations = new ArrayList<>();
+        Reasoning reasoning = scripted(observations, "Action: slow_tool: {}\nAction: fast_tool: {}", "Answer: Done.");
+        ReActBudget budget = new ReActBudget(5, Duration.ZERO, 0, Duration.ofMillis(100));
+
+        PlainJavaAgent.Result result = new PlainJavaAgent(reasoning, budget, toolRegistry)
+                .run("user9", new Conversation.Message("Run both", USER));
+
+        assertEquals(ExecutionTrace.Outcome.ANSWER, result.trace().outcome());
+        assertTrue(observations.getFirst().contains("slow_tool: {}\nThe action did not finish in time."));
+        assertTrue(observations.getFirst().contains("fast_tool: {}\ndone"));
+    }
+
+    /**
+     * Returns a reasoning that responds with the outputs in turn, reporting 100 tokens per response.
+     */
+    private static Reasoning scripted(String... outputs) {
+        return scripted(new ArrayList<>(), outputs);
+    }
+
+    /**
+     * Returns a reasoning that responds with the outputs in turn and collects the observations it receives.
+     */
+    private static Reasoning scripted(List<String> observations, String... outputs) {
+        int[] next = {0};
+        return new Reasoning() {
+            @Override
+            public Conversation.Message reason(Conversation.Message userMessage, Conversation conversation) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ReasoningResponse reason(Conversation.Message userMessage, Conversation conversation,
+                                            Consumer<ReActEvent> listener) {
+                if (userMessage.sender() == OBSERVATION) {
+                    observations.add(userMessage.content());
+                }
+                String output = outputs[next[0]++];
+                ReActParser.parse(output).forEach(listener);
+                return response(output, 100);
+            }
+        };
+    }
+
+    private static ReasoningResponse response(String output, long tokens) {
+        return new ReasoningResponse(new Conversation.Message(output, ASSISTANT), tokens - tokens / 5, tokens / 5,
+                Duration.ZERO);
+    }
+
 }
@@ -2,24 +2,32 @@ package org.rag4j.agent.reasoning;
 
 import com.openai.client.OpenAIClient;
 import com.openai.client.okhttp.OpenAIOkHttpClient;
+import com.openai.core.http.StreamResponse;
 import com.openai.models.chat.completions.ChatCompletion;
+import com.openai.models.chat.completions.ChatCompletionChunk;
 import com.openai.models.chat.completions.ChatCompletionCreateParams;
 import com.openai.models.chat.completions.ChatCompletionMessage;
+import com.openai.models.completions.CompletionUsage;
 import com.openai.services.blocking.ChatService;
 import com.openai.services.blocking.chat.ChatCompletionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.rag4j.agent.core.Conversation;
 import org.rag4j.agent.core.Sender;
+import org.rag4j.agent.tools.AgentAction;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.rag4j.agent.core.Sender.USER;
@@ -69,6 +77,54 @@ class OpenAIReasoningTest {
     }
 
 
+    @Test
+    @DisplayName("Streams the response and passes on the action before the stream ends")
+    void streamsResponseAndPassesOnActionBeforeStreamEnds() {
+        SystemPrompt systemPrompt = mock(SystemPrompt.class);
+        when(systemPrompt.build()).thenReturn("You are a helpful assistant.");
+        OpenAIReasoning streamingReasoning = new OpenAIReasoning(mockClient, systemPrompt, true);
+        Conversation.Message userMessage = new Conversation.Message("Who talks about agents?", USER);
+
+        List<ReActEvent> events = new ArrayList<>();
+        List<String> streamed = new ArrayList<>();
+        Stream<ChatCompletionChunk> chunks = Stream.of("Think: Search.\nAct", "ion: search_talks: {\"keywords\"",
+                        ": \"agents\"}\n", "")
+                .peek(streamed::add)
+                .map(OpenAIReasoningTest::chunk);
+        ChatCompletionChunk usageChunk = mock(ChatCompletionChunk.class);
+        when(usageChunk.choices()).thenReturn(List.of());
+        when(usageChunk.usage()).thenReturn(Optional.of(
+                CompletionUsage.builder().promptTokens(120).completionTokens(20).totalTokens(140).build()));
+        chunks = Stream.concat(chunks, Stream.of(usageChunk));
+        @SuppressWarnings("unchecked")
+        StreamResponse<ChatCompletionChunk> streamResponse = mock(StreamResponse.class);
+        when(streamResponse.stream()).thenReturn(chunks);
+        ChatService mockChatService = mock(ChatService.class);
+        ChatCompletionService mockChatCompletionService = mock(ChatCompletionService.class);
+        when(mockClient.chat()).thenReturn(mockChatService);
+        when(mockChatService.completions()).thenReturn(mockChatCompletionService);
+        ArgumentCaptor<ChatCompletionCreateParams> params = ArgumentCaptor.forClass(ChatCompletionCreateParams.class);
+        when(mockChatCompletionService.createStreaming(params.capture())).thenReturn(streamResponse);
+
+        ReasoningResponse result = streamingReasoning.reason(userMessage, new Conversation(new ArrayList<>()),
+                event -> {
+                    events.add(event);
+                    if (event instanceof ReActEvent.Action) {
+                        assertEquals(3, streamed.size(), "The action is passed on before the last chunk");
+                    }
+                });
+
+        assertEquals("Think: Search.\nAction: search_talks: {\"keywords\": \"agents\"}\n",
+                result.message().content());
+        assertEquals(120, result.inputTokens());
+        assertEquals(20, result.outputTokens());
+        assertEquals(List.of(new ReActEvent.Think("Search."),
+                new ReActEvent.Action(new AgentAction("search_talks", "{\"keywords\": \"agents\"}"))), events);
+        assertTrue(params.getValue().stop().orElseThrow().isString());
+        assertEquals(OpenAIReasoning.STOP_SEQUENCE, params.getValue().stop().orElseThrow().asString());
+        verify(streamResponse).close();
+    }
+
     @Test
     @DisplayName("Throws exception if OpenAIClient throws")
     void throwsExceptionIfOpenAIClientThrows() {
@@ -78,5 +134,15 @@ class OpenAIReasoningTest {
 
         assertThrows(RuntimeException.class, () -> openAIReasoning.reason(userMessage, conversation));
     }
+
+    private static ChatCompletionChunk chunk(String content) {
+        ChatCompletionChunk chunk = mock(ChatCompletionChunk.class);
+        ChatCompletionChunk.Choice choice = mock(ChatCompletionChunk.Choice.class);
+        ChatCompletionChunk.Choice.Delta delta = mock(ChatCompletionChunk.Choice.Delta.class);
+        when(chunk.choices()).thenReturn(List.of(choice));
+        when(choice.delta()).thenReturn(delta);
+        when(delta.content()).thenReturn(content.isEmpty() ? Optional.empty() : Optional.of(content));
+        return chunk;
+    }
 }
 
@@ -0,0 +1,113 @@
+package org.rag4j.agent.reasoning;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.rag4j.agent.tools.AgentAction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReActParserTest {
+
+    @Test
+    @DisplayName("Parses the thought and action of a step in the prompted format")
+    void parsesThoughtAndAction() {
+        List<ReActEvent> events = ReActParser.parse("""
+                Question: Who talks about agents?
+                Think: I need to search the talks.
+                Action: search_talks: {"keywords": "agents"}
+                PAUSE""");
+
+        assertEquals(List.of(
+                new ReActEvent.Think("I need to search the talks."),
+                new ReActEvent.Action(new AgentAction("search_talks", "{\"keywords\": \"agents\"}"))), events);
+    }
+
+    @Test
+    @DisplayName("Parses a multi-line answer")
+    void parsesMultiLineAnswer() {
+        List<ReActEvent> events = ReActParser.parse("""
+                Observation: two talks
+                Think: Now I can answer.
+                Answer: There are two talks:
+                - Agents in Java
+                - Agents in Kotlin
+                """);
+
+        assertEquals(new ReActEvent.Answer("There are two talks:\n- Agents in Java\n- Agents in Kotlin"),
+                events.getLast());
+    }
+
+    @Test
+    @DisplayName("Tolerates case, markdown, extra whitespace and a missing PAUSE")
+    void toleratesFormatDeviations() {
+        List<ReActEvent> events = ReActParser.parse("""
+                **Thought**:   I should count.
+                  action :  `count_talks`  {"track": "Java"}
+                """);
+
+        assertEquals(List.of(
+                new ReActEvent.Think("I should count."),
+                new ReActEvent.Action(new AgentAction("count_talks", "{\"track\": \"Java\"}"))), events);
+        assertEquals(List.of(new ReActEvent.Answer("It is 40 lbs.")), ReActParser.parse("Final Answer: It is 40 lbs."));
+    }
+
+    @Test
+    @DisplayName("Collects JSON arguments that span several lines")
+    void collectsMultiLineArguments() {
+        List<ReActEvent> events = ReActParser.parse("""
+                Action: search_talks:
+                {
+                  "keywords": "agents {and} tools",
+                  "track": "Java"
+                }
+                I will wait for the observation.
+                """);
+
+        assertEquals(List.of(new ReActEvent.Action(new AgentAction("search_talks",
+                "{\n\"keywords\": \"agents {and} tools\",\n\"track\": \"Java\"\n}"))), events);
+    }
+
+    @Test
+    @DisplayName("Ignores an observation and answer the model made up after its action")
+    void ignoresMadeUpObservation() {
+        List<ReActEvent> events = ReActParser.parse("""
+                Action: find_talks_by_title: {"title": "Agents"}
+                Observation: Agents by Alice
+                Answer: Alice talks about agents.
+                """);
+
+        assertEquals(List.of(new ReActEvent.Action(new AgentAction("find_talks_by_title", "{\"title\": \"Agents\"}"))),
+                events);
+    }
+
+    @Test
+    @DisplayName("Takes output without any keyword as the answer")
+    void takesUnstructuredOutputAsAnswer() {
+        assertEquals(List.of(new ReActEvent.Answer("Hello, how can I help?")),
+                ReActParser.parse("\nHello, how can I help?\n"));
+        assertTrue(ReActParser.parse("Think:\nPAUSE").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Passes on the action as soon as its line arrives, for any chunking")
+    void parsesChunksIncrementally() {
+        String output = "Think: Look it up.\nAction: top_speakers: {\"track\": \"Java\"}\nPAUSE\n";
+        for (int size = 1; size <= output.length(); size++) {
+            List<ReActEvent> events = new ArrayList<>();
+            ReActParser parser = new ReActParser(events::add);
+            int actionLineEnd = output.indexOf("PAUSE");
+            for (int i = 0; i < output.length(); i += size) {
+                parser.accept(output.substring(i, Math.min(output.length(), i + size)));
+                if (i + size >= actionLineEnd) {
+                    assertEquals(2, events.size(), "The action is complete before PAUSE, chunk size " + size);
+                }
+            }
+            parser.finish();
+            assertEquals(ReActParser.parse(output), events);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.rag4j.agent.reasoning;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.rag4j.agent.tools.Tool;
+import org.rag4j.agent.tools.ToolRegistry;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class SystemPromptTest {
+
+    @Test
+    @DisplayName("Builds the prompt once per day, with the date at the end")
+    void buildsPromptOncePerDay() {
+        Clock clock = Mockito.mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(Instant.parse("2025-10-01T08:00:00Z"), Instant.parse("2025-10-01T17:00:00Z"),
+                Instant.parse("2025-10-02T08:00:00Z"));
+        SystemPrompt systemPrompt = new SystemPrompt("Agent", "You are an agent.",
+                new ToolRegistry(List.of(tool("b_tool"), tool("a_tool"))), clock);
+
+        String first = systemPrompt.build();
+        String sameDay = systemPrompt.build();
+        String nextDay = systemPrompt.build();
+
+        assertSame(first, sameDay);
+        assertNotSame(first, nextDay);
+        assertTrue(first.endsWith("The date for today is: 2025-10-01"));
+        assertTrue(nextDay.endsWith("The date for today is: 2025-10-02"));
+        String prefix = "The date for today is: ";
+        assertEquals(first.substring(0, first.lastIndexOf(prefix)), nextDay.substring(0, nextDay.lastIndexOf(prefix)),
+                "Everything before the date is the same");
+        assertTrue(first.startsWith("You are an agent."));
+        assertTrue(first.indexOf("- a_tool:") < first.indexOf("- b_tool:"));
+    }
+
+    private static Tool tool(String name) {
+        return new Tool(name, "a tool", "{}") {
+            @Override
+            public String execute(String arguments) {
+                return "";
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package org.rag4j.agent.tools;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkCounts;
+import org.rag4j.agent.core.TalkQuery;
+import org.rag4j.agent.core.TalkQueryResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountTalksTest {
+    private ConferenceTalksRepository repository;
+    private TalkQueryResult result;
+    private CountTalks tool;
+
+    @BeforeEach
+    void setup() {
+        repository = Mockito.mock(ConferenceTalksRepository.class);
+        result = Mockito.mock(TalkQueryResult.class);
+        tool = new CountTalks(repository);
+    }
+
+    @Test
+    @DisplayName("Returns counts grouped by track and level")
+    void returnsCountsGroupedByTrackAndLevel() {
+        Map<String, Integer> byTrack = new LinkedHashMap<>();
+        byTrack.put("GenAI & Beyond", 9);
+        byTrack.put("Java", 3);
+        Mockito.when(repository.query(new TalkQuery(null, null, null, "AI agents"))).thenReturn(result);
+        Mockito.when(result.counts()).thenReturn(new TalkCounts(12, byTrack, Map.of("INTERMEDIATE", 12)));
+
+        String response = tool.execute("{\"track\": \"\", \"keywords\": \"AI agents\"}");
+
+        assertEquals("Found 12 talks for keywords 'AI agents'.\n"
+                + "By track: GenAI & Beyond 9, Java 3\n"
+                + "By level: INTERMEDIATE 12\n", response);
+    }
+
+    @Test
+    @DisplayName("Returns message when no talks match")
+    void returnsMessageWhenNoTalksMatch() {
+        Mockito.when(repository.query(new TalkQuery("Java", "ADVANCED", null, null))).thenReturn(result);
+        Mockito.when(result.counts()).thenReturn(new TalkCounts(0, Map.of(), Map.of()));
+
+        String response = tool.execute("{\"track\": \"Java\", \"level\": \"ADVANCED\"}");
+
+        assertEquals("No talks found for track 'Java' and level 'ADVANCED'", response);
+    }
+}
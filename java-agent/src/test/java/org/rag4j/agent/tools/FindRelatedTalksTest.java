@@ -0,0 +1,53 @@
+package org.rag4j.agent.tools;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FindRelatedTalksTest {
+    private FindRelatedTalks tool;
+
+    @BeforeEach
+    void setup() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(List.of(talk("Agents in Java"),
+                talk("Agents with Spring AI"), talk("Testing agents"), new ConferenceTalk("Kotlin coroutines",
+                        "Structured concurrency on the JVM", "Kotlin", "ADVANCED", List.of(new Speaker("Bob")))));
+        tool = new FindRelatedTalks(repository, new TalkRenderer(repository, TalkRenderer.Options.defaults()));
+    }
+
+    @Test
+    @DisplayName("Returns the related talks, most related first")
+    void returnsRelatedTalks() {
+        String result = tool.execute("{\"title\": \"Agents in Java\"}");
+
+        assertTrue(result.startsWith("Talks related to 'Agents in Java', most related first:\n"));
+        assertTrue(result.contains("Agents with Spring AI"));
+        assertTrue(result.contains("Testing agents"));
+        assertTrue(result.indexOf("Testing agents") < result.indexOf("Kotlin coroutines"),
+                "Ranks the unrelated talk last");
+    }
+
+    @Test
+    @DisplayName("Returns message when no talk has the title")
+    void returnsMessageWhenNoTalkFound() {
+        assertEquals("No talk found with the title: Unknown", tool.execute("{\"title\": \"Unknown\"}"));
+    }
+
+    @Test
+    @DisplayName("Returns error message for empty title")
+    void returnsErrorForEmptyTitle() {
+        assertEquals("Title cannot be empty.", tool.execute("{\"title\": \"\"}"));
+    }
+
+    private static ConferenceTalk talk(String title) {
+        return new ConferenceTalk(title, "About " + title, "GenAI", "BEGINNER", List.of(new Speaker("Alice")));
+    }
+}
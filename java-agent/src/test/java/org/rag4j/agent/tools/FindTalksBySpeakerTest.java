@@ -1,74 +1,76 @@
 package org.rag4j.agent.tools;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.rag4j.agent.core.ConferenceTalk;
 import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
 
-import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FindTalksBySpeakerTest {
-    private ConferenceTalksRepository repository;
-    private FindTalksBySpeaker tool;
-
-    @BeforeEach
-    void setup() {
-        repository = Mockito.mock(ConferenceTalksRepository.class);
-        tool = new FindTalksBySpeaker(repository);
-    }
 
     @Test
     @DisplayName("Returns talks for a known speaker")
     void returnsTalksForKnownSpeaker() {
-        ConferenceTalk talk = Mockito.mock(ConferenceTalk.class);
-        Mockito.when(repository.findTalksBySpeaker("Alice")).thenReturn(List.of(talk));
-        Mockito.when(talk.toString()).thenReturn("Talk by Alice");
+        FindTalksBySpeaker tool = tool(talk("Talk by Alice", "Alice"), talk("Talk by Bob", "Bob"));
         String result = tool.execute("{\"speaker\": \"Alice\"}");
         assertTrue(result.contains("Found talks with speaker 'Alice':"));
         assertTrue(result.contains("Talk by Alice"));
+        assertFalse(result.contains("Talk by Bob"));
     }
 
     @Test
     @DisplayName("Returns message when no talks found for speaker")
     void returnsMessageWhenNoTalksFound() {
-        Mockito.when(repository.findTalksBySpeaker("Bob")).thenReturn(Collections.emptyList());
-        String result = tool.execute("{\"speaker\": \"Bob\"}");
-        assertEquals("No talks found with the speaker: Bob", result);
+        FindTalksBySpeaker tool = tool(talk("Talk by Alice", "Alice"));
+        String result = tool.execute("{\"speaker\": \"Zoltan\"}");
+        assertEquals("No talks found with the speaker: Zoltan", result);
+    }
+
+    @Test
+    @DisplayName("Returns talks of similar speakers when the name is misspelled")
+    void returnsTalksOfSimilarSpeakersWhenNameIsMisspelled() {
+        FindTalksBySpeaker tool = tool(talk("Talk by Sébastien Blanc", "Sébastien Blanc"));
+        String result = tool.execute("{\"speaker\": \"Sebastian Blanc\"}");
+        assertTrue(result.startsWith("No talks found with the speaker 'Sebastian Blanc', but found talks with similar "
+                + "speaker names:"));
+        assertTrue(result.contains("Talk by Sébastien Blanc"));
     }
 
     @Test
     @DisplayName("Handles empty speaker argument")
     void handlesEmptySpeakerArgument() {
-        Mockito.when(repository.findTalksBySpeaker("")).thenReturn(Collections.emptyList());
-        String result = tool.execute("{\"speaker\": \"\"}");
+        String result = tool(talk("Talk by Alice", "Alice")).execute("{\"speaker\": \"\"}");
         assertEquals("Speaker name cannot be empty.", result);
     }
 
     @Test
     @DisplayName("Handles null speaker argument")
     void handlesNullSpeakerArgument() {
-        Mockito.when(repository.findTalksBySpeaker(null)).thenReturn(Collections.emptyList());
-        String result = tool.execute("{\"speaker\": null}");
+        String result = tool(talk("Talk by Alice", "Alice")).execute("{\"speaker\": null}");
         assertEquals("Speaker name cannot be empty.", result);
     }
 
     @Test
     @DisplayName("Returns multiple talks for a speaker")
     void returnsMultipleTalksForSpeaker() {
-        ConferenceTalk talk1 = Mockito.mock(ConferenceTalk.class);
-        ConferenceTalk talk2 = Mockito.mock(ConferenceTalk.class);
-        Mockito.when(repository.findTalksBySpeaker("Carol")).thenReturn(List.of(talk1, talk2));
-        Mockito.when(talk1.toString()).thenReturn("Talk 1 by Carol");
-        Mockito.when(talk2.toString()).thenReturn("Talk 2 by Carol");
+        FindTalksBySpeaker tool = tool(talk("Talk 1 by Carol", "Carol"), talk("Talk 2 by Carol", "Carol"));
         String result = tool.execute("{\"speaker\": \"Carol\"}");
         assertTrue(result.contains("Talk 1 by Carol"));
         assertTrue(result.contains("Talk 2 by Carol"));
     }
-}
 
+    private static FindTalksBySpeaker tool(ConferenceTalk... talks) {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(List.of(talks));
+        return new FindTalksBySpeaker(repository, new TalkRenderer(repository, TalkRenderer.Options.defaults()));
+    }
+
+    private static ConferenceTalk talk(String title, String speaker) {
+        return new ConferenceTalk(title, "A description", "Java", "BEGINNER", List.of(new Speaker(speaker)));
+    }
+}
@@ -1,74 +1,75 @@
 package org.rag4j.agent.tools;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.rag4j.agent.core.ConferenceTalk;
 import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
 
-import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FindTalksByTitleTest {
-    private ConferenceTalksRepository repository;
-    private FindTalksByTitle tool;
-
-    @BeforeEach
-    void setup() {
-        repository = Mockito.mock(ConferenceTalksRepository.class);
-        tool = new FindTalksByTitle(repository);
-    }
 
     @Test
     @DisplayName("Returns talks for a known title")
     void returnsTalksForKnownTitle() {
-        ConferenceTalk talk = Mockito.mock(ConferenceTalk.class);
-        Mockito.when(repository.findTalksByTitle("Java")).thenReturn(List.of(talk));
-        Mockito.when(talk.toString()).thenReturn("Talk about Java");
+        FindTalksByTitle tool = tool(talk("Talk about Java"), talk("Talk about Kotlin"));
         String result = tool.execute("{\"title\": \"Java\"}");
         assertTrue(result.contains("Found talks with title 'Java':"));
         assertTrue(result.contains("Talk about Java"));
+        assertFalse(result.contains("Talk about Kotlin"));
     }
 
     @Test
     @DisplayName("Returns message when no talks found for title")
     void returnsMessageWhenNoTalksFound() {
-        Mockito.when(repository.findTalksByTitle("UnknownTitle")).thenReturn(Collections.emptyList());
+        FindTalksByTitle tool = tool(talk("Talk about Java"));
         String result = tool.execute("{\"title\": \"UnknownTitle\"}");
         assertEquals("No talks found with the title: UnknownTitle", result);
     }
 
+    @Test
+    @DisplayName("Returns talks with similar titles when the title is misspelled")
+    void returnsTalksWithSimilarTitlesWhenTitleIsMisspelled() {
+        FindTalksByTitle tool = tool(talk("Talk about Java"));
+        String result = tool.execute("{\"title\": \"Javva\"}");
+        assertTrue(result.startsWith("No talks found with the title 'Javva', but found talks with similar titles:"));
+        assertTrue(result.contains("Talk about Java"));
+    }
+
     @Test
     @DisplayName("Handles empty title argument")
     void handlesEmptyTitleArgument() {
-        Mockito.when(repository.findTalksByTitle("")).thenReturn(Collections.emptyList());
-        String result = tool.execute("{\"title\": \"\"}");
+        String result = tool(talk("Talk about Java")).execute("{\"title\": \"\"}");
         assertEquals("Title cannot be empty.", result);
     }
 
     @Test
     @DisplayName("Handles null title argument")
     void handlesNullTitleArgument() {
-        Mockito.when(repository.findTalksByTitle(null)).thenReturn(Collections.emptyList());
-        String result = tool.execute("{\"title\": null}");
+        String result = tool(talk("Talk about Java")).execute("{\"title\": null}");
         assertEquals("Title cannot be empty.", result);
     }
 
     @Test
     @DisplayName("Returns multiple talks for a title")
     void returnsMultipleTalksForTitle() {
-        ConferenceTalk talk1 = Mockito.mock(ConferenceTalk.class);
-        ConferenceTalk talk2 = Mockito.mock(ConferenceTalk.class);
-        Mockito.when(repository.findTalksByTitle("Spring")).thenReturn(List.of(talk1, talk2));
-        Mockito.when(talk1.toString()).thenReturn("Spring Talk 1");
-        Mockito.when(talk2.toString()).thenReturn("Spring Talk 2");
+        FindTalksByTitle tool = tool(talk("Spring Talk 1"), talk("Spring Talk 2"));
         String result = tool.execute("{\"title\": \"Spring\"}");
         assertTrue(result.contains("Spring Talk 1"));
         assertTrue(result.contains("Spring Talk 2"));
     }
-}
 
+    private static FindTalksByTitle tool(ConferenceTalk... talks) {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(List.of(talks));
+        return new FindTalksByTitle(repository, new TalkRenderer(repository, TalkRenderer.Options.defaults()));
+    }
+
+    private static ConferenceTalk talk(String title) {
+        return new ConferenceTalk(title, "A description", "Java", "BEGINNER", List.of(new Speaker("Alice")));
+    }
+}
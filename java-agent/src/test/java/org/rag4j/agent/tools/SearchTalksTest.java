@@ -0,0 +1,54 @@
+package org.rag4j.agent.tools;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchTalksTest {
+    private SearchTalks tool;
+
+    @BeforeEach
+    void setup() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(List.of(
+                new ConferenceTalk("IntelliJ talk", "Getting more out of the IDE you use every day", "Java",
+                        "BEGINNER", List.of(new Speaker("Alice"))),
+                new ConferenceTalk("AI IDEs talk", "Coding assistants", "Java", "BEGINNER",
+                        List.of(new Speaker("Bob"))),
+                new ConferenceTalk("Kotlin talk", "Coroutines in practice", "Kotlin", "ADVANCED",
+                        List.of(new Speaker("Carol")))));
+        tool = new SearchTalks(repository, new TalkRenderer(repository, TalkRenderer.Options.defaults()));
+    }
+
+    @Test
+    @DisplayName("Returns ranked talks for a query")
+    void returnsRankedTalksForQuery() {
+        String result = tool.execute("{\"query\": \"IDE\"}");
+        assertTrue(result.startsWith("Found talks for query 'IDE', most relevant first:"));
+        assertTrue(result.contains("- IntelliJ talk | by Alice | track: Java"), "Renders the compact line");
+        assertTrue(result.contains("AI IDEs talk"));
+        assertFalse(result.contains("Kotlin talk"));
+    }
+
+    @Test
+    @DisplayName("Returns message when no talks found for query")
+    void returnsMessageWhenNoTalksFound() {
+        String result = tool.execute("{\"query\": \"cobol\"}");
+        assertEquals("No talks found for the query: cobol", result);
+    }
+
+    @Test
+    @DisplayName("Handles empty query argument")
+    void handlesEmptyQueryArgument() {
+        String result = tool.execute("{\"query\": \"\"}");
+        assertEquals("Query cannot be empty.", result);
+    }
+}
@@ -0,0 +1,120 @@
+package org.rag4j.agent.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+import org.rag4j.agent.core.TalkList;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TalkRendererTest {
+
+    @Test
+    @DisplayName("Renders only the configured fields on one line")
+    void rendersOnlyConfiguredFields() {
+        TalkRenderer renderer = renderer(new TalkRenderer.Options(
+                EnumSet.of(TalkRenderer.Field.TITLE, TalkRenderer.Field.SPEAKERS), 10, 160, 800));
+        ConferenceTalk talk = new ConferenceTalk("Agents in Java", "A long\n description", "Java", "BEGINNER",
+                List.of(new Speaker("Alice"), new Speaker("Bob")));
+
+        assertEquals("- Agents in Java | by Alice, Bob", renderer.line(talk));
+    }
+
+    @Test
+    @DisplayName("Cuts long fields at a word boundary")
+    void cutsLongFieldsAtWordBoundary() {
+        TalkRenderer renderer = renderer(new TalkRenderer.Options(
+                EnumSet.of(TalkRenderer.Field.DESCRIPTION), 10, 20, 800));
+        ConferenceTalk talk = new ConferenceTalk("Title", "Agents that call tools and remember things", "Java",
+                "BEGINNER", List.of());
+
+        assertEquals("- Agents that call...", renderer.line(talk));
+    }
+
+    @Test
+    @DisplayName("Lists at most the maximum number of results and counts the rest")
+    void listsAtMostMaxResults() {
+        TalkRenderer renderer = renderer(new TalkRenderer.Options(
+                EnumSet.of(TalkRenderer.Field.TITLE), 2, 160, 800));
+
+        String result = renderer.render("Found talks:", talks(5));
+
+        assertEquals("Found talks:\n- Talk 0\n- Talk 1\n... 3 more results omitted, refine the query to see them\n",
+                result);
+    }
+
+    @Test
+    @DisplayName("Stays within the token budget, including the omitted marker")
+    void staysWithinTokenBudget() {
+        TalkRenderer renderer = renderer(new TalkRenderer.Options(
+                EnumSet.allOf(TalkRenderer.Field.class), 100, 160, 100));
+
+        String result = renderer.render("Found talks:", talks(50));
+
+        assertTrue(result.length() <= 100 * 4, "About four characters per token");
+        assertTrue(result.contains("more results omitted"));
+        assertTrue(result.contains("- Talk 0 | by Speaker 0"));
+    }
+
+    @Test
+    @DisplayName("Renders the talks of a catalog when it is published and reads them by ordinal")
+    void rendersTheCatalogWhenItIsPublished() {
+        ConferenceTalksRepository repository = new ConferenceTalksRepository(talks(3));
+        TalkRenderer renderer = Mockito.spy(new TalkRenderer(repository, TalkRenderer.Options.defaults()));
+
+        String result = renderer.render("Found talks:", repository.findTalksByTitle("talk 2"));
+
+        assertTrue(result.contains("- Talk 2 | by Speaker 2"));
+        assertFalse(result.contains("omitted"));
+        Mockito.verify(renderer, Mockito.never()).line(Mockito.any());
+        assertEquals(result, renderer.render("Found talks:", List.copyOf(repository.findTalksByTitle("talk 2"))),
+                "Talks that are not from a lookup are rendered when they are listed");
+        Mockito.verify(renderer, Mockito.times(1)).line(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Stops rendering the published catalogs once it is closed")
+    void stopsRenderingPublishedCatalogsWhenClosed() {
+        ConferenceTalksRepository repository = Mockito.mock(ConferenceTalksRepository.class);
+        TalkRenderer renderer = new TalkRenderer(repository, TalkRenderer.Options.defaults());
+        ArgumentCaptor<Consumer<TalkList>> listener = ArgumentCaptor.captor();
+        Mockito.verify(repository).onPublish(listener.capture());
+
+        renderer.close();
+
+        Mockito.verify(repository).removePublishListener(listener.getValue());
+        assertTrue(renderer.render("Found talks:", talks(1)).contains("- Talk 0"));
+    }
+
+    @Test
+    @DisplayName("Rejects options without fields")
+    void rejectsOptionsWithoutFields() {
+        assertThrows(IllegalArgumentException.class, () -> new TalkRenderer.Options(
+                EnumSet.noneOf(TalkRenderer.Field.class), 10, 160, 800));
+    }
+
+    private static TalkRenderer renderer(TalkRenderer.Options options) {
+        return new TalkRenderer(Mockito.mock(ConferenceTalksRepository.class), options);
+    }
+
+    private static List<ConferenceTalk> talks(int count) {
+        List<ConferenceTalk> talks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            talks.add(new ConferenceTalk("Talk " + i, "Description of talk " + i + " about agents and tools",
+                    "Java", "INTERMEDIATE", List.of(new Speaker("Speaker " + i))));
+        }
+        return talks;
+    }
+}
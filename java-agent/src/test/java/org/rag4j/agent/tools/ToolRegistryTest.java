@@ -68,5 +68,18 @@ class ToolRegistryTest {
         );
         assertEquals("No such tool: unknownTool", ex.getMessage());
     }
-}
 
+    @Test
+    @DisplayName("Describes the tools in the order of their names")
+    void describesToolsInOrderOfTheirNames() {
+        Tool other = Mockito.mock(Tool.class);
+        when(other.toolName()).thenReturn("anotherTool");
+        when(other.toolDefinition()).thenReturn("anotherTool: another tool {}");
+
+        List<String> descriptions = new ToolRegistry(List.of(mockTool, other)).toolDescriptions();
+
+        assertEquals(List.of("anotherTool: another tool {}", "myTool: for testing a tool {\"title\": \"string\"}"),
+                descriptions);
+        assertEquals(descriptions, new ToolRegistry(List.of(other, mockTool)).toolDescriptions());
+    }
+}
@@ -48,6 +48,17 @@ class ToolTest {
         Assertions.assertEquals("special", result);
     }
 
+    @Test
+    @DisplayName("extractArgument finds one argument among several")
+    void extractArgumentFindsOneArgumentAmongSeveral() {
+        Tool tool = new DummyTool("dummy", "desc", "{\"track\": \"string\", \"level\": \"string\"}");
+        String arguments = "{\"track\": \"Java\", \"level\": \"\", \"keywords\": \"records\"}";
+        Assertions.assertEquals("Java", tool.extractArgument("track", arguments));
+        Assertions.assertEquals("", tool.extractArgument("level", arguments));
+        Assertions.assertEquals("records", tool.extractArgument("keywords", arguments));
+        Assertions.assertNull(tool.extractArgument("speaker", arguments));
+    }
+
     @Test
     @DisplayName("toolDefinition returns correct format")
     void toolDefinitionReturnsCorrectFormat() {
@@ -0,0 +1,49 @@
+package org.rag4j.agent.tools;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkQuery;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopSpeakersTest {
+    private ConferenceTalksRepository repository;
+    private TopSpeakers tool;
+
+    @BeforeEach
+    void setup() {
+        repository = Mockito.mock(ConferenceTalksRepository.class);
+        tool = new TopSpeakers(repository);
+    }
+
+    @Test
+    @DisplayName("Returns the speakers with the most talks first")
+    void returnsSpeakersWithMostTalksFirst() {
+        Map<String, Integer> speakers = new LinkedHashMap<>();
+        speakers.put("Simon Ritter", 3);
+        speakers.put("Sébastien Blanc", 1);
+        Mockito.when(repository.topSpeakers(new TalkQuery("Java", null, null, null), 10)).thenReturn(speakers);
+
+        String response = tool.execute("{\"track\": \"Java\", \"keywords\": \"\"}");
+
+        assertEquals("Speakers with the most talks for track 'Java':\n"
+                + "- Simon Ritter: 3 talks\n"
+                + "- Sébastien Blanc: 1 talk\n", response);
+    }
+
+    @Test
+    @DisplayName("Returns message when no talks match")
+    void returnsMessageWhenNoTalksMatch() {
+        Mockito.when(repository.topSpeakers(new TalkQuery(null, null, null, "cobol"), 10)).thenReturn(Map.of());
+
+        String response = tool.execute("{\"keywords\": \"cobol\"}");
+
+        assertEquals("No speakers found for keywords 'cobol'", response);
+    }
+}
@@ -2,26 +2,103 @@ package org.rag4j.agent.springai;
 
 import org.rag4j.agent.core.ConferenceTalk;
 import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkCounts;
+import org.rag4j.agent.core.TalkQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
 
 import java.util.List;
+import java.util.Map;
 
-public record ConferenceTalksTools(ConferenceTalksRepository conferenceTalksRepository) {
+public record ConferenceTalksTools(ConferenceTalksRepository conferenceTalksRepository, TalkPages talkPages) {
     private static final Logger logger = LoggerFactory.getLogger(ConferenceTalksTools.class);
+    private static final int MAX_SEARCH_RESULTS = 10;
+    private static final int MAX_TOP_SPEAKERS = 10;
+    private static final int MAX_RELATED_TALKS = 5;
 
-    @Tool(description = "Find a conference talk by its title.")
+    public ConferenceTalksTools(ConferenceTalksRepository conferenceTalksRepository) {
+        this(conferenceTalksRepository, new TalkPages(conferenceTalksRepository));
+    }
+
+    @Tool(description = "Find a conference talk by its title. A misspelled title returns the talks with similar "
+            + "titles.")
     public List<ConferenceTalk> findConferenceTalkByTitle(String title) {
         logger.info("Finding conference talk by title: {}", title);
 
-        return this.conferenceTalksRepository.findTalksByTitle(title);
+        return this.conferenceTalksRepository.findTalksByTitleOrSimilar(title);
     }
 
-    @Tool(description = "Find all conference talks by a specific speaker.")
+    @Tool(description = "Find all conference talks by a specific speaker. A misspelled name returns the talks of "
+            + "speakers with similar names.")
     public List<ConferenceTalk> findConferenceTalksBySpeaker(String speakerName) {
         logger.info("Finding conference talks by speaker: {}", speakerName);
 
-        return this.conferenceTalksRepository.findTalksBySpeaker(speakerName);
+        return this.conferenceTalksRepository.findTalksBySpeakerOrSimilar(speakerName);
+    }
+
+    @Tool(description = "Find conference talks by title, best matches first, one page at a time. Returns the title, "
+            + "speakers, track and level of each talk, the total number of matches and a nextCursor to pass for the "
+            + "next page. A misspelled title returns the talks with similar titles.",
+            resultConverter = TalkPages.PageResultConverter.class)
+    public TalkPages.TalkPage findConferenceTalksByTitlePage(
+            String title,
+            @ToolParam(required = false, description = "maximum number of talks, default 10, at most 50") Integer limit,
+            @ToolParam(required = false, description = "nextCursor of the previous page") String cursor) {
+        logger.info("Finding conference talks by title: {}, limit: {}, cursor: {}", title, limit, cursor);
+
+        return this.talkPages.byTitle(title, limit, cursor);
+    }
+
+    @Tool(description = "Find conference talks by speaker, best matches first, one page at a time. Returns the title, "
+            + "speakers, track and level of each talk, the total number of matches and a nextCursor to pass for the "
+            + "next page. A misspelled name returns the talks of speakers with similar names.",
+            resultConverter = TalkPages.PageResultConverter.class)
+    public TalkPages.TalkPage findConferenceTalksBySpeakerPage(
+            String speakerName,
+            @ToolParam(required = false, description = "maximum number of talks, default 10, at most 50") Integer limit,
+            @ToolParam(required = false, description = "nextCursor of the previous page") String cursor) {
+        logger.info("Finding conference talks by speaker: {}, limit: {}, cursor: {}", speakerName, limit, cursor);
+
+        return this.talkPages.bySpeaker(speakerName, limit, cursor);
+    }
+
+    @Tool(description = "Search conference talks by topic in their title and description, most relevant first.")
+    public List<ConferenceTalk> searchConferenceTalks(String query) {
+        logger.info("Searching conference talks for: {}", query);
+
+        return this.conferenceTalksRepository.searchTalks(query, MAX_SEARCH_RESULTS);
+    }
+
+    @Tool(description = "Find the conference talks most like a talk, with a similar topic, the same speakers or "
+            + "the same track. Give the title of the talk.")
+    public List<ConferenceTalk> findRelatedConferenceTalks(String title) {
+        logger.info("Finding conference talks related to: {}", title);
+
+        return this.conferenceTalksRepository.findRelatedTalks(title, MAX_RELATED_TALKS);
+    }
+
+    @Tool(description = "Count conference talks, grouped by track and by level. All filters are optional: track, "
+            + "level, a part of a speaker name and keywords that must occur in the title or description.")
+    public TalkCounts countConferenceTalks(@ToolParam(required = false) String track,
+                                           @ToolParam(required = false) String level,
+                                           @ToolParam(required = false) String speakerName,
+                                           @ToolParam(required = false) String keywords) {
+        logger.info("Counting conference talks for track: {}, level: {}, speaker: {}, keywords: {}",
+                track, level, speakerName, keywords);
+
+        return this.conferenceTalksRepository.query(new TalkQuery(track, level, speakerName, keywords)).counts();
+    }
+
+    @Tool(description = "Find the speakers with the most conference talks, most talks first, with their number of "
+            + "talks. All filters are optional: track, level and keywords that must occur in the title or description.")
+    public Map<String, Integer> topConferenceSpeakers(@ToolParam(required = false) String track,
+                                                      @ToolParam(required = false) String level,
+                                                      @ToolParam(required = false) String keywords) {
+        logger.info("Finding top speakers for track: {}, level: {}, keywords: {}", track, level, keywords);
+
+        return this.conferenceTalksRepository.topSpeakers(new TalkQuery(track, level, null, keywords),
+                MAX_TOP_SPEAKERS);
     }
 }
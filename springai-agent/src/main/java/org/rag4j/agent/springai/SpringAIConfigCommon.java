@@ -1,15 +1,19 @@
 package org.rag4j.agent.springai;
 
 import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.TalkQueryCache;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.io.IOException;
+
 @Configuration
 @EnableConfigurationProperties({OpenAIConfigProperties.class})
 @Profile({"springai", "springai-multi"})
@@ -27,8 +31,17 @@ public class SpringAIConfigCommon {
     }
 
     @Bean
-    public ConferenceTalksRepository conferenceTalksRepository() {
-        return new ConferenceTalksRepository();
+    public TalkQueryCache talkQueryCache(
+            @Value("${agent.talks.cache-size:" + TalkQueryCache.DEFAULT_MAXIMUM_TALKS + "}") long maximumTalks) {
+        return new TalkQueryCache(maximumTalks);
+    }
+
+    @Bean
+    public ConferenceTalksRepository conferenceTalksRepository(
+            @Value("${agent.talks.file:}") String catalogFile,
+            @Value("${agent.talks.snapshot:}") String snapshot,
+            TalkQueryCache talkQueryCache) throws IOException {
+        return ConferenceTalksRepository.forAgents(catalogFile, snapshot, talkQueryCache);
     }
 
     @Bean
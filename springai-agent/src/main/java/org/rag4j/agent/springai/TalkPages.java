@@ -0,0 +1,290 @@
+package org.rag4j.agent.springai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+import org.rag4j.agent.core.TalkList;
+import org.rag4j.agent.core.search.Tokenizer;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ranked pages of talk summaries for the tools, with the JSON of every summary serialized once per catalog version.
+ * <p>
+ * Talks that match the query more closely come first: an exact title or name before one that starts with the query,
+ * before one with a word that starts with it, before any other match. Ties keep catalog order. When nothing matches,
+ * the similar matches of the typo-tolerant lookups are returned, closest first.
+ * <p>
+ * A page holds the JSON fragments of its talks, so the tool result is assembled by concatenating strings instead of
+ * running Jackson over the same talks on every call. The {@link PageResultConverter} passes that JSON to the model as
+ * is. The fragments are kept per catalog version in an array indexed by the ordinal of the talk, next to the ranked
+ * order of the recent queries, so asking for the next page neither ranks nor sorts the matches again. The cursor of the
+ * next page encodes the catalog version and the offset; after a catalog reload an old cursor is rejected rather than
+ * silently continuing in a different list. The version is the one the talks of the page were found in, so a reload
+ * between two calls never labels the talks of one catalog with the version of another.
+ */
+public class TalkPages {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    private static final int NO_MATCH = 4;
+    private static final long MAX_RANKED_TALKS = 100_000;
+
+    private final ConferenceTalksRepository repository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile Fragments fragments = new Fragments(-1, new AtomicReferenceArray<>(0), rankings());
+
+    public TalkPages(ConferenceTalksRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * The fields of a talk the tools return: enough to answer who, what and where, without the description.
+     */
+    public record TalkSummary(String title, List<String> speakers, String track, String level) {
+
+        static TalkSummary of(ConferenceTalk talk) {
+            List<String> speakers = talk.speakers() == null ? List.of()
+                    : talk.speakers().stream().map(Speaker::name).toList();
+            return new TalkSummary(talk.title(), speakers, talk.track(), talk.level());
+        }
+    }
+
+    /**
+     * One page of a ranked list of talks.
+     *
+     * @param talks      the JSON of the summaries on this page
+     * @param total      the number of talks in the whole list
+     * @param similar    whether the list holds similar matches because nothing matched exactly
+     * @param nextCursor the cursor of the next page, or null on the last page
+     * @param error      a message for the model when the request could not be answered, or null
+     */
+    public record TalkPage(List<String> talks, int total, boolean similar, String nextCursor, String error) {
+
+        static TalkPage error(String message) {
+            return new TalkPage(List.of(), 0, false, null, message);
+        }
+
+        /**
+         * Returns the page as a JSON object with the talks, the total, whether the matches are similar matches and the
+         * next cursor.
+         */
+        public String toJson() {
+            if (error != null) {
+                return "{\"error\":\"" + error.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+            }
+            StringBuilder json = new StringBuilder("{\"talks\":[");
+            for (int i = 0; i < talks.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(talks.get(i));
+            }
+            json.append("],\"total\":").append(total).append(",\"similar\":").append(similar)
+                    .append(",\"nextCursor\":");
+            return (nextCursor == null ? json.append("null") : json.append('"').append(nextCursor).append('"'))
+                    .append('}').toString();
+        }
+    }
+
+    /**
+     * Passes a {@link TalkPage} to the model as its JSON, and converts other results like Spring AI does by default.
+     */
+    public static class PageResultConverter implements ToolCallResultConverter {
+        private final DefaultToolCallResultConverter defaultConverter = new DefaultToolCallResultConverter();
+
+        @Override
+        public String convert(Object result, Type returnType) {
+            return result instanceof TalkPage page ? page.toJson() : defaultConverter.convert(result, returnType);
+        }
+    }
+
+    /**
+     * Returns a page of the talks with a title that contains the text, best matches first.
+     *
+     * @param title  the text to look for in the title
+     * @param limit  the maximum number of talks on the page, or null for {@value #DEFAULT_LIMIT}
+     * @param cursor the cursor from the previous page, or null or blank for the first page
+     * @return the page
+     */
+    public TalkPage byTitle(String title, Integer limit, String cursor) {
+        if (title == null || title.isBlank()) {
+            return TalkPage.error("Title cannot be empty.");
+        }
+        TalkList talks = repository.findTalksByTitleOrSimilar(title);
+        if (talks.similar()) {
+            return page(talks, null, true, limit, cursor);
+        }
+        int[] order = fragments(talks).rankings().get("title:" + title, key -> {
+            String query = Tokenizer.normalize(title.strip());
+            return ranked(talks, talk -> rank(talk.title(), query));
+        });
+        return page(talks, order, false, limit, cursor);
+    }
+
+    /**
+     * Returns a page of the talks with a speaker whose name contains the text, best matches first.
+     *
+     * @param speaker the text to look for in the speaker names
+     * @param limit   the maximum number of talks on the page, or null for {@value #DEFAULT_LIMIT}
+     * @param cursor  the cursor from the previous page, or null or blank for the first page
+     * @return the page
+     */
+    public TalkPage bySpeaker(String speaker, Integer limit, String cursor) {
+        if (speaker == null || speaker.isBlank()) {
+            return TalkPage.error("Speaker name cannot be empty.");
+        }
+        TalkList talks = repository.findTalksBySpeakerOrSimilar(speaker);
+        if (talks.similar()) {
+            return page(talks, null, true, limit, cursor);
+        }
+        int[] order = fragments(talks).rankings().get("speaker:" + speaker, key -> {
+            String query = Tokenizer.normalize(speaker.strip());
+            return ranked(talks, talk -> talk.speakers().stream()
+                    .mapToInt(s -> rank(s.name(), query))
+                    .min()
+                    .orElse(NO_MATCH));
+        });
+        return page(talks, order, false, limit, cursor);
+    }
+
+    /**
+     * Returns one page of a ranked list of talks.
+     *
+     * @param talks   the talks, all of them, as found in one catalog version
+     * @param order   the positions in {@code talks} in ranked order, or null when the talks are ranked already
+     * @param similar whether the talks are similar matches
+     * @param limit   the maximum number of talks on the page, or null for {@value #DEFAULT_LIMIT}
+     * @param cursor  the cursor from the previous page, or null or blank for the first page
+     * @return the page, or a page with an error for a cursor that is invalid or from another catalog version
+     */
+    TalkPage page(TalkList talks, int[] order, boolean similar, Integer limit, String cursor) {
+        long version = talks.version();
+        int size = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        int offset = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            long[] position = decode(cursor);
+            if (position == null) {
+                return TalkPage.error("Invalid cursor, ask for the first page without a cursor.");
+            }
+            if (position[0] != version) {
+                return TalkPage.error("The catalog changed since this cursor was returned, ask for the first page "
+                        + "without a cursor.");
+            }
+            offset = (int) Math.min(position[1], talks.size());
+        }
+        int end = Math.min(talks.size(), offset + size);
+        AtomicReferenceArray<String> cached = fragments(talks).json();
+        String[] json = new String[end - offset];
+        for (int i = offset; i < end; i++) {
+            int index = order == null ? i : order[i];
+            int ordinal = talks.ordinal(index);
+            String fragment = cached.get(ordinal);
+            if (fragment == null) {
+                fragment = serialize(talks.get(index));
+                cached.set(ordinal, fragment);
+            }
+            json[i - offset] = fragment;
+        }
+        String nextCursor = end < talks.size() ? encode(version, end) : null;
+        return new TalkPage(List.of(json), talks.size(), similar, nextCursor, null);
+    }
+
+    /**
+     * Returns the positions of the talks in ranked order.
+     */
+    private static int[] ranked(List<ConferenceTalk> talks, ToIntFunction<ConferenceTalk> rank) {
+        // Rank every talk once, then sort stably by rank, which keeps catalog order within a rank.
+        long[] keys = new long[talks.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (long) rank.applyAsInt(talks.get(i)) << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Ranks how well a value matches a query: 0 for the same text, 1 when it starts with the query, 2 when one of its
+     * words does and 3 for a match elsewhere.
+     */
+    private static int rank(String value, String query) {
+        String normalized = Tokenizer.normalize(value.strip());
+        if (normalized.equals(query)) {
+            return 0;
+        }
+        if (normalized.startsWith(query)) {
+            return 1;
+        }
+        int index = normalized.indexOf(query);
+        while (index > 0) {
+            if (!Character.isLetterOrDigit(normalized.charAt(index - 1))) {
+                return 2;
+            }
+            index = normalized.indexOf(query, index + 1);
+        }
+        return index == 0 ? 1 : 3;
+    }
+
+    private Fragments fragments(TalkList talks) {
+        Fragments current = fragments;
+        if (current.version() != talks.version()) {
+            current = new Fragments(talks.version(), new AtomicReferenceArray<>(talks.catalogSize()), rankings());
+            fragments = current;
+        }
+        return current;
+    }
+
+    private static Cache<String, int[]> rankings() {
+        // Bounded by the number of ranked positions, as one broad query can match most of the catalog
+        return Caffeine.newBuilder()
+                .maximumWeight(MAX_RANKED_TALKS)
+                .weigher((String query, int[] order) -> 1 + order.length)
+                .build();
+    }
+
+    private String serialize(ConferenceTalk talk) {
+        try {
+            return objectMapper.writeValueAsString(TalkSummary.of(talk));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the talk " + talk.title(), e);
+        }
+    }
+
+    private static String encode(long version, int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((version + ":" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long[] decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor.strip()), StandardCharsets.UTF_8)
+                    .split(":");
+            if (parts.length != 2) {
+                return null;
+            }
+            long version = Long.parseLong(parts[0]);
+            long offset = Long.parseLong(parts[1]);
+            return offset < 0 ? null : new long[]{version, offset};
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record Fragments(long version, AtomicReferenceArray<String> json, Cache<String, int[]> rankings) {
+    }
+}
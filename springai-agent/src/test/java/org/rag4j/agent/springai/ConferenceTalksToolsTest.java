@@ -0,0 +1,160 @@
+package org.rag4j.agent.springai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.rag4j.agent.core.ConferenceTalk;
+import org.rag4j.agent.core.ConferenceTalksRepository;
+import org.rag4j.agent.core.Speaker;
+import org.springframework.ai.support.ToolCallbacks;
+import org.springframework.ai.tool.ToolCallback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConferenceTalksToolsTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ConferenceTalksTools tools;
+
+    @BeforeEach
+    void setup() {
+        List<ConferenceTalk> talks = new ArrayList<>();
+        talks.add(talk("Streams in depth", "Carol Agent"));
+        for (int i = 0; i < 11; i++) {
+            talks.add(talk("Building agents, part " + i, "Alice Agent"));
+        }
+        talks.add(talk("Agents", "Bob Agentson"));
+        tools = new ConferenceTalksTools(new ConferenceTalksRepository(talks));
+    }
+
+    @Test
+    @DisplayName("Ranks an exact title before titles that only contain the query")
+    void ranksExactTitleFirst() throws Exception {
+        JsonNode page = json(tools.findConferenceTalksByTitlePage("agents", 3, null));
+
+        assertEquals("Agents", page.path("talks").get(0).path("title").asText());
+        assertEquals("Building agents, part 0", page.path("talks").get(1).path("title").asText());
+        assertEquals(12, page.path("total").asInt());
+        assertFalse(page.path("talks").get(0).has("description"), "The summary leaves out the description");
+    }
+
+    @Test
+    @DisplayName("Walks all matches page by page with the cursor")
+    void walksAllPagesWithCursor() throws Exception {
+        Set<String> titles = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = json(tools.findConferenceTalksBySpeakerPage("Alice", 5, cursor));
+            page.path("talks").forEach(talk -> titles.add(talk.path("title").asText()));
+            cursor = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(11, titles.size());
+    }
+
+    @Test
+    @DisplayName("Continues the ranked order on the next page")
+    void continuesRankedOrderOnNextPage() throws Exception {
+        JsonNode first = json(tools.findConferenceTalksByTitlePage("agents", 3, null));
+        JsonNode second = json(tools.findConferenceTalksByTitlePage("agents", 3, first.path("nextCursor").asText()));
+
+        assertEquals("Building agents, part 2", second.path("talks").get(0).path("title").asText());
+        assertEquals(12, second.path("total").asInt());
+    }
+
+    @Test
+    @DisplayName("Ranks a speaker whose name starts with the query before one with a later match")
+    void ranksSpeakerByMatch() throws Exception {
+        JsonNode page = json(tools.findConferenceTalksBySpeakerPage("agent", null, null));
+
+        assertEquals(13, page.path("total").asInt());
+        assertEquals(10, page.path("talks").size(), "The default limit applies");
+        assertEquals("Carol Agent", page.path("talks").get(0).path("speakers").get(0).asText());
+    }
+
+    @Test
+    @DisplayName("Returns similar matches for a misspelled title")
+    void returnsSimilarMatches() throws Exception {
+        JsonNode page = json(tools.findConferenceTalksByTitlePage("Streems", null, null));
+
+        assertTrue(page.path("similar").asBoolean());
+        assertEquals("Streams in depth", page.path("talks").get(0).path("title").asText());
+        assertTrue(page.path("nextCursor").isNull());
+    }
+
+    @Test
+    @DisplayName("Rejects an invalid cursor with a message for the model")
+    void rejectsInvalidCursor() throws Exception {
+        JsonNode page = json(tools.findConferenceTalksByTitlePage("agents", 5, "not a cursor"));
+
+        assertTrue(page.path("error").asText().startsWith("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("Serializes a talk once for repeated calls")
+    void serializesTalkOnce() {
+        TalkPages.TalkPage first = tools.findConferenceTalksByTitlePage("Streams", 1, null);
+        TalkPages.TalkPage second = tools.findConferenceTalksByTitlePage("Streams", 1, null);
+
+        assertSame(first.talks().getFirst(), second.talks().getFirst());
+        assertNull(first.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Passes the page JSON to the model through the tool callback")
+    void passesPageJsonThroughToolCallback() throws Exception {
+        ToolCallback callback = Arrays.stream(ToolCallbacks.from(tools))
+                .filter(c -> c.getToolDefinition().name().equals("findConferenceTalksByTitlePage"))
+                .findFirst()
+                .orElseThrow();
+
+        JsonNode page = objectMapper.readTree(callback.call("{\"title\": \"agents\", \"limit\": 2}"));
+
+        assertEquals(2, page.path("talks").size());
+        assertEquals("Agents", page.path("talks").get(0).path("title").asText());
+    }
+
+    @Test
+    @DisplayName("Ranks the speakers by their number of matching talks")
+    void ranksTopSpeakers() {
+        Map<String, Integer> speakers = tools.topConferenceSpeakers(null, null, null);
+
+        assertEquals(List.of("Alice Agent", "Bob Agentson", "Carol Agent"), List.copyOf(speakers.keySet()));
+        assertEquals(11, speakers.get("Alice Agent"));
+        assertEquals(Map.of("Carol Agent", 1), tools.topConferenceSpeakers("", null, "streams"));
+    }
+
+    @Test
+    @DisplayName("Finds the talks related to a talk, without the talk itself")
+    void findsRelatedTalks() {
+        List<ConferenceTalk> related = tools.findRelatedConferenceTalks("Agents");
+
+        assertEquals(5, related.size());
+        assertTrue(related.stream().noneMatch(talk -> talk.title().equals("Agents")));
+        assertTrue(tools.findRelatedConferenceTalks("No such talk").isEmpty());
+    }
+
+    private JsonNode json(TalkPages.TalkPage page) throws Exception {
+        return objectMapper.readTree(new TalkPages.PageResultConverter().convert(page, TalkPages.TalkPage.class));
+    }
+
+    private static ConferenceTalk talk(String title, String speaker) {
+        return new ConferenceTalk(title, "A description of " + title, "Java", "BEGINNER",
+                List.of(new Speaker(speaker)));
+    }
+}